@@ -0,0 +1,35 @@
+plugins {
+    java
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_17
+    targetCompatibility = JavaVersion.VERSION_17
+}
+
+dependencies {
+    // ベンチマーク対象のcoreモジュール
+    jmh(project(":core"))
+
+    // coreが実行時に必要とするライブラリ（coreではimplementation/compileOnly指定のため明示）
+    jmh("org.processing:core:4.4.4")
+    jmh("net.compartmental.code:minim:2.2.2")
+    jmh("com.google.code.gson:gson:2.10.1")
+
+    // ChromiumRenderHandler（CefRenderHandlerAdapter継承）のロードに必要
+    jmh("me.friwi:jcefmaven:135.0.20")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    // 実行例: ./gradlew :benchmarks:jmh -Pjmh.includes=KernelRender
+    (project.findProperty("jmh.includes") as String?)?.let { includes.add(it) }
+    resultFormat.set("JSON")
+    // AWTのヘッドレスモードでPGraphicsJava2Dを使用する
+    jvmArgsAppend.add("-Djava.awt.headless=true")
+}
+
+tasks.withType<JavaCompile> {
+    options.encoding = "UTF-8"
+}
@@ -0,0 +1,64 @@
+package jp.moyashi.phoneos.benchmarks;
+
+import jp.moyashi.phoneos.core.Kernel;
+import jp.moyashi.phoneos.core.service.chromium.NoOpChromiumService;
+import processing.awt.PGraphicsJava2D;
+import processing.core.PApplet;
+import processing.core.PGraphics;
+
+/**
+ * ベンチマーク共通のヘッドレス環境構築ユーティリティ。
+ * Forge環境と同じく、PAppletのウィンドウを開かずにPGraphicsJava2Dへ直接描画する。
+ */
+final class BenchmarkSupport {
+
+    static final int SCREEN_WIDTH = 400;
+    static final int SCREEN_HEIGHT = 600;
+
+    /** ベンチマーク用のデータ分離ID（VFSの保存先を通常環境と分ける） */
+    private static final String BENCHMARK_WORLD_ID = "jmh-benchmark";
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Chromiumを無効化したヘッドレスKernelを作成する。
+     *
+     * @return 初期化済みKernel
+     */
+    static Kernel createHeadlessKernel() {
+        Kernel kernel = new Kernel();
+        kernel.setChromiumService(new NoOpChromiumService());
+        kernel.initializeForMinecraft(SCREEN_WIDTH, SCREEN_HEIGHT, BENCHMARK_WORLD_ID);
+        return kernel;
+    }
+
+    /**
+     * 指定フレーム数だけKernelを更新・描画し、初期化や画面遷移を完了させる。
+     *
+     * @param kernel 対象Kernel
+     * @param frames フレーム数
+     */
+    static void settle(Kernel kernel, int frames) {
+        for (int i = 0; i < frames; i++) {
+            kernel.update();
+            kernel.render();
+        }
+    }
+
+    /**
+     * ヘッドレスのJAVA2D PGraphicsを作成する。
+     *
+     * @param width 幅
+     * @param height 高さ
+     * @return PGraphics
+     */
+    static PGraphics createHeadlessGraphics(int width, int height) {
+        PGraphicsJava2D graphics = new PGraphicsJava2D();
+        graphics.setSize(width, height);
+        PApplet parent = new PApplet();
+        graphics.setParent(parent);
+        parent.g = graphics;
+        return graphics;
+    }
+}
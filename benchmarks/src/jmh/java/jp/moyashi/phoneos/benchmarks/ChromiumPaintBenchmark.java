@@ -0,0 +1,79 @@
+package jp.moyashi.phoneos.benchmarks;
+
+import jp.moyashi.phoneos.core.Kernel;
+import jp.moyashi.phoneos.core.service.chromium.ChromiumRenderHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.Rectangle;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ChromiumRenderHandler.onPaint()のBGRA→ARGB変換のベンチマーク。
+ * 合成したBGRAバッファに対し、全画面・1行分・キャレット相当の更新領域で変換コストを測定する。
+ * CEF本体は起動せず、ブラウザ引数にはnullを渡す（onPaintは参照しない）。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChromiumPaintBenchmark {
+
+    private static final int VIEW_WIDTH = 400;
+    private static final int VIEW_HEIGHT = 520;
+
+    @Param({"full", "textLine", "caret"})
+    public String dirty;
+
+    private ChromiumRenderHandler handler;
+    private ByteBuffer buffer;
+    private Rectangle[] dirtyRects;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 未初期化のKernel（getLogger()がnullを返すため、ログは出力されない）
+        handler = new ChromiumRenderHandler(new Kernel(), VIEW_WIDTH, VIEW_HEIGHT);
+        handler.setFrameSkipEnabled(false);
+
+        buffer = ByteBuffer.allocateDirect(VIEW_WIDTH * VIEW_HEIGHT * 4);
+        for (int i = 0; i < VIEW_WIDTH * VIEW_HEIGHT; i++) {
+            buffer.put((byte) i);          // B
+            buffer.put((byte) (i >> 8));   // G
+            buffer.put((byte) (i >> 16));  // R
+            buffer.put((byte) 0xFF);       // A
+        }
+        buffer.flip();
+
+        switch (dirty) {
+            case "full":
+                dirtyRects = new Rectangle[] { new Rectangle(0, 0, VIEW_WIDTH, VIEW_HEIGHT) };
+                break;
+            case "textLine":
+                dirtyRects = new Rectangle[] { new Rectangle(0, 200, VIEW_WIDTH, 24) };
+                break;
+            case "caret":
+                dirtyRects = new Rectangle[] { new Rectangle(120, 204, 2, 18) };
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown dirty mode: " + dirty);
+        }
+    }
+
+    @Benchmark
+    public void onPaint() {
+        handler.onPaint(null, false, dirtyRects, buffer, VIEW_WIDTH, VIEW_HEIGHT);
+    }
+}
@@ -0,0 +1,78 @@
+package jp.moyashi.phoneos.benchmarks;
+
+import jp.moyashi.phoneos.core.input.GestureEvent;
+import jp.moyashi.phoneos.core.input.GestureListener;
+import jp.moyashi.phoneos.core.input.GestureManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GestureManagerのイベント配送のベンチマーク。
+ * 優先度の異なるリスナーを登録し、最も優先度の低いリスナーのみがイベントを消費する最悪ケースを測定する。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GestureDispatchBenchmark {
+
+    @Param({"1", "16", "64"})
+    public int listenerCount;
+
+    private GestureManager gestureManager;
+
+    /** リスナーに配送されたイベント数（配送処理の最適化による消去を防ぐ） */
+    private int deliveredCount;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        gestureManager = new GestureManager();
+        for (int i = 0; i < listenerCount; i++) {
+            final boolean consumes = i == 0;
+            final int priority = i;
+            gestureManager.addGestureListener(new GestureListener() {
+                @Override
+                public boolean onGesture(GestureEvent event) {
+                    deliveredCount++;
+                    return consumes;
+                }
+
+                @Override
+                public int getPriority() {
+                    return priority;
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public int tap() {
+        gestureManager.handleMousePressed(200, 300);
+        gestureManager.handleMouseReleased(200, 300);
+        return deliveredCount;
+    }
+
+    @Benchmark
+    public int dragSequence() {
+        gestureManager.handleMousePressed(200, 500);
+        for (int i = 1; i <= 10; i++) {
+            gestureManager.handleMouseDragged(200, 500 - i * 30);
+        }
+        gestureManager.handleMouseReleased(200, 200);
+        return deliveredCount;
+    }
+}
@@ -0,0 +1,57 @@
+package jp.moyashi.phoneos.benchmarks;
+
+import jp.moyashi.phoneos.core.Kernel;
+import jp.moyashi.phoneos.core.render.DamageContext;
+import jp.moyashi.phoneos.core.render.FrameExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ホストへのピクセル受け渡しのベンチマーク。
+ * 各呼び出しの前に全画面を再描画し（計測対象外）、従来のgetPixels()と
+ * フレーム受け渡し（acquireFrame()）のコストを比較する。
+ * acquireFrame()ではダメージ行のコピーがrender()側で行われるため、読み取り側のコストのみが計測される。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KernelPixelsBenchmark {
+
+    private Kernel kernel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        kernel = BenchmarkSupport.createHeadlessKernel();
+        BenchmarkSupport.settle(kernel, 30);
+    }
+
+    @Setup(Level.Invocation)
+    public void renderFrame() {
+        DamageContext.invalidateAll();
+        kernel.render();
+    }
+
+    @Benchmark
+    public int[] getPixels() {
+        return kernel.getPixels();
+    }
+
+    @Benchmark
+    public FrameExchange.Frame acquireFrame() {
+        return kernel.acquireFrame();
+    }
+}
@@ -0,0 +1,90 @@
+package jp.moyashi.phoneos.benchmarks;
+
+import jp.moyashi.phoneos.core.Kernel;
+import jp.moyashi.phoneos.core.apps.launcher.ui.AppLibraryScreen;
+import jp.moyashi.phoneos.core.apps.launcher.ui.HomeScreen;
+import jp.moyashi.phoneos.core.apps.settings.SettingsApp;
+import jp.moyashi.phoneos.core.apps.settings.ui.SettingsScreen;
+import jp.moyashi.phoneos.core.render.DamageContext;
+import jp.moyashi.phoneos.core.ui.Screen;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kernel.render()のベンチマーク。
+ * 代表的な3画面を最前面に置いた状態で1フレームの描画コストを測定する。
+ *
+ * fullRedraw=trueでは毎回全画面を無効化して描画全体のコストを、
+ * falseではダメージ追跡による差分描画（スキップを含む）のコストを測定する。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class KernelRenderBenchmark {
+
+    @Param({"home", "appLibrary", "settings"})
+    public String screen;
+
+    @Param({"true", "false"})
+    public boolean fullRedraw;
+
+    private Kernel kernel;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        kernel = BenchmarkSupport.createHeadlessKernel();
+        kernel.getScreenManager().pushScreen(createScreen(screen));
+        BenchmarkSupport.settle(kernel, 30);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        kernel.getScreenManager().clearAllScreens();
+    }
+
+    @Benchmark
+    public void render() {
+        if (fullRedraw) {
+            DamageContext.invalidateAll();
+        }
+        kernel.render();
+    }
+
+    @Benchmark
+    public void updateAndRender() {
+        if (fullRedraw) {
+            DamageContext.invalidateAll();
+        }
+        kernel.update();
+        kernel.render();
+    }
+
+    private Screen createScreen(String name) {
+        switch (name) {
+            case "home":
+                return new HomeScreen(kernel);
+            case "appLibrary":
+                return new AppLibraryScreen(kernel);
+            case "settings":
+                return new SettingsScreen(kernel, new SettingsApp());
+            default:
+                throw new IllegalArgumentException("Unknown screen: " + name);
+        }
+    }
+}
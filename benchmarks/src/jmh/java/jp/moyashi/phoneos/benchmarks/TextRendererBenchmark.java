@@ -0,0 +1,81 @@
+package jp.moyashi.phoneos.benchmarks;
+
+import jp.moyashi.phoneos.core.render.TextRenderer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import processing.core.PFont;
+import processing.core.PGraphics;
+
+import java.awt.Font;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TextRenderer.drawText()のベンチマーク。
+ * ASCII・日本語・絵文字混在の文字列で、フォント切り替えを伴うセグメント描画のコストを測定する。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextRendererBenchmark {
+
+    @Param({"ascii", "japanese", "emoji"})
+    public String text;
+
+    private PGraphics graphics;
+    private TextRenderer textRenderer;
+    private String sample;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graphics = BenchmarkSupport.createHeadlessGraphics(BenchmarkSupport.SCREEN_WIDTH, BenchmarkSupport.SCREEN_HEIGHT);
+        PFont primary = new PFont(new Font(Font.SANS_SERIF, Font.PLAIN, 16), true);
+        PFont emoji = new PFont(new Font(Font.DIALOG, Font.PLAIN, 16), true);
+        textRenderer = new TextRenderer(primary, emoji);
+
+        switch (text) {
+            case "ascii":
+                sample = "The quick brown fox jumps over the lazy dog 0123456789";
+                break;
+            case "japanese":
+                sample = "設定 ホーム画面 アプリライブラリ 通知センター コントロールセンター";
+                break;
+            case "emoji":
+                sample = "メッセージ 📱 新着 ✉️ 3件 🔋 80% 📶 Wi-Fi 🎵 再生中";
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown text: " + text);
+        }
+
+        graphics.beginDraw();
+        graphics.textFont(primary);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graphics.endDraw();
+    }
+
+    @Benchmark
+    public void drawText() {
+        textRenderer.drawText(graphics, sample, 10, 300, 16);
+    }
+
+    @Benchmark
+    public float getTextWidth() {
+        return textRenderer.getTextWidth(graphics, sample, 16);
+    }
+}
@@ -108,6 +108,12 @@ public class Kernel implements GestureListener {
     /** 描画パイプライン管理システム（Phase 1リファクタリング） */
     private RenderPipeline renderPipeline;
 
+    /** オーバーレイ（通知センター・コントロールセンター・ポップアップ）の保持レイヤーコンポジター */
+    private jp.moyashi.phoneos.core.render.OverlayCompositor overlayCompositor;
+
+    /** ホストへの完成フレーム受け渡し用トリプルバッファ（acquireFrame()の初回呼び出しで有効化） */
+    private volatile jp.moyashi.phoneos.core.render.FrameExchange frameExchange;
+
     /** サービスコンテナブートストラップ（Phase 2リファクタリング） */
     private CoreServiceBootstrap serviceBootstrap;
 
@@ -215,9 +221,26 @@ public class Kernel implements GestureListener {
     /** フレームカウント */
     public int frameCount = 0;
 
-    /** ターゲットフレームレート */
+    /** ターゲットフレームレート（適応スケジューラーの上限値） */
     private int targetFrameRate = 60;
 
+    /** 専用描画スレッド（startRenderThread()で有効化する任意モード） */
+    private volatile jp.moyashi.phoneos.core.render.KernelRenderThread renderThread;
+
+    /** 専用描画スレッド動作中に退避しているホスト側のPGraphics */
+    private PGraphics hostGraphics;
+
+    /** 適応フレームスケジューラー（静止時は低レートで更新・描画する） */
+    private final jp.moyashi.phoneos.core.render.FrameScheduler frameScheduler =
+            new jp.moyashi.phoneos.core.render.FrameScheduler();
+
+    /** ステージ別のフレーム処理時間メトリクス */
+    private final jp.moyashi.phoneos.core.metrics.FrameMetrics frameMetrics =
+            new jp.moyashi.phoneos.core.metrics.FrameMetrics();
+
+    /** フレーム計測オーバーレイ（表示中のみ非null） */
+    private volatile jp.moyashi.phoneos.core.metrics.FrameMetricsOverlay frameMetricsOverlay;
+
     /** レンダリング同期用ロック */
     private final Object renderLock = new Object();
 
@@ -293,6 +316,10 @@ public class Kernel implements GestureListener {
     public void update() {
         frameCount++;
         long startNs = System.nanoTime();
+        long stageStartNs = startNs;
+
+        // バックグラウンドスレッドから発行されたイベントをフレーム先頭でまとめて配信
+        EventBus.getInstance().dispatchQueued();
 
         // Phase 1リファクタリング: InputManagerの更新処理
         if (inputManager != null) {
@@ -309,45 +336,65 @@ public class Kernel implements GestureListener {
                 }
             }
         }
+        stageStartNs = recordStage(jp.moyashi.phoneos.core.metrics.FrameStage.INPUT, stageStartNs);
 
         // ServiceManagerのバックグラウンドサービス処理を呼び出し
         if (serviceManager != null) {
             serviceManager.tickBackground();
         }
 
-        // SensorManagerの更新処理
-        if (sensorManager != null) {
-            ((jp.moyashi.phoneos.core.service.sensor.SensorManagerImpl) sensorManager).update();
-        }
-
         // BatteryMonitorの定期チェック（1秒ごと）
         long currentTime = System.currentTimeMillis();
         if (batteryMonitor != null && currentTime - lastBatteryCheckTime >= BATTERY_CHECK_INTERVAL) {
             batteryMonitor.checkBatteryLevel();
             lastBatteryCheckTime = currentTime;
         }
+        stageStartNs = recordStage(jp.moyashi.phoneos.core.metrics.FrameStage.SERVICES, stageStartNs);
+
+        // SensorManagerの更新処理
+        if (sensorManager != null) {
+            ((jp.moyashi.phoneos.core.service.sensor.SensorManagerImpl) sensorManager).update();
+        }
+        stageStartNs = recordStage(jp.moyashi.phoneos.core.metrics.FrameStage.SENSORS, stageStartNs);
 
-        long chromiumStartNs = System.nanoTime();
+        long chromiumStartNs = stageStartNs;
         if (chromiumService != null) {
             chromiumService.update();
         }
-        long chromiumDurationNs = System.nanoTime() - chromiumStartNs;
-        if (chromiumDurationNs > 5_000_000L && logger != null) {
+        stageStartNs = recordStage(jp.moyashi.phoneos.core.metrics.FrameStage.CHROMIUM, stageStartNs);
+        long chromiumDurationNs = stageStartNs - chromiumStartNs;
+        if (chromiumDurationNs > 5_000_000L && logger != null
+                && logger.isEnabled(LoggerService.LogLevel.DEBUG, "Kernel")) {
             logger.debug("Kernel", String.format("ChromiumService.update() slow: %.2fms", chromiumDurationNs / 1_000_000.0));
         }
 
         if (screenManager != null) {
             screenManager.tick();
         }
+        stageStartNs = recordStage(jp.moyashi.phoneos.core.metrics.FrameStage.SCREEN_TICK, stageStartNs);
 
-        long totalDurationNs = System.nanoTime() - startNs;
-        if (totalDurationNs > 12_000_000L && logger != null) {
+        long totalDurationNs = stageStartNs - startNs;
+        if (totalDurationNs > 12_000_000L && logger != null
+                && logger.isEnabled(LoggerService.LogLevel.DEBUG, "Kernel")) {
             logger.debug("Kernel", String.format("update() slow: %.2fms (Chromium %.2fms)",
                     totalDurationNs / 1_000_000.0,
                     chromiumDurationNs / 1_000_000.0));
         }
     }
 
+    /**
+     * ステージの処理時間をフレーム計測に記録する。
+     *
+     * @param stage ステージ
+     * @param stageStartNs ステージの開始時刻
+     * @return 現在時刻（次のステージの開始時刻）
+     */
+    private long recordStage(jp.moyashi.phoneos.core.metrics.FrameStage stage, long stageStartNs) {
+        long now = System.nanoTime();
+        frameMetrics.record(stage, now - stageStartNs);
+        return now;
+    }
+
     /**
      * PGraphicsバッファに描画を実行（独立API）。
      * すべての描画処理をPGraphicsバッファに対して実行し、サブモジュールが結果を取得可能にする。
@@ -359,20 +406,57 @@ public class Kernel implements GestureListener {
                 return;
             }
 
+            // 今回のフレームで再描画された領域（nullの場合は全体）
+            jp.moyashi.phoneos.core.render.DamageTracker.Region damage = null;
+            long stageStartNs = System.nanoTime();
+            // オーバーレイの更新と合成は1フレーム分をまとめて記録する
+            long overlayNs = 0L;
+
+            // フレーム計測オーバーレイは毎フレーム表示領域を再描画する
+            jp.moyashi.phoneos.core.metrics.FrameMetricsOverlay metricsOverlay = frameMetricsOverlay;
+            if (metricsOverlay != null) {
+                jp.moyashi.phoneos.core.render.DamageContext.invalidate(
+                        metricsOverlay.getX(), metricsOverlay.getY(),
+                        metricsOverlay.getWidth(width), metricsOverlay.getHeight());
+            }
+
             // Phase 1リファクタリング: RenderPipelineに描画処理を委譲
             if (renderPipeline != null) {
+                // ダメージ領域を確定し、変化がなければフレーム全体をスキップ
+                // （前フレームの描画結果とピクセルキャッシュをそのまま再利用する）
+                // オーバーレイは保持レイヤーで必要な時だけ再描画し、変化があれば全画面ダメージとする
+                boolean overlaysChanged;
+                if (overlayCompositor != null && overlayCompositor.isAvailable()) {
+                    overlaysChanged = overlayCompositor.update(parentApplet, japaneseFont);
+                } else {
+                    overlaysChanged = isOverlayActive();
+                }
+                long now = System.nanoTime();
+                overlayNs = now - stageStartNs;
+                stageStartNs = now;
+                damage = renderPipeline.beginFrame(screenManager, overlaysChanged, isSleeping);
+                if (damage == null) {
+                    // 描画なしのフレームはフレーム全体の分布に含めない
+                    frameMetrics.skipFrame();
+                    return;
+                }
+
                 // RenderPipelineはbeginDraw/endDrawを内部で管理
                 // スリープ処理も内部で管理
-                renderPipeline.render(graphics, screenManager, themeEngine, isSleeping);
+                renderPipeline.render(graphics, screenManager, themeEngine, isSleeping, damage);
 
                 // ピクセルキャッシュの同期
                 pixelsCache = renderPipeline.getPixelsCache();
                 pixelsCacheDirty = false;
                 frameCount = renderPipeline.getFrameCount();
+                stageStartNs = recordStage(jp.moyashi.phoneos.core.metrics.FrameStage.DRAW, stageStartNs);
 
                 // RenderPipelineが描画処理を完了したので、追加の描画は必要に応じてbeginDraw/endDrawで囲む
                 // 以下のコードは後のPhaseで段階的にRenderPipelineに移行予定
                 graphics.beginDraw();
+                if (!damage.isFull()) {
+                    graphics.clip(damage.x, damage.y, damage.width, damage.height);
+                }
             } else {
                 // RenderPipelineが初期化されていない場合の緊急処理
                 graphics.beginDraw();
@@ -388,38 +472,61 @@ public class Kernel implements GestureListener {
                 graphics.textFont(japaneseFont);
             }
 
-            // 通知センターの描画（将来的にRenderPipelineに移行）
-            if (notificationManager != null) {
-                try {
-                    notificationManager.draw(graphics);
-                } catch (Exception e) {
-                    System.err.println("Kernel: NotificationManager描画エラー: " + e.getMessage());
+            if (overlayCompositor != null && overlayCompositor.isAvailable()) {
+                // 保持レイヤーを1回のblitで合成
+                overlayCompositor.compose(graphics);
+            } else {
+                // 通知センターの描画（将来的にRenderPipelineに移行）
+                if (notificationManager != null) {
+                    try {
+                        notificationManager.draw(graphics);
+                    } catch (Exception e) {
+                        System.err.println("Kernel: NotificationManager描画エラー: " + e.getMessage());
+                    }
                 }
-            }
 
-            // コントロールセンターの描画（将来的にRenderPipelineに移行）
-            if (controlCenterManager != null) {
-                try {
-                    controlCenterManager.draw(graphics);
-                } catch (Exception e) {
-                    System.err.println("Kernel: ControlCenterManager描画エラー: " + e.getMessage());
+                // コントロールセンターの描画（将来的にRenderPipelineに移行）
+                if (controlCenterManager != null) {
+                    try {
+                        controlCenterManager.draw(graphics);
+                    } catch (Exception e) {
+                        System.err.println("Kernel: ControlCenterManager描画エラー: " + e.getMessage());
+                    }
                 }
-            }
 
-            // ポップアップの描画（将来的にRenderPipelineに移行）
-            if (popupManager != null) {
-                try {
-                    popupManager.draw(graphics);
-                } catch (Exception e) {
-                    System.err.println("Kernel: PopupManager描画エラー: " + e.getMessage());
+                // ポップアップの描画（将来的にRenderPipelineに移行）
+                if (popupManager != null) {
+                    try {
+                        popupManager.draw(graphics);
+                    } catch (Exception e) {
+                        System.err.println("Kernel: PopupManager描画エラー: " + e.getMessage());
+                    }
                 }
             }
+            frameMetrics.record(jp.moyashi.phoneos.core.metrics.FrameStage.OVERLAYS,
+                    overlayNs + System.nanoTime() - stageStartNs);
+
+            // フレーム計測オーバーレイ（計測対象外）
+            if (metricsOverlay != null && !isSleeping) {
+                metricsOverlay.draw(graphics);
+            }
 
+            graphics.noClip();
             graphics.endDraw();
 
             // 重要: 描画完了後にピクセルキャッシュを無効化
             // これにより次のgetPixels()呼び出しで最新のピクセルデータが取得される
             pixelsCacheDirty = true;
+
+            // ホストがフレーム受け渡しを利用している場合は完成フレームを発行（読み取り側を待たない）
+            jp.moyashi.phoneos.core.render.FrameExchange exchange = frameExchange;
+            if (exchange != null) {
+                long copyStartNs = System.nanoTime();
+                graphics.loadPixels();
+                exchange.publish(graphics.pixels, graphics.width, graphics.height, damage);
+                recordStage(jp.moyashi.phoneos.core.metrics.FrameStage.PIXEL_COPY, copyStartNs);
+            }
+            frameMetrics.endFrame();
         }
     }
 
@@ -430,6 +537,8 @@ public class Kernel implements GestureListener {
      * @param y マウスY座標
      */
     public void mousePressed(int x, int y) {
+        onInputEvent(true);
+
         // Phase 1リファクタリング: InputManagerに処理を委譲
         if (inputManager != null) {
             inputManager.handleMousePressed(x, y, 1); // デフォルトで左ボタン
@@ -501,6 +610,8 @@ public class Kernel implements GestureListener {
      * @param y マウスY座標
      */
     public void mouseReleased(int x, int y) {
+        onInputEvent(true);
+
         long startNs = System.nanoTime();
         long stageStartNs = startNs;
 
@@ -552,6 +663,8 @@ public class Kernel implements GestureListener {
      * @param y マウスY座標
      */
     public void mouseDragged(int x, int y) {
+        onInputEvent(true);
+
         long startNs = System.nanoTime();
         long stageStartNs = startNs;
 
@@ -593,6 +706,8 @@ public class Kernel implements GestureListener {
      * @param y マウスY座標
      */
     public void mouseMoved(int x, int y) {
+        onInputEvent(false);
+
         long startNs = System.nanoTime();
 
         if (isSleeping) {
@@ -621,6 +736,8 @@ public class Kernel implements GestureListener {
      * @param delta スクロール量（正の値：下スクロール、負の値：上スクロール）
      */
     public void mouseWheel(int x, int y, float delta) {
+        onInputEvent(true);
+
         long startNs = System.nanoTime();
         long stageStartNs = startNs;
 
@@ -678,6 +795,8 @@ public class Kernel implements GestureListener {
      * @param keyCode キーコード
      */
     public void keyPressed(char key, int keyCode) {
+        onInputEvent(true);
+
         // Phase 1リファクタリング: InputManagerに処理を委譲
         // ただし、ESCとスペースキーは元のKernelで処理（動作しないため）
         if (inputManager != null) {
@@ -857,6 +976,8 @@ public class Kernel implements GestureListener {
      * @param keyCode キーコード
      */
     public void keyReleased(char key, int keyCode) {
+        onInputEvent(true);
+
         // Phase 1リファクタリング: InputManagerに処理を委譲
         // ただし、ESCキーは元のKernelで処理（動作しないため）
         if (inputManager != null) {
@@ -968,6 +1089,7 @@ public class Kernel implements GestureListener {
      * PGraphicsバッファのピクセル配列を取得（独立API・キャッシュ付き）。
      * forge等でピクセルレベルでの処理が必要な場合に使用。
      * パフォーマンス改善: キャッシュを使用してロック競合とコピーコストを削減。
+     * 毎フレーム転送するホストはロックを取らないacquireFrame()を使用すること。
      *
      * @return ピクセル配列
      */
@@ -988,21 +1110,87 @@ public class Kernel implements GestureListener {
                 return pixelsCache;
             }
 
+            long copyStartNs = System.nanoTime();
             graphics.loadPixels();
 
             // キャッシュ配列を初期化または再利用
             if (pixelsCache == null || pixelsCache.length != graphics.pixels.length) {
                 pixelsCache = new int[graphics.pixels.length];
+                if (renderPipeline != null) {
+                    renderPipeline.requestFullPixelCopy();
+                }
             }
 
-            // 配列をコピー（clone()より高速なSystem.arraycopy()を使用）
-            System.arraycopy(graphics.pixels, 0, pixelsCache, 0, graphics.pixels.length);
+            // 前回コピー以降に再描画された領域のみコピー（RenderPipelineがない場合は全体）
+            if (renderPipeline != null) {
+                renderPipeline.copyDamagedPixels(graphics.pixels, pixelsCache);
+            } else {
+                System.arraycopy(graphics.pixels, 0, pixelsCache, 0, graphics.pixels.length);
+            }
             pixelsCacheDirty = false;
+            recordStage(jp.moyashi.phoneos.core.metrics.FrameStage.PIXEL_COPY, copyStartNs);
 
             return pixelsCache;
         }
     }
 
+    /**
+     * 最新の完成フレームを取得する（独立API・ロックフリー）。
+     * getPixels()と異なり、描画スレッドとのロック競合やフレームごとの全画面コピーが発生しない。
+     * 返されるFrameのピクセル配列は次のacquireFrame()呼び出しまで書き換えられないため、
+     * 呼び出し側はコピーせずにそのまま参照してよい。
+     *
+     * 読み取り側は単一スレッドであること。初回呼び出し時にフレーム発行が有効化される。
+     *
+     * @return 最新のフレーム、グラフィックス未初期化の場合はnull
+     */
+    public jp.moyashi.phoneos.core.render.FrameExchange.Frame acquireFrame() {
+        jp.moyashi.phoneos.core.render.FrameExchange exchange = frameExchange;
+        if (exchange == null) {
+            // 初回のみロックを取得し、現在の描画結果で初期フレームを発行する
+            synchronized (renderLock) {
+                if (frameExchange == null && graphics != null) {
+                    jp.moyashi.phoneos.core.render.FrameExchange created =
+                            new jp.moyashi.phoneos.core.render.FrameExchange(graphics.width, graphics.height);
+                    graphics.loadPixels();
+                    created.publish(graphics.pixels, graphics.width, graphics.height, null);
+                    frameExchange = created;
+                }
+                exchange = frameExchange;
+            }
+            if (exchange == null) {
+                return null;
+            }
+        }
+        return exchange.acquire();
+    }
+
+    /**
+     * すべての入力イベントの先頭で呼び出される共通処理。
+     * フレームスケジューラーを起こす。オーバーレイは状態が変化したレイヤーのみが自身で無効化する。
+     * ダメージ領域を報告しないスクリーンは、状態を変える入力（マウス移動以外）のたびに全画面を再描画する。
+     *
+     * @param changesState 押下・ドラッグ・キー入力など、スクリーンの状態を変えうる入力の場合true
+     */
+    private void onInputEvent(boolean changesState) {
+        frameScheduler.wake();
+        if (changesState && screenManager != null && !screenManager.currentScreenReportsDamage()) {
+            jp.moyashi.phoneos.core.render.DamageContext.invalidateAll();
+        }
+    }
+
+    /**
+     * 通知センター・コントロールセンター・ポップアップのいずれかが描画対象かを判定する。
+     * 描画対象のオーバーレイがある間は全画面を再描画する。
+     *
+     * @return 描画対象のオーバーレイがある場合true
+     */
+    private boolean isOverlayActive() {
+        return (notificationManager != null && notificationManager.needsRedraw())
+                || (controlCenterManager != null && controlCenterManager.needsRedraw())
+                || (popupManager != null && popupManager.hasActivePopup());
+    }
+
     // =========================================================================
     // 以下、旧PAppletベースのメソッド（段階的に削除予定）
     // =========================================================================
@@ -1059,16 +1247,9 @@ public class Kernel implements GestureListener {
 
         try {
             // PAppletを使わず、PGraphicsを直接作成（リフレクション使用）
-            // Processing内部では "processing.awt.PGraphicsJava2D" が使用される
-            Class<?> pgClass = Class.forName("processing.awt.PGraphicsJava2D");
-            this.graphics = (PGraphics) pgClass.getDeclaredConstructor().newInstance();
-
-            // PGraphicsのサイズを設定
-            this.graphics.setSize(width, height);
-
             // 親PAppletを設定（一部の描画メソッドで必要）
             this.parentApplet = new PApplet();
-            this.graphics.setParent(parentApplet);
+            this.graphics = createJava2DGraphics(width, height);
 
             // 重要: ScreenManagerがscreen.setup(currentPApplet.g)を呼ぶために、
             // parentApplet.gにgraphicsを設定する必要がある
@@ -1096,6 +1277,11 @@ public class Kernel implements GestureListener {
         System.out.println("=== Phase 4: イベントバスシステム初期化開始 ===");
         EventBus eventBus = EventBus.getInstance();
         eventBus.setDebugMode(false); // デバッグモードは必要に応じて有効化
+        // -Dmochi.frameAlignedEvents=true の場合、バックグラウンドスレッドからのイベントはupdate()の先頭でまとめて配信
+        // （post()が呼び出し元スレッドで同期配信されなくなるため、デフォルトは無効）
+        eventBus.setFrameAlignedDelivery(Boolean.getBoolean("mochi.frameAlignedEvents"));
+        // フレームスレッド以外から発行されたイベントで次フレームを1回だけ起こす（上限レートの維持は入力のみ）
+        eventBus.setFrameRequester(this::requestSingleFrame);
 
         // システムイベントリスナーを登録（例）
         eventBus.register(SystemEvent.class, new EventListener<SystemEvent>() {
@@ -1181,7 +1367,7 @@ public class Kernel implements GestureListener {
             logger = serviceBootstrap.tryGetService(LoggerService.class);
             if (logger != null) {
                 System.out.println("  -> LoggerService: DIコンテナから取得成功");
-                logger.setLogLevel(jp.moyashi.phoneos.core.service.LoggerService.LogLevel.DEBUG);
+                logger.configureFromSystemProperties(jp.moyashi.phoneos.core.service.LoggerService.LogLevel.INFO);
                 logger.info("Kernel", "=== MochiMobileOS カーネル初期化開始 ===");
                 logger.info("Kernel", "画面サイズ: " + width + "x" + height);
                 if (worldId != null && !worldId.isEmpty()) {
@@ -1190,7 +1376,7 @@ public class Kernel implements GestureListener {
             } else {
                 System.out.println("  -> LoggerService: DIコンテナから取得失敗、直接作成");
                 logger = new LoggerService(vfs);
-                logger.setLogLevel(jp.moyashi.phoneos.core.service.LoggerService.LogLevel.DEBUG);
+                logger.configureFromSystemProperties(jp.moyashi.phoneos.core.service.LoggerService.LogLevel.INFO);
             }
 
             // SystemClock取得
@@ -1355,7 +1541,7 @@ public class Kernel implements GestureListener {
             // フォールバック: 従来の初期化
             System.out.println("⚠️ DIコンテナが利用できません。従来の初期化を実行します。");
             logger = new LoggerService(vfs);
-            logger.setLogLevel(jp.moyashi.phoneos.core.service.LoggerService.LogLevel.DEBUG);
+            logger.configureFromSystemProperties(jp.moyashi.phoneos.core.service.LoggerService.LogLevel.INFO);
             logger.info("Kernel", "=== MochiMobileOS カーネル初期化開始（フォールバック） ===");
         }
 
@@ -1447,6 +1633,7 @@ public class Kernel implements GestureListener {
             System.out.println("  -> 描画パイプライン作成中（フォールバック）...");
             renderPipeline = new RenderPipeline(this, width, height);
         }
+        jp.moyashi.phoneos.core.render.DamageContext.setTracker(renderPipeline.getDamageTracker());
         logger.info("Kernel", "RenderPipeline初期化完了");
 
         // GestureManagerの初期化（DIで取得できなかった場合）
@@ -1487,6 +1674,17 @@ public class Kernel implements GestureListener {
         }
         notificationManager.setKernel(this); // Kernelの参照を設定
 
+        // オーバーレイ保持レイヤーの初期化（下から通知センター→コントロールセンター→ポップアップ）
+        overlayCompositor = new jp.moyashi.phoneos.core.render.OverlayCompositor(width, height);
+        overlayCompositor.addLayer("NotificationManager", notificationManager);
+        overlayCompositor.addLayer("ControlCenterManager", controlCenterManager);
+        overlayCompositor.addLayer("PopupManager", popupManager);
+
+        // フレーム計測オーバーレイ（-Dmochi.frameMetricsOverlay=trueで起動時から表示）
+        if (Boolean.getBoolean("mochi.frameMetricsOverlay")) {
+            setFrameMetricsOverlayVisible(true);
+        }
+
         // 通知システムへの依存サービス注入
         try {
             jp.moyashi.phoneos.core.service.hardware.ChatSocket chatSocket =
@@ -1937,6 +2135,9 @@ public class Kernel implements GestureListener {
     public void shutdown() {
         System.out.println("Kernel: System shutdown requested");
 
+        // 専用描画スレッドを停止（以降の描画は呼び出し元スレッドで行う）
+        stopRenderThread();
+
         // システムシャットダウンイベントを発行
         EventBus.getInstance().post(SystemEvent.shutdown(this));
 
@@ -1971,6 +2172,19 @@ public class Kernel implements GestureListener {
                 // EventBusのシャットダウン
                 EventBus.getInstance().shutdown();
 
+                // 書き込み待ちの設定・ファイルを書き出す
+                if (settingsManager != null) {
+                    settingsManager.shutdown();
+                }
+                if (vfs != null) {
+                    vfs.shutdown();
+                }
+
+                // 未書き込みのログを書き出す
+                if (logger != null) {
+                    logger.shutdown();
+                }
+
                 System.out.println("Kernel: Shutdown complete");
                 if (parentApplet != null) {
                     parentApplet.exit();
@@ -3346,13 +3560,244 @@ public class Kernel implements GestureListener {
 
     /**
      * 現在のフレームレートを取得する。
+     * 適応スケジューラーが選択したレート（アニメーション中は上限値、静止時は低レート）を返す。
      *
-     * @return ターゲットフレームレート
+     * @return 現在のフレームレート
      */
     public int getFrameRate() {
+        return frameScheduler.getCurrentFrameRate();
+    }
+
+    /**
+     * 上限フレームレートを取得する（PowerManagerが設定した値）。
+     *
+     * @return ターゲットフレームレート
+     */
+    public int getTargetFrameRate() {
         return targetFrameRate;
     }
 
+    /**
+     * フレーム計測メトリクスを取得する（独立API）。
+     *
+     * @return ステージ別のフレーム処理時間メトリクス
+     */
+    public jp.moyashi.phoneos.core.metrics.FrameMetrics getFrameMetrics() {
+        return frameMetrics;
+    }
+
+    /**
+     * フレーム計測オーバーレイ（グラフ＋p50/p99）の表示を切り替える（独立API）。
+     * 表示開始時は計測をリセットし、表示中の値のみを集計する。
+     *
+     * @param visible 表示する場合true
+     */
+    public void setFrameMetricsOverlayVisible(boolean visible) {
+        if (visible == (frameMetricsOverlay != null)) {
+            return;
+        }
+        if (visible) {
+            frameMetrics.reset();
+            frameMetricsOverlay = new jp.moyashi.phoneos.core.metrics.FrameMetricsOverlay(frameMetrics);
+        } else {
+            frameMetricsOverlay = null;
+            // オーバーレイが描画されていた領域を消去
+            jp.moyashi.phoneos.core.render.DamageContext.invalidateAll();
+        }
+        requestFrame();
+    }
+
+    /**
+     * フレーム計測オーバーレイが表示中かどうか。
+     *
+     * @return 表示中の場合true
+     */
+    public boolean isFrameMetricsOverlayVisible() {
+        return frameMetricsOverlay != null;
+    }
+
+    /**
+     * フレーム計測結果をVFSファイルに書き出し、LoggerServiceにも出力する（独立API）。
+     * 書き出し先は{@link jp.moyashi.phoneos.core.metrics.FrameMetrics#EXPORT_FILE}。
+     *
+     * @return ファイルへの書き出しに成功した場合true
+     */
+    public boolean exportFrameMetrics() {
+        frameMetrics.logReport(logger);
+        return frameMetrics.exportToFile(vfs);
+    }
+
+    /**
+     * 今回のホストフレームでupdate()/render()を実行すべきかを判定する（独立API）。
+     * ホストは自身の描画ループで毎回呼び出し、trueの場合のみupdate()とrender()を呼び出す。
+     *
+     * @return 実行すべき場合true
+     */
+    public boolean isFrameDue() {
+        return frameScheduler.isFrameDue(targetFrameRate, isAnimating());
+    }
+
+    /**
+     * JAVA2DのPGraphicsを作成する。
+     * Processing内部では "processing.awt.PGraphicsJava2D" が使用される。
+     *
+     * @param w 幅
+     * @param h 高さ
+     * @return 作成したPGraphics（親はparentApplet）
+     * @throws ReflectiveOperationException PGraphicsJava2Dを生成できない場合
+     */
+    private PGraphics createJava2DGraphics(int w, int h) throws ReflectiveOperationException {
+        Class<?> pgClass = Class.forName("processing.awt.PGraphicsJava2D");
+        PGraphics created = (PGraphics) pgClass.getDeclaredConstructor().newInstance();
+        created.setSize(w, h);
+        created.setParent(parentApplet);
+        return created;
+    }
+
+    /**
+     * 専用描画スレッドでupdate()/render()を実行するモードを開始する（独立API）。
+     * 開始後、ホストはupdate()/render()を呼び出さず、acquireFrame()で完成フレームのみを取得する。
+     * 入力はdispatchInput()経由で描画スレッドへ転送すること。
+     *
+     * 描画スレッドは専用のJAVA2D PGraphicsに描画し、ホスト側のPGraphicsには触れない
+     * （Java2Dのグラフィックスはスレッドセーフではないため）。停止時に元のPGraphicsへ戻す。
+     */
+    public synchronized void startRenderThread() {
+        if (renderThread != null && renderThread.isRunning()) {
+            return;
+        }
+        synchronized (renderLock) {
+            if (graphics == null) {
+                System.err.println("Kernel: PGraphicsバッファが初期化されていません");
+                return;
+            }
+            try {
+                PGraphics threadGraphics = createJava2DGraphics(width, height);
+                hostGraphics = graphics;
+                attachGraphics(threadGraphics);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                System.err.println("Kernel: 描画スレッド用PGraphicsの作成に失敗しました: " + e.getMessage());
+                return;
+            }
+        }
+        if (renderThread == null) {
+            renderThread = new jp.moyashi.phoneos.core.render.KernelRenderThread(this);
+        }
+        renderThread.start();
+    }
+
+    /**
+     * 専用描画スレッドを停止する。停止後はホストが再びupdate()/render()を呼び出す。
+     * スレッドの終了を待ってから、描画先をホスト側のPGraphicsに戻して全画面を再描画させる。
+     */
+    public synchronized void stopRenderThread() {
+        if (renderThread != null) {
+            renderThread.stop();
+        }
+        synchronized (renderLock) {
+            if (hostGraphics != null) {
+                attachGraphics(hostGraphics);
+                hostGraphics = null;
+            }
+        }
+    }
+
+    /**
+     * 描画先のPGraphicsを差し替える。renderLockを保持して呼び出すこと。
+     * 差し替え後の最初のフレームは全画面を再描画・再コピーする。
+     *
+     * @param target 新しい描画先
+     */
+    private void attachGraphics(PGraphics target) {
+        PGraphics previous = graphics;
+        graphics = target;
+        // ScreenManagerはparentApplet.gをスクリーンのsetup()に渡す
+        if (parentApplet != null && parentApplet.g == previous) {
+            parentApplet.g = target;
+        }
+        pixelsCacheDirty = true;
+        if (renderPipeline != null) {
+            renderPipeline.requestFullPixelCopy();
+        }
+        jp.moyashi.phoneos.core.render.DamageContext.invalidateAll();
+        requestFrame();
+    }
+
+    /**
+     * 専用描画スレッドが動作中かどうか。
+     *
+     * @return 動作中の場合true
+     */
+    public boolean isRenderThreadRunning() {
+        jp.moyashi.phoneos.core.render.KernelRenderThread thread = renderThread;
+        return thread != null && thread.isRunning();
+    }
+
+    /**
+     * 入力処理をKernelの更新スレッドで実行する。
+     * 専用描画スレッド動作中はロックフリーキューに積んで即座に戻り、それ以外は呼び出し元で直ちに実行する。
+     *
+     * @param action 入力処理（mousePressed等の呼び出し）
+     */
+    public void dispatchInput(Runnable action) {
+        jp.moyashi.phoneos.core.render.KernelRenderThread thread = renderThread;
+        if (thread != null && thread.isRunning()) {
+            thread.post(action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 次のホストフレームで即座に更新・描画を行うよう要求する。
+     * 入力以外の要因（イベント受信など）でUIが変化する場合に呼び出す。
+     */
+    public void requestFrame() {
+        frameScheduler.wake();
+        jp.moyashi.phoneos.core.render.KernelRenderThread thread = renderThread;
+        if (thread != null) {
+            thread.wakeUp();
+        }
+    }
+
+    /**
+     * 次のホストフレームで1回だけ更新・描画を行うよう要求する。
+     * {@link #requestFrame()}と異なり、以後一定時間上限レートで動作させることはない。
+     * バックグラウンドスレッドからのイベント受信など、頻繁に発生しうる要因で呼び出す。
+     */
+    public void requestSingleFrame() {
+        frameScheduler.requestFrame();
+        jp.moyashi.phoneos.core.render.KernelRenderThread thread = renderThread;
+        if (thread != null) {
+            thread.wakeUp();
+        }
+    }
+
+    /**
+     * 次回フレームの予定時刻までの残り時間を取得する（専用描画スレッドの待機用）。
+     *
+     * @return 残り時間（ナノ秒）。即時の場合は0
+     */
+    public long getNanosUntilNextFrame() {
+        return frameScheduler.nanosUntilNextFrame();
+    }
+
+    /**
+     * 上限レートで更新し続ける必要がある状態かを判定する。
+     * 画面遷移・連続描画が必要なスクリーン（{@link Screen#requiresContinuousRedraw()}）・
+     * オーバーレイ表示・ジェスチャー中・未描画のダメージがある場合にtrue。
+     * それ以外はアイドルティックで update() のみが進み、render() は描画をスキップする。
+     */
+    private boolean isAnimating() {
+        if (isSleeping) {
+            return false;
+        }
+        return (screenManager != null && screenManager.needsFullRedraw())
+                || isOverlayActive()
+                || (gestureManager != null && (gestureManager.isPressed() || gestureManager.isDragging()))
+                || (renderPipeline != null && renderPipeline.getDamageTracker().hasDamage());
+    }
+
     /**
      * システムダッシュボードウィジェットを登録する。
      * Kernel初期化時に呼び出される。
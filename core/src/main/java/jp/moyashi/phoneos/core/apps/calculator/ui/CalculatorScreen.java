@@ -157,6 +157,14 @@ public class CalculatorScreen implements Screen {
         }
     }
 
+    /**
+     * 電卓は入力時のみ見た目が変化するため、ボタン・表示のダメージ報告による差分描画に対応する。
+     */
+    @Override
+    public boolean reportsDamage() {
+        return true;
+    }
+
     private boolean isOperator(String button) {
         return button.equals("+") || button.equals("-") || button.equals("×") ||
                button.equals("÷") || button.equals("=");
@@ -242,6 +250,11 @@ public class CalculatorScreen implements Screen {
                 }
                 break;
         }
+
+        // 表示内容の変更をダメージとして報告
+        if (displayLabel != null) {
+            displayLabel.setText(display);
+        }
     }
 
     private void clear() {
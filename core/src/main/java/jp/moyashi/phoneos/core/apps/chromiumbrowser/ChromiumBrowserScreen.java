@@ -8,6 +8,7 @@ import jp.moyashi.phoneos.core.media.MediaSessionManager;
 import jp.moyashi.phoneos.core.media.PlaybackState;
 import jp.moyashi.phoneos.core.service.chromium.ChromiumSurface;
 import jp.moyashi.phoneos.core.service.chromium.ChromiumTextInput;
+import jp.moyashi.phoneos.core.service.chromium.OmniboxIndex;
 import jp.moyashi.phoneos.core.ui.Screen;
 import jp.moyashi.phoneos.core.ui.components.Button;
 import jp.moyashi.phoneos.core.ui.components.TextField;
@@ -16,6 +17,8 @@ import processing.core.PApplet;
 import processing.core.PGraphics;
 import processing.core.PImage;
 
+import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 
 public class ChromiumBrowserScreen implements Screen {
@@ -32,6 +35,13 @@ public class ChromiumBrowserScreen implements Screen {
     private Button menuButton;
     private TextField addressBar;
 
+    /** アドレスバーの入力候補（最大件数・1行の高さ） */
+    private static final int MAX_SUGGESTIONS = 5;
+    private static final int SUGGESTION_ROW_HEIGHT = 36;
+    private List<OmniboxIndex.Suggestion> suggestions = Collections.emptyList();
+    /** suggestionsを取得したときの入力文字列 */
+    private String suggestionQuery;
+
     // MediaSession integration
     private MediaSession mediaSession;
     private MediaSessionManager mediaSessionManager;
@@ -368,6 +378,9 @@ public class ChromiumBrowserScreen implements Screen {
 
         // Draw Bottom Navigation Bar (holographic)
         drawBottomBar(g, theme);
+
+        // Draw address bar suggestions over the content
+        drawSuggestions(g, theme);
     }
 
     private void drawTopBar(PGraphics g, jp.moyashi.phoneos.core.ui.theme.ThemeEngine theme) {
@@ -401,6 +414,66 @@ public class ChromiumBrowserScreen implements Screen {
         if (tabListButton != null) tabListButton.draw(g);
     }
 
+    /**
+     * アドレスバーの入力候補を描画する。入力文字列が変わったときだけ索引を引く。
+     */
+    private void drawSuggestions(PGraphics g, jp.moyashi.phoneos.core.ui.theme.ThemeEngine theme) {
+        if (!addressBar.isFocused()) {
+            return;
+        }
+        String query = addressBar.getText();
+        if (!query.equals(suggestionQuery)) {
+            suggestionQuery = query;
+            suggestions = kernel.getChromiumService() != null
+                    ? kernel.getChromiumService().getBrowserDataManager().suggest(query, MAX_SUGGESTIONS)
+                    : Collections.<OmniboxIndex.Suggestion>emptyList();
+        }
+        if (suggestions.isEmpty()) {
+            return;
+        }
+
+        int surfaceColor = theme.colorSurface();
+        int onSurfaceColor = theme.colorOnSurface();
+        g.noStroke();
+        g.fill((surfaceColor >> 16) & 0xFF, (surfaceColor >> 8) & 0xFF, surfaceColor & 0xFF, 240);
+        g.rect(10, 50, addressBar.getWidth(), suggestions.size() * SUGGESTION_ROW_HEIGHT, 8);
+        g.textAlign(g.LEFT, g.CENTER);
+        for (int i = 0; i < suggestions.size(); i++) {
+            OmniboxIndex.Suggestion s = suggestions.get(i);
+            float rowY = 50 + i * SUGGESTION_ROW_HEIGHT;
+            String title = s.title != null && !s.title.isEmpty() ? s.title : s.url;
+            if (title.length() > 30) title = title.substring(0, 30) + "...";
+            g.fill(onSurfaceColor);
+            g.textSize(13);
+            g.text((s.bookmarked ? "★ " : "") + title, 20, rowY + 12);
+            g.fill(onSurfaceColor, 150);
+            g.textSize(10);
+            String url = s.url.length() > 45 ? s.url.substring(0, 45) + "..." : s.url;
+            g.text(url, 20, rowY + 27);
+        }
+    }
+
+    /**
+     * 座標にある入力候補を返す。
+     *
+     * @return 候補、なければnull
+     */
+    private OmniboxIndex.Suggestion suggestionAt(int mouseX, int mouseY) {
+        if (!addressBar.isFocused() || mouseX < 10 || mouseX > 10 + addressBar.getWidth() || mouseY < 50) {
+            return null;
+        }
+        int index = (mouseY - 50) / SUGGESTION_ROW_HEIGHT;
+        return index < suggestions.size() ? suggestions.get(index) : null;
+    }
+
+    /** アドレスバーを閉じ、入力候補を破棄する */
+    private void dismissAddressBar() {
+        addressBar.setFocused(false);
+        addressBar.setVisible(false);
+        suggestions = Collections.emptyList();
+        suggestionQuery = null;
+    }
+
     private void drawContentArea(PGraphics g, jp.moyashi.phoneos.core.ui.theme.ThemeEngine theme) {
         Optional<ChromiumSurface> activeSurfaceOpt = getActiveBrowserSurface();
         if (activeSurfaceOpt.isPresent()) {
@@ -447,6 +520,14 @@ public class ChromiumBrowserScreen implements Screen {
         return "Chromium Browser";
     }
 
+    /**
+     * Web content (animations, video) updates independently of input.
+     */
+    @Override
+    public boolean requiresContinuousRedraw() {
+        return true;
+    }
+
     @Override
     public void onForeground() {
         // Re-inject media detection when coming back to foreground
@@ -476,14 +557,21 @@ public class ChromiumBrowserScreen implements Screen {
             return;
         }
 
+        // 入力候補をクリックした場合、そのURLを読み込む
+        OmniboxIndex.Suggestion suggestion = suggestionAt(mouseX, mouseY);
+        if (suggestion != null) {
+            getActiveBrowserSurface().ifPresent(s -> s.loadUrl(suggestion.url));
+            dismissAddressBar();
+            return;
+        }
+
         // アドレスバーがフォーカスされている場合、クリックイベントを転送
         if (addressBar.isFocused() && addressBar.onMousePressed(mouseX, mouseY)) return;
 
         // アドレスバーの外側をクリックした場合、フォーカスを解除
         if (addressBar.isFocused() && !addressBar.contains(mouseX, mouseY)) {
             System.out.println("[ChromiumBrowserScreen] Clicked outside addressBar, clearing focus");
-            addressBar.setVisible(false);
-            addressBar.setFocused(false);
+            dismissAddressBar();
         }
 
         // Forward mouse press to Chromium if in content area
@@ -565,8 +653,7 @@ public class ChromiumBrowserScreen implements Screen {
                 url = convertIntentUrl(url);
                 final String finalUrl = url;
                 getActiveBrowserSurface().ifPresent(s -> s.loadUrl(finalUrl));
-                addressBar.setFocused(false);
-                addressBar.setVisible(false);
+                dismissAddressBar();
             } else {
                 System.out.println("[ChromiumBrowserScreen] Forwarding to addressBar");
                 addressBar.onKeyPressed(key, keyCode);
@@ -10,10 +10,15 @@ import processing.core.PGraphics;
 import java.util.List;
 
 public class HistoryScreen implements Screen {
+    /** 1回に読み込む履歴の件数。末尾までスクロールすると次のページを追加する */
+    private static final int PAGE_SIZE = 50;
+
     private final Kernel kernel;
     private ListView listView;
     private Button backButton;
     private Button clearButton;
+    /** 読み込み済みの履歴の件数 */
+    private int loadedCount;
 
     public HistoryScreen(Kernel kernel) {
         this.kernel = kernel;
@@ -28,19 +33,13 @@ public class HistoryScreen implements Screen {
         clearButton.setOnClickListener(() -> {
             kernel.getChromiumService().getBrowserDataManager().clearHistory();
             listView.clear();
+            loadedCount = 0;
         });
 
         listView = new ListView(10, 60, p.width - 20, p.height - 70);
-        
-        BrowserDataManager dataManager = kernel.getChromiumService().getBrowserDataManager();
-        List<BrowserDataManager.HistoryEntry> history = dataManager.getHistory();
-        
-        for (BrowserDataManager.HistoryEntry h : history) {
-            String label = h.title;
-            if (label.length() > 30) label = label.substring(0, 30) + "...";
-            listView.addItem(label, h.url);
-        }
-        
+        loadedCount = 0;
+        loadNextPage();
+
         listView.setOnItemClickListener(index -> {
             String url = (String) listView.getSelectedItem().data;
             if (url != null) {
@@ -50,6 +49,22 @@ public class HistoryScreen implements Screen {
         });
     }
 
+    /**
+     * 次のページの履歴をリストに追加する。
+     */
+    private void loadNextPage() {
+        BrowserDataManager dataManager = kernel.getChromiumService().getBrowserDataManager();
+        List<BrowserDataManager.HistoryEntry> history = dataManager.getHistory(loadedCount + PAGE_SIZE);
+
+        for (int i = loadedCount; i < history.size(); i++) {
+            BrowserDataManager.HistoryEntry h = history.get(i);
+            String label = h.title;
+            if (label.length() > 30) label = label.substring(0, 30) + "...";
+            listView.addItem(label, h.url);
+        }
+        loadedCount = Math.max(loadedCount, history.size());
+    }
+
     @Override
     public void draw(PGraphics g) {
         var theme = jp.moyashi.phoneos.core.ui.theme.ThemeContext.getTheme();
@@ -83,6 +98,9 @@ public class HistoryScreen implements Screen {
     @Override
     public void mouseWheel(PGraphics g, int x, int y, float delta) {
         listView.scroll((int)(delta * 20));
+        if (delta > 0 && listView.getScrollOffset() >= listView.getMaxScrollOffset()) {
+            loadNextPage();
+        }
     }
     
     @Override public void mouseDragged(PGraphics g, int x, int y) {}
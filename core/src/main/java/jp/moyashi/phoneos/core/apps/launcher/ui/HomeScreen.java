@@ -18,11 +18,15 @@ import jp.moyashi.phoneos.core.dashboard.DashboardWidgetType;
 import jp.moyashi.phoneos.core.dashboard.IDashboardWidget;
 import jp.moyashi.phoneos.core.dashboard.widgets.ClockWidget;
 import jp.moyashi.phoneos.core.dashboard.widgets.SearchWidget;
+import jp.moyashi.phoneos.core.resource.PixelArena;
+import jp.moyashi.phoneos.core.resource.PixelHandle;
 import processing.core.PApplet;
 import processing.core.PGraphics;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The main home screen of the MochiMobileOS launcher application.
@@ -46,9 +50,15 @@ public class HomeScreen implements Screen, GestureListener, SensorEventListener
 
     /** Reference to the OS kernel for accessing system services */
     private final Kernel kernel;
+
+    /** Settings key for the wallpaper image path (unset or empty uses the color background) */
+    private static final String SETTING_WALLPAPER_PATH = "ui.home.wallpaper";
     
-    /** Background image for the home screen */
-    private processing.core.PImage backgroundImage;
+    /** Background image for the home screen (pixels kept off-heap in the PixelArena) */
+    private PixelHandle backgroundImage;
+
+    /** Cropped copies of oversized app icons, keyed by application ID (pixels kept off-heap) */
+    private final Map<String, CroppedIcon> croppedIcons = new HashMap<>();
     
     /** Background color for the home screen (fallback) */
     private int backgroundColor;
@@ -293,7 +303,7 @@ public class HomeScreen implements Screen, GestureListener, SensorEventListener
             int br = (bg>>16)&0xFF, gr = (bg>>8)&0xFF, bb = bg&0xFF;
             if (backgroundImage != null && (currentPage == null || !currentPage.isAppLibraryPage())) {
                 g.background(br, gr, bb);
-                g.image(backgroundImage, 0, 0, 400, 600);
+                backgroundImage.draw(g, 0, 0, 400, 600);
             } else {
                 g.background(br, gr, bb);
             }
@@ -805,6 +815,7 @@ public class HomeScreen implements Screen, GestureListener, SensorEventListener
         isInitialized = false;
         resetDragState();
         isEditing = false;
+        releaseImages();
         System.out.println("HomeScreen: Launcher home screen cleaned up");
     }
     
@@ -813,14 +824,48 @@ public class HomeScreen implements Screen, GestureListener, SensorEventListener
      */
     private void loadBackgroundImage() {
         try {
-            // TODO: PGraphics統一アーキチEEEチャに対応した画像読み込み機Eを実裁E
-            // 現在はbackgroundImageをnullのままにして、色背景を使用
-            System.out.println("HomeScreen: Background image loading disabled in PGraphics architecture - using color background");
-            backgroundImage = null;
+            String path = kernel != null && kernel.getSettingsManager() != null
+                    ? kernel.getSettingsManager().getStringSetting(SETTING_WALLPAPER_PATH, null)
+                    : null;
+            if (path == null || path.isEmpty() || kernel.getResourceManager() == null) {
+                // 壁紙が未設定の場合は色背景を使用
+                setBackgroundImage(null);
+                return;
+            }
+            // デコードした壁紙はPixelArenaに格納し、ヒープのPImageは保持しない
+            PixelHandle handle = kernel.getResourceManager().loadImageToArena(path);
+            if (handle == null) {
+                System.err.println("HomeScreen: Wallpaper not loaded, using color background: " + path);
+            }
+            setBackgroundImage(handle);
         } catch (Exception e) {
             System.err.println("HomeScreen: Error loading background image: " + e.getMessage());
-            backgroundImage = null;
+            setBackgroundImage(null);
+        }
+    }
+
+    /**
+     * Replaces the background image, releasing the previous one.
+     *
+     * @param handle The new background image handle (ownership is transferred), or null for the color background
+     */
+    private void setBackgroundImage(PixelHandle handle) {
+        PixelHandle previous = backgroundImage;
+        backgroundImage = handle;
+        if (previous != null && previous != handle) {
+            previous.release();
+        }
+    }
+
+    /**
+     * Releases the background image and cropped icons held in the PixelArena.
+     */
+    private void releaseImages() {
+        setBackgroundImage(null);
+        for (CroppedIcon cropped : croppedIcons.values()) {
+            cropped.release();
         }
+        croppedIcons.clear();
     }
     
     /**
@@ -832,6 +877,16 @@ public class HomeScreen implements Screen, GestureListener, SensorEventListener
     public String getScreenTitle() {
         return "Home Screen";
     }
+
+    /**
+     * Page transitions, drags, scrolling and the edit-mode wiggle change every frame.
+     *
+     * @return true while any of them is in progress
+     */
+    @Override
+    public boolean requiresContinuousRedraw() {
+        return isAnimating || isDragging || isEditing || isSwipingPages || isAppLibraryScrolling;
+    }
     
     /**
      * ホEムペEジのリストを取得する、
@@ -1611,26 +1666,47 @@ public class HomeScreen implements Screen, GestureListener, SensorEventListener
             final int MAX_ICON_SIZE = 64;
             processing.core.PImage safeIcon = icon;
 
+            PixelHandle croppedHandle = null;
+
             // If icon is larger than our max size, crop it from center
+            // The crop is made once per icon and kept in the PixelArena instead of being recreated every frame
             if (icon.width > MAX_ICON_SIZE || icon.height > MAX_ICON_SIZE) {
-                System.out.println("[HomeScreen] Cropping oversized icon for " + app.getName() +
-                    " from " + icon.width + "x" + icon.height + " to " + MAX_ICON_SIZE + "x" + MAX_ICON_SIZE);
-
-                // Calculate center crop coordinates
-                int cropX = Math.max(0, (icon.width - MAX_ICON_SIZE) / 2);
-                int cropY = Math.max(0, (icon.height - MAX_ICON_SIZE) / 2);
-                int cropWidth = Math.min(MAX_ICON_SIZE, icon.width);
-                int cropHeight = Math.min(MAX_ICON_SIZE, icon.height);
-
-                // Create cropped icon
-                safeIcon = icon.get(cropX, cropY, cropWidth, cropHeight);
+                String key = app.getApplicationId() != null ? app.getApplicationId() : app.getName();
+                CroppedIcon cropped = croppedIcons.get(key);
+                if (cropped == null || cropped.source != icon) {
+                    if (cropped != null) {
+                        cropped.release();
+                    }
+                    System.out.println("[HomeScreen] Cropping oversized icon for " + app.getName() +
+                        " from " + icon.width + "x" + icon.height + " to " + MAX_ICON_SIZE + "x" + MAX_ICON_SIZE);
+
+                    // Calculate center crop coordinates
+                    int cropX = Math.max(0, (icon.width - MAX_ICON_SIZE) / 2);
+                    int cropY = Math.max(0, (icon.height - MAX_ICON_SIZE) / 2);
+                    int cropWidth = Math.min(MAX_ICON_SIZE, icon.width);
+                    int cropHeight = Math.min(MAX_ICON_SIZE, icon.height);
+
+                    // Create cropped icon (falls back to the heap copy if the arena is full)
+                    processing.core.PImage croppedImage = icon.get(cropX, cropY, cropWidth, cropHeight);
+                    PixelHandle handle = PixelArena.getInstance().store(croppedImage);
+                    cropped = new CroppedIcon(icon, handle, handle == null ? croppedImage : null);
+                    croppedIcons.put(key, cropped);
+                }
+                croppedHandle = cropped.handle;
+                if (cropped.fallback != null) {
+                    safeIcon = cropped.fallback;
+                }
             }
 
             g.imageMode(PGraphics.CENTER);
             // Draw the icon, ensuring it fits within the icon size with some padding
             float padding = 8;
             float drawableSize = ICON_SIZE - padding * 2;
-            g.image(safeIcon, centerX, centerY, drawableSize, drawableSize);
+            if (croppedHandle != null) {
+                croppedHandle.draw(g, centerX, centerY, drawableSize, drawableSize);
+            } else {
+                g.image(safeIcon, centerX, centerY, drawableSize, drawableSize);
+            }
             g.imageMode(PGraphics.CORNER); // Reset image mode to default
         } else {
             // Fallback to placeholder if icon is null
@@ -3459,4 +3535,26 @@ public class HomeScreen implements Screen, GestureListener, SensorEventListener
 
         System.out.println("HomeScreen: [RESTORE] Warning: Could not find safe page for shortcut");
     }
+
+    /**
+     * A cropped copy of an oversized app icon.
+     * The pixels live in the PixelArena; {@code fallback} is used only when the arena is full.
+     */
+    private static final class CroppedIcon {
+        final processing.core.PImage source;
+        final PixelHandle handle;
+        final processing.core.PImage fallback;
+
+        CroppedIcon(processing.core.PImage source, PixelHandle handle, processing.core.PImage fallback) {
+            this.source = source;
+            this.handle = handle;
+            this.fallback = fallback;
+        }
+
+        void release() {
+            if (handle != null) {
+                handle.release();
+            }
+        }
+    }
 }
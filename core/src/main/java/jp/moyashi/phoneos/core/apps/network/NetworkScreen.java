@@ -186,7 +186,8 @@ public class NetworkScreen implements Screen {
                 MessageStorage.Message message = messages.get(index);
                 if (!message.isRead()) {
                     messageStorage.markAsRead(message.getId());
-                    loadMessages();
+                    // 索引のみ更新されるため、一覧は再読み込みせずに表示状態だけ変更
+                    message.setRead(true);
                 }
             }
         }
@@ -169,14 +169,30 @@ public class SettingsApp implements IApplication {
                 }
             );
             
+            // フレーム計測トグル（OFFにすると計測結果をsystem/logs/frame_metrics.txtへ書き出す）
+            ToggleItem frameMetricsToggle = new ToggleItem(
+                "settings.framemetrics",
+                "\u30d5\u30ec\u30fc\u30e0\u8a08\u6e2c",
+                "\u51e6\u7406\u6642\u9593\u306e\u30b0\u30e9\u30d5\u3092\u8868\u793a\u3057\u307e\u3059",
+                kernel.isFrameMetricsOverlayVisible(),
+                (isOn) -> {
+                    System.out.println("SettingsApp: Frame metrics overlay " + (isOn ? "enabled" : "disabled"));
+                    if (!isOn) {
+                        kernel.exportFrameMetrics();
+                    }
+                    kernel.setFrameMetricsOverlayVisible(isOn);
+                }
+            );
+            
             // コントロールセンターにトグルを追加
             if (kernel.getControlCenterManager() != null) {
                 kernel.getControlCenterManager().addItem(nightVisionToggle);
                 kernel.getControlCenterManager().addItem(wifiToggle);
                 kernel.getControlCenterManager().addItem(bluetoothToggle);
                 kernel.getControlCenterManager().addItem(airplaneModeToggle);
+                kernel.getControlCenterManager().addItem(frameMetricsToggle);
                 
-                System.out.println("SettingsApp: Added 4 test toggles to control center");
+                System.out.println("SettingsApp: Added 5 toggles to control center");
             } else {
                 System.err.println("SettingsApp: ControlCenterManager is not available");
             }
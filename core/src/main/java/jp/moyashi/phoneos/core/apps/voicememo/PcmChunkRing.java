@@ -0,0 +1,160 @@
+package jp.moyashi.phoneos.core.apps.voicememo;
+
+import java.io.IOException;
+
+/**
+ * 録音用の固定長チャンクリング（16-bit PCM、モノラル）。
+ *
+ * チャンク（short[]）は作成時にすべて確保し、以降は使い回す。
+ * メモリ上に保持するチャンク数がしきい値を超えた分は、古いものから順に
+ * VoiceMemoFile.Writerへ書き出して（スピル）チャンクを再利用する。
+ * そのため録音時間が長くなってもヒープ使用量は一定で、録音中のオブジェクト割り当ても発生しない。
+ *
+ * 録音スレッド（フレームスレッド）からのみ使用すること。
+ */
+public class PcmChunkRing {
+
+    /** デフォルトのチャンクサイズ（100ms @ 48kHz） */
+    public static final int DEFAULT_CHUNK_SAMPLES = 4800;
+
+    /** デフォルトのチャンク数（約1.6秒 @ 48kHz） */
+    public static final int DEFAULT_CHUNK_COUNT = 16;
+
+    private final short[][] chunks;
+    private final int chunkSamples;
+
+    /** スピル時のエンコード用バッファ */
+    private final byte[] encodeBuffer;
+
+    /** 書き出し先 */
+    private final VoiceMemoFile.Writer sink;
+
+    /** メモリ上に保持するチャンク数の上限（これを超えるとスピル） */
+    private final int spillThreshold;
+
+    /** 最も古いチャンクの位置 */
+    private int head;
+
+    /** 書き込み済みの（満杯の）チャンク数 */
+    private int filledChunks;
+
+    /** 書き込み中のチャンク内のサンプル数 */
+    private int currentLength;
+
+    private long spilledSamples;
+
+    /**
+     * チャンクリングを作成する。
+     *
+     * @param sink 書き出し先
+     * @param chunkSamples 1チャンクのサンプル数
+     * @param chunkCount チャンク数（メモリ上に保持する上限）
+     */
+    public PcmChunkRing(VoiceMemoFile.Writer sink, int chunkSamples, int chunkCount) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink cannot be null");
+        }
+        this.sink = sink;
+        this.chunkSamples = Math.max(1, chunkSamples);
+        int count = Math.max(2, chunkCount);
+        this.chunks = new short[count][this.chunkSamples];
+        this.encodeBuffer = new byte[this.chunkSamples * VoiceMemoFile.BYTES_PER_SAMPLE];
+        // 書き込み中のチャンクを1つ残す
+        this.spillThreshold = count - 1;
+    }
+
+    /**
+     * デフォルトのサイズでチャンクリングを作成する。
+     *
+     * @param sink 書き出し先
+     */
+    public PcmChunkRing(VoiceMemoFile.Writer sink) {
+        this(sink, DEFAULT_CHUNK_SAMPLES, DEFAULT_CHUNK_COUNT);
+    }
+
+    /**
+     * サンプルを追加する。チャンクが不足する場合は古いチャンクを書き出してから再利用する。
+     *
+     * @param samples サンプル
+     * @param offset 開始位置
+     * @param length サンプル数
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public void append(short[] samples, int offset, int length) throws IOException {
+        while (length > 0) {
+            short[] current = chunks[(head + filledChunks) % chunks.length];
+            int n = Math.min(length, chunkSamples - currentLength);
+            System.arraycopy(samples, offset, current, currentLength, n);
+            currentLength += n;
+            offset += n;
+            length -= n;
+
+            if (currentLength == chunkSamples) {
+                filledChunks++;
+                currentLength = 0;
+                if (filledChunks >= spillThreshold) {
+                    spillOldest();
+                }
+            }
+        }
+    }
+
+    /**
+     * メモリ上のすべてのサンプルを書き出す（録音終了時）。
+     *
+     * @throws IOException 書き出しに失敗した場合
+     */
+    public void flush() throws IOException {
+        while (filledChunks > 0) {
+            spillOldest();
+        }
+        if (currentLength > 0) {
+            spill(chunks[head], currentLength);
+            currentLength = 0;
+        }
+    }
+
+    /**
+     * メモリ上に保持しているサンプル数を取得する。
+     *
+     * @return サンプル数
+     */
+    public int getBufferedSamples() {
+        return filledChunks * chunkSamples + currentLength;
+    }
+
+    /**
+     * 書き出し済みのサンプル数を取得する。
+     *
+     * @return サンプル数
+     */
+    public long getSpilledSamples() {
+        return spilledSamples;
+    }
+
+    /**
+     * 追加されたサンプルの総数を取得する。
+     *
+     * @return サンプル数
+     */
+    public long getTotalSamples() {
+        return spilledSamples + getBufferedSamples();
+    }
+
+    private void spillOldest() throws IOException {
+        spill(chunks[head], chunkSamples);
+        head = (head + 1) % chunks.length;
+        filledChunks--;
+    }
+
+    private void spill(short[] chunk, int length) throws IOException {
+        // リトルエンディアンの16-bit PCMとしてエンコード
+        for (int i = 0, j = 0; i < length; i++, j += 2) {
+            short sample = chunk[i];
+            encodeBuffer[j] = (byte) (sample & 0xFF);
+            encodeBuffer[j + 1] = (byte) ((sample >> 8) & 0xFF);
+        }
+        sink.write(encodeBuffer, 0, length * VoiceMemoFile.BYTES_PER_SAMPLE);
+        spilledSamples += length;
+    }
+}
@@ -0,0 +1,125 @@
+package jp.moyashi.phoneos.core.apps.voicememo;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * 16-bit PCM（モノラル、リトルエンディアン）のストリームを線形補間でリサンプリングするストリーム。
+ * 元のストリームを順に読みながら変換するため、音声データ全体をメモリに展開しない。
+ */
+public class ResamplingPcmInputStream extends InputStream {
+
+    /** ストリーム終端を示す値 */
+    private static final int END = Integer.MIN_VALUE;
+
+    private final InputStream source;
+
+    /** 出力1サンプルあたりに進む元サンプル数 */
+    private final double step;
+
+    /** 次に出力するサンプルの元ストリーム上の位置 */
+    private double position;
+
+    /** 補間に使用する2サンプル（index, index+1） */
+    private int current;
+    private int next;
+    private long index = -1;
+
+    /** 出力済みサンプルの上位バイト（奇数バイト読み込み時） */
+    private int pendingHighByte = -1;
+
+    private boolean finished;
+
+    /**
+     * リサンプリングストリームを作成する。
+     *
+     * @param source 元の音声ストリーム
+     * @param sourceSampleRate 元のサンプリングレート
+     * @param targetSampleRate 目標のサンプリングレート
+     */
+    public ResamplingPcmInputStream(InputStream source, float sourceSampleRate, float targetSampleRate) {
+        this.source = source;
+        this.step = sourceSampleRate / targetSampleRate;
+    }
+
+    @Override
+    public int read() throws IOException {
+        byte[] single = new byte[1];
+        int n = read(single, 0, 1);
+        return n <= 0 ? -1 : single[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        int written = 0;
+        if (pendingHighByte >= 0) {
+            b[off + written++] = (byte) pendingHighByte;
+            pendingHighByte = -1;
+        }
+
+        while (written < len) {
+            int sample = nextSample();
+            if (sample == END) {
+                break;
+            }
+            b[off + written++] = (byte) (sample & 0xFF);
+            if (written < len) {
+                b[off + written++] = (byte) ((sample >> 8) & 0xFF);
+            } else {
+                pendingHighByte = (sample >> 8) & 0xFF;
+            }
+        }
+        return written == 0 ? -1 : written;
+    }
+
+    /**
+     * 次の出力サンプルを補間して取得する。
+     */
+    private int nextSample() throws IOException {
+        if (finished) {
+            return END;
+        }
+        if (index < 0) {
+            current = readSourceSample();
+            if (current == END) {
+                finished = true;
+                return END;
+            }
+            next = readSourceSample();
+            index = 0;
+        }
+
+        long target = (long) position;
+        while (index < target) {
+            if (next == END) {
+                finished = true;
+                return END;
+            }
+            current = next;
+            next = readSourceSample();
+            index++;
+        }
+
+        float fraction = (float) (position - index);
+        int second = next != END ? next : current; // 最後のサンプルの場合
+        position += step;
+        return (short) (current + fraction * (second - current));
+    }
+
+    private int readSourceSample() throws IOException {
+        int low = source.read();
+        int high = source.read();
+        if (low < 0 || high < 0) {
+            return END;
+        }
+        return (short) ((high << 8) | low);
+    }
+
+    @Override
+    public void close() throws IOException {
+        source.close();
+    }
+}
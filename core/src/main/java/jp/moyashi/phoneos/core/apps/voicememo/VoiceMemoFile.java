@@ -0,0 +1,360 @@
+package jp.moyashi.phoneos.core.apps.voicememo;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * ボイスメモのファイル形式（WAV、16-bit PCM、モノラル、リトルエンディアン）。
+ *
+ * 録音中はWriterでチャンクごとにバッファ経由でファイルへ追記し、終了時にヘッダーのサイズを確定する。
+ * 一覧表示ではヘッダーのみを読み込み、再生時は音声データをストリームとして読み込む。
+ * 録音中に終了した場合などヘッダーのサイズが未確定のファイルは、ファイルサイズからデータ長を求める。
+ */
+public final class VoiceMemoFile {
+
+    /** ファイル拡張子 */
+    public static final String EXTENSION = ".wav";
+
+    /** WAVヘッダーのサイズ（RIFF + fmt + dataチャンクヘッダー） */
+    public static final int HEADER_SIZE = 44;
+
+    /** 1サンプルのバイト数（16-bit モノラル） */
+    public static final int BYTES_PER_SAMPLE = 2;
+
+    /** 書き込みバッファのサイズ */
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+    /** 読み込みバッファのサイズ */
+    private static final int READ_BUFFER_SIZE = 16 * 1024;
+
+    private VoiceMemoFile() {
+    }
+
+    /**
+     * ヘッダーのみを読み込んでメモの情報を取得する。
+     *
+     * @param path ファイルパス
+     * @return メモの情報
+     * @throws IOException 読み込みに失敗した場合、または対応していない形式の場合
+     */
+    public static Info readInfo(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(12).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(channel, header, 0);
+            if (header.getInt(0) != fourCC("RIFF") || header.getInt(8) != fourCC("WAVE")) {
+                throw new IOException("Not a WAV file: " + path.getFileName());
+            }
+
+            int sampleRate = -1;
+            long position = 12;
+            ByteBuffer chunkHeader = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN);
+            while (position + 8 <= fileSize) {
+                chunkHeader.clear();
+                readFully(channel, chunkHeader, position);
+                int id = chunkHeader.getInt(0);
+                long size = chunkHeader.getInt(4) & 0xFFFFFFFFL;
+                long body = position + 8;
+
+                if (id == fourCC("fmt ")) {
+                    ByteBuffer fmt = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+                    readFully(channel, fmt, body);
+                    int format = fmt.getShort(0) & 0xFFFF;
+                    int channels = fmt.getShort(2) & 0xFFFF;
+                    int bitsPerSample = fmt.getShort(14) & 0xFFFF;
+                    if (format != 1 || channels != 1 || bitsPerSample != 16) {
+                        throw new IOException("Unsupported WAV format: format=" + format
+                                + ", channels=" + channels + ", bits=" + bitsPerSample);
+                    }
+                    sampleRate = fmt.getInt(4);
+                } else if (id == fourCC("data")) {
+                    if (sampleRate <= 0) {
+                        throw new IOException("WAV data chunk before fmt chunk: " + path.getFileName());
+                    }
+                    // サイズ未確定（0）またはファイルより大きい場合は実際のファイルサイズを使用
+                    long available = fileSize - body;
+                    long dataLength = size == 0 || size > available ? available : size;
+                    dataLength -= dataLength % BYTES_PER_SAMPLE;
+                    return new Info(sampleRate, body, dataLength);
+                }
+                // チャンクは偶数バイト境界に配置される
+                position = body + size + (size & 1);
+            }
+            throw new IOException("WAV data chunk not found: " + path.getFileName());
+        }
+    }
+
+    /**
+     * 音声データ（PCM）をストリームとして開く。
+     *
+     * @param path ファイルパス
+     * @param info readInfo()で取得した情報
+     * @return データ部のみを読み込むストリーム（呼び出し側で閉じること）
+     * @throws IOException ファイルを開けない場合
+     */
+    public static InputStream openPcmStream(Path path, Info info) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            channel.position(info.getDataOffset());
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        InputStream raw = new BufferedInputStream(Channels.newInputStream(channel), READ_BUFFER_SIZE);
+        return new BoundedInputStream(raw, info.getDataLength());
+    }
+
+    /**
+     * 録音用のWriterを開く。ヘッダーはサイズ0で書き込み、close()時に確定する。
+     *
+     * @param path ファイルパス
+     * @param sampleRate サンプリングレート（Hz）
+     * @return Writer
+     * @throws IOException ファイルを作成できない場合
+     */
+    public static Writer openWriter(Path path, int sampleRate) throws IOException {
+        Path parent = path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        return new Writer(path, sampleRate);
+    }
+
+    /**
+     * 16-bit PCMの音声データ全体をWAVファイルとして書き込む（旧形式からの変換用）。
+     *
+     * @param path ファイルパス
+     * @param sampleRate サンプリングレート（Hz）
+     * @param pcm 音声データ
+     * @throws IOException 書き込みに失敗した場合
+     */
+    public static void write(Path path, int sampleRate, byte[] pcm) throws IOException {
+        try (Writer writer = openWriter(path, sampleRate)) {
+            writer.write(pcm, 0, pcm.length);
+        }
+    }
+
+    private static void writeHeader(FileChannel channel, int sampleRate, long dataLength) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        long riffSize = Math.min(0xFFFFFFFFL, 36 + dataLength);
+        long dataSize = Math.min(0xFFFFFFFFL, dataLength);
+        header.putInt(fourCC("RIFF")).putInt((int) riffSize).putInt(fourCC("WAVE"));
+        header.putInt(fourCC("fmt ")).putInt(16)
+                .putShort((short) 1)                                // PCM
+                .putShort((short) 1)                                // モノラル
+                .putInt(sampleRate)
+                .putInt(sampleRate * BYTES_PER_SAMPLE)              // バイトレート
+                .putShort((short) BYTES_PER_SAMPLE)                 // ブロックサイズ
+                .putShort((short) 16);                              // ビット数
+        header.putInt(fourCC("data")).putInt((int) dataSize);
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header, header.position());
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of WAV file");
+            }
+        }
+    }
+
+    private static int fourCC(String id) {
+        return (id.charAt(0) & 0xFF) | (id.charAt(1) & 0xFF) << 8
+                | (id.charAt(2) & 0xFF) << 16 | (id.charAt(3) & 0xFF) << 24;
+    }
+
+    /**
+     * メモの情報（ヘッダーから取得）。
+     */
+    public static final class Info {
+        private final int sampleRate;
+        private final long dataOffset;
+        private final long dataLength;
+
+        Info(int sampleRate, long dataOffset, long dataLength) {
+            this.sampleRate = sampleRate;
+            this.dataOffset = dataOffset;
+            this.dataLength = dataLength;
+        }
+
+        /** サンプリングレート（Hz） */
+        public int getSampleRate() {
+            return sampleRate;
+        }
+
+        /** 音声データの開始位置 */
+        public long getDataOffset() {
+            return dataOffset;
+        }
+
+        /** 音声データのバイト数 */
+        public long getDataLength() {
+            return dataLength;
+        }
+
+        /** 再生時間（ミリ秒） */
+        public long getDurationMillis() {
+            return dataLength * 1000L / ((long) sampleRate * BYTES_PER_SAMPLE);
+        }
+    }
+
+    /**
+     * 録音データを逐次書き込むWriter。
+     * 書き込みはバッファに溜め、一杯になった時点でファイルチャネルへ書き出す。
+     */
+    public static final class Writer implements Closeable {
+        private final Path path;
+        private final int sampleRate;
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+        private long dataLength;
+        private boolean closed;
+
+        private Writer(Path path, int sampleRate) throws IOException {
+            this.path = path;
+            this.sampleRate = sampleRate;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            try {
+                writeHeader(channel, sampleRate, 0);
+                channel.position(HEADER_SIZE);
+            } catch (IOException e) {
+                channel.close();
+                throw e;
+            }
+        }
+
+        /**
+         * 音声データを追記する。
+         *
+         * @param data 16-bit PCMの音声データ
+         * @param offset 開始位置
+         * @param length バイト数
+         * @throws IOException 書き込みに失敗した場合
+         */
+        public void write(byte[] data, int offset, int length) throws IOException {
+            if (closed) {
+                throw new IOException("Writer is closed");
+            }
+            while (length > 0) {
+                int n = Math.min(length, buffer.remaining());
+                buffer.put(data, offset, n);
+                offset += n;
+                length -= n;
+                dataLength += n;
+                if (!buffer.hasRemaining()) {
+                    flushBuffer();
+                }
+            }
+        }
+
+        /**
+         * これまでに書き込んだ音声データのバイト数を取得する。
+         *
+         * @return バイト数
+         */
+        public long getDataLength() {
+            return dataLength;
+        }
+
+        /**
+         * ファイルパスを取得する。
+         *
+         * @return ファイルパス
+         */
+        public Path getPath() {
+            return path;
+        }
+
+        private void flushBuffer() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        /**
+         * バッファを書き出し、ヘッダーのサイズを確定してファイルを閉じる。
+         */
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                flushBuffer();
+                writeHeader(channel, sampleRate, dataLength);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * 指定バイト数までのみ読み込むストリーム。
+     */
+    private static final class BoundedInputStream extends FilterInputStream {
+        private long remaining;
+
+        BoundedInputStream(InputStream in, long limit) {
+            super(in);
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int n = super.read(b, off, (int) Math.min(len, remaining));
+            if (n > 0) {
+                remaining -= n;
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(Math.min(n, remaining));
+            remaining -= skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(super.available(), remaining);
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
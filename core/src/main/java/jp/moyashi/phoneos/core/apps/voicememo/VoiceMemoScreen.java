@@ -12,7 +12,15 @@ import jp.moyashi.phoneos.core.ui.components.ProgressBar;
 import processing.core.PApplet;
 import processing.core.PGraphics;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.text.SimpleDateFormat;
 import java.util.*;
 import java.util.Base64;
@@ -29,7 +37,10 @@ public class VoiceMemoScreen implements Screen {
 
     // 録音状態
     private boolean isRecording = false;
-    private List<byte[]> recordingBuffer = new ArrayList<>();
+    private VoiceMemoFile.Writer recordingWriter = null; // 録音中のファイル（チャンクごとに追記）
+    private String recordingFilename = null;
+    private PcmChunkRing recordingRing = null;         // 録音データの固定長チャンクリング（超過分はファイルへ書き出し）
+    private short[] mixBuffer = new short[PcmChunkRing.DEFAULT_CHUNK_SAMPLES]; // ミキシング結果（使い回し）
     private long recordingStartTime = 0;
     private float currentInputLevel = 0.0f; // 現在の入力レベル (0.0 - 1.0)
     private int totalChunksReceived = 0;    // 受信したチャンク数
@@ -44,11 +55,17 @@ public class VoiceMemoScreen implements Screen {
     private boolean isPlaying = false;
     private int playingIndex = -1;
     private float currentOutputLevel = 0.0f; // 現在の出力レベル (0.0 - 1.0)
-    private byte[] playingAudioData = null;  // 再生中の音声データ
+    private VoiceMemoFile.Info playingInfo = null;   // 再生中のメモの情報
+    private FileChannel playingLevelChannel = null;   // レベルメーター用の読み込みチャネル
+    private final ByteBuffer playingLevelBuffer = ByteBuffer.allocate(PLAYBACK_CHUNK_SIZE);
     private int playingChunkIndex = 0;        // 現在の再生チャンクインデックス
     private long playingStartTime = 0;        // 再生開始時刻
     private static final int PLAYBACK_CHUNK_SIZE = 2048; // チャンクサイズ（約21ms @ 48kHz）
 
+    // 保存先
+    private static final String MEMO_DIR = "voice_memos";
+    private static final String LEGACY_EXTENSION = ".dat"; // 旧形式（Base64をJSONに埋め込んだ形式）
+
     // メモ一覧
     private List<VoiceMemo> memos = new ArrayList<>();
     private int scrollOffset = 0;
@@ -610,6 +627,26 @@ public class VoiceMemoScreen implements Screen {
         }
     }
 
+    /**
+     * 画面を閉じる際に録音・再生を停止する。
+     * 録音中に閉じるとWAVヘッダーが確定されずマイクも有効なまま残り、
+     * 再生中に閉じるとレベルメーター用のチャネルが開いたまま残るため。
+     */
+    @Override
+    public void cleanup(PGraphics g) {
+        stopRecording();
+        stopPlayback();
+        closeLevelChannel();
+    }
+
+    /**
+     * 録音・再生中はレベルメーターと経過時間が毎フレーム変化する。
+     */
+    @Override
+    public boolean requiresContinuousRedraw() {
+        return isRecording || isPlaying;
+    }
+
     @Override
     public String getScreenTitle() {
         return "Voice Memo";
@@ -642,13 +679,26 @@ public class VoiceMemoScreen implements Screen {
             return;
         }
 
+        recordingSampleRate = microphone.getSampleRate();
+
+        // 録音ファイルを開き、録音中はチャンクごとに追記する
+        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss");
+        recordingFilename = "voice_memo_" + sdf.format(new Date()) + VoiceMemoFile.EXTENSION;
+        try {
+            recordingWriter = VoiceMemoFile.openWriter(memoPath(recordingFilename), Math.round(recordingSampleRate));
+            recordingRing = new PcmChunkRing(recordingWriter);
+        } catch (IOException e) {
+            logError("Failed to create memo file: " + e.getMessage(), e);
+            showStatus("Failed to start recording");
+            recordingFilename = null;
+            return;
+        }
+
         microphone.setEnabled(true);
         isRecording = true;
-        recordingBuffer.clear();
         recordingStartTime = System.currentTimeMillis();
         currentInputLevel = 0.0f;
         totalChunksReceived = 0;
-        recordingSampleRate = microphone.getSampleRate();
         showStatus("Recording started...");
         log("Recording started - sample rate: " + recordingSampleRate + " Hz");
     }
@@ -661,9 +711,8 @@ public class VoiceMemoScreen implements Screen {
         isRecording = false;
         microphone.setEnabled(false);
 
-        // 録音データを保存
-        if (!recordingBuffer.isEmpty()) {
-            saveMemo();
+        // 録音ファイルを確定
+        if (saveMemo()) {
             showStatus("Recording saved!");
         } else {
             showStatus("No data recorded");
@@ -688,14 +737,21 @@ public class VoiceMemoScreen implements Screen {
         }
 
         // OS側でミキシング（有効なチャンネルのみ）
-        byte[] mixedData = mixAudioChannels(micData, vcData, envData);
-
-        if (mixedData != null && mixedData.length > 0) {
-            recordingBuffer.add(mixedData);
+        int mixedSamples = mixAudioChannels(micData, vcData, envData);
+
+        if (mixedSamples > 0) {
+            try {
+                recordingRing.append(mixBuffer, 0, mixedSamples);
+            } catch (IOException e) {
+                logError("Failed to write recording: " + e.getMessage(), e);
+                showStatus("Recording failed");
+                stopRecording();
+                return;
+            }
             totalChunksReceived++;
 
             // 音声レベルを計算（16-bit PCM）
-            currentInputLevel = calculateAudioLevel(mixedData);
+            currentInputLevel = calculateAudioLevel(mixBuffer, mixedSamples);
         } else {
             // データがない場合はレベルを徐々に下げる
             currentInputLevel *= 0.8f;
@@ -705,160 +761,250 @@ public class VoiceMemoScreen implements Screen {
     /**
      * 複数の音声チャンネルをミキシングする。
      * OS側でのミキシング処理。
-     * チェックボックスで選択されたチャンネルのみをミックスする。
+     * チェックボックスで選択されたチャンネルのみをミックスし、結果をmixBufferに書き込む。
+     * mixBufferは最長のチャンネルより短い場合のみ拡張するため、通常はオブジェクトを割り当てない。
+     *
+     * @return ミキシングしたサンプル数（有効なチャンネルがない場合0）
      */
-    private byte[] mixAudioChannels(byte[] channel1, byte[] channel2, byte[] channel3) {
-        // 有効なチャンネルのみを追加
-        List<byte[]> channels = new ArrayList<>();
-        if (enableMicChannel && channel1 != null && channel1.length > 0) channels.add(channel1);
-        if (enableVoicechatChannel && channel2 != null && channel2.length > 0) channels.add(channel2);
-        if (enableEnvironmentChannel && channel3 != null && channel3.length > 0) channels.add(channel3);
-
-        if (channels.isEmpty()) {
-            return null;
-        }
-
-        if (channels.size() == 1) {
-            return channels.get(0);
+    private int mixAudioChannels(byte[] channel1, byte[] channel2, byte[] channel3) {
+        // 有効なチャンネルのみを使用
+        byte[] a = enableMicChannel && channel1 != null && channel1.length > 1 ? channel1 : null;
+        byte[] b = enableVoicechatChannel && channel2 != null && channel2.length > 1 ? channel2 : null;
+        byte[] c = enableEnvironmentChannel && channel3 != null && channel3.length > 1 ? channel3 : null;
+        if (a == null && b == null && c == null) {
+            return 0;
         }
 
         // 最も長いチャンネルの長さに合わせる
-        int maxLength = channels.stream().mapToInt(arr -> arr.length).max().orElse(0);
-        byte[] mixed = new byte[maxLength];
+        int sampleCount = Math.max(a != null ? a.length : 0, Math.max(b != null ? b.length : 0, c != null ? c.length : 0)) / 2;
+        if (mixBuffer.length < sampleCount) {
+            mixBuffer = new short[sampleCount];
+        }
 
-        for (int i = 0; i < maxLength; i += 2) {
+        short[] out = mixBuffer;
+        for (int i = 0; i < sampleCount; i++) {
+            int j = i * 2;
             int mixedSample = 0;
+            // 16-bit PCMとして読み取り
+            if (a != null && j + 1 < a.length) mixedSample += (short) ((a[j + 1] << 8) | (a[j] & 0xFF));
+            if (b != null && j + 1 < b.length) mixedSample += (short) ((b[j + 1] << 8) | (b[j] & 0xFF));
+            if (c != null && j + 1 < c.length) mixedSample += (short) ((c[j + 1] << 8) | (c[j] & 0xFF));
 
-            for (byte[] channel : channels) {
-                if (i + 1 < channel.length) {
-                    // 16-bit PCMとして読み取り
-                    short sample = (short) ((channel[i + 1] << 8) | (channel[i] & 0xFF));
-                    mixedSample += sample;
-                }
+            // クリッピング防止
+            if (mixedSample > Short.MAX_VALUE) {
+                mixedSample = Short.MAX_VALUE;
+            } else if (mixedSample < Short.MIN_VALUE) {
+                mixedSample = Short.MIN_VALUE;
             }
+            out[i] = (short) mixedSample;
+        }
+        return sampleCount;
+    }
 
-            // クリッピング防止
-            mixedSample = Math.max(Short.MIN_VALUE, Math.min(Short.MAX_VALUE, mixedSample));
+    /**
+     * 録音ファイルを確定してメモ一覧に追加する。
+     *
+     * @return 保存した場合true（録音データがない場合はファイルを削除してfalse）
+     */
+    private boolean saveMemo() {
+        VoiceMemoFile.Writer writer = recordingWriter;
+        PcmChunkRing ring = recordingRing;
+        String filename = recordingFilename;
+        recordingWriter = null;
+        recordingRing = null;
+        recordingFilename = null;
+        if (writer == null) {
+            return false;
+        }
 
-            // バイト配列に書き戻し
-            mixed[i] = (byte) (mixedSample & 0xFF);
-            mixed[i + 1] = (byte) ((mixedSample >> 8) & 0xFF);
+        try {
+            // メモリ上のチャンクを書き出し、ヘッダーのサイズを確定
+            ring.flush();
+        } catch (IOException e) {
+            logError("Failed to flush recording: " + e.getMessage(), e);
+        }
+        long dataLength = writer.getDataLength();
+        try {
+            writer.close();
+        } catch (IOException e) {
+            logError("Failed to finalize memo: " + e.getMessage(), e);
         }
 
-        return mixed;
-    }
+        if (dataLength == 0) {
+            vfs.deleteFile(MEMO_DIR + "/" + filename);
+            return false;
+        }
 
-    private void saveMemo() {
-        // メモ名を生成
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd_HH-mm-ss");
-        String timestamp = sdf.format(new Date());
-        String filename = "voice_memo_" + timestamp + ".dat";
-
-        // 録音データを結合
-        int totalSize = recordingBuffer.stream().mapToInt(arr -> arr.length).sum();
-        byte[] fullData = new byte[totalSize];
-        int offset = 0;
-        for (byte[] chunk : recordingBuffer) {
-            System.arraycopy(chunk, 0, fullData, offset, chunk.length);
-            offset += chunk.length;
-        }
-
-        // Base64エンコードしてメタデータと共にJSON形式で保存
-        String encodedData = Base64.getEncoder().encodeToString(fullData);
-        long duration = (System.currentTimeMillis() - recordingStartTime) / 1000;
-
-        // JSON形式のメタデータ
-        String jsonData = String.format(
-            "{\"version\":\"1.0\",\"sampleRate\":%.1f,\"duration\":%d,\"audioData\":\"%s\"}",
-            recordingSampleRate,
-            duration,
-            encodedData
-        );
-
-        vfs.writeFile("voice_memos/" + filename, jsonData);
-
-        // メモリストに追加
-        VoiceMemo memo = new VoiceMemo(filename, new Date(), duration, recordingSampleRate);
+        long durationMillis = dataLength * 1000L / ((long) Math.round(recordingSampleRate) * VoiceMemoFile.BYTES_PER_SAMPLE);
+        VoiceMemo memo = new VoiceMemo(filename, new Date(), durationMillis / 1000, recordingSampleRate);
         memos.add(memo);
 
-        log("Saved memo: " + filename + " (" + totalSize + " bytes, " + recordingSampleRate + " Hz)");
+        log("Saved memo: " + filename + " (" + dataLength + " bytes, " + recordingSampleRate + " Hz)");
+        return true;
     }
 
+    /**
+     * 保存済みのメモを一覧に読み込む。
+     * WAVファイルはヘッダーのみ、旧形式（.dat）は先頭のメタデータのみを読み込む。
+     */
     private void loadMemos() {
         memos.clear();
 
-        // VFSからメモファイルを読み込み
-        // 注: VFSはファイル一覧を取得するメソッドがないため、ここでは空リストとして開始
-        // メモは保存時にリストに追加される
+        for (String filename : vfs.listFilesByExtension(MEMO_DIR, VoiceMemoFile.EXTENSION)) {
+            Path path = memoPath(filename);
+            try {
+                VoiceMemoFile.Info info = VoiceMemoFile.readInfo(path);
+                memos.add(new VoiceMemo(filename, new Date(Files.getLastModifiedTime(path).toMillis()),
+                        info.getDurationMillis() / 1000, info.getSampleRate()));
+            } catch (IOException e) {
+                logError("Skipping unreadable memo " + filename + ": " + e.getMessage());
+            }
+        }
+
+        for (String filename : vfs.listFilesByExtension(MEMO_DIR, LEGACY_EXTENSION)) {
+            VoiceMemo memo = readLegacyMemoInfo(filename);
+            if (memo != null) {
+                memos.add(memo);
+            }
+        }
+
+        // ファイル名（録音日時）順に並べる
+        memos.sort(Comparator.comparing(VoiceMemo::getFilename));
 
         log("Loaded " + memos.size() + " memos");
     }
 
-    public void playMemo(int index) {
-        log("playMemo() called - index: " + index + ", memos.size: " + memos.size() + ", speaker.isAvailable: " + speaker.isAvailable());
-
-        if (index < 0 || index >= memos.size() || !speaker.isAvailable()) {
-            log("playMemo() conditions not met - returning");
-            return;
+    /**
+     * 旧形式（Base64をJSONに埋め込んだ.dat）のメモの先頭からメタデータのみを読み込む。
+     */
+    private VoiceMemo readLegacyMemoInfo(String filename) {
+        Path path = memoPath(filename);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(128);
+            channel.read(head, 0);
+            String prefix = new String(head.array(), 0, head.position(), StandardCharsets.US_ASCII);
+            float sampleRate = 48000.0f;
+            long duration = 0;
+            if (prefix.startsWith("{")) {
+                sampleRate = Float.parseFloat(extractJsonNumber(prefix, "\"sampleRate\":", "48000"));
+                duration = Long.parseLong(extractJsonNumber(prefix, "\"duration\":", "0"));
+            }
+            return new VoiceMemo(filename, new Date(Files.getLastModifiedTime(path).toMillis()), duration, sampleRate);
+        } catch (IOException | NumberFormatException e) {
+            logError("Skipping unreadable legacy memo " + filename + ": " + e.getMessage());
+            return null;
         }
+    }
 
-        VoiceMemo memo = memos.get(index);
-        String fileData = vfs.readFile("voice_memos/" + memo.getFilename());
+    private static String extractJsonNumber(String json, String key, String fallback) {
+        int start = json.indexOf(key);
+        if (start < 0) {
+            return fallback;
+        }
+        start += key.length();
+        int end = start;
+        while (end < json.length() && (Character.isDigit(json.charAt(end)) || json.charAt(end) == '.')) {
+            end++;
+        }
+        return end > start ? json.substring(start, end) : fallback;
+    }
 
+    /**
+     * 旧形式のメモをWAV形式に変換する（初回再生時に1回のみ）。
+     *
+     * @return 変換後のメモ、失敗した場合null
+     */
+    private VoiceMemo convertLegacyMemo(VoiceMemo memo) {
+        String fileData = vfs.readFile(MEMO_DIR + "/" + memo.getFilename());
         if (fileData == null || fileData.isEmpty()) {
-            showStatus("Failed to load memo");
-            return;
+            return null;
         }
 
-        // JSONデータをパースして音声データとサンプリングレートを取得
         byte[] audioData;
         float sampleRate = memo.getSampleRate();
-
         try {
             // JSON形式かどうかをチェック（バージョン1.0のフォーマット）
             if (fileData.startsWith("{")) {
-                // JSON形式: メタデータを含む
                 int audioDataStart = fileData.indexOf("\"audioData\":\"") + 13;
                 int audioDataEnd = fileData.lastIndexOf("\"");
-                String encodedData = fileData.substring(audioDataStart, audioDataEnd);
-
-                // サンプリングレートを取得
-                int sampleRateStart = fileData.indexOf("\"sampleRate\":") + 13;
-                int sampleRateEnd = fileData.indexOf(",", sampleRateStart);
-                sampleRate = Float.parseFloat(fileData.substring(sampleRateStart, sampleRateEnd));
-
-                // Base64デコード
-                audioData = Base64.getDecoder().decode(encodedData);
+                audioData = Base64.getDecoder().decode(fileData.substring(audioDataStart, audioDataEnd));
             } else {
                 // 旧形式: Base64のみ
                 audioData = Base64.getDecoder().decode(fileData);
-                sampleRate = 48000.0f; // デフォルト
+                sampleRate = 48000.0f;
             }
         } catch (Exception e) {
-            showStatus("Failed to decode memo");
             logError("Failed to decode: " + e.getMessage(), e);
+            return null;
+        }
+
+        String filename = memo.getFilename().substring(0, memo.getFilename().length() - LEGACY_EXTENSION.length())
+                + VoiceMemoFile.EXTENSION;
+        try {
+            VoiceMemoFile.write(memoPath(filename), Math.round(sampleRate), audioData);
+        } catch (IOException e) {
+            logError("Failed to convert legacy memo: " + e.getMessage(), e);
+            return null;
+        }
+        vfs.deleteFile(MEMO_DIR + "/" + memo.getFilename());
+        log("Converted legacy memo " + memo.getFilename() + " to " + filename);
+
+        long durationSeconds = audioData.length / ((long) Math.round(sampleRate) * VoiceMemoFile.BYTES_PER_SAMPLE);
+        return new VoiceMemo(filename, memo.getDate(), durationSeconds, sampleRate);
+    }
+
+    public void playMemo(int index) {
+        log("playMemo() called - index: " + index + ", memos.size: " + memos.size() + ", speaker.isAvailable: " + speaker.isAvailable());
+
+        if (index < 0 || index >= memos.size() || !speaker.isAvailable()) {
+            log("playMemo() conditions not met - returning");
             return;
         }
 
-        log("Original sample rate: " + sampleRate + " Hz");
+        VoiceMemo memo = memos.get(index);
+        if (memo.getFilename().endsWith(LEGACY_EXTENSION)) {
+            memo = convertLegacyMemo(memo);
+            if (memo == null) {
+                showStatus("Failed to decode memo");
+                return;
+            }
+            memos.set(index, memo);
+        }
 
-        // 48kHz以外の場合はリサンプリング
-        if (Math.abs(sampleRate - 48000.0f) > 0.1f) {
-            log("Resampling from " + sampleRate + " Hz to 48000 Hz...");
-            audioData = resampleAudio(audioData, sampleRate, 48000.0f);
-            log("Resampled to " + audioData.length + " bytes");
+        // ヘッダーを読み込み、音声データはストリームで再生する
+        Path path = memoPath(memo.getFilename());
+        VoiceMemoFile.Info info;
+        InputStream stream;
+        FileChannel levelChannel;
+        try {
+            info = VoiceMemoFile.readInfo(path);
+            stream = VoiceMemoFile.openPcmStream(path, info);
+            levelChannel = FileChannel.open(path, StandardOpenOption.READ);
+        } catch (IOException e) {
+            showStatus("Failed to load memo");
+            logError("Failed to open memo: " + e.getMessage(), e);
+            return;
+        }
+
+        log("Original sample rate: " + info.getSampleRate() + " Hz");
+
+        // 48kHz以外の場合は再生しながらリサンプリング
+        if (info.getSampleRate() != 48000) {
+            log("Resampling from " + info.getSampleRate() + " Hz to 48000 Hz while streaming");
+            stream = new ResamplingPcmInputStream(stream, info.getSampleRate(), 48000.0f);
         }
 
         isPlaying = true;
         playingIndex = index;
-        playingAudioData = audioData;
+        playingInfo = info;
+        playingLevelChannel = levelChannel;
         playingChunkIndex = 0;
         playingStartTime = System.currentTimeMillis();
         currentOutputLevel = 0.0f;
-        speaker.playAudio(audioData);
+        speaker.playStream(stream);
         showStatus("Playing: " + memo.getName());
 
-        log("Playing memo: " + memo.getFilename() + " (" + audioData.length + " bytes)");
+        log("Playing memo: " + memo.getFilename() + " (" + info.getDataLength() + " bytes)");
     }
 
     public void stopPlayback() {
@@ -868,7 +1014,8 @@ public class VoiceMemoScreen implements Screen {
 
         isPlaying = false;
         playingIndex = -1;
-        playingAudioData = null;
+        playingInfo = null;
+        closeLevelChannel();
         playingChunkIndex = 0;
         currentOutputLevel = 0.0f;
         speaker.stopAudio();
@@ -878,25 +1025,29 @@ public class VoiceMemoScreen implements Screen {
     }
 
     private void updatePlayback() {
-        if (!isPlaying || playingAudioData == null) {
+        if (!isPlaying || playingInfo == null) {
             return;
         }
 
-        // 経過時間から現在の再生位置を計算
-        // 48kHz, 16-bit, mono = 96000 bytes/sec
+        // 経過時間から現在の再生位置を計算（16-bit, mono = サンプリングレート * 2 bytes/sec）
         long elapsedMs = System.currentTimeMillis() - playingStartTime;
-        int estimatedBytePosition = (int) (elapsedMs * 96); // 96 bytes/ms
-
-        // 現在位置のチャンクの音量レベルを計算
-        if (estimatedBytePosition < playingAudioData.length) {
-            int chunkStart = estimatedBytePosition;
-            int chunkEnd = Math.min(chunkStart + PLAYBACK_CHUNK_SIZE, playingAudioData.length);
-            int chunkSize = chunkEnd - chunkStart;
-
-            if (chunkSize > 0) {
-                byte[] chunk = new byte[chunkSize];
-                System.arraycopy(playingAudioData, chunkStart, chunk, 0, chunkSize);
-                currentOutputLevel = calculateAudioLevel(chunk);
+        long estimatedBytePosition = elapsedMs * playingInfo.getSampleRate() * VoiceMemoFile.BYTES_PER_SAMPLE / 1000L;
+        estimatedBytePosition -= estimatedBytePosition % VoiceMemoFile.BYTES_PER_SAMPLE;
+
+        // 現在位置のチャンクの音量レベルを計算（ファイルから該当範囲のみ読み込む）
+        if (estimatedBytePosition < playingInfo.getDataLength()) {
+            int chunkSize = (int) Math.min(PLAYBACK_CHUNK_SIZE, playingInfo.getDataLength() - estimatedBytePosition);
+            if (chunkSize > 0 && playingLevelChannel != null) {
+                try {
+                    playingLevelBuffer.clear();
+                    playingLevelBuffer.limit(chunkSize);
+                    int read = playingLevelChannel.read(playingLevelBuffer, playingInfo.getDataOffset() + estimatedBytePosition);
+                    if (read > 0) {
+                        currentOutputLevel = calculateAudioLevel(playingLevelBuffer.array(), read);
+                    }
+                } catch (IOException e) {
+                    currentOutputLevel = 0.0f;
+                }
             }
         } else {
             // 再生完了
@@ -904,6 +1055,17 @@ public class VoiceMemoScreen implements Screen {
         }
     }
 
+    private void closeLevelChannel() {
+        if (playingLevelChannel != null) {
+            try {
+                playingLevelChannel.close();
+            } catch (IOException e) {
+                logError("Failed to close memo file: " + e.getMessage());
+            }
+            playingLevelChannel = null;
+        }
+    }
+
     private void deleteMemo(int index) {
         if (index < 0 || index >= memos.size()) {
             return;
@@ -911,8 +1073,13 @@ public class VoiceMemoScreen implements Screen {
 
         VoiceMemo memo = memos.get(index);
 
+        // 再生中のメモは先に停止してファイルを閉じる
+        if (isPlaying && playingIndex == index) {
+            stopPlayback();
+        }
+
         // VFSから削除
-        vfs.deleteFile("voice_memos/" + memo.getFilename());
+        vfs.deleteFile(MEMO_DIR + "/" + memo.getFilename());
 
         // リストから削除
         memos.remove(index);
@@ -921,84 +1088,60 @@ public class VoiceMemoScreen implements Screen {
         log("Deleted memo: " + memo.getFilename());
     }
 
+    private Path memoPath(String filename) {
+        return Paths.get(vfs.getFullPath(MEMO_DIR + "/" + filename));
+    }
+
     private void showStatus(String message) {
         statusMessage = message;
         statusMessageTime = System.currentTimeMillis();
     }
 
     /**
-     * 音声データを指定したサンプリングレートにリサンプリングする。
-     * 線形補間を使用した単純なリサンプリング。
-     *
-     * @param audioData 元の音声データ（16-bit PCM）
-     * @param sourceSampleRate 元のサンプリングレート
-     * @param targetSampleRate 目標のサンプリングレート
-     * @return リサンプリングされた音声データ
+     * サンプル配列から音量レベルを計算する（RMS）。
+     * @param samples 16-bit PCMのサンプル
+     * @param length 計算に使用するサンプル数
+     * @return 0.0〜1.0の範囲のレベル
      */
-    private byte[] resampleAudio(byte[] audioData, float sourceSampleRate, float targetSampleRate) {
-        // サンプル数を計算（16-bit = 2 bytes per sample）
-        int sourceSampleCount = audioData.length / 2;
-        int targetSampleCount = (int) (sourceSampleCount * targetSampleRate / sourceSampleRate);
-
-        // リサンプリング比率
-        float ratio = sourceSampleRate / targetSampleRate;
-
-        // 出力バッファ
-        byte[] output = new byte[targetSampleCount * 2];
-
-        // 線形補間でリサンプリング
-        for (int i = 0; i < targetSampleCount; i++) {
-            // 元の音声データでの位置（浮動小数点）
-            float sourcePos = i * ratio;
-            int sourceIndex = (int) sourcePos;
-            float fraction = sourcePos - sourceIndex;
-
-            // 元の音声データから2つのサンプルを取得
-            short sample1 = 0, sample2 = 0;
-
-            if (sourceIndex * 2 + 1 < audioData.length) {
-                sample1 = (short) ((audioData[sourceIndex * 2 + 1] << 8) | (audioData[sourceIndex * 2] & 0xFF));
-            }
-
-            if ((sourceIndex + 1) * 2 + 1 < audioData.length) {
-                sample2 = (short) ((audioData[(sourceIndex + 1) * 2 + 1] << 8) | (audioData[(sourceIndex + 1) * 2] & 0xFF));
-            } else {
-                sample2 = sample1; // 最後のサンプルの場合
-            }
-
-            // 線形補間
-            short interpolated = (short) (sample1 + fraction * (sample2 - sample1));
-
-            // 出力バッファに書き込み
-            output[i * 2] = (byte) (interpolated & 0xFF);
-            output[i * 2 + 1] = (byte) ((interpolated >> 8) & 0xFF);
+    private float calculateAudioLevel(short[] samples, int length) {
+        if (samples == null || length < 1) {
+            return 0.0f;
         }
-
-        return output;
+        long sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += samples[i] * samples[i];
+        }
+        return rmsToLevel(Math.sqrt((double) sum / length));
     }
 
     /**
      * 音声データから音量レベルを計算する（RMS）。
      * @param audioData 16-bit PCMの音声データ
+     * @param length 計算に使用するバイト数
      * @return 0.0〜1.0の範囲のレベル
      */
-    private float calculateAudioLevel(byte[] audioData) {
-        if (audioData == null || audioData.length < 2) {
+    private float calculateAudioLevel(byte[] audioData, int length) {
+        if (audioData == null || length < 2) {
             return 0.0f;
         }
 
         // RMS (Root Mean Square) を計算
         long sum = 0;
-        int sampleCount = audioData.length / 2; // 16-bit = 2 bytes per sample
+        int sampleCount = length / 2; // 16-bit = 2 bytes per sample
 
-        for (int i = 0; i < audioData.length - 1; i += 2) {
+        for (int i = 0; i < length - 1; i += 2) {
             // 16-bit PCMサンプルを読み取る（リトルエンディアン）
             short sample = (short) ((audioData[i + 1] << 8) | (audioData[i] & 0xFF));
             sum += sample * sample;
         }
 
-        double rms = Math.sqrt((double) sum / sampleCount);
+        return rmsToLevel(Math.sqrt((double) sum / sampleCount));
+    }
 
+    /**
+     * RMS値を表示用のレベルに変換する。
+     */
+    private static float rmsToLevel(double rms) {
         // 正規化（16-bit PCMの最大値は32767）
         float normalized = (float) (rms / 32767.0);
 
@@ -1039,7 +1182,8 @@ public class VoiceMemoScreen implements Screen {
 
         public String getName() {
             // ファイル名から表示名を生成
-            return filename.replace("voice_memo_", "").replace(".raw", "").replace("_", " ");
+            return filename.replace("voice_memo_", "").replace(VoiceMemoFile.EXTENSION, "")
+                    .replace(LEGACY_EXTENSION, "").replace("_", " ");
         }
 
         public Date getDate() {
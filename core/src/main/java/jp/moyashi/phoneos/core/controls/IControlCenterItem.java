@@ -149,6 +149,26 @@ public interface IControlCenterItem {
         return GridAlignment.LEFT;
     }
 
+    /**
+     * 見た目に影響する状態のスタンプを返す。
+     * コントロールセンターは表示中、この値が変化した場合のみパネルを再描画する。
+     * 外部要因で表示が変わるアイテム（再生状態、スライダー値など）は実装すること。
+     *
+     * @return 状態スタンプ
+     */
+    default long getStateStamp() {
+        return 0L;
+    }
+
+    /**
+     * アイテム自身のアニメーション中で、毎フレームの再描画が必要かどうか。
+     *
+     * @return アニメーション中の場合true
+     */
+    default boolean isAnimating() {
+        return false;
+    }
+
     /**
      * グリッド配置の水平位置を表す列挙型。
      */
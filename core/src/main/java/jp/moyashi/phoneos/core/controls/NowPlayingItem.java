@@ -360,6 +360,23 @@ public class NowPlayingItem implements IControlCenterItem {
         return false;
     }
 
+    /**
+     * 再生中のセッション・メタデータ・再生状態と、プログレスバー用の再生位置（秒単位）から作る。
+     */
+    @Override
+    public long getStateStamp() {
+        MediaController controller = sessionManager.getActiveController();
+        if (controller == null) {
+            return 0L;
+        }
+        long stamp = System.identityHashCode(controller);
+        stamp = stamp * 31 + System.identityHashCode(controller.getMetadata());
+        PlaybackState state = controller.getPlaybackState();
+        stamp = stamp * 31 + (state != null ? state.ordinal() : -1);
+        stamp = stamp * 31 + controller.getCurrentPosition() / 1000;
+        return stamp;
+    }
+
     @Override
     public String getId() { return ID; }
 
@@ -67,6 +67,11 @@ public class SliderItem implements IControlCenterItem {
         this.value = Math.max(0.0f, Math.min(1.0f, newValue));
     }
 
+    @Override
+    public long getStateStamp() {
+        return Float.floatToIntBits(value) * 2L + (isDragging ? 1 : 0);
+    }
+
     @Override
     public void draw(PGraphics g, float x, float y, float w, float h) {
         captureLayout(y, h);
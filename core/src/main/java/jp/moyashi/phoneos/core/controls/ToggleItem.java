@@ -264,6 +264,16 @@ public class ToggleItem implements IControlCenterItem {
         return isOn;
     }
 
+    @Override
+    public long getStateStamp() {
+        return (isOn ? 1 : 0) | (enabled ? 2 : 0) | (visible ? 4 : 0);
+    }
+
+    @Override
+    public boolean isAnimating() {
+        return animationProgress != targetAnimationProgress;
+    }
+
     @Override
     public String getId() {
         return id;
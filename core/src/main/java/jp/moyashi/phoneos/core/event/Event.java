@@ -156,6 +156,17 @@ public abstract class Event {
         return null;
     }
 
+    /**
+     * フレーム同期配信で同じ種類のイベントを統合するためのキーを取得する。
+     * 同じキーのイベントが1フレーム内に複数回発行された場合、最後の1件のみが配信される。
+     * デフォルトでは状態通知型のイベントタイプ（{@link EventType#isCoalescable()}）のみ統合する。
+     *
+     * @return 統合キー、統合しない場合null
+     */
+    public Object getCoalesceKey() {
+        return type.isCoalescable() ? type : null;
+    }
+
     @Override
     public String toString() {
         return String.format("%s[type=%s, source=%s, timestamp=%d, cancelled=%s, consumed=%s]",
@@ -2,6 +2,9 @@ package jp.moyashi.phoneos.core.event;
 
 import java.util.*;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -15,6 +18,7 @@ import java.util.logging.Level;
  * - 優先度付きリスナー
  * - イベントフィルタリング
  * - 非同期/同期イベント配信
+ * - フレーム同期配信（バックグラウンドスレッドからのイベントをフレーム先頭でまとめて配信）
  * - イベント履歴管理
  *
  * @since 2025-12-04
@@ -34,18 +38,76 @@ public class EventBus {
     /** グローバルリスナー（すべてのイベントを受信） */
     private final List<ListenerWrapper<Event>> globalListeners;
 
+    /**
+     * イベントクラスごとの配信テーブル（グローバル→型固有→親クラスの順に平坦化したリスナー配列）。
+     * 登録・登録解除のたびにマップごと差し替えて無効化し、post()では配列を1回走査するだけにする。
+     */
+    private volatile ConcurrentHashMap<Class<?>, ListenerWrapper<?>[]> dispatchTables = new ConcurrentHashMap<>();
+
+    /** 空の配信テーブル */
+    private static final ListenerWrapper<?>[] EMPTY_TABLE = new ListenerWrapper<?>[0];
+
     /** イベント実行用のExecutor */
     private final ExecutorService executor;
 
     /** 同期イベント実行用のExecutor */
     private final ExecutorService syncExecutor;
 
-    /** イベント履歴 */
-    private final Queue<Event> eventHistory;
+    /** 遅延イベント用の共有タイマー */
+    private final EventScheduler delayedScheduler;
+
+    /** フレーム同期配信の待機キュー（複数スレッドから投入、フレームスレッドのみが取り出す） */
+    private final ConcurrentLinkedQueue<QueuedEvent> frameQueue = new ConcurrentLinkedQueue<>();
+
+    /** 待機キュー内のイベント数 */
+    private final AtomicInteger frameQueueSize = new AtomicInteger();
+
+    /** 待機キューの上限（超過時は呼び出し元スレッドで同期配信する） */
+    private static final int MAX_FRAME_QUEUE_SIZE = 4096;
+
+    /** 1フレームで配信する最大件数（残りは次フレームに持ち越す） */
+    private static final int MAX_FRAME_BATCH = 1024;
+
+    /** フレーム同期配信モード */
+    private volatile boolean frameAlignedDelivery = false;
+
+    /** 最後にdispatchQueued()を呼び出したスレッド（フレームスレッド） */
+    private volatile Thread frameThread;
+
+    /** 最後にdispatchQueued()が呼び出された時刻（System.nanoTime()） */
+    private volatile long lastFrameDispatchNs;
 
-    /** 履歴の最大サイズ */
+    /**
+     * フレームが停止しているとみなす時間。
+     * ホストがupdate()を呼ばない間（Forgeで画面を閉じている間など）は、保留中のイベントを
+     * 共有タイマースレッドで配信し、新たなイベントは呼び出し元スレッドで同期配信する。
+     */
+    private static final long FRAME_STALL_MS = 250;
+
+    /** 停止検出用のタイマータスクが予約済みか */
+    private final AtomicBoolean frameWatchdogScheduled = new AtomicBoolean();
+
+    /** フレームスレッド以外からイベントが発行された時に次フレームを要求するコールバック */
+    private volatile Runnable frameRequester;
+
+    /** 待機キューからの取り出し・配信を直列化するロック */
+    private final Object frameDrainLock = new Object();
+
+    /** 待機キューを配信中のスレッド（配信中でなければnull、frameDrainLockで更新） */
+    private volatile Thread drainingThread;
+
+    /** 統合により配信を省略したイベント数 */
+    private final AtomicLong coalescedCount = new AtomicLong();
+
+    /** イベント履歴（固定長リングバッファ） */
+    private final EventHistory eventHistory;
+
+    /** 履歴の最大サイズ（2のべき乗に切り上げられる） */
     private static final int MAX_HISTORY_SIZE = 100;
 
+    /** イベント履歴を記録するか */
+    private volatile boolean historyEnabled = true;
+
     /** イベントバスが有効か */
     private volatile boolean enabled = true;
 
@@ -68,7 +130,8 @@ public class EventBus {
             t.setDaemon(true);
             return t;
         });
-        this.eventHistory = new ConcurrentLinkedQueue<>();
+        this.delayedScheduler = new EventScheduler(this::post, EventScheduler.DEFAULT_MAX_PENDING);
+        this.eventHistory = new EventHistory(MAX_HISTORY_SIZE);
     }
 
     /**
@@ -118,6 +181,7 @@ public class EventBus {
             list.sort(Comparator.comparingInt(ListenerWrapper::getPriority));
             return list;
         });
+        invalidateDispatchTables();
 
         if (debugMode) {
             logger.info("Registered listener for " + eventClass.getSimpleName() +
@@ -148,6 +212,7 @@ public class EventBus {
         ListenerWrapper<Event> wrapper = new ListenerWrapper<>(listener, priority);
         globalListeners.add(wrapper);
         globalListeners.sort(Comparator.comparingInt(ListenerWrapper::getPriority));
+        invalidateDispatchTables();
 
         if (debugMode) {
             logger.info("Registered global listener with priority " + priority);
@@ -168,6 +233,7 @@ public class EventBus {
             if (list.isEmpty()) {
                 listeners.remove(eventClass);
             }
+            invalidateDispatchTables();
         }
     }
 
@@ -177,7 +243,9 @@ public class EventBus {
      * @param listener 登録解除するリスナー
      */
     public void unregisterGlobal(EventListener<Event> listener) {
-        globalListeners.removeIf(wrapper -> wrapper.getListener().equals(listener));
+        if (globalListeners.removeIf(wrapper -> wrapper.getListener().equals(listener))) {
+            invalidateDispatchTables();
+        }
     }
 
     /**
@@ -186,11 +254,14 @@ public class EventBus {
     public void unregisterAll() {
         listeners.clear();
         globalListeners.clear();
+        invalidateDispatchTables();
     }
 
     /**
      * イベントを同期的に発行する。
      * 呼び出し元のスレッドでリスナーが実行される。
+     * ただしフレーム同期配信（{@link #setFrameAlignedDelivery(boolean)}、デフォルト無効）が有効な間は、
+     * フレームスレッド以外からの発行は次フレームまで保留され、フレームスレッドで配信される。
      *
      * @param event 発行するイベント
      */
@@ -199,31 +270,94 @@ public class EventBus {
             return;
         }
 
+        // フレーム同期配信モードでは、フレームスレッド以外からのイベントを次フレームまで保留
+        if (frameAlignedDelivery && enqueueForFrame(event, null)) {
+            requestFrame();
+            return;
+        }
+
+        dispatch(event);
+        if (Thread.currentThread() != frameThread) {
+            requestFrame();
+        }
+    }
+
+    /**
+     * 次フレームを要求する。フレームスケジューラーがアイドルティックで動作していても、
+     * 保留したイベントや他スレッドでの配信結果を次のホストフレームで反映させる。
+     */
+    private void requestFrame() {
+        Runnable requester = frameRequester;
+        if (requester != null) {
+            requester.run();
+        }
+    }
+
+    /**
+     * イベントを現在のスレッドで配信する。
+     *
+     * @param event 配信するイベント
+     */
+    private void dispatch(Event event) {
         // 履歴に追加
-        addToHistory(event);
+        if (historyEnabled) {
+            eventHistory.record(event);
+        }
 
         if (debugMode) {
             logger.info("Posting event: " + event);
         }
 
-        // グローバルリスナーに通知
-        notifyListeners(globalListeners, event);
+        // グローバル→型固有→親クラスの順に平坦化された配信テーブルで通知
+        notifyListeners(getDispatchTable(event.getClass()), event);
+    }
 
-        // 型固有のリスナーに通知
-        List<ListenerWrapper<?>> specificListeners = listeners.get(event.getClass());
-        if (specificListeners != null) {
-            notifyListeners(specificListeners, event);
+    /**
+     * イベントクラスの配信テーブルを取得する。未作成の場合は作成してキャッシュする。
+     *
+     * @param eventClass イベントクラス
+     * @return 配信順に並んだリスナー配列
+     */
+    private ListenerWrapper<?>[] getDispatchTable(Class<?> eventClass) {
+        ConcurrentHashMap<Class<?>, ListenerWrapper<?>[]> tables = dispatchTables;
+        ListenerWrapper<?>[] table = tables.get(eventClass);
+        if (table == null) {
+            table = buildDispatchTable(eventClass);
+            // 作成中に登録・登録解除があった場合、古いマップに入るだけで新しいマップには影響しない
+            ListenerWrapper<?>[] existing = tables.putIfAbsent(eventClass, table);
+            if (existing != null) {
+                table = existing;
+            }
         }
+        return table;
+    }
 
-        // 親クラスのリスナーにも通知
-        Class<?> superClass = event.getClass().getSuperclass();
-        while (superClass != null && Event.class.isAssignableFrom(superClass)) {
-            List<ListenerWrapper<?>> superListeners = listeners.get(superClass);
-            if (superListeners != null) {
-                notifyListeners(superListeners, event);
+    /**
+     * 配信テーブルを作成する。
+     * 従来のpost()と同じく、グローバルリスナー、型固有のリスナー、親クラスのリスナーの順に並べる。
+     *
+     * @param eventClass イベントクラス
+     * @return 配信順に並んだリスナー配列
+     */
+    private ListenerWrapper<?>[] buildDispatchTable(Class<?> eventClass) {
+        List<ListenerWrapper<?>> flattened = new ArrayList<>(globalListeners);
+
+        Class<?> type = eventClass;
+        while (type != null && Event.class.isAssignableFrom(type)) {
+            List<ListenerWrapper<?>> typeListeners = listeners.get(type);
+            if (typeListeners != null) {
+                flattened.addAll(typeListeners);
             }
-            superClass = superClass.getSuperclass();
+            type = type.getSuperclass();
         }
+        return flattened.isEmpty() ? EMPTY_TABLE : flattened.toArray(EMPTY_TABLE);
+    }
+
+    /**
+     * 配信テーブルを無効化する。リスナーの変更後に呼び出す。
+     */
+    private void invalidateDispatchTables() {
+        dispatchTables = new ConcurrentHashMap<>();
     }
 
     /**
@@ -234,38 +368,256 @@ public class EventBus {
      * @return 非同期実行のFuture
      */
     public CompletableFuture<Void> postAsync(Event event) {
+        if (frameAlignedDelivery && enabled && event != null) {
+            // フレーム同期配信モードではスレッドプールを使わず、次フレームの先頭で配信する
+            CompletableFuture<Void> completion = new CompletableFuture<>();
+            if (enqueueForFrame(event, completion)) {
+                requestFrame();
+                return completion;
+            }
+        }
         return CompletableFuture.runAsync(() -> post(event), executor);
     }
 
+    /**
+     * フレーム同期配信の待機キューにイベントを追加する。
+     * フレームスレッドが未確定、呼び出し元がフレームスレッド、フレームが停止している、
+     * またはキューが上限に達している場合は追加しない。
+     * フレーム停止中は配信順を保つため、保留中のイベントを先に呼び出し元スレッドで配信する。
+     *
+     * @param event イベント
+     * @param completion 配信完了時に完了させるFuture（不要な場合null）
+     * @return キューに追加した場合true
+     */
+    private boolean enqueueForFrame(Event event, CompletableFuture<Void> completion) {
+        Thread thread = frameThread;
+        if (thread == null || (thread == Thread.currentThread() && completion == null)) {
+            return false;
+        }
+        // 配信中のリスナーからの発行は、配信中のバッチに割り込まないよう停止中でもキューに追加する
+        // （配信元のdrainAllFrameEvents()のループが続けて配信する）
+        if (isFrameStalled() && drainingThread != Thread.currentThread()) {
+            drainAllFrameEvents();
+            return false;
+        }
+        if (frameQueueSize.incrementAndGet() > MAX_FRAME_QUEUE_SIZE) {
+            frameQueueSize.decrementAndGet();
+            return false;
+        }
+        frameQueue.offer(new QueuedEvent(event, completion));
+        scheduleFrameWatchdog();
+        return true;
+    }
+
+    /**
+     * 最後のdispatchQueued()から{@link #FRAME_STALL_MS}以上経過しているかを判定する。
+     */
+    private boolean isFrameStalled() {
+        return System.nanoTime() - lastFrameDispatchNs > TimeUnit.MILLISECONDS.toNanos(FRAME_STALL_MS);
+    }
+
+    /**
+     * 保留中のイベントがフレームで配信されなかった場合に備えて、停止検出タスクを予約する。
+     */
+    private void scheduleFrameWatchdog() {
+        if (!frameWatchdogScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            delayedScheduler.scheduleTask(this::runFrameWatchdog, FRAME_STALL_MS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // シャットダウン済み（保留中のイベントはshutdown()で配信済み）
+            frameWatchdogScheduled.set(false);
+        }
+    }
+
+    /**
+     * 停止検出タスク。フレームが停止していれば保留中のイベントを共有タイマースレッドで配信し、
+     * フレームが進んでいれば保留が残っている場合のみ再予約する。
+     */
+    private void runFrameWatchdog() {
+        frameWatchdogScheduled.set(false);
+        if (frameQueueSize.get() == 0) {
+            return;
+        }
+        if (isFrameStalled()) {
+            drainAllFrameEvents();
+        } else {
+            scheduleFrameWatchdog();
+        }
+    }
+
+    /**
+     * 待機キューが空になるまで配信する。
+     */
+    private void drainAllFrameEvents() {
+        while (!frameQueue.isEmpty()) {
+            drainFrameQueue();
+        }
+    }
+
+    /**
+     * フレーム同期配信の待機キューに溜まったイベントをまとめて配信する。
+     * Kernel.update()の先頭でフレームスレッドから呼び出す。呼び出したスレッドがフレームスレッドとなり、
+     * 以後ほかのスレッドから発行されたイベントはキューに保留される。
+     *
+     * 同じ統合キー（{@link Event#getCoalesceKey()}）のイベントが複数ある場合は最後の1件のみ配信する。
+     *
+     * @return 配信したイベント数
+     */
+    public int dispatchQueued() {
+        frameThread = Thread.currentThread();
+        lastFrameDispatchNs = System.nanoTime();
+        return drainFrameQueue();
+    }
+
+    /**
+     * 待機キューからイベントを取り出して配信する。
+     * 通常はフレームスレッドのみが呼び出すが、停止検出タスクやshutdown()からの呼び出しと競合しないよう同期する。
+     * バッチは呼び出しごとのローカルなリストに取り出すため、リスナーから再入しても配信中のバッチは変化しない。
+     */
+    private int drainFrameQueue() {
+        if (frameQueueSize.get() == 0) {
+            return 0;
+        }
+        synchronized (frameDrainLock) {
+            Thread previous = drainingThread;
+            drainingThread = Thread.currentThread();
+            try {
+                return drainFrameQueueLocked();
+            } finally {
+                drainingThread = previous;
+            }
+        }
+    }
+
+    private int drainFrameQueueLocked() {
+        List<QueuedEvent> batch = new ArrayList<>(Math.min(frameQueueSize.get(), MAX_FRAME_BATCH));
+        Map<Object, Event> latestByKey = new HashMap<>();
+        QueuedEvent queued;
+        while (batch.size() < MAX_FRAME_BATCH && (queued = frameQueue.poll()) != null) {
+            frameQueueSize.decrementAndGet();
+            batch.add(queued);
+        }
+
+        // 統合キーごとに最後のイベントを求める
+        for (QueuedEvent item : batch) {
+            Object key = item.event.getCoalesceKey();
+            if (key != null) {
+                latestByKey.put(key, item.event);
+            }
+        }
+
+        int delivered = 0;
+        for (QueuedEvent item : batch) {
+            Object key = item.event.getCoalesceKey();
+            if (key != null && latestByKey.get(key) != item.event) {
+                // より新しい同種のイベントがあるため省略
+                coalescedCount.incrementAndGet();
+            } else if (enabled) {
+                dispatch(item.event);
+                delivered++;
+            }
+            if (item.completion != null) {
+                item.completion.complete(null);
+            }
+        }
+        return delivered;
+    }
+
+    /**
+     * フレーム同期配信モードを設定する。
+     * 有効にすると、フレームスレッド（{@link #dispatchQueued()}の呼び出し元）以外から発行されたイベントは
+     * 次フレームの先頭でまとめて配信され、リスナーはフレームスレッドからのみ呼び出される。
+     * ただしホストがupdate()を{@link #FRAME_STALL_MS}以上呼び出さない間は、保留中のイベントを共有タイマースレッドで、
+     * 新たなイベントを呼び出し元スレッドで配信する（キューが溜まり続けないようにするため）。
+     * 有効な間、フレームスレッド以外からの{@link #post(Event)}は呼び出し元スレッドで同期的に配信されず、非同期になる。
+     * デフォルトは無効。Kernelは{@code -Dmochi.frameAlignedEvents=true}の場合のみ有効にする。
+     * 無効にした場合、保留中のイベントは次のdispatchQueued()で配信される。
+     *
+     * @param frameAlignedDelivery 有効にする場合true
+     */
+    public void setFrameAlignedDelivery(boolean frameAlignedDelivery) {
+        this.frameAlignedDelivery = frameAlignedDelivery;
+    }
+
+    /**
+     * フレームスレッド以外からイベントが発行された時に呼び出すコールバックを設定する。
+     * Kernelは{@code Kernel.requestSingleFrame()}を設定し、アイドル中でも次のホストフレームで1回更新させる
+     * （上限レートの維持は開始しない）。
+     *
+     * @param frameRequester コールバック（不要な場合null）
+     */
+    public void setFrameRequester(Runnable frameRequester) {
+        this.frameRequester = frameRequester;
+    }
+
+    /**
+     * フレーム同期配信モードが有効かどうか。
+     *
+     * @return 有効な場合true
+     */
+    public boolean isFrameAlignedDelivery() {
+        return frameAlignedDelivery;
+    }
+
+    /**
+     * フレーム同期配信の統合により配信を省略したイベント数を取得する。
+     *
+     * @return 省略したイベント数
+     */
+    public long getCoalescedCount() {
+        return coalescedCount.get();
+    }
+
     /**
      * イベントを遅延して発行する。
+     * 全ての遅延イベントは共有タイマー（{@link EventScheduler}）の1スレッドで処理される。
+     * 同じイベントインスタンスを発火前に再登録した場合は1回にまとめられる。
      *
      * @param event 発行するイベント
      * @param delay 遅延時間
      * @param unit 時間単位
-     * @return 遅延実行のFuture
+     * @return 遅延実行のFuture（cancel()で取り消し可能）
+     * @throws RejectedExecutionException 待機中の遅延イベントが上限に達している場合
      */
     public ScheduledFuture<?> postDelayed(Event event, long delay, TimeUnit unit) {
-        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
-            Thread t = new Thread(r, "EventBus-Delayed");
-            t.setDaemon(true);
-            return t;
-        });
+        return delayedScheduler.schedule(event, delay, unit);
+    }
+
+    /**
+     * イベントを統合キー付きで遅延して発行する。
+     * 同じキーのイベントが発火前に再登録された場合、最初の発火時刻に最新のイベントを1回だけ発行する。
+     *
+     * @param event 発行するイベント
+     * @param delay 遅延時間
+     * @param unit 時間単位
+     * @param coalesceKey 統合キー（例: "reminder:" + id）
+     * @return 遅延実行のFuture（cancel()で取り消し可能）
+     * @throws RejectedExecutionException 待機中の遅延イベントが上限に達している場合
+     */
+    public ScheduledFuture<?> postDelayed(Event event, long delay, TimeUnit unit, Object coalesceKey) {
+        return delayedScheduler.schedule(event, delay, unit, coalesceKey);
+    }
 
-        return scheduler.schedule(() -> {
-            post(event);
-            scheduler.shutdown();
-        }, delay, unit);
+    /**
+     * 統合キーを指定して待機中の遅延イベントを取り消す。
+     *
+     * @param coalesceKey 統合キー
+     * @return 取り消した場合true
+     */
+    public boolean cancelDelayed(Object coalesceKey) {
+        return delayedScheduler.cancel(coalesceKey);
     }
 
     /**
      * リスナーに通知する。
      *
-     * @param wrappers リスナーラッパーのリスト
+     * @param wrappers 配信順に並んだリスナーラッパーの配列
      * @param event 通知するイベント
      */
     @SuppressWarnings("unchecked")
-    private void notifyListeners(List<? extends ListenerWrapper<?>> wrappers, Event event) {
+    private void notifyListeners(ListenerWrapper<?>[] wrappers, Event event) {
         for (ListenerWrapper<?> wrapper : wrappers) {
             if (event.isConsumed()) {
                 break;
@@ -273,15 +625,17 @@ public class EventBus {
 
             EventListener listener = wrapper.getListener();
 
-            // リスナーが無効な場合はスキップ
-            if (!listener.isEnabled()) {
+            // リスナーが無効な場合はスキップ（isEnabled()を実装していないリスナーは呼び出さない）
+            if (wrapper.checksEnabled && !listener.isEnabled()) {
                 continue;
             }
 
-            // フィルターチェック
-            EventFilter filter = listener.getFilter();
-            if (filter != null && !filter.accept(event)) {
-                continue;
+            // フィルターチェック（getFilter()を実装していないリスナーは呼び出さない）
+            if (wrapper.hasFilter) {
+                EventFilter filter = listener.getFilter();
+                if (filter != null && !filter.accept(event)) {
+                    continue;
+                }
             }
 
             try {
@@ -293,24 +647,40 @@ public class EventBus {
     }
 
     /**
-     * イベント履歴に追加する。
+     * イベント履歴を古い順に取得する。
      *
-     * @param event 追加するイベント
+     * @return イベント履歴のリスト
      */
-    private void addToHistory(Event event) {
-        eventHistory.offer(event);
-        while (eventHistory.size() > MAX_HISTORY_SIZE) {
-            eventHistory.poll();
-        }
+    public List<Event> getHistory() {
+        return eventHistory.snapshotEvents();
     }
 
     /**
-     * イベント履歴を取得する。
+     * イベント履歴のスナップショットを古い順に取得する。
+     * 各エントリは記録順の連番・イベントクラス・タイプ・発生時刻を持つ。
      *
-     * @return イベント履歴のリスト
+     * @return イベント履歴エントリのリスト
      */
-    public List<Event> getHistory() {
-        return new ArrayList<>(eventHistory);
+    public List<EventHistory.Entry> getHistoryEntries() {
+        return eventHistory.snapshot();
+    }
+
+    /**
+     * イベント履歴の記録を有効/無効にする。
+     *
+     * @param historyEnabled 記録する場合true
+     */
+    public void setHistoryEnabled(boolean historyEnabled) {
+        this.historyEnabled = historyEnabled;
+    }
+
+    /**
+     * イベント履歴を記録しているかどうか。
+     *
+     * @return 記録している場合true
+     */
+    public boolean isHistoryEnabled() {
+        return historyEnabled;
     }
 
     /**
@@ -342,7 +712,10 @@ public class EventBus {
      * EventBusをシャットダウンする。
      */
     public void shutdown() {
+        // フレーム同期配信で保留中のイベント（シャットダウン通知など）を配信してから停止
+        drainAllFrameEvents();
         enabled = false;
+        delayedScheduler.shutdown();
         executor.shutdown();
         syncExecutor.shutdown();
         try {
@@ -359,6 +732,19 @@ public class EventBus {
         }
     }
 
+    /**
+     * フレーム同期配信の待機キューの要素。
+     */
+    private static final class QueuedEvent {
+        private final Event event;
+        private final CompletableFuture<Void> completion;
+
+        QueuedEvent(Event event, CompletableFuture<Void> completion) {
+            this.event = event;
+            this.completion = completion;
+        }
+    }
+
     /**
      * リスナーをラップするクラス。
      * 優先度情報を保持する。
@@ -369,9 +755,29 @@ public class EventBus {
         private final EventListener<T> listener;
         private final int priority;
 
+        /** isEnabled()をオーバーライドしているか（デフォルト実装は常にtrue） */
+        private final boolean checksEnabled;
+
+        /** getFilter()をオーバーライドしているか（デフォルト実装は常にnull） */
+        private final boolean hasFilter;
+
         public ListenerWrapper(EventListener<T> listener, int priority) {
             this.listener = listener;
             this.priority = priority;
+            this.checksEnabled = overridesDefault(listener, "isEnabled");
+            this.hasFilter = overridesDefault(listener, "getFilter");
+        }
+
+        /**
+         * リスナーがEventListenerのデフォルトメソッドをオーバーライドしているかを判定する。
+         * 判定できない場合は安全側（オーバーライドしている）とみなす。
+         */
+        private static boolean overridesDefault(EventListener<?> listener, String methodName) {
+            try {
+                return listener.getClass().getMethod(methodName).getDeclaringClass() != EventListener.class;
+            } catch (NoSuchMethodException | SecurityException e) {
+                return true;
+            }
         }
 
         public EventListener<T> getListener() {
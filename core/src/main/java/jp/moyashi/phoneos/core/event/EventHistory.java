@@ -0,0 +1,145 @@
+package jp.moyashi.phoneos.core.event;
+
+import jp.moyashi.phoneos.core.util.SeqLockRing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 固定長のロックフリーなイベント履歴。
+ *
+ * イベントの参照とイベントクラス・イベントタイプ・発生時刻を
+ * リングバッファの並列配列に書き込むため、記録時のオブジェクト割り当てはない。
+ * 連番とシーケンスロックによる上書き検出は{@link SeqLockRing}が行う。
+ *
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public class EventHistory extends SeqLockRing<EventHistory.Entry> {
+
+    private final Event[] events;
+    private final Class<?>[] eventClasses;
+    private final EventType[] types;
+    private final long[] timestamps;
+
+    /**
+     * イベント履歴を作成する。
+     *
+     * @param minCapacity 保持するエントリ数の下限（2のべき乗に切り上げる）
+     */
+    public EventHistory(int minCapacity) {
+        super(minCapacity);
+        int size = getCapacity();
+        this.events = new Event[size];
+        this.eventClasses = new Class<?>[size];
+        this.types = new EventType[size];
+        this.timestamps = new long[size];
+    }
+
+    /**
+     * イベントを記録する。複数スレッドから同時に呼び出し可能。
+     *
+     * @param event 記録するイベント
+     */
+    public void record(Event event) {
+        long sequence = beginWrite();
+        int slot = slotOf(sequence);
+        events[slot] = event;
+        eventClasses[slot] = event.getClass();
+        types[slot] = event.getType();
+        timestamps[slot] = event.getTimestamp();
+        endWrite(sequence);
+    }
+
+    /**
+     * 現在の履歴のスナップショットを古い順に取得する。
+     * 取得中に上書きされたエントリは含まれない。
+     *
+     * @return 履歴エントリのリスト
+     */
+    public List<Entry> snapshot() {
+        return snapshotEntries(null);
+    }
+
+    /**
+     * 現在の履歴のイベントを古い順に取得する。
+     * 取得中に上書きされたイベントは含まれない。
+     *
+     * @return イベントのリスト
+     */
+    public List<Event> snapshotEvents() {
+        List<Entry> entries = snapshotEntries(null);
+        List<Event> result = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            if (entry.event != null) {
+                result.add(entry.event);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 履歴を消去し、保持していたイベントの参照を解放する。
+     */
+    @Override
+    public void clear() {
+        super.clear();
+        Arrays.fill(events, null);
+    }
+
+    @Override
+    protected Entry readSlot(int slot, long sequence) {
+        return new Entry(sequence, events[slot], eventClasses[slot], types[slot], timestamps[slot]);
+    }
+
+    /**
+     * 履歴エントリ（イベントの要約）。
+     */
+    public static final class Entry {
+        private final long sequence;
+        private final Event event;
+        private final Class<?> eventClass;
+        private final EventType type;
+        private final long timestamp;
+
+        Entry(long sequence, Event event, Class<?> eventClass, EventType type, long timestamp) {
+            this.sequence = sequence;
+            this.event = event;
+            this.eventClass = eventClass;
+            this.type = type;
+            this.timestamp = timestamp;
+        }
+
+        /** 記録順の連番 */
+        public long getSequence() {
+            return sequence;
+        }
+
+        /** 記録したイベント（履歴の消去と競合した場合はnull） */
+        public Event getEvent() {
+            return event;
+        }
+
+        /** イベントクラス */
+        public Class<?> getEventClass() {
+            return eventClass;
+        }
+
+        /** イベントタイプ */
+        public EventType getType() {
+            return type;
+        }
+
+        /** イベント発生時刻（ミリ秒） */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("#%d %s[type=%s, timestamp=%d]",
+                    sequence, eventClass.getSimpleName(), type, timestamp);
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package jp.moyashi.phoneos.core.event;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * 遅延イベントの共有タイマー。
+ *
+ * EventBus.postDelayed()の呼び出しごとにスレッドを作成せず、1本のデーモンスレッドを持つ
+ * ScheduledThreadPoolExecutorで全ての遅延イベントを処理する。
+ *
+ * 特徴:
+ * - キャンセル（キー指定、またはScheduledFuture.cancel()）
+ * - 同じキーの遅延イベントの統合（発火前に再登録された場合、最初の発火時刻に最新のイベントを1回だけ発行）
+ * - 待機中イベント数の上限（超過時はRejectedExecutionException）
+ *
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public class EventScheduler {
+
+    /** ロガー */
+    private static final Logger logger = Logger.getLogger(EventScheduler.class.getName());
+
+    /** デフォルトの待機中イベント数の上限 */
+    public static final int DEFAULT_MAX_PENDING = 1024;
+
+    /** 発火時にイベントを渡す先（通常はEventBus.post） */
+    private final Consumer<Event> sink;
+
+    /** 待機中イベント数の上限 */
+    private final int maxPending;
+
+    /** タイマースレッド */
+    private final ScheduledThreadPoolExecutor timer;
+
+    /** 統合キーごとの待機中タスク */
+    private final Map<Object, DelayedEvent> pending = new ConcurrentHashMap<>();
+
+    /** 待機中イベント数 */
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    /**
+     * 遅延イベントスケジューラーを作成する。
+     *
+     * @param sink 発火時にイベントを渡す先
+     * @param maxPending 待機中イベント数の上限
+     */
+    public EventScheduler(Consumer<Event> sink, int maxPending) {
+        if (sink == null) {
+            throw new IllegalArgumentException("Sink cannot be null");
+        }
+        this.sink = sink;
+        this.maxPending = Math.max(1, maxPending);
+        this.timer = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r, "EventBus-Delayed");
+            t.setDaemon(true);
+            return t;
+        });
+        // キャンセルされたタスクを即座にキューから取り除く
+        this.timer.setRemoveOnCancelPolicy(true);
+        this.timer.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+    }
+
+    /**
+     * イベントを遅延して発行する。同じイベントインスタンスが待機中の場合は統合される。
+     *
+     * @param event 発行するイベント
+     * @param delay 遅延時間
+     * @param unit 時間単位
+     * @return 遅延実行のFuture（cancel()で取り消し可能）
+     * @throws RejectedExecutionException 待機中イベント数が上限に達している場合
+     */
+    public ScheduledFuture<?> schedule(Event event, long delay, TimeUnit unit) {
+        return schedule(event, delay, unit, new IdentityKey(event));
+    }
+
+    /**
+     * イベントを統合キー付きで遅延して発行する。
+     * 同じキーのイベントが発火前に再登録された場合、新たなタスクは作らず、
+     * 待機中のタスクのイベントを最新のものに差し替える（発火時刻は最初の登録のまま）。
+     *
+     * @param event 発行するイベント
+     * @param delay 遅延時間
+     * @param unit 時間単位
+     * @param coalesceKey 統合キー
+     * @return 遅延実行のFuture（cancel()で取り消し可能）
+     * @throws RejectedExecutionException 待機中イベント数が上限に達している場合
+     */
+    public ScheduledFuture<?> schedule(Event event, long delay, TimeUnit unit, Object coalesceKey) {
+        if (event == null) {
+            throw new IllegalArgumentException("Event cannot be null");
+        }
+        Object key = coalesceKey != null ? coalesceKey : new IdentityKey(event);
+
+        return pending.compute(key, (k, existing) -> {
+            if (existing != null && existing.replaceEvent(event)) {
+                return existing;
+            }
+            if (pendingCount.get() >= maxPending) {
+                throw new RejectedExecutionException(
+                        "Too many pending delayed events (max " + maxPending + ")");
+            }
+            DelayedEvent created = new DelayedEvent(k, event);
+            pendingCount.incrementAndGet();
+            try {
+                created.future = timer.schedule(created, Math.max(0L, delay), unit);
+            } catch (RejectedExecutionException e) {
+                pendingCount.decrementAndGet();
+                throw e;
+            }
+            return created;
+        });
+    }
+
+    /**
+     * 任意の処理を共有タイマースレッドで遅延実行する（EventBus内部の保守処理用）。
+     * 待機中イベント数の上限には数えない。
+     *
+     * @param task 実行する処理
+     * @param delay 遅延時間
+     * @param unit 時間単位
+     * @return 遅延実行のFuture
+     * @throws RejectedExecutionException スケジューラーが停止している場合
+     */
+    public ScheduledFuture<?> scheduleTask(Runnable task, long delay, TimeUnit unit) {
+        if (task == null) {
+            throw new IllegalArgumentException("Task cannot be null");
+        }
+        return timer.schedule(task, Math.max(0L, delay), unit);
+    }
+
+    /**
+     * 統合キーを指定して待機中のイベントを取り消す。
+     *
+     * @param coalesceKey 統合キー
+     * @return 取り消した場合true
+     */
+    public boolean cancel(Object coalesceKey) {
+        DelayedEvent task = pending.get(coalesceKey);
+        return task != null && task.cancel(false);
+    }
+
+    /**
+     * 待機中のイベント数を取得する。
+     *
+     * @return 待機中のイベント数
+     */
+    public int getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * スケジューラーを停止する。待機中のイベントは破棄される。
+     */
+    public void shutdown() {
+        timer.shutdownNow();
+        pending.clear();
+        pendingCount.set(0);
+    }
+
+    /**
+     * 待機中の遅延イベント。
+     * 呼び出し元へはこのオブジェクトをFutureとして返し、取り消し時に待機中の記録を解放する。
+     */
+    private final class DelayedEvent implements Runnable, ScheduledFuture<Object> {
+        private final Object key;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private Event event;
+        private boolean fired;
+        private volatile ScheduledFuture<?> future;
+
+        DelayedEvent(Object key, Event event) {
+            this.key = key;
+            this.event = event;
+        }
+
+        /**
+         * 発火前であればイベントを差し替える。
+         *
+         * @return 差し替えた場合true（既に発火・取り消し済みの場合false）
+         */
+        synchronized boolean replaceEvent(Event newEvent) {
+            if (fired || released.get()) {
+                return false;
+            }
+            event = newEvent;
+            return true;
+        }
+
+        @Override
+        public void run() {
+            Event toPost;
+            synchronized (this) {
+                fired = true;
+                toPost = event;
+            }
+            release();
+            try {
+                sink.accept(toPost);
+            } catch (Exception e) {
+                logger.log(Level.SEVERE, "Error posting delayed event", e);
+            }
+        }
+
+        /**
+         * 待機中の記録を解放する（発火・取り消しのどちらでも1回のみ）。
+         */
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                pending.remove(key, this);
+                pendingCount.decrementAndGet();
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = future.cancel(mayInterruptIfRunning);
+            if (cancelled) {
+                release();
+            }
+            return cancelled;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return future.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return future.isDone();
+        }
+
+        @Override
+        public Object get() throws InterruptedException, ExecutionException {
+            return future.get();
+        }
+
+        @Override
+        public Object get(long timeout, TimeUnit unit)
+                throws InterruptedException, ExecutionException, TimeoutException {
+            return future.get(timeout, unit);
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return future.getDelay(unit);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+    }
+
+    /**
+     * 統合キー未指定時に使用する、イベントインスタンスの同一性によるキー。
+     */
+    private static final class IdentityKey {
+        private final Event event;
+
+        IdentityKey(Event event) {
+            this.event = event;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof IdentityKey && ((IdentityKey) o).event == event;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(event);
+        }
+    }
+}
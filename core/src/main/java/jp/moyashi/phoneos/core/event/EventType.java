@@ -131,5 +131,23 @@ public enum EventType {
 
     // ========== カスタムイベント ==========
     /** カスタムイベント（汎用） */
-    CUSTOM
+    CUSTOM;
+
+    /**
+     * 最新の値のみが意味を持つ状態通知イベントかを判定する。
+     * フレーム同期配信では、1フレーム内に複数回発行された場合は最後の1件のみが配信される。
+     *
+     * @return 統合可能な場合true
+     */
+    public boolean isCoalescable() {
+        switch (this) {
+            case MOUSE_MOVED:
+            case VOLUME_CHANGED:
+            case BRIGHTNESS_CHANGED:
+            case BATTERY_LEVEL_CHANGED:
+                return true;
+            default:
+                return false;
+        }
+    }
 }
\ No newline at end of file
@@ -318,8 +318,11 @@ public class GestureManager {
                 if (listener.isInBounds(event.getCurrentX(), event.getCurrentY())) {
                     boolean handled = listener.onGesture(event);
                     long listenerEnd = System.nanoTime();
-                    logStage("gesture", String.format("%s:%s", event.getType(), listener.getClass().getSimpleName()),
-                            listenerStart, listenerEnd, event.getCurrentX(), event.getCurrentY());
+                    // 閾値を超えた場合のみステージ名を組み立てる
+                    if (listenerEnd - listenerStart > STAGE_INFO_THRESHOLD_NS) {
+                        logStage("gesture", event.getType() + ":" + listener.getClass().getSimpleName(),
+                                listenerStart, listenerEnd, event.getCurrentX(), event.getCurrentY());
+                    }
                     if (handled) {
                         handledIndex = i;
                         break;
@@ -338,7 +341,8 @@ public class GestureManager {
             }
         }
 
-        if (logger != null && event.getType() != GestureType.DRAG_MOVE) {
+        if (logger != null && event.getType() != GestureType.DRAG_MOVE
+                && logger.isEnabled(LoggerService.LogLevel.DEBUG, "GestureManager")) {
             String msg = String.format("Dispatch gesture %s handledIndex=%d listeners=%d",
                     event.getType(), handledIndex, listeners.size());
             logger.debug("GestureManager", msg);
@@ -374,9 +378,14 @@ public class GestureManager {
         if (duration <= STAGE_INFO_THRESHOLD_NS) {
             return;
         }
+        LoggerService.LogLevel level = duration >= STAGE_WARN_THRESHOLD_NS
+                ? LoggerService.LogLevel.WARN : LoggerService.LogLevel.DEBUG;
+        if (!logger.isEnabled(level, "GestureInput")) {
+            return;
+        }
         double ms = duration / 1_000_000.0;
         String msg = String.format("%s %s latency=%.3fms coord=(%d,%d)", event, stage, ms, x, y);
-        if (duration >= STAGE_WARN_THRESHOLD_NS) {
+        if (level == LoggerService.LogLevel.WARN) {
             logger.warn("GestureInput", msg);
         } else {
             logger.debug("GestureInput", msg);
@@ -399,7 +408,7 @@ public class GestureManager {
     }
 
     private void logListenerOrder(String header) {
-        if (logger == null) {
+        if (logger == null || !logger.isEnabled(LoggerService.LogLevel.DEBUG, "GestureManager")) {
             return;
         }
         List<String> order = new ArrayList<>(listeners.size());
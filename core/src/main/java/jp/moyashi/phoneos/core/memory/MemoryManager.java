@@ -16,6 +16,8 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.Collections;
 import javax.management.MBeanServer;
 import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.function.LongSupplier;
 
 /**
  * メモリ管理を行うマネージャークラス。
@@ -63,6 +65,9 @@ public class MemoryManager {
     /** メモリリークサスペクト（弱参照で保持） */
     private final Map<String, WeakReference<Object>> leakSuspects = new ConcurrentHashMap<>();
 
+    /** オフヒープ使用量の報告元（名前 → 使用バイト数） */
+    private final Map<String, LongSupplier> offHeapSources = new ConcurrentHashMap<>();
+
     /** メモリしきい値（警告レベル）*/
     private double warningThreshold = 0.75; // 75%
 
@@ -340,6 +345,62 @@ public class MemoryManager {
         return memoryBean.getNonHeapMemoryUsage().getUsed();
     }
 
+    /**
+     * オフヒープ（ダイレクトバッファ等）のメモリ使用量の報告元を登録する。
+     * ヒープ使用率には含まれないため、ここで集計して報告する。
+     *
+     * @param name 報告元の名前
+     * @param bytes 現在の使用バイト数を返す関数
+     */
+    public void registerOffHeapSource(String name, LongSupplier bytes) {
+        if (name != null && bytes != null) {
+            offHeapSources.put(name, bytes);
+        }
+    }
+
+    /**
+     * オフヒープの報告元を解除する。
+     *
+     * @param name 報告元の名前
+     */
+    public void unregisterOffHeapSource(String name) {
+        if (name != null) {
+            offHeapSources.remove(name);
+        }
+    }
+
+    /**
+     * 登録された報告元のオフヒープ使用量の合計を取得する。
+     * @return オフヒープ使用量（バイト）
+     */
+    public long getOffHeapUsage() {
+        long total = 0;
+        for (LongSupplier source : offHeapSources.values()) {
+            try {
+                total += source.getAsLong();
+            } catch (Exception e) {
+                logger.log(Level.FINE, "Failed to read off-heap usage", e);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * 報告元ごとのオフヒープ使用量を取得する。
+     * @return 報告元の名前 → 使用量（バイト）
+     */
+    public Map<String, Long> getOffHeapUsageBySource() {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Map.Entry<String, LongSupplier> entry : offHeapSources.entrySet()) {
+            try {
+                result.put(entry.getKey(), entry.getValue().getAsLong());
+            } catch (Exception e) {
+                result.put(entry.getKey(), -1L);
+            }
+        }
+        return result;
+    }
+
     /**
      * GC統計を取得する。
      * @return GC統計情報
@@ -390,6 +451,10 @@ public class MemoryManager {
                 getMemoryUsage() * 100));
         logger.info(String.format("  Non-Heap: %s",
                 formatBytes(getNonHeapSize())));
+        if (!offHeapSources.isEmpty()) {
+            logger.info(String.format("  Off-Heap (tracked): %s %s",
+                    formatBytes(getOffHeapUsage()), getOffHeapUsageBySource()));
+        }
         logger.info("  " + getGCStatistics().replace("\n", "\n  "));
     }
 
@@ -581,6 +646,9 @@ public class MemoryManager {
 
         public MemoryState getMemoryState() { return state; }
         public double getUsage() { return usage; }
+
+        @Override
+        public Object getCoalesceKey() { return MemoryEvent.class; }
     }
 
     /**
@@ -591,5 +659,8 @@ public class MemoryManager {
             super(EventType.CUSTOM, MemoryManager.getInstance());
             setData("action", "clearCache");
         }
+
+        @Override
+        public Object getCoalesceKey() { return MemoryClearCacheEvent.class; }
     }
 }
\ No newline at end of file
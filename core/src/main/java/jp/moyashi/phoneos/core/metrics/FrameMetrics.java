@@ -0,0 +1,226 @@
+package jp.moyashi.phoneos.core.metrics;
+
+import jp.moyashi.phoneos.core.service.LoggerService;
+import jp.moyashi.phoneos.core.service.VFS;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * フレーム処理時間のメトリクスレジストリ。
+ *
+ * Kernel.update()/render()の各ステージ（{@link FrameStage}）とフレーム全体の処理時間を
+ * {@link LatencyHistogram}に記録し、直近{@link #HISTORY_SIZE}フレームのステージ内訳をグラフ用に保持する。
+ * 集計結果はLoggerServiceへの出力、またはVFSファイル（{@link #EXPORT_FILE}）へのエクスポートで
+ * 不具合報告に添付できる。
+ *
+ * {@link #record(FrameStage, long)}は任意のスレッド（ホストのgetPixels()など）から呼び出せる。
+ * {@link #endFrame()}/{@link #skipFrame()}はフレームを描画するスレッドのみが呼び出す。
+ *
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public class FrameMetrics {
+
+    /** グラフ用に保持するフレーム数 */
+    public static final int HISTORY_SIZE = 120;
+
+    /** エクスポート先のVFSファイル */
+    public static final String EXPORT_FILE = "system/logs/frame_metrics.txt";
+
+    private static final String TAG = "FrameMetrics";
+
+    private static final FrameStage[] STAGES = FrameStage.values();
+
+    private final LatencyHistogram[] stageHistograms = new LatencyHistogram[STAGES.length];
+    private final LatencyHistogram frameHistogram = new LatencyHistogram();
+
+    /** ステージごとの直近フレームの処理時間（リングバッファ、ナノ秒） */
+    private final long[][] stageHistory = new long[STAGES.length][HISTORY_SIZE];
+
+    /** 直近フレームの合計処理時間（リングバッファ、ナノ秒） */
+    private final long[] frameHistory = new long[HISTORY_SIZE];
+
+    /** 次に書き込むリングバッファの位置 */
+    private volatile int historyIndex = 0;
+
+    /** 現在のフレームで記録されたステージごとの処理時間（複数スレッドから加算される） */
+    private final AtomicLongArray currentFrame = new AtomicLongArray(STAGES.length);
+
+    /** 計測開始時刻（リセット時に更新） */
+    private volatile long startedAtMillis = System.currentTimeMillis();
+
+    public FrameMetrics() {
+        for (int i = 0; i < STAGES.length; i++) {
+            stageHistograms[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * ステージの処理時間を記録する。
+     *
+     * @param stage ステージ
+     * @param nanos 処理時間（ナノ秒）
+     */
+    public void record(FrameStage stage, long nanos) {
+        stageHistograms[stage.ordinal()].record(nanos);
+        currentFrame.addAndGet(stage.ordinal(), nanos);
+    }
+
+    /**
+     * 現在のフレームを確定し、フレーム全体の処理時間とステージ内訳を履歴に追加する。
+     * Kernel.render()で描画を行った場合に終了時に呼び出される。
+     */
+    public void endFrame() {
+        int index = historyIndex;
+        long total = 0;
+        for (int i = 0; i < STAGES.length; i++) {
+            long value = currentFrame.getAndSet(i, 0L);
+            stageHistory[i][index] = value;
+            total += value;
+        }
+        frameHistory[index] = total;
+        frameHistogram.record(total);
+        historyIndex = (index + 1) % HISTORY_SIZE;
+    }
+
+    /**
+     * 描画をスキップしたフレームを破棄する。
+     * 更新のみのフレームの小さな合計値でフレーム全体の分布（p50など）が下がらないよう、
+     * 履歴とフレーム全体のヒストグラムには記録しない（各ステージのヒストグラムには記録済み）。
+     */
+    public void skipFrame() {
+        for (int i = 0; i < STAGES.length; i++) {
+            currentFrame.set(i, 0L);
+        }
+    }
+
+    /**
+     * ステージのヒストグラムを取得する。
+     *
+     * @param stage ステージ
+     * @return ヒストグラム
+     */
+    public LatencyHistogram getHistogram(FrameStage stage) {
+        return stageHistograms[stage.ordinal()];
+    }
+
+    /**
+     * フレーム全体（全ステージの合計）のヒストグラムを取得する。
+     *
+     * @return ヒストグラム
+     */
+    public LatencyHistogram getFrameHistogram() {
+        return frameHistogram;
+    }
+
+    /**
+     * 直近のフレームのステージ処理時間を取得する。
+     *
+     * @param stage ステージ
+     * @param framesAgo 何フレーム前か（0が最新）
+     * @return 処理時間（ナノ秒）
+     */
+    public long getRecentStageTime(FrameStage stage, int framesAgo) {
+        return stageHistory[stage.ordinal()][historyPosition(framesAgo)];
+    }
+
+    /**
+     * 直近のフレームの合計処理時間を取得する。
+     *
+     * @param framesAgo 何フレーム前か（0が最新）
+     * @return 処理時間（ナノ秒）
+     */
+    public long getRecentFrameTime(int framesAgo) {
+        return frameHistory[historyPosition(framesAgo)];
+    }
+
+    private int historyPosition(int framesAgo) {
+        int clamped = Math.max(0, Math.min(HISTORY_SIZE - 1, framesAgo));
+        return Math.floorMod(historyIndex - 1 - clamped, HISTORY_SIZE);
+    }
+
+    /**
+     * 全ての記録を破棄して計測をやり直す。
+     */
+    public void reset() {
+        for (LatencyHistogram histogram : stageHistograms) {
+            histogram.reset();
+        }
+        frameHistogram.reset();
+        for (long[] history : stageHistory) {
+            java.util.Arrays.fill(history, 0L);
+        }
+        java.util.Arrays.fill(frameHistory, 0L);
+        startedAtMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * 集計結果をテキストの表として整形する。
+     *
+     * @return レポート文字列
+     */
+    public String formatReport() {
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss");
+        StringBuilder sb = new StringBuilder(1024);
+        sb.append("# MochiMobileOS frame metrics\n");
+        sb.append("# since ").append(format.format(new Date(startedAtMillis)))
+          .append(", exported ").append(format.format(new Date())).append('\n');
+        sb.append(String.format("%-12s %8s %9s %9s %9s %9s %9s%n",
+                "stage", "count", "mean(ms)", "p50(ms)", "p90(ms)", "p99(ms)", "max(ms)"));
+        for (FrameStage stage : STAGES) {
+            appendRow(sb, stage.getLabel(), stageHistograms[stage.ordinal()]);
+        }
+        appendRow(sb, "frame", frameHistogram);
+        return sb.toString();
+    }
+
+    private static void appendRow(StringBuilder sb, String label, LatencyHistogram histogram) {
+        sb.append(String.format("%-12s %8d %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                label,
+                histogram.getCount(),
+                toMillis(histogram.getMean()),
+                toMillis(histogram.getValueAtPercentile(50.0)),
+                toMillis(histogram.getValueAtPercentile(90.0)),
+                toMillis(histogram.getValueAtPercentile(99.0)),
+                toMillis(histogram.getMax())));
+    }
+
+    /**
+     * 集計結果をVFSファイル（{@link #EXPORT_FILE}）に書き出す。
+     *
+     * @param vfs VFS
+     * @return 書き出しに成功した場合true
+     */
+    public boolean exportToFile(VFS vfs) {
+        if (vfs == null) {
+            return false;
+        }
+        boolean written = vfs.writeFile(EXPORT_FILE, formatReport());
+        if (written) {
+            System.out.println("FrameMetrics: フレーム計測結果を書き出しました: " + EXPORT_FILE);
+        } else {
+            System.err.println("FrameMetrics: フレーム計測結果の書き出しに失敗しました: " + EXPORT_FILE);
+        }
+        return written;
+    }
+
+    /**
+     * 集計結果をLoggerServiceにINFOレベルで出力する。
+     *
+     * @param logger ロガー
+     */
+    public void logReport(LoggerService logger) {
+        if (logger == null) {
+            return;
+        }
+        for (String line : formatReport().split("\n")) {
+            logger.info(TAG, line);
+        }
+    }
+
+    static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
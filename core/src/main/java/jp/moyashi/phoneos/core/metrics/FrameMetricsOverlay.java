@@ -0,0 +1,152 @@
+package jp.moyashi.phoneos.core.metrics;
+
+import processing.core.PApplet;
+import processing.core.PGraphics;
+
+/**
+ * フレーム計測のオンデバイス表示。
+ *
+ * 直近{@link FrameMetrics#HISTORY_SIZE}フレームの処理時間をステージ別の積み上げ棒グラフで、
+ * ステージごとのp50/p99を表で画面左上に重ねて描画する。
+ * グラフの基準線は60fps（16.7ms）と30fps（33.3ms）。
+ *
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public class FrameMetricsOverlay {
+
+    private static final float MARGIN = 8;
+    private static final float PADDING = 6;
+    private static final float MAX_WIDTH = 260;
+    private static final float GRAPH_HEIGHT = 60;
+    private static final float ROW_HEIGHT = 11;
+    private static final float TEXT_SIZE = 9;
+
+    /** グラフの縦軸の上限（ミリ秒） */
+    private static final float GRAPH_MAX_MS = 40.0f;
+
+    private final FrameMetrics metrics;
+
+    public FrameMetricsOverlay(FrameMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * 表示領域のX座標。
+     */
+    public float getX() {
+        return MARGIN;
+    }
+
+    /**
+     * 表示領域のY座標。
+     */
+    public float getY() {
+        return MARGIN + 32;
+    }
+
+    /**
+     * 表示領域の幅。
+     *
+     * @param screenWidth 画面幅
+     */
+    public float getWidth(int screenWidth) {
+        return Math.min(MAX_WIDTH, screenWidth - MARGIN * 2);
+    }
+
+    /**
+     * 表示領域の高さ。
+     */
+    public float getHeight() {
+        return PADDING * 3 + GRAPH_HEIGHT + ROW_HEIGHT * (FrameStage.values().length + 2);
+    }
+
+    /**
+     * オーバーレイを描画する。呼び出し側でbeginDraw()済みであること。
+     *
+     * @param g 描画先
+     */
+    public void draw(PGraphics g) {
+        float x = getX();
+        float y = getY();
+        float w = getWidth(g.width);
+        float h = getHeight();
+
+        g.pushStyle();
+        g.noStroke();
+        g.fill(0, 0, 0, 190);
+        g.rect(x, y, w, h, 6);
+
+        drawGraph(g, x + PADDING, y + PADDING, w - PADDING * 2, GRAPH_HEIGHT);
+        drawTable(g, x + PADDING, y + PADDING * 2 + GRAPH_HEIGHT);
+        g.popStyle();
+    }
+
+    private void drawGraph(PGraphics g, float gx, float gy, float gw, float gh) {
+        FrameStage[] stages = FrameStage.values();
+        float barWidth = gw / FrameMetrics.HISTORY_SIZE;
+        float scale = gh / GRAPH_MAX_MS;
+
+        g.noStroke();
+        for (int i = 0; i < FrameMetrics.HISTORY_SIZE; i++) {
+            // 右端が最新フレーム
+            int framesAgo = FrameMetrics.HISTORY_SIZE - 1 - i;
+            float bx = gx + i * barWidth;
+            float stacked = 0;
+            for (FrameStage stage : stages) {
+                float ms = (float) FrameMetrics.toMillis(metrics.getRecentStageTime(stage, framesAgo));
+                if (ms <= 0) {
+                    continue;
+                }
+                float segment = Math.min(ms * scale, gh - stacked);
+                if (segment <= 0) {
+                    break;
+                }
+                g.fill(stage.getColor());
+                g.rect(bx, gy + gh - stacked - segment, Math.max(1, barWidth), segment);
+                stacked += segment;
+            }
+        }
+
+        g.strokeWeight(1);
+        g.stroke(255, 255, 255, 120);
+        float line60 = gy + gh - 16.7f * scale;
+        g.line(gx, line60, gx + gw, line60);
+        g.stroke(255, 80, 80, 120);
+        float line30 = gy + gh - 33.3f * scale;
+        g.line(gx, line30, gx + gw, line30);
+        g.noStroke();
+    }
+
+    private void drawTable(PGraphics g, float tx, float ty) {
+        g.textSize(TEXT_SIZE);
+        g.textAlign(PApplet.LEFT, PApplet.TOP);
+
+        g.fill(200);
+        g.text("stage", tx, ty);
+        g.text("p50", tx + 90, ty);
+        g.text("p99", tx + 140, ty);
+        g.text("max", tx + 190, ty);
+
+        float rowY = ty + ROW_HEIGHT;
+        for (FrameStage stage : FrameStage.values()) {
+            drawRow(g, tx, rowY, stage.getLabel(), stage.getColor(), metrics.getHistogram(stage));
+            rowY += ROW_HEIGHT;
+        }
+        drawRow(g, tx, rowY, "frame", 0xFFFFFFFF, metrics.getFrameHistogram());
+    }
+
+    private void drawRow(PGraphics g, float tx, float rowY, String label, int color, LatencyHistogram histogram) {
+        g.fill(color);
+        g.rect(tx, rowY + 2, 6, 6);
+        g.fill(255);
+        g.text(label, tx + 10, rowY);
+        g.text(formatMillis(histogram.getValueAtPercentile(50.0)), tx + 90, rowY);
+        g.text(formatMillis(histogram.getValueAtPercentile(99.0)), tx + 140, rowY);
+        g.text(formatMillis(histogram.getMax()), tx + 190, rowY);
+    }
+
+    private static String formatMillis(long nanos) {
+        return String.format("%.2f", FrameMetrics.toMillis(nanos));
+    }
+}
@@ -0,0 +1,53 @@
+package jp.moyashi.phoneos.core.metrics;
+
+/**
+ * フレーム計測の対象ステージ。
+ * Kernel.update()/render()の各処理段階に対応し、{@link FrameMetrics}がステージごとにヒストグラムを保持する。
+ *
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public enum FrameStage {
+    /** 入力処理（InputManager.update()） */
+    INPUT("input", 0xFF4FC3F7),
+    /** バックグラウンドサービス（ServiceManager.tickBackground()・バッテリー監視） */
+    SERVICES("services", 0xFF9575CD),
+    /** センサー更新（SensorManager） */
+    SENSORS("sensors", 0xFF4DB6AC),
+    /** Chromiumメッセージループ（ChromiumService.update()） */
+    CHROMIUM("chromium", 0xFFFFB74D),
+    /** スクリーンのtick（ScreenManager.tick()） */
+    SCREEN_TICK("screenTick", 0xFFAED581),
+    /** スクリーン描画（RenderPipeline.render()） */
+    DRAW("draw", 0xFFE57373),
+    /** オーバーレイ（通知センター・コントロールセンター・ポップアップ）の更新と合成 */
+    OVERLAYS("overlays", 0xFFF06292),
+    /** ピクセルコピー（フレーム発行・getPixels()） */
+    PIXEL_COPY("pixelCopy", 0xFF90A4AE);
+
+    private final String label;
+    private final int color;
+
+    FrameStage(String label, int color) {
+        this.label = label;
+        this.color = color;
+    }
+
+    /**
+     * 表示・エクスポート用のラベルを取得する。
+     *
+     * @return ラベル
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * オーバーレイのグラフで使用する色（ARGB）を取得する。
+     *
+     * @return ARGB色
+     */
+    public int getColor() {
+        return color;
+    }
+}
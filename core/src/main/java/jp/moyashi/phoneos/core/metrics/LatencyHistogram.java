@@ -0,0 +1,145 @@
+package jp.moyashi.phoneos.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * HDRヒストグラム方式の処理時間ヒストグラム。
+ *
+ * 値はマイクロ秒単位で記録し、64µs未満は1µs刻み、それ以上は2のべき乗ごとに32分割した
+ * 対数線形バケットに振り分ける（相対誤差約3%）。バケット数は固定で、記録時の割り当てはない。
+ * 記録はフレームスレッドから、読み取り（パーセンタイル・エクスポート）は任意のスレッドから行える。
+ *
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public class LatencyHistogram {
+
+    /** 1オクターブあたりのサブバケット数（2^5） */
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    /** 線形に記録する範囲（0〜63µs） */
+    private static final int LINEAR_LIMIT = SUB_BUCKET_COUNT * 2;
+
+    /** 記録可能な最大値（60秒）。超過分はこの値として記録する */
+    private static final long MAX_TRACKABLE_US = 60_000_000L;
+
+    private static final int BUCKET_COUNT = indexFor(MAX_TRACKABLE_US) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * 処理時間を記録する。
+     *
+     * @param nanos 処理時間（ナノ秒）
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        long micros = Math.min(nanos / 1_000L, MAX_TRACKABLE_US);
+        counts.incrementAndGet(indexFor(micros));
+        totalCount.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+
+        long max = maxNanos.get();
+        while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+            max = maxNanos.get();
+        }
+    }
+
+    /**
+     * 指定パーセンタイルの値を取得する。
+     * バケットの上限値（同じバケットに入る最大の値）を返すため、実測値以上になる。
+     *
+     * @param percentile パーセンタイル（0〜100）
+     * @return 処理時間（ナノ秒）。記録がない場合は0
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0L;
+        }
+        double clamped = Math.max(0.0, Math.min(100.0, percentile));
+        long target = Math.max(1L, (long) Math.ceil(count * clamped / 100.0));
+
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestEquivalentMicros(i) * 1_000L, maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    /**
+     * 記録数を取得する。
+     *
+     * @return 記録数
+     */
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * 平均値を取得する。
+     *
+     * @return 平均処理時間（ナノ秒）。記録がない場合は0
+     */
+    public long getMean() {
+        long count = totalCount.get();
+        return count == 0 ? 0L : totalNanos.get() / count;
+    }
+
+    /**
+     * 最大値を取得する。
+     *
+     * @return 最大処理時間（ナノ秒）
+     */
+    public long getMax() {
+        return maxNanos.get();
+    }
+
+    /**
+     * 全ての記録を破棄する。
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0L);
+        }
+        totalCount.set(0L);
+        totalNanos.set(0L);
+        maxNanos.set(0L);
+    }
+
+    /**
+     * マイクロ秒値に対応するバケット番号を計算する。
+     */
+    private static int indexFor(long micros) {
+        if (micros < LINEAR_LIMIT) {
+            return (int) micros;
+        }
+        int msb = 63 - Long.numberOfLeadingZeros(micros);
+        int shift = msb - SUB_BUCKET_BITS;
+        int sub = (int) (micros >>> shift) & (SUB_BUCKET_COUNT - 1);
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKET_COUNT + sub;
+    }
+
+    /**
+     * バケットに入る最大のマイクロ秒値を計算する。
+     */
+    private static long highestEquivalentMicros(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKET_COUNT + 1;
+        int sub = (index - LINEAR_LIMIT) % SUB_BUCKET_COUNT;
+        long lowest = (long) (SUB_BUCKET_COUNT + sub) << shift;
+        return lowest + (1L << shift) - 1;
+    }
+}
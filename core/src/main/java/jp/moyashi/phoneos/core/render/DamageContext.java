@@ -0,0 +1,59 @@
+package jp.moyashi.phoneos.core.render;
+
+/**
+ * DamageTrackerのグローバルコンテキスト。
+ * UIコンポーネントやスクリーンがKernel参照なしで無効化領域を報告するための静的参照を提供。
+ *
+ * @author MochiMobileOS Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class DamageContext {
+
+    /** グローバルDamageTrackerインスタンス */
+    private static DamageTracker tracker;
+
+    /**
+     * DamageTrackerを設定する。
+     * Kernel初期化時に呼び出される。
+     *
+     * @param damageTracker DamageTrackerインスタンス
+     */
+    public static void setTracker(DamageTracker damageTracker) {
+        tracker = damageTracker;
+    }
+
+    /**
+     * DamageTrackerを取得する。
+     *
+     * @return DamageTracker、設定されていない場合はnull
+     */
+    public static DamageTracker getTracker() {
+        return tracker;
+    }
+
+    /**
+     * 指定された矩形を無効化する。トラッカー未設定時は何もしない。
+     *
+     * @param x X座標
+     * @param y Y座標
+     * @param w 幅
+     * @param h 高さ
+     */
+    public static void invalidate(float x, float y, float w, float h) {
+        DamageTracker t = tracker;
+        if (t != null) {
+            t.invalidate(x, y, w, h);
+        }
+    }
+
+    /**
+     * 画面全体を無効化する。トラッカー未設定時は何もしない。
+     */
+    public static void invalidateAll() {
+        DamageTracker t = tracker;
+        if (t != null) {
+            t.invalidateAll();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package jp.moyashi.phoneos.core.render;
+
+/**
+ * 画面の無効化領域（ダメージ領域）を追跡するクラス。
+ * スクリーンやUIComponentから報告された矩形を1つの外接矩形に統合し、
+ * RenderPipelineが再描画・再コピーすべき範囲を決定するために使用する。
+ *
+ * スレッドセーフ: 無効化はバックグラウンドスレッドからも報告されうるため、
+ * すべての操作は内部ロックで保護される。
+ *
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public class DamageTracker {
+
+    /** アンチエイリアス・ストロークのはみ出しを考慮した余白（ピクセル） */
+    private static final int DAMAGE_PADDING = 2;
+
+    /** 同期用ロック */
+    private final Object lock = new Object();
+
+    /** 画面サイズ */
+    private int width;
+    private int height;
+
+    /** 画面全体が無効化されているか */
+    private boolean fullDamage = true;
+
+    /** 統合済みダメージ矩形（minX >= maxX の場合は空） */
+    private int minX;
+    private int minY;
+    private int maxX;
+    private int maxY;
+
+    /**
+     * DamageTrackerを初期化する。
+     * 初回フレームを確実に描画するため、初期状態は全画面ダメージとする。
+     *
+     * @param width 画面幅
+     * @param height 画面高さ
+     */
+    public DamageTracker(int width, int height) {
+        this.width = width;
+        this.height = height;
+        clearRect();
+    }
+
+    /**
+     * 指定された矩形を無効化する。
+     * 画面外の部分はクリップされ、既存のダメージ領域と統合される。
+     *
+     * @param x X座標
+     * @param y Y座標
+     * @param w 幅
+     * @param h 高さ
+     */
+    public void invalidate(float x, float y, float w, float h) {
+        if (w <= 0 || h <= 0) {
+            return;
+        }
+        int x0 = Math.max(0, (int) Math.floor(x) - DAMAGE_PADDING);
+        int y0 = Math.max(0, (int) Math.floor(y) - DAMAGE_PADDING);
+        synchronized (lock) {
+            int x1 = Math.min(width, (int) Math.ceil(x + w) + DAMAGE_PADDING);
+            int y1 = Math.min(height, (int) Math.ceil(y + h) + DAMAGE_PADDING);
+            if (fullDamage || x0 >= x1 || y0 >= y1) {
+                return;
+            }
+            minX = Math.min(minX, x0);
+            minY = Math.min(minY, y0);
+            maxX = Math.max(maxX, x1);
+            maxY = Math.max(maxY, y1);
+            if (minX == 0 && minY == 0 && maxX == width && maxY == height) {
+                fullDamage = true;
+            }
+        }
+    }
+
+    /**
+     * 画面全体を無効化する。
+     */
+    public void invalidateAll() {
+        synchronized (lock) {
+            fullDamage = true;
+        }
+    }
+
+    /**
+     * 未処理のダメージが存在するかを判定する。
+     *
+     * @return ダメージがある場合true
+     */
+    public boolean hasDamage() {
+        synchronized (lock) {
+            return fullDamage || minX < maxX;
+        }
+    }
+
+    /**
+     * 蓄積されたダメージを取り出し、トラッカーをリセットする。
+     *
+     * @return ダメージ領域、ダメージがない場合null
+     */
+    public Region consume() {
+        synchronized (lock) {
+            Region region;
+            if (fullDamage) {
+                region = Region.full(width, height);
+            } else if (minX < maxX && minY < maxY) {
+                region = new Region(minX, minY, maxX - minX, maxY - minY, false);
+            } else {
+                region = null;
+            }
+            fullDamage = false;
+            clearRect();
+            return region;
+        }
+    }
+
+    /**
+     * 画面サイズを更新する。サイズ変更後は全画面ダメージとなる。
+     *
+     * @param newWidth 新しい幅
+     * @param newHeight 新しい高さ
+     */
+    public void resize(int newWidth, int newHeight) {
+        synchronized (lock) {
+            this.width = newWidth;
+            this.height = newHeight;
+            this.fullDamage = true;
+            clearRect();
+        }
+    }
+
+    private void clearRect() {
+        minX = Integer.MAX_VALUE;
+        minY = Integer.MAX_VALUE;
+        maxX = Integer.MIN_VALUE;
+        maxY = Integer.MIN_VALUE;
+    }
+
+    /**
+     * 1フレーム分のダメージ領域（不変）。
+     */
+    public static final class Region {
+        public final int x;
+        public final int y;
+        public final int width;
+        public final int height;
+        private final boolean full;
+
+        public Region(int x, int y, int width, int height, boolean full) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.height = height;
+            this.full = full;
+        }
+
+        /**
+         * 画面全体を表すRegionを作成する。
+         *
+         * @param width 画面幅
+         * @param height 画面高さ
+         * @return 全画面Region
+         */
+        public static Region full(int width, int height) {
+            return new Region(0, 0, width, height, true);
+        }
+
+        /**
+         * 画面全体を覆うかどうか。
+         *
+         * @return 全画面の場合true
+         */
+        public boolean isFull() {
+            return full;
+        }
+
+        /**
+         * 2つのRegionの外接矩形を返す。
+         *
+         * @param a Region（null可）
+         * @param b Region（null可）
+         * @return 統合されたRegion、両方nullの場合null
+         */
+        public static Region union(Region a, Region b) {
+            if (a == null) return b;
+            if (b == null) return a;
+            if (a.full) return a;
+            if (b.full) return b;
+            int x0 = Math.min(a.x, b.x);
+            int y0 = Math.min(a.y, b.y);
+            int x1 = Math.max(a.x + a.width, b.x + b.width);
+            int y1 = Math.max(a.y + a.height, b.y + b.height);
+            return new Region(x0, y0, x1 - x0, y1 - y0, false);
+        }
+
+        @Override
+        public String toString() {
+            return "Region[" + x + "," + y + " " + width + "x" + height + (full ? " full" : "") + "]";
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package jp.moyashi.phoneos.core.render;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Kernelからホスト（Forge/Standalone）へ完成フレームを受け渡すトリプルバッファ。
+ *
+ * 描画側は書き込み用バッファにフレームを書き込んでpublish()し、読み取り側は
+ * acquire()で最新の完成フレームを取得する。バッファの交換はAtomicIntegerの
+ * getAndSet 1回で行われるため、描画側が読み取り側を待つことはなく、読み取り側もロックを取らない。
+ *
+ * 各バッファは「最後に書き込まれてから他のバッファに発行されたダメージ領域」を保持しており、
+ * publish()時には変化した行のみをコピーする。
+ *
+ * 読み取り側は単一スレッドを前提とする。acquire()で得たFrameは次のacquire()呼び出しまで有効で、
+ * その間描画側から書き換えられることはない。
+ *
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public class FrameExchange {
+
+    /** 状態値のうち、受け渡し待ちバッファのインデックス部分 */
+    private static final int INDEX_MASK = 0x3;
+
+    /** 状態値のうち、受け渡し待ちバッファが未読であることを示すビット */
+    private static final int FRESH_BIT = 0x4;
+
+    /** 3枚のフレームバッファ */
+    private final Frame[] frames = new Frame[3];
+
+    /** 受け渡し待ちバッファのインデックスと未読ビット */
+    private final AtomicInteger pending = new AtomicInteger(1);
+
+    /** 描画側が次に書き込むバッファ（描画スレッドのみが参照） */
+    private int backIndex = 0;
+
+    /** 読み取り側が保持しているバッファ（読み取りスレッドのみが参照） */
+    private int frontIndex = 2;
+
+    /** 発行済みフレームの通し番号（描画スレッドのみが更新） */
+    private long sequence = 0;
+
+    /**
+     * FrameExchangeを初期化する。
+     *
+     * @param width フレーム幅
+     * @param height フレーム高さ
+     */
+    public FrameExchange(int width, int height) {
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = new Frame(width, height);
+        }
+    }
+
+    /**
+     * 完成したフレームを発行する。描画スレッドからのみ呼び出すこと。
+     *
+     * @param src 描画結果のピクセル配列（PGraphics.pixels）
+     * @param width フレーム幅
+     * @param height フレーム高さ
+     * @param damage 前回発行時から変化した領域（nullの場合は全体）
+     */
+    public void publish(int[] src, int width, int height, DamageTracker.Region damage) {
+        if (src == null || src.length < width * height) {
+            return;
+        }
+        if (damage == null) {
+            damage = DamageTracker.Region.full(width, height);
+        }
+
+        Frame back = frames[backIndex];
+        DamageTracker.Region copyRegion;
+        if (back.width != width || back.height != height) {
+            back.resize(width, height);
+            damage = DamageTracker.Region.full(width, height);
+            copyRegion = damage;
+        } else {
+            copyRegion = DamageTracker.Region.union(back.staleRegion, damage);
+        }
+        copyRows(src, back.pixels, width, height, copyRegion);
+
+        back.sequence = ++sequence;
+        back.damage = damage;
+        back.staleRegion = null;
+        for (int i = 0; i < frames.length; i++) {
+            if (i != backIndex) {
+                Frame other = frames[i];
+                other.staleRegion = DamageTracker.Region.union(other.staleRegion, damage);
+            }
+        }
+
+        // 書き込み済みバッファを受け渡し待ちにし、代わりに古い受け渡し待ちバッファを次の書き込み先にする
+        int previous = pending.getAndSet(backIndex | FRESH_BIT);
+        backIndex = previous & INDEX_MASK;
+    }
+
+    /**
+     * 最新の完成フレームを取得する。読み取りスレッドからのみ呼び出すこと。
+     * 新しいフレームが発行されていない場合は前回と同じFrameを返す。
+     *
+     * @return 最新のフレーム、まだ1度も発行されていない場合はnull
+     */
+    public Frame acquire() {
+        if ((pending.get() & FRESH_BIT) != 0) {
+            int previous = pending.getAndSet(frontIndex);
+            frontIndex = previous & INDEX_MASK;
+        }
+        Frame front = frames[frontIndex];
+        return front.sequence > 0 ? front : null;
+    }
+
+    /**
+     * 未読のフレームが発行されているかどうか。
+     *
+     * @return 未読フレームがある場合true
+     */
+    public boolean hasNewFrame() {
+        return (pending.get() & FRESH_BIT) != 0;
+    }
+
+    /**
+     * 発行済みフレームの通し番号を取得する。
+     *
+     * @return 最後に発行したフレームの番号（未発行の場合0）
+     */
+    public long getPublishedSequence() {
+        return sequence;
+    }
+
+    private static void copyRows(int[] src, int[] dst, int width, int height, DamageTracker.Region region) {
+        if (region == null) {
+            return;
+        }
+        if (region.isFull()) {
+            System.arraycopy(src, 0, dst, 0, width * height);
+            return;
+        }
+        int x0 = Math.max(0, region.x);
+        int y0 = Math.max(0, region.y);
+        int x1 = Math.min(width, region.x + region.width);
+        int y1 = Math.min(height, region.y + region.height);
+        int rowLength = x1 - x0;
+        if (rowLength <= 0) {
+            return;
+        }
+        for (int y = y0; y < y1; y++) {
+            int offset = y * width + x0;
+            System.arraycopy(src, offset, dst, offset, rowLength);
+        }
+    }
+
+    /**
+     * 受け渡し用のフレーム。配列は再利用されるため、呼び出し側はコピーせずに参照してよいが、
+     * 次のacquire()以降は内容が書き換えられる可能性がある。
+     */
+    public static final class Frame {
+        private int[] pixels;
+        private int width;
+        private int height;
+        private volatile long sequence;
+        private DamageTracker.Region damage;
+
+        /** このバッファが最後に書き込まれてから発行された他フレームのダメージ（描画スレッドのみが参照） */
+        private DamageTracker.Region staleRegion;
+
+        private Frame(int width, int height) {
+            resize(width, height);
+        }
+
+        private void resize(int newWidth, int newHeight) {
+            this.width = newWidth;
+            this.height = newHeight;
+            this.pixels = new int[newWidth * newHeight];
+            this.staleRegion = DamageTracker.Region.full(newWidth, newHeight);
+        }
+
+        /**
+         * ARGBピクセル配列を取得する（コピーではない）。
+         *
+         * @return ピクセル配列
+         */
+        public int[] getPixels() {
+            return pixels;
+        }
+
+        public int getWidth() {
+            return width;
+        }
+
+        public int getHeight() {
+            return height;
+        }
+
+        /**
+         * フレームの通し番号を取得する。番号が前回取得時+1でない場合、途中のフレームが読み飛ばされている。
+         *
+         * @return 通し番号（1以上）
+         */
+        public long getSequence() {
+            return sequence;
+        }
+
+        /**
+         * 直前のフレーム（通し番号-1）から変化した領域を取得する。
+         *
+         * @return ダメージ領域
+         */
+        public DamageTracker.Region getDamage() {
+            return damage;
+        }
+    }
+}
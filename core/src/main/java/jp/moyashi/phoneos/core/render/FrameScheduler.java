@@ -0,0 +1,106 @@
+package jp.moyashi.phoneos.core.render;
+
+/**
+ * Kernelの適応フレームスケジューラー。
+ *
+ * ホスト（Forge/Standalone）は自身のフレームレート（144fps以上のこともある）で
+ * {@link #isFrameDue(int, boolean)}を呼び出し、trueの場合のみupdate()/render()を実行する。
+ * アニメーション・ジェスチャー・画面遷移中、または入力直後は上限レート（通常60fps）で、
+ * UIが静止している間は低レートのアイドルティック（{@link #IDLE_TICK_FPS}）で動作する。
+ * アイドルティックでもupdate()（タイマー・保留イベント・バックグラウンドサービス）は毎回実行され、
+ * render()はダメージ領域がない限り描画をスキップする。
+ *
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public class FrameScheduler {
+
+    /** UI静止時の更新レート（render()はダメージがなければスキップされる） */
+    public static final int IDLE_TICK_FPS = 10;
+
+    /** 入力など（{@link #wake()}）の後に上限レートを維持する時間 */
+    private static final long ACTIVE_HOLD_NS = 500_000_000L;
+
+    /** ホストのフレーム間隔の揺らぎを吸収する許容誤差 */
+    private static final long FRAME_TOLERANCE_NS = 1_000_000L;
+
+    /** 最後に{@link #wake()}された時刻 */
+    private volatile long lastActivityNs = System.nanoTime();
+
+    /** 次回フレームの予定時刻（0の場合は即時） */
+    private volatile long nextFrameNs = 0L;
+
+    /** 現在選択されているフレームレート */
+    private volatile int currentFrameRate = 60;
+
+    /**
+     * 入力やイベントの発生を通知し、次のホストフレームで即座に更新させる。
+     * 以後{@link #ACTIVE_HOLD_NS}の間は上限レートで動作する。
+     */
+    public void wake() {
+        lastActivityNs = System.nanoTime();
+        nextFrameNs = 0L;
+    }
+
+    /**
+     * 次のホストフレームで1回だけ更新させる。上限レートの維持（{@link #ACTIVE_HOLD_NS}）は開始しない。
+     * バックグラウンドからのイベントなど、入力を伴わない更新に使う。
+     * 更新でダメージが発生した場合は、描画されるまでアニメーション中として上限レートで動作する。
+     */
+    public void requestFrame() {
+        nextFrameNs = 0L;
+    }
+
+    /**
+     * 今回のホストフレームでKernelを更新・描画すべきかを判定する。
+     *
+     * @param maxFrameRate 上限フレームレート（PowerManagerが設定する値）
+     * @param animating アニメーション・ジェスチャー・画面遷移などが進行中の場合true
+     * @return update()/render()を実行すべき場合true
+     */
+    public boolean isFrameDue(int maxFrameRate, boolean animating) {
+        long now = System.nanoTime();
+        int cap = Math.max(1, maxFrameRate);
+        boolean active = animating || now - lastActivityNs < ACTIVE_HOLD_NS;
+        int rate = active ? cap : Math.min(IDLE_TICK_FPS, cap);
+        currentFrameRate = rate;
+
+        long intervalNs = 1_000_000_000L / rate;
+        long scheduled = nextFrameNs;
+        // 低レートで予約された時刻よりレートが上がった場合（アニメーション開始など）は待たない
+        if (scheduled != 0L && now < scheduled - FRAME_TOLERANCE_NS && scheduled - now <= intervalNs) {
+            return false;
+        }
+
+        // 予定時刻基準で進めて平均レートを保ち、前倒し・大きな遅れの場合は現在時刻から数え直す
+        long next = scheduled + intervalNs;
+        if (scheduled == 0L || now < scheduled || now - scheduled > intervalNs) {
+            next = now + intervalNs;
+        }
+        nextFrameNs = next;
+        return true;
+    }
+
+    /**
+     * 次回フレームの予定時刻までの残り時間を取得する。
+     * 専用描画スレッドはこの時間だけparkし、入力や{@link #wake()}で起こされる。
+     *
+     * @return 残り時間（ナノ秒）。即時の場合は0
+     */
+    public long nanosUntilNextFrame() {
+        long scheduled = nextFrameNs;
+        if (scheduled == 0L) {
+            return 0L;
+        }
+        return Math.max(0L, scheduled - System.nanoTime());
+    }
+
+    /**
+     * 現在選択されているフレームレートを取得する。
+     *
+     * @return フレームレート
+     */
+    public int getCurrentFrameRate() {
+        return currentFrameRate;
+    }
+}
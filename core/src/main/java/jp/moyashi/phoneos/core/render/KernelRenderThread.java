@@ -0,0 +1,171 @@
+package jp.moyashi.phoneos.core.render;
+
+import jp.moyashi.phoneos.core.Kernel;
+import jp.moyashi.phoneos.core.service.LoggerService;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Kernel専用の描画スレッド。
+ *
+ * ホストの描画スレッド（Minecraftのクライアントスレッド等）の代わりに、専用スレッドで
+ * {@link Kernel#update()}と{@link Kernel#render()}を実行する。描画先はこのスレッド専用の
+ * JAVA2D PGraphicsで、ホスト側のPGraphicsとは共有しない。完成フレームは{@link FrameExchange}経由で
+ * ホストへ受け渡される。
+ *
+ * 入力はロックフリーキュー（{@link ConcurrentLinkedQueue}）に積まれ、次の更新の前に
+ * このスレッド上で順番に実行される。次のフレームまではparkし、{@link #post(Runnable)}や
+ * {@link #wakeUp()}で即座に起こされる。アプリの処理が重い場合はOSのフレームレートのみが下がり、
+ * ホスト側の描画は影響を受けない。
+ *
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public class KernelRenderThread {
+
+    /** ログタグ */
+    private static final String TAG = "KernelRenderThread";
+
+    /** 1回のparkの最大時間（フレームレートの変更を取りこぼさないための上限） */
+    private static final long MAX_PARK_NS = 100_000_000L;
+
+    private final Kernel kernel;
+
+    /** 描画スレッドで実行する入力処理のキュー（複数生産者・単一消費者） */
+    private final ConcurrentLinkedQueue<Runnable> inputQueue = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean running = false;
+    private volatile Thread thread;
+
+    /**
+     * KernelRenderThreadを初期化する。
+     *
+     * @param kernel 対象のKernel
+     */
+    public KernelRenderThread(Kernel kernel) {
+        this.kernel = kernel;
+    }
+
+    /**
+     * 描画スレッドを開始する。既に実行中の場合は何もしない。
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        Thread t = new Thread(this::runLoop, "MochiOS-KernelRender");
+        t.setDaemon(true);
+        thread = t;
+        t.start();
+        System.out.println("KernelRenderThread: 描画スレッドを開始しました");
+    }
+
+    /**
+     * 描画スレッドを停止し、スレッドが終了するまで待機する。
+     * 停止前に積まれた入力は描画スレッドが終了直前に実行し、停止と競合して積まれた入力は呼び出し元で実行する。
+     */
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        Thread t = thread;
+        thread = null;
+        if (t != null) {
+            LockSupport.unpark(t);
+            if (t != Thread.currentThread()) {
+                boolean interrupted = false;
+                while (t.isAlive()) {
+                    try {
+                        t.join();
+                    } catch (InterruptedException e) {
+                        interrupted = true;
+                    }
+                }
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+                drainInput();
+            }
+        }
+        System.out.println("KernelRenderThread: 描画スレッドを停止しました");
+    }
+
+    /**
+     * 描画スレッドが実行中かどうか。
+     *
+     * @return 実行中の場合true
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 描画スレッドで実行する処理を追加する。呼び出し元はブロックされない。
+     *
+     * @param action 実行する処理（入力イベントの転送など）
+     */
+    public void post(Runnable action) {
+        if (action == null) {
+            return;
+        }
+        inputQueue.offer(action);
+        wakeUp();
+    }
+
+    /**
+     * park中の描画スレッドを起こし、フレームの要否を判定し直させる。
+     */
+    public void wakeUp() {
+        Thread t = thread;
+        if (t != null) {
+            LockSupport.unpark(t);
+        }
+    }
+
+    private void runLoop() {
+        while (running) {
+            drainInput();
+
+            if (kernel.isFrameDue()) {
+                try {
+                    kernel.update();
+                    kernel.render();
+                } catch (Exception e) {
+                    LoggerService logger = kernel.getLogger();
+                    if (logger != null) {
+                        logger.error(TAG, "フレーム処理エラー: " + e.getMessage(), e);
+                    } else {
+                        System.err.println("KernelRenderThread: フレーム処理エラー: " + e.getMessage());
+                    }
+                }
+            } else if (inputQueue.isEmpty()) {
+                // 次のフレームまで待機。入力・requestFrame()・stop()でunparkされる
+                long waitNs = kernel.getNanosUntilNextFrame();
+                if (waitNs > 0L) {
+                    LockSupport.parkNanos(this, Math.min(waitNs, MAX_PARK_NS));
+                }
+            }
+        }
+        // 停止前に積まれた入力は描画スレッド上で実行してから終了する
+        drainInput();
+    }
+
+    private void drainInput() {
+        Runnable action;
+        while ((action = inputQueue.poll()) != null) {
+            try {
+                action.run();
+            } catch (Exception e) {
+                LoggerService logger = kernel.getLogger();
+                if (logger != null) {
+                    logger.error(TAG, "入力処理エラー: " + e.getMessage(), e);
+                } else {
+                    System.err.println("KernelRenderThread: 入力処理エラー: " + e.getMessage());
+                }
+            }
+        }
+    }
+}
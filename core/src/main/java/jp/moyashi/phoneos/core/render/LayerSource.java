@@ -0,0 +1,47 @@
+package jp.moyashi.phoneos.core.render;
+
+import processing.core.PGraphics;
+
+/**
+ * OverlayCompositorで保持レイヤーとして描画されるオーバーレイの契約。
+ * 通知センター、コントロールセンター、ポップアップが実装する。
+ *
+ * @author MochiMobileOS Team
+ * @version 1.0
+ * @since 1.0
+ */
+public interface LayerSource {
+
+    /**
+     * レイヤーの内容を描画する。
+     * 透明にクリアされたオフスクリーンバッファが渡される。
+     *
+     * @param g 描画先のレイヤーバッファ
+     */
+    void drawLayer(PGraphics g);
+
+    /**
+     * レイヤーが描画対象（表示中または開閉アニメーション中）かどうか。
+     * falseの間はdrawLayer()は呼ばれず、合成もされない。
+     *
+     * @return 描画対象の場合true
+     */
+    boolean isLayerActive();
+
+    /**
+     * アニメーション中で毎フレームの再描画が必要かどうか。
+     *
+     * @return アニメーション中の場合true
+     */
+    boolean isLayerAnimating();
+
+    /**
+     * 見た目に影響する状態のスタンプを返す。
+     * 前回描画時と値が異なる場合にレイヤーが再描画される。
+     * スタンプに現れない状態変化（項目のトグル、クリック後の表示変化など）は、
+     * 実装側が変化のたびにスタンプへ含めるリビジョンを進めて報告すること。
+     *
+     * @return 状態スタンプ
+     */
+    long getLayerStateStamp();
+}
@@ -0,0 +1,248 @@
+package jp.moyashi.phoneos.core.render;
+
+import processing.core.PApplet;
+import processing.core.PFont;
+import processing.core.PGraphics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Kernelのオーバーレイ（通知センター・コントロールセンター・ポップアップ）を
+ * オフスクリーンの保持レイヤーとして管理するコンポジター。
+ *
+ * 各オーバーレイは自身のPGraphicsレイヤーを持ち、状態スタンプの変化またはアニメーション中のみ再描画される。
+ * トグル等の状態変化は、オーバーレイ自身がスタンプを変える（LayerSourceの実装側で無効化する）ことで反映する。
+ * アクティブなレイヤーは1枚の合成バッファにまとめられ、メインバッファへは1回のblitで転送する。
+ *
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public class OverlayCompositor {
+
+    /** 管理対象のレイヤー（登録順に下から合成） */
+    private final List<RetainedLayer> layers = new ArrayList<>();
+
+    /** レイヤーの合成バッファ */
+    private PGraphics composite;
+
+    /** 画面サイズ */
+    private int width;
+    private int height;
+
+    /** オフスクリーンバッファが作成できない環境ではfalse（従来の直接描画にフォールバック） */
+    private boolean available = true;
+
+    /** 合成結果に含まれるアクティブレイヤー数 */
+    private int activeLayerCount = 0;
+
+    /** アクティブレイヤーが1枚の場合の直接転送元 */
+    private PGraphics singleActiveBuffer;
+
+    /**
+     * OverlayCompositorを初期化する。
+     *
+     * @param width 画面幅
+     * @param height 画面高さ
+     */
+    public OverlayCompositor(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * オーバーレイを登録する。先に登録したものほど下に合成される。
+     *
+     * @param name レイヤー名（ログ用）
+     * @param source 描画元
+     */
+    public void addLayer(String name, LayerSource source) {
+        if (source != null) {
+            layers.add(new RetainedLayer(name, source));
+        }
+    }
+
+    /**
+     * 必要なレイヤーのみ再描画し、変化があれば合成バッファを更新する。
+     *
+     * @param parent オフスクリーンバッファ作成用のPApplet
+     * @param font レイヤーに適用するフォント（null可）
+     * @return 合成結果が前フレームから変化した場合true
+     */
+    public boolean update(PApplet parent, PFont font) {
+        if (!available) {
+            return false;
+        }
+        if (parent == null) {
+            available = false;
+            return false;
+        }
+
+        boolean changed = false;
+        int active = 0;
+        PGraphics lastActive = null;
+
+        try {
+            for (RetainedLayer layer : layers) {
+                if (layer.refresh(parent, font, width, height)) {
+                    changed = true;
+                }
+                if (layer.active) {
+                    active++;
+                    lastActive = layer.buffer;
+                }
+            }
+
+            if (changed) {
+                activeLayerCount = active;
+                singleActiveBuffer = active == 1 ? lastActive : null;
+                if (active > 1) {
+                    recompose(parent);
+                }
+            }
+        } catch (RuntimeException e) {
+            // オフスクリーン描画が使えない環境では従来の直接描画に戻す
+            System.err.println("OverlayCompositor: レイヤー描画を無効化します: " + e.getMessage());
+            available = false;
+            return true;
+        }
+        return changed;
+    }
+
+    /**
+     * 合成済みのオーバーレイを描画先に転送する（1回のblit）。
+     *
+     * @param target 描画先（beginDraw済み）
+     */
+    public void compose(PGraphics target) {
+        if (activeLayerCount == 0) {
+            return;
+        }
+        PGraphics source = activeLayerCount == 1 ? singleActiveBuffer : composite;
+        if (source != null) {
+            target.image(source, 0, 0);
+        }
+    }
+
+    /**
+     * すべてのレイヤーを次回update()で強制的に再描画させる。
+     * テーマ変更など、全レイヤーの見た目が変わる場合に呼び出す。
+     */
+    public void invalidateAll() {
+        for (RetainedLayer layer : layers) {
+            layer.forceRedraw = true;
+        }
+    }
+
+    /**
+     * レイヤー描画が利用可能かどうか。
+     * falseの場合、呼び出し元はオーバーレイを直接描画する必要がある。
+     *
+     * @return 利用可能な場合true
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    /**
+     * アクティブなレイヤーが存在するかどうか。
+     *
+     * @return 存在する場合true
+     */
+    public boolean hasActiveLayers() {
+        return activeLayerCount > 0;
+    }
+
+    /**
+     * 画面サイズを更新する。次回update()で全バッファが再作成される。
+     *
+     * @param newWidth 新しい幅
+     * @param newHeight 新しい高さ
+     */
+    public void resize(int newWidth, int newHeight) {
+        this.width = newWidth;
+        this.height = newHeight;
+        this.composite = null;
+        for (RetainedLayer layer : layers) {
+            layer.buffer = null;
+            layer.forceRedraw = true;
+        }
+    }
+
+    private void recompose(PApplet parent) {
+        if (composite == null || composite.width != width || composite.height != height) {
+            composite = parent.createGraphics(width, height);
+        }
+        composite.beginDraw();
+        composite.clear();
+        for (RetainedLayer layer : layers) {
+            if (layer.active && layer.buffer != null) {
+                composite.image(layer.buffer, 0, 0);
+            }
+        }
+        composite.endDraw();
+    }
+
+    /**
+     * 1つのオーバーレイに対応する保持レイヤー。
+     */
+    private static final class RetainedLayer {
+        private final String name;
+        private final LayerSource source;
+        private PGraphics buffer;
+        private boolean active = false;
+        private boolean forceRedraw = true;
+        private long lastStamp;
+
+        private RetainedLayer(String name, LayerSource source) {
+            this.name = name;
+            this.source = source;
+        }
+
+        /**
+         * 必要な場合のみレイヤーを再描画する。
+         *
+         * @return レイヤーの内容またはアクティブ状態が変化した場合true
+         */
+        private boolean refresh(PApplet parent, PFont font, int width, int height) {
+            if (!source.isLayerActive()) {
+                if (active) {
+                    active = false;
+                    return true;
+                }
+                return false;
+            }
+
+            boolean needsRedraw = forceRedraw
+                    || !active
+                    || buffer == null
+                    || source.isLayerAnimating()
+                    || source.getLayerStateStamp() != lastStamp;
+            if (!needsRedraw) {
+                return false;
+            }
+
+            if (buffer == null || buffer.width != width || buffer.height != height) {
+                buffer = parent.createGraphics(width, height);
+            }
+            buffer.beginDraw();
+            try {
+                buffer.clear();
+                if (font != null) {
+                    buffer.textFont(font);
+                }
+                source.drawLayer(buffer);
+            } catch (Exception e) {
+                System.err.println("OverlayCompositor: " + name + "描画エラー: " + e.getMessage());
+            } finally {
+                buffer.endDraw();
+            }
+
+            // drawLayer()内でアニメーションが進むため、描画後の状態を記録する
+            lastStamp = source.getLayerStateStamp();
+            forceRedraw = false;
+            active = source.isLayerActive();
+            return true;
+        }
+    }
+}
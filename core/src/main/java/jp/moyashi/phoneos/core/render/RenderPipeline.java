@@ -37,6 +37,30 @@ public class RenderPipeline {
     private int fpsFrameCount = 0;
     private long fpsStartTime = System.nanoTime();
 
+    /** ダメージ領域トラッカー（差分描画用） */
+    private final DamageTracker damageTracker;
+
+    /** 前フレームでオーバーレイが描画対象だったか（閉じた直後の全画面再描画判定用） */
+    private boolean lastOverlaysActive = false;
+
+    /** 前フレームのスリープ状態（スリープ遷移時の再描画判定用） */
+    private boolean lastSleeping = false;
+
+    /** getPixels()で未コピーの描画済み領域 */
+    private DamageTracker.Region pendingCopyRegion;
+
+    /** ダメージがなくスキップしたフレーム数 */
+    private long skippedFrameCount = 0;
+
+    /** 連続描画しないダメージ非報告スクリーンの定期再描画間隔（時計表示など） */
+    private static final long STATIC_REFRESH_INTERVAL_MS = 1000;
+
+    /** フォーカスされたテキスト入力がある場合の定期再描画間隔（カーソル点滅の周期） */
+    private static final long FOCUSED_REFRESH_INTERVAL_MS = 500;
+
+    /** 最後に全画面を再描画した時刻 */
+    private long lastFullRedrawMs = 0;
+
     /**
      * RenderPipelineを初期化する。
      *
@@ -49,10 +73,50 @@ public class RenderPipeline {
         this.width = width;
         this.height = height;
         this.pixelsCache = new int[width * height];
+        this.damageTracker = new DamageTracker(width, height);
+        this.pendingCopyRegion = DamageTracker.Region.full(width, height);
     }
 
     /**
-     * 描画処理を実行する。
+     * フレーム開始時にこのフレームで再描画すべき領域を決定する。
+     * スクリーン・オーバーレイ・スリープ状態から全画面再描画の要否を判定し、
+     * それ以外はUIComponent等から報告されたダメージ領域を返す。
+     * ダメージを報告しないスクリーンは一定間隔で全画面を再描画する。
+     *
+     * @param screenManager スクリーンマネージャー
+     * @param overlaysActive 通知センター・コントロールセンター・ポップアップのいずれかが描画対象か
+     * @param isSleeping スリープ状態
+     * @return 再描画領域、描画不要の場合null
+     */
+    public DamageTracker.Region beginFrame(ScreenManager screenManager, boolean overlaysActive, boolean isSleeping) {
+        if (isSleeping != lastSleeping) {
+            damageTracker.invalidateAll();
+        } else if (!isSleeping) {
+            if (overlaysActive || lastOverlaysActive
+                    || screenManager == null || screenManager.needsFullRedraw()) {
+                damageTracker.invalidateAll();
+            } else if (!screenManager.currentScreenReportsDamage()) {
+                long interval = screenManager.currentScreenHasFocus()
+                        ? FOCUSED_REFRESH_INTERVAL_MS : STATIC_REFRESH_INTERVAL_MS;
+                if (System.currentTimeMillis() - lastFullRedrawMs >= interval) {
+                    damageTracker.invalidateAll();
+                }
+            }
+        }
+        lastSleeping = isSleeping;
+        lastOverlaysActive = overlaysActive && !isSleeping;
+
+        DamageTracker.Region damage = damageTracker.consume();
+        if (damage == null) {
+            skippedFrameCount++;
+        } else if (damage.isFull()) {
+            lastFullRedrawMs = System.currentTimeMillis();
+        }
+        return damage;
+    }
+
+    /**
+     * 描画処理を実行する（全画面）。
      * 背景描画、スクリーン描画、スリープ処理を管理。
      *
      * @param graphics PGraphicsインスタンス
@@ -62,10 +126,31 @@ public class RenderPipeline {
      */
     public void render(PGraphics graphics, ScreenManager screenManager,
                       ThemeEngine themeEngine, boolean isSleeping) {
+        render(graphics, screenManager, themeEngine, isSleeping, DamageTracker.Region.full(width, height));
+    }
+
+    /**
+     * 描画処理を実行する。
+     * 背景描画、スクリーン描画、スリープ処理を管理。
+     * 部分ダメージの場合はクリップ領域を設定し、その範囲のみラスタライズする。
+     *
+     * @param graphics PGraphicsインスタンス
+     * @param screenManager スクリーンマネージャー
+     * @param themeEngine テーマエンジン
+     * @param isSleeping スリープ状態
+     * @param damage 再描画領域
+     */
+    public void render(PGraphics graphics, ScreenManager screenManager,
+                      ThemeEngine themeEngine, boolean isSleeping, DamageTracker.Region damage) {
         // PGraphicsの描画開始を宣言（重要！）
         graphics.beginDraw();
+        pendingCopyRegion = DamageTracker.Region.union(pendingCopyRegion, damage);
 
         try {
+            if (!damage.isFull()) {
+                graphics.clip(damage.x, damage.y, damage.width, damage.height);
+            }
+
             // スリープ中は描画をスキップして電力を節約
             if (isSleeping) {
                 renderSleepMode(graphics);
@@ -91,6 +176,9 @@ public class RenderPipeline {
             // エラー時でも描画を継続（クラッシュを防ぐ）
             renderErrorState(graphics);
         } finally {
+            if (!damage.isFull()) {
+                graphics.noClip();
+            }
             // PGraphicsの描画終了を宣言（必須！）
             graphics.endDraw();
         }
@@ -176,6 +264,42 @@ public class RenderPipeline {
         }
     }
 
+    /**
+     * 前回のコピー以降に描画された領域だけをピクセル配列へコピーする。
+     * 部分ダメージのフレームでは変更された行範囲のみをコピーする。
+     *
+     * @param src 描画バッファのピクセル配列（loadPixels済み）
+     * @param dst コピー先のピクセル配列（前回の内容を保持していること）
+     */
+    public void copyDamagedPixels(int[] src, int[] dst) {
+        DamageTracker.Region region = pendingCopyRegion;
+        pendingCopyRegion = null;
+        if (src == null || dst == null || src.length != dst.length) {
+            return;
+        }
+        if (region == null) {
+            return;
+        }
+        if (region.isFull() || src.length != width * height) {
+            System.arraycopy(src, 0, dst, 0, src.length);
+            return;
+        }
+        int endY = Math.min(height, region.y + region.height);
+        int rowWidth = Math.min(width - region.x, region.width);
+        for (int y = region.y; y < endY; y++) {
+            int offset = y * width + region.x;
+            System.arraycopy(src, offset, dst, offset, rowWidth);
+        }
+    }
+
+    /**
+     * 次回のピクセルコピーで全画面をコピーするよう要求する。
+     * コピー先配列を新規作成した場合などに使用する。
+     */
+    public void requestFullPixelCopy() {
+        pendingCopyRegion = DamageTracker.Region.full(width, height);
+    }
+
     /**
      * フレーム情報を更新する。
      * フレームカウントとFPSを計算。
@@ -226,6 +350,8 @@ public class RenderPipeline {
             this.height = newHeight;
             this.pixelsCache = new int[newWidth * newHeight];
             this.pixelsCacheDirty = true;
+            this.damageTracker.resize(newWidth, newHeight);
+            this.pendingCopyRegion = DamageTracker.Region.full(newWidth, newHeight);
             System.out.println("RenderPipeline: Screen size updated to " + newWidth + "x" + newHeight);
         }
     }
@@ -256,6 +382,24 @@ public class RenderPipeline {
         return currentFps;
     }
 
+    /**
+     * ダメージ領域トラッカーを取得する。
+     *
+     * @return DamageTracker
+     */
+    public DamageTracker getDamageTracker() {
+        return damageTracker;
+    }
+
+    /**
+     * ダメージがなく描画をスキップしたフレーム数を取得する。
+     *
+     * @return スキップしたフレーム数
+     */
+    public long getSkippedFrameCount() {
+        return skippedFrameCount;
+    }
+
     /**
      * ピクセルキャッシュを取得する。
      * パフォーマンス最適化のため、直接配列を返す（コピーしない）。
@@ -0,0 +1,88 @@
+package jp.moyashi.phoneos.core.resource;
+
+/**
+ * アクセス頻度を近似的に数えるCount-Minスケッチ（4ビットカウンター）。
+ * WeightedCacheのTinyLFUアドミッション判定に使用する。
+ *
+ * 1つのlongに16個のカウンターを詰め、キーごとに4つのカウンターを更新して最小値を頻度とする。
+ * 加算回数が一定数に達すると全カウンターを半分にし、過去のアクセスの影響を減衰させる。
+ * スレッドセーフではない（WeightedCacheのevictionLock内から使用する）。
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+
+    /** 各カウンターの最上位ビットを落とすマスク（半減時に使用） */
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * スケッチを作成する。
+     *
+     * @param capacity 想定するキー数の目安
+     */
+    FrequencySketch(int capacity) {
+        int length = Integer.highestOneBit(Math.max(64, capacity - 1)) << 1;
+        this.table = new long[length];
+        this.mask = length - 1;
+        this.sampleSize = 10 * length;
+    }
+
+    /**
+     * 頻度を取得する。
+     *
+     * @param hash キーのハッシュ
+     * @return 頻度（0～15）
+     */
+    int frequency(int hash) {
+        int frequency = 15;
+        for (int i = 0; i < 4; i++) {
+            int count = (int) ((table[indexOf(hash, i)] >>> offsetOf(hash, i)) & 0xF);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * 頻度を1加算する。
+     *
+     * @param hash キーのハッシュ
+     */
+    void increment(int hash) {
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(hash, i);
+            int offset = offsetOf(hash, i);
+            if (((table[index] >>> offset) & 0xF) != 0xF) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> 32;
+        return (int) h & mask;
+    }
+
+    private static int offsetOf(int hash, int i) {
+        return ((hash >>> (i << 3)) & 0xF) << 2;
+    }
+}
@@ -0,0 +1,242 @@
+package jp.moyashi.phoneos.core.resource;
+
+import jp.moyashi.phoneos.core.memory.MemoryManager;
+import processing.core.PConstants;
+import processing.core.PImage;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Logger;
+
+/**
+ * 画像のピクセルをヒープ外（ダイレクトバッファ）に保持するアリーナ。
+ *
+ * アイコンや壁紙、ResourceCacheの画像などの長期間保持する画像をint[]としてヒープに置かず、ここに格納して
+ * 参照カウント付きのPixelHandleで管理する。描画時のみPImageに展開し、展開したPImageは
+ * ResourceCache（pixels名前空間）の予算内で保持するため、使われない画像のヒープは追い出し時に解放される。
+ *
+ * メモリ管理:
+ * - スラブ（4MBのダイレクトバッファ）から2のべき乗サイズのブロックを切り出す
+ * - 解放されたブロックはサイズごとの空きリストに戻して再利用する（GCに依存せず確実に再利用される）
+ * - 確保済みの合計は上限（デフォルト64MB、-Dmochi.pixelArenaMB）を超えない。超える場合は格納に失敗する
+ * - 確保済みサイズはMemoryManagerのオフヒープ使用量として報告する
+ *
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public class PixelArena {
+
+    private static final Logger logger = Logger.getLogger(PixelArena.class.getName());
+
+    /** スラブのサイズ */
+    private static final int SLAB_SIZE = 4 * 1024 * 1024;
+
+    /** 最小ブロックサイズ（2^12 = 4KB） */
+    private static final int MIN_BLOCK_SHIFT = 12;
+
+    /** ブロックサイズの種類（4KB～1GB） */
+    private static final int SIZE_CLASSES = 31 - MIN_BLOCK_SHIFT;
+
+    /** デフォルトの上限 */
+    private static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+    /** シングルトンインスタンス */
+    private static PixelArena instance;
+
+    private final long maxBytes;
+
+    /** サイズごとの空きブロック */
+    private final List<ArrayDeque<ByteBuffer>> freeLists = new ArrayList<>(SIZE_CLASSES);
+
+    /** 切り出し中のスラブ */
+    private ByteBuffer currentSlab;
+
+    /** 確保済みのダイレクトメモリ（スラブ＋専用ブロック） */
+    private long reservedBytes;
+
+    /** 使用中のハンドルが占めるバイト数 */
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    /** 使用中のハンドル数 */
+    private final AtomicLong liveHandles = new AtomicLong();
+
+    /** ハンドルIDの採番 */
+    private final AtomicLong nextHandleId = new AtomicLong();
+
+    private PixelArena(long maxBytes) {
+        this.maxBytes = maxBytes;
+        for (int i = 0; i < SIZE_CLASSES; i++) {
+            freeLists.add(new ArrayDeque<>());
+        }
+    }
+
+    /**
+     * シングルトンインスタンスを取得する。
+     */
+    public static synchronized PixelArena getInstance() {
+        if (instance == null) {
+            long maxMb = Long.getLong("mochi.pixelArenaMB", DEFAULT_MAX_BYTES / (1024 * 1024));
+            instance = new PixelArena(maxMb * 1024 * 1024);
+            PixelArena arena = instance;
+            MemoryManager memoryManager = MemoryManager.getInstance();
+            if (memoryManager != null) {
+                memoryManager.registerOffHeapSource("PixelArena", arena::getReservedBytes);
+            }
+            logger.info("PixelArena initialized (max " + maxMb + "MB)");
+        }
+        return instance;
+    }
+
+    /**
+     * 画像のピクセルをアリーナにコピーする。元の画像はそのまま残るため、不要であれば呼び出し側で参照を外すこと。
+     *
+     * @param image 画像
+     * @return ハンドル（参照カウント1）。上限を超える場合や画像が空の場合はnull
+     */
+    public PixelHandle store(PImage image) {
+        if (image == null || image.width <= 0 || image.height <= 0) {
+            return null;
+        }
+        image.loadPixels();
+        if (image.pixels == null) {
+            return null;
+        }
+        int format = image.format == PConstants.RGB ? PConstants.RGB : PConstants.ARGB;
+        return store(image.pixels, image.pixelWidth > 0 ? image.pixelWidth : image.width,
+                image.pixelHeight > 0 ? image.pixelHeight : image.height, format);
+    }
+
+    /**
+     * ピクセル配列をアリーナにコピーする。
+     *
+     * @param pixels ピクセル（ARGB、行優先）
+     * @param width 幅
+     * @param height 高さ
+     * @param format PConstants.ARGB または PConstants.RGB
+     * @return ハンドル（参照カウント1）。上限を超える場合はnull
+     */
+    public PixelHandle store(int[] pixels, int width, int height, int format) {
+        long count = (long) width * height;
+        if (pixels == null || width <= 0 || height <= 0 || pixels.length < count || count * 4 > Integer.MAX_VALUE) {
+            return null;
+        }
+        ByteBuffer block = allocateBlock((int) (count * 4));
+        if (block == null) {
+            return null;
+        }
+        block.asIntBuffer().put(pixels, 0, (int) count);
+        usedBytes.addAndGet(block.capacity());
+        liveHandles.incrementAndGet();
+        return new PixelHandle(this, nextHandleId.incrementAndGet(), block, width, height, format);
+    }
+
+    /**
+     * ハンドルのブロックを空きリストに戻す（PixelHandle.release()から呼ばれる）。
+     */
+    void free(PixelHandle handle, ByteBuffer block) {
+        usedBytes.addAndGet(-block.capacity());
+        liveHandles.decrementAndGet();
+        // 展開済みのPImageも破棄
+        ResourceCache.getInstance().remove(ResourceCache.NAMESPACE_PIXELS, handle.getCacheKey());
+        synchronized (this) {
+            block.clear();
+            freeLists.get(sizeClass(block.capacity())).push(block);
+        }
+    }
+
+    private synchronized ByteBuffer allocateBlock(int bytes) {
+        int sizeClass = sizeClass(bytes);
+        if (sizeClass >= SIZE_CLASSES) {
+            return null;
+        }
+        ArrayDeque<ByteBuffer> free = freeLists.get(sizeClass);
+        if (!free.isEmpty()) {
+            return free.pop();
+        }
+
+        int blockSize = 1 << (sizeClass + MIN_BLOCK_SHIFT);
+        if (blockSize > SLAB_SIZE) {
+            // スラブより大きいブロックは専用に確保
+            if (reservedBytes + blockSize > maxBytes) {
+                return null;
+            }
+            reservedBytes += blockSize;
+            return ByteBuffer.allocateDirect(blockSize).order(ByteOrder.nativeOrder());
+        }
+
+        if (currentSlab == null || currentSlab.remaining() < blockSize) {
+            if (reservedBytes + SLAB_SIZE > maxBytes) {
+                return null;
+            }
+            if (currentSlab != null) {
+                // 残りは空きブロックとして再利用
+                releaseSlabRemainder();
+            }
+            currentSlab = ByteBuffer.allocateDirect(SLAB_SIZE).order(ByteOrder.nativeOrder());
+            reservedBytes += SLAB_SIZE;
+        }
+        return carve(blockSize);
+    }
+
+    /** 切り出し中のスラブの残りを、大きい順に2のべき乗のブロックとして空きリストに入れる */
+    private void releaseSlabRemainder() {
+        int minBlock = 1 << MIN_BLOCK_SHIFT;
+        while (currentSlab.remaining() >= minBlock) {
+            int size = Integer.highestOneBit(currentSlab.remaining());
+            freeLists.get(sizeClass(size)).push(carve(size));
+        }
+    }
+
+    private ByteBuffer carve(int size) {
+        int start = currentSlab.position();
+        ByteBuffer view = currentSlab.duplicate();
+        view.limit(start + size);
+        ByteBuffer block = view.slice().order(ByteOrder.nativeOrder());
+        currentSlab.position(start + size);
+        return block;
+    }
+
+    private static int sizeClass(int bytes) {
+        int size = Math.max(bytes, 1 << MIN_BLOCK_SHIFT);
+        int shift = 32 - Integer.numberOfLeadingZeros(size - 1);
+        return shift - MIN_BLOCK_SHIFT;
+    }
+
+    /**
+     * 確保済みのダイレクトメモリ（バイト）を取得する。
+     */
+    public synchronized long getReservedBytes() {
+        return reservedBytes;
+    }
+
+    /**
+     * 使用中のハンドルが占めるバイト数を取得する。
+     */
+    public long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    /**
+     * 使用中のハンドル数を取得する。
+     */
+    public long getLiveHandleCount() {
+        return liveHandles.get();
+    }
+
+    /**
+     * 上限（バイト）を取得する。
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PixelArena[handles=%d, used=%d, reserved=%d, max=%d]",
+                getLiveHandleCount(), getUsedBytes(), getReservedBytes(), maxBytes);
+    }
+}
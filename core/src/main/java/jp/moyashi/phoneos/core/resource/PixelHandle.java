@@ -0,0 +1,161 @@
+package jp.moyashi.phoneos.core.resource;
+
+import processing.core.PGraphics;
+import processing.core.PImage;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PixelArenaに格納した画像への参照カウント付きハンドル。
+ *
+ * 作成時の参照カウントは1。共有する場合はretain()し、不要になったらrelease()する。
+ * カウントが0になるとブロックはアリーナに返却され、以降の描画は行われない。
+ * 描画時にtoImage()でPImageへ展開し、展開結果はResourceCacheのpixels名前空間（ヒープの予算）内でのみ保持する。
+ * 描画されなくなった画像の展開結果は追い出され、ピクセルはアリーナにのみ残る。
+ *
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public final class PixelHandle {
+
+    private final PixelArena arena;
+    private final long id;
+    private final int width;
+    private final int height;
+    private final int format;
+    private final String cacheKey;
+    private final AtomicInteger refCount = new AtomicInteger(1);
+
+    /** ピクセルのブロック（解放後はnull、thisで保護） */
+    private ByteBuffer block;
+
+    PixelHandle(PixelArena arena, long id, ByteBuffer block, int width, int height, int format) {
+        this.arena = arena;
+        this.id = id;
+        this.block = block;
+        this.width = width;
+        this.height = height;
+        this.format = format;
+        this.cacheKey = "pixel:" + id;
+    }
+
+    /**
+     * 参照カウントを1増やす。
+     *
+     * @return このハンドル
+     * @throws IllegalStateException 解放済みの場合
+     */
+    public PixelHandle retain() {
+        while (true) {
+            int count = refCount.get();
+            if (count <= 0) {
+                throw new IllegalStateException("PixelHandle already released: " + id);
+            }
+            if (refCount.compareAndSet(count, count + 1)) {
+                return this;
+            }
+        }
+    }
+
+    /**
+     * 参照カウントを1減らし、0になった場合はブロックをアリーナに返却する。
+     *
+     * @throws IllegalStateException 解放済みの場合
+     */
+    public void release() {
+        int count = refCount.decrementAndGet();
+        if (count < 0) {
+            refCount.incrementAndGet();
+            throw new IllegalStateException("PixelHandle already released: " + id);
+        }
+        if (count == 0) {
+            ByteBuffer released;
+            synchronized (this) {
+                released = block;
+                block = null;
+            }
+            if (released != null) {
+                arena.free(this, released);
+            }
+        }
+    }
+
+    /** 解放済みかどうか */
+    public boolean isReleased() {
+        return refCount.get() <= 0;
+    }
+
+    /**
+     * PImageに展開する。直近に展開した結果がResourceCacheに残っていればそれを返す。
+     *
+     * @return 画像、解放済みの場合はnull
+     */
+    public PImage toImage() {
+        ResourceCache cache = ResourceCache.getInstance();
+        PImage image = cache.getImage(ResourceCache.NAMESPACE_PIXELS, cacheKey);
+        if (image != null) {
+            return image;
+        }
+        image = new PImage(width, height, format);
+        synchronized (this) {
+            if (block == null) {
+                return null;
+            }
+            IntBuffer pixels = block.asIntBuffer();
+            pixels.get(image.pixels, 0, width * height);
+        }
+        image.updatePixels();
+        cache.putImage(ResourceCache.NAMESPACE_PIXELS, cacheKey, image);
+        if (isReleased()) {
+            // 展開中に解放された場合は展開結果を残さない
+            cache.remove(ResourceCache.NAMESPACE_PIXELS, cacheKey);
+        }
+        return image;
+    }
+
+    /**
+     * 指定位置・サイズで描画する（現在のimageModeに従う）。
+     *
+     * @param g 描画先
+     * @param x X座標
+     * @param y Y座標
+     * @param w 幅
+     * @param h 高さ
+     */
+    public void draw(PGraphics g, float x, float y, float w, float h) {
+        PImage image = toImage();
+        if (image != null) {
+            g.image(image, x, y, w, h);
+        }
+    }
+
+    /** 幅（ピクセル） */
+    public int getWidth() {
+        return width;
+    }
+
+    /** 高さ（ピクセル） */
+    public int getHeight() {
+        return height;
+    }
+
+    /** ピクセルのバイト数 */
+    public int getByteSize() {
+        return width * height * 4;
+    }
+
+    /** アリーナ上で占めるバイト数（2のべき乗に切り上げたブロックサイズ） */
+    int getReservedSize() {
+        ByteBuffer b;
+        synchronized (this) {
+            b = block;
+        }
+        return b != null ? b.capacity() : 0;
+    }
+
+    String getCacheKey() {
+        return cacheKey;
+    }
+}
@@ -7,27 +7,32 @@ import jp.moyashi.phoneos.core.memory.MemoryManager;
 import jp.moyashi.phoneos.core.event.EventBus;
 import jp.moyashi.phoneos.core.event.EventListener;
 
-import java.lang.ref.SoftReference;
-import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicLong;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 /**
  * リソースキャッシュシステム。
- * 画像、フォント、その他のリソースを効率的にキャッシュし、
- * メモリ使用量を最適化する。
+ * 画像、フォント、その他のリソースを1つのキャッシュエンジン（WeightedCache）で管理し、
+ * メモリ使用量をバイト数の予算内に抑える。
  *
  * 特徴:
- * - LRU（Least Recently Used）キャッシュ
- * - ソフト/ウィーク参照によるメモリ管理
+ * - W-TinyLFUによる追い出し（アクセス頻度と新しさの両方を考慮）
+ * - PImageのピクセル配列・PFontのグリフ画像に基づくバイト数の重み付け
+ * - image名前空間の画像はピクセルをPixelArena（ヒープ外）に格納し、取得時に展開する
+ *   （アリーナが一杯の場合はPImageのまま保持）。ヒープ外の画像はアリーナの上限を予算とする別のエンジン
+ *   （offHeapCache）で管理し、追い出し時にアリーナのブロックを返却する。ヒープの予算には展開した
+ *   PImage（pixels名前空間）のみが計上されるため、同じ画像が二重に計上されることはない
+ * - 追加時の同期的な予算判定（予算を超える場合は優先度の低いエントリを追い出し、新しいエントリの方が
+ *   優先度が低い場合は追加しない）
+ * - 名前空間（image / font / object）ごとのヒット・ミス・追い出し統計
  * - 非同期リソース読み込み
- * - 自動キャッシュサイズ調整
  * - メモリプレッシャー対応
  *
+ * ResourceManagerの画像・フォントキャッシュもこのキャッシュを使用する。
+ *
  * @since 2025-12-04
  * @version 1.0
  */
@@ -35,114 +40,73 @@ public class ResourceCache {
 
     private static final Logger logger = Logger.getLogger(ResourceCache.class.getName());
 
-    /** シングルトンインスタンス */
-    private static ResourceCache instance;
+    /** 画像の名前空間 */
+    public static final String NAMESPACE_IMAGE = "image";
 
-    /** 画像キャッシュ（ソフト参照） */
-    private final Map<String, CacheEntry<PImage>> imageCache;
+    /** フォントの名前空間 */
+    public static final String NAMESPACE_FONT = "font";
 
-    /** フォントキャッシュ（強参照 - フォントは少数で重要） */
-    private final Map<String, PFont> fontCache;
+    /** 汎用オブジェクトの名前空間 */
+    public static final String NAMESPACE_OBJECT = "object";
 
-    /** 汎用オブジェクトキャッシュ（ウィーク参照） */
-    private final Map<String, CacheEntry<Object>> objectCache;
+    /** オフヒープ画像（PixelHandle）を描画用に展開したPImageの名前空間 */
+    public static final String NAMESPACE_PIXELS = "pixels";
 
-    /** プリロードキャッシュ（強参照 - 明示的にプリロードされたリソース） */
-    private final Map<String, Object> preloadCache;
+    /** デフォルトの予算（-Dmochi.resourceCacheMB で変更可能） */
+    private static final long DEFAULT_MAX_CACHE_SIZE = 100L * 1024 * 1024; // 100MB
 
-    /** キャッシュ統計 */
-    private final CacheStatistics statistics = new CacheStatistics();
+    /** PImage本体（フィールド等）の概算サイズ */
+    private static final long IMAGE_OVERHEAD = 128;
 
-    /** 非同期ローダー用スレッドプール */
-    private final ExecutorService loaderExecutor;
+    /** 配列ヘッダーの概算サイズ */
+    private static final long ARRAY_OVERHEAD = 16;
 
-    /** キャッシュの最大サイズ（バイト） */
-    private long maxCacheSize = 100 * 1024 * 1024; // 100MB
+    /** PFont本体（AWTフォント・グリフ表等）の概算サイズ */
+    private static final long FONT_OVERHEAD = 64 * 1024;
 
-    /** 現在のキャッシュサイズ（推定） */
-    private final AtomicLong currentCacheSize = new AtomicLong();
+    /** シングルトンインスタンス */
+    private static ResourceCache instance;
 
-    /** アクセス順序を記録（LRU用） */
-    private final LinkedHashMap<String, Long> accessOrder;
+    /** キャッシュエンジン（全名前空間で予算を共有） */
+    private final WeightedCache cache;
 
-    /** クリーンアップ用スケジューラー */
-    private final ScheduledExecutorService cleanupScheduler;
+    /** 画像キャッシュ（アリーナに格納できなかった画像） */
+    private final WeightedCache.Region<PImage> imageCache;
 
-    /** クリーンアップタスク */
-    private ScheduledFuture<?> cleanupTask;
+    /** ヒープ外の画像用キャッシュエンジン（予算はPixelArenaの上限） */
+    private final WeightedCache offHeapCache;
 
-    /** メモリマネージャー */
-    private MemoryManager memoryManager;
+    /** ヒープ外の画像キャッシュ（ピクセルはPixelArena） */
+    private final WeightedCache.Region<PixelHandle> offHeapImageCache;
 
-    /** キャッシュポリシー */
-    private CachePolicy policy = CachePolicy.LRU;
+    /** フォントキャッシュ */
+    private final WeightedCache.Region<PFont> fontCache;
 
-    /**
-     * キャッシュポリシー列挙型。
-     */
-    public enum CachePolicy {
-        /** Least Recently Used */
-        LRU,
-        /** Least Frequently Used */
-        LFU,
-        /** First In First Out */
-        FIFO,
-        /** 適応型（メモリ状況に応じて変更） */
-        ADAPTIVE
-    }
+    /** 汎用オブジェクトキャッシュ */
+    private final WeightedCache.Region<Object> objectCache;
 
-    /**
-     * キャッシュエントリ。
-     */
-    private static class CacheEntry<T> {
-        private final SoftReference<T> softRef;
-        private final WeakReference<T> weakRef;
-        private final long size;
-        private final long timestamp;
-        private final AtomicInteger accessCount;
-        private final boolean useSoftReference;
-
-        public CacheEntry(T object, long size, boolean useSoftReference) {
-            this.size = size;
-            this.timestamp = System.currentTimeMillis();
-            this.accessCount = new AtomicInteger(0);
-            this.useSoftReference = useSoftReference;
-
-            if (useSoftReference) {
-                this.softRef = new SoftReference<>(object);
-                this.weakRef = null;
-            } else {
-                this.softRef = null;
-                this.weakRef = new WeakReference<>(object);
-            }
-        }
+    /** プリロードキャッシュ（強参照 - 明示的にプリロードされたリソース、予算の対象外） */
+    private final Map<String, Object> preloadCache;
 
-        public T get() {
-            accessCount.incrementAndGet();
-            return useSoftReference ?
-                (softRef != null ? softRef.get() : null) :
-                (weakRef != null ? weakRef.get() : null);
-        }
+    /** 非同期ローダー用スレッドプール */
+    private final ExecutorService loaderExecutor;
 
-        public long getSize() { return size; }
-        public int getAccessCount() { return accessCount.get(); }
-        public long getAge() { return System.currentTimeMillis() - timestamp; }
-    }
+    /** メモリマネージャー */
+    private MemoryManager memoryManager;
 
     /**
      * プライベートコンストラクタ。
      */
     private ResourceCache() {
-        this.imageCache = new ConcurrentHashMap<>();
-        this.fontCache = new ConcurrentHashMap<>();
-        this.objectCache = new ConcurrentHashMap<>();
+        long maxMb = Long.getLong("mochi.resourceCacheMB", DEFAULT_MAX_CACHE_SIZE / (1024 * 1024));
+        this.cache = new WeightedCache(maxMb * 1024 * 1024);
+        this.imageCache = cache.region(NAMESPACE_IMAGE);
+        this.fontCache = cache.region(NAMESPACE_FONT);
+        this.objectCache = cache.region(NAMESPACE_OBJECT);
         this.preloadCache = new ConcurrentHashMap<>();
-        this.accessOrder = new LinkedHashMap<>(16, 0.75f, true) {
-            @Override
-            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
-                return false; // 手動で管理
-            }
-        };
+        this.offHeapCache = new WeightedCache(PixelArena.getInstance().getMaxBytes());
+        this.offHeapImageCache = offHeapCache.region(NAMESPACE_IMAGE);
+        offHeapImageCache.setRemovalListener((key, handle) -> handle.release());
 
         this.loaderExecutor = Executors.newCachedThreadPool(r -> {
             Thread t = new Thread(r, "ResourceLoader");
@@ -150,19 +114,10 @@ public class ResourceCache {
             return t;
         });
 
-        this.cleanupScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
-            Thread t = new Thread(r, "CacheCleanup");
-            t.setDaemon(true);
-            return t;
-        });
-
         // メモリマネージャーとの連携
         this.memoryManager = MemoryManager.getInstance();
         registerMemoryListener();
 
-        // 定期クリーンアップを開始
-        startCleanupTask();
-
         logger.info("ResourceCache initialized");
     }
 
@@ -200,8 +155,8 @@ public class ResourceCache {
                         // クリティカル時は積極的にキャッシュをクリア
                         clearNonEssentialCaches();
                     } else if (newState == MemoryManager.MemoryState.WARNING) {
-                        // 警告時は古いキャッシュのみクリア
-                        cleanupOldEntries();
+                        // 警告時は優先度の低いエントリから予算の75%まで削減
+                        trim();
                     }
                 }
 
@@ -217,83 +172,64 @@ public class ResourceCache {
     }
 
     /**
-     * 定期クリーンアップタスクを開始する。
+     * 画像をキャッシュから取得する。
      */
-    private void startCleanupTask() {
-        cleanupTask = cleanupScheduler.scheduleWithFixedDelay(
-            this::performCleanup,
-            30, 30, TimeUnit.SECONDS // 30秒ごと
-        );
+    public PImage getImage(String key) {
+        PixelHandle handle = offHeapImageCache.get(key);
+        if (handle != null) {
+            // 取得後に追い出され解放された場合はnull（ミス扱い）
+            return handle.toImage();
+        }
+        return imageCache.get(key);
     }
 
     /**
-     * クリーンアップを実行する。
-     */
-    private void performCleanup() {
-        try {
-            // 無効な参照を削除
-            removeInvalidEntries();
-
-            // キャッシュサイズチェック
-            if (currentCacheSize.get() > maxCacheSize) {
-                evictEntries();
-            }
-
-            // 統計を更新
-            statistics.cleanup();
-
-        } catch (Exception e) {
-            logger.log(Level.WARNING, "Error during cache cleanup", e);
+     * 画像をキャッシュに追加する。
+     *
+     * @return 追加された場合true（予算・アドミッション判定により追加されない場合がある）
+     */
+    public boolean putImage(String key, PImage image) {
+        if (image == null) return false;
+        PixelHandle handle = PixelArena.getInstance().store(image);
+        if (handle == null) {
+            offHeapImageCache.remove(key);
+            return imageCache.put(key, image, weighImage(image));
         }
+        imageCache.remove(key);
+        // 重みはアリーナ上のブロックサイズ（追加されなかった場合のハンドルはRemovalListenerで解放される）
+        return offHeapImageCache.put(key, handle, handle.getReservedSize());
     }
 
     /**
-     * 画像をキャッシュから取得する。
+     * 名前空間を指定して画像を取得する。
+     *
+     * @param namespace 名前空間（NAMESPACE_*）
+     * @param key キー
+     * @return 画像、存在しない場合はnull
      */
-    public PImage getImage(String key) {
-        // アクセス順序を記録
-        synchronized (accessOrder) {
-            accessOrder.put(key, System.currentTimeMillis());
+    public PImage getImage(String namespace, String key) {
+        if (NAMESPACE_IMAGE.equals(namespace)) {
+            return getImage(key);
         }
-
-        CacheEntry<PImage> entry = imageCache.get(key);
-        if (entry != null) {
-            PImage image = entry.get();
-            if (image != null) {
-                statistics.hit();
-                return image;
-            } else {
-                // 参照が無効になっている
-                imageCache.remove(key);
-                currentCacheSize.addAndGet(-entry.getSize());
-            }
-        }
-
-        statistics.miss();
-        return null;
+        WeightedCache.Region<PImage> region = cache.region(namespace);
+        return region.get(key);
     }
 
     /**
-     * 画像をキャッシュに追加する。
+     * 名前空間を指定して画像を追加する。
+     *
+     * @param namespace 名前空間（NAMESPACE_*）
+     * @param key キー
+     * @param image 画像
+     * @return 追加された場合true
      */
-    public void putImage(String key, PImage image) {
-        if (image == null) return;
-
-        long size = estimateImageSize(image);
-
-        // キャッシュサイズ制限チェック
-        ensureCapacity(size);
-
-        // ソフト参照でキャッシュ
-        CacheEntry<PImage> entry = new CacheEntry<>(image, size, true);
-        imageCache.put(key, entry);
-        currentCacheSize.addAndGet(size);
-
-        synchronized (accessOrder) {
-            accessOrder.put(key, System.currentTimeMillis());
+    public boolean putImage(String namespace, String key, PImage image) {
+        if (image == null) return false;
+        if (NAMESPACE_IMAGE.equals(namespace)) {
+            return putImage(key, image);
         }
-
-        statistics.put(size);
+        WeightedCache.Region<PImage> region = cache.region(namespace);
+        return region.put(key, image, weighImage(image));
     }
 
     /**
@@ -325,66 +261,48 @@ public class ResourceCache {
      * フォントをキャッシュから取得する。
      */
     public PFont getFont(String key) {
-        PFont font = fontCache.get(key);
-        if (font != null) {
-            statistics.hit();
-        } else {
-            statistics.miss();
-        }
-        return font;
+        return fontCache.get(key);
     }
 
     /**
      * フォントをキャッシュに追加する。
+     *
+     * @return 追加された場合true
      */
-    public void putFont(String key, PFont font) {
-        if (font == null) return;
-
-        fontCache.put(key, font);
-        statistics.put(1024); // フォントサイズの推定値
+    public boolean putFont(String key, PFont font) {
+        if (font == null) return false;
+        return fontCache.put(key, font, weighFont(font));
     }
 
     /**
      * 汎用オブジェクトをキャッシュに追加する。
+     *
+     * @return 追加された場合true
      */
-    public void putObject(String key, Object object, long size) {
-        if (object == null) return;
-
-        ensureCapacity(size);
-
-        // ウィーク参照でキャッシュ
-        CacheEntry<Object> entry = new CacheEntry<>(object, size, false);
-        objectCache.put(key, entry);
-        currentCacheSize.addAndGet(size);
-
-        synchronized (accessOrder) {
-            accessOrder.put(key, System.currentTimeMillis());
-        }
-
-        statistics.put(size);
+    public boolean putObject(String key, Object object, long size) {
+        if (object == null) return false;
+        return objectCache.put(key, object, size);
     }
 
     /**
      * 汎用オブジェクトを取得する。
      */
     public Object getObject(String key) {
-        CacheEntry<Object> entry = objectCache.get(key);
-        if (entry != null) {
-            Object obj = entry.get();
-            if (obj != null) {
-                statistics.hit();
-                synchronized (accessOrder) {
-                    accessOrder.put(key, System.currentTimeMillis());
-                }
-                return obj;
-            } else {
-                objectCache.remove(key);
-                currentCacheSize.addAndGet(-entry.getSize());
-            }
-        }
+        return objectCache.get(key);
+    }
 
-        statistics.miss();
-        return null;
+    /**
+     * 名前空間からエントリを削除する。
+     *
+     * @param namespace 名前空間（NAMESPACE_*）
+     * @param key キー
+     * @return 削除された場合true
+     */
+    public boolean remove(String namespace, String key) {
+        if (NAMESPACE_IMAGE.equals(namespace) && offHeapImageCache.remove(key)) {
+            return true;
+        }
+        return cache.region(namespace).remove(key);
     }
 
     /**
@@ -403,139 +321,64 @@ public class ResourceCache {
     }
 
     /**
-     * 画像サイズを推定する。
+     * 画像のメモリ使用量（バイト）を求める。
+     * ピクセル配列（int[]、1ピクセル4バイト）が確保済みの場合はその長さ、未確保の場合は
+     * 高解像度表示を考慮したピクセル数から求める。PGraphicsは描画用のバッファを別に持つため2倍とする。
+     *
+     * @param image 画像
+     * @return バイト数
      */
-    private long estimateImageSize(PImage image) {
+    public static long weighImage(PImage image) {
         if (image == null) return 0;
-        // 幅 × 高さ × 4バイト（ARGB）
-        return (long) image.width * image.height * 4;
-    }
-
-    /**
-     * キャパシティを確保する。
-     */
-    private void ensureCapacity(long requiredSize) {
-        while (currentCacheSize.get() + requiredSize > maxCacheSize) {
-            if (!evictLRUEntry()) {
-                break;
-            }
-        }
-    }
-
-    /**
-     * LRUエントリを削除する。
-     */
-    private boolean evictLRUEntry() {
-        String oldestKey = null;
-
-        synchronized (accessOrder) {
-            if (!accessOrder.isEmpty()) {
-                oldestKey = accessOrder.keySet().iterator().next();
-                accessOrder.remove(oldestKey);
-            }
-        }
-
-        if (oldestKey != null) {
-            return removeEntry(oldestKey);
-        }
-
-        return false;
-    }
-
-    /**
-     * エントリを削除する。
-     */
-    private boolean removeEntry(String key) {
-        boolean removed = false;
-
-        // 各キャッシュから削除
-        CacheEntry<PImage> imageEntry = imageCache.remove(key);
-        if (imageEntry != null) {
-            currentCacheSize.addAndGet(-imageEntry.getSize());
-            removed = true;
-        }
-
-        CacheEntry<Object> objEntry = objectCache.remove(key);
-        if (objEntry != null) {
-            currentCacheSize.addAndGet(-objEntry.getSize());
-            removed = true;
+        long pixels;
+        if (image.pixels != null) {
+            pixels = image.pixels.length;
+        } else {
+            int w = image.pixelWidth > 0 ? image.pixelWidth : image.width;
+            int h = image.pixelHeight > 0 ? image.pixelHeight : image.height;
+            pixels = (long) Math.max(0, w) * Math.max(0, h);
         }
-
-        fontCache.remove(key);
-        preloadCache.remove(key);
-
-        if (removed) {
-            statistics.evict();
+        long bytes = ARRAY_OVERHEAD + pixels * 4;
+        if (image instanceof PGraphics) {
+            bytes *= 2;
         }
-
-        return removed;
-    }
-
-    /**
-     * 無効なエントリを削除する。
-     */
-    private void removeInvalidEntries() {
-        // 画像キャッシュ
-        imageCache.entrySet().removeIf(entry -> {
-            CacheEntry<PImage> cache = entry.getValue();
-            if (cache.get() == null) {
-                currentCacheSize.addAndGet(-cache.getSize());
-                statistics.evict();
-                return true;
-            }
-            return false;
-        });
-
-        // オブジェクトキャッシュ
-        objectCache.entrySet().removeIf(entry -> {
-            CacheEntry<Object> cache = entry.getValue();
-            if (cache.get() == null) {
-                currentCacheSize.addAndGet(-cache.getSize());
-                statistics.evict();
-                return true;
-            }
-            return false;
-        });
+        return IMAGE_OVERHEAD + bytes;
     }
 
     /**
-     * エントリを削除する（LRU/LFU/FIFOポリシー）。
+     * フォントのメモリ使用量（バイト）を求める。
+     * 作成済みのグリフ画像の合計と、フォント本体の概算サイズの和とする。
+     *
+     * @param font フォント
+     * @return バイト数
      */
-    private void evictEntries() {
-        int evicted = 0;
-        long targetSize = maxCacheSize * 3 / 4; // 75%まで削減
-
-        while (currentCacheSize.get() > targetSize && evicted < 10) {
-            if (!evictLRUEntry()) {
-                break;
+    public static long weighFont(PFont font) {
+        if (font == null) return 0;
+        long bytes = FONT_OVERHEAD;
+        int count = font.getGlyphCount();
+        for (int i = 0; i < count; i++) {
+            PFont.Glyph glyph = font.getGlyph(i);
+            if (glyph != null && glyph.image != null) {
+                bytes += weighImage(glyph.image);
             }
-            evicted++;
-        }
-
-        if (evicted > 0) {
-            logger.info("Evicted " + evicted + " cache entries");
         }
+        return bytes;
     }
 
     /**
-     * 古いエントリをクリーンアップする。
+     * 予算の75%まで優先度の低いエントリを追い出す。
      */
-    private void cleanupOldEntries() {
-        long maxAge = 300000; // 5分
-
-        imageCache.entrySet().removeIf(entry -> {
-            CacheEntry<PImage> cache = entry.getValue();
-            if (cache.getAge() > maxAge && cache.getAccessCount() < 2) {
-                currentCacheSize.addAndGet(-cache.getSize());
-                statistics.evict();
-                return true;
-            }
-            return false;
-        });
+    private void trim() {
+        long before = cache.getWeightedSize();
+        cache.trimTo(cache.getMaximumWeight() * 3 / 4);
+        long after = cache.getWeightedSize();
+        if (after < before) {
+            logger.info("Trimmed cache: " + before + " -> " + after + " bytes");
+        }
     }
 
     /**
-     * 弱参照キャッシュをクリアする。
+     * 汎用オブジェクトキャッシュをクリアする（従来の弱参照キャッシュに相当）。
      */
     private void clearWeakCaches() {
         objectCache.clear();
@@ -547,8 +390,9 @@ public class ResourceCache {
      */
     private void clearNonEssentialCaches() {
         imageCache.clear();
+        // 展開済みのオフヒープ画像は描画時に再展開できる（ヒープ外の画像自体はヒープを圧迫しないため残す）
+        cache.region(NAMESPACE_PIXELS).clear();
         objectCache.clear();
-        currentCacheSize.set(0);
         logger.info("Non-essential caches cleared due to memory pressure");
     }
 
@@ -557,66 +401,119 @@ public class ResourceCache {
      */
     public void clearImageCache() {
         imageCache.clear();
+        offHeapImageCache.clear();
         logger.info("Image cache cleared");
     }
 
+    /**
+     * フォントキャッシュをクリアする。
+     */
+    public void clearFontCache() {
+        fontCache.clear();
+    }
+
     /**
      * すべてのキャッシュをクリアする。
      */
     public void clearAll() {
-        imageCache.clear();
-        fontCache.clear();
-        objectCache.clear();
+        for (WeightedCache.Region<?> region : cache.getRegions()) {
+            region.clear();
+            region.getStatistics().reset();
+        }
+        offHeapImageCache.clear();
+        offHeapImageCache.getStatistics().reset();
         preloadCache.clear();
-        accessOrder.clear();
-        currentCacheSize.set(0);
-        statistics.reset();
+        cache.getStatistics().reset();
+        offHeapCache.getStatistics().reset();
         logger.info("All caches cleared");
     }
 
     /**
-     * キャッシュ統計を取得する。
+     * キャッシュ統計（全名前空間の合計）を取得する。
      */
     public CacheStatistics getStatistics() {
-        return statistics;
+        return cache.getStatistics();
+    }
+
+    /**
+     * 名前空間ごとのキャッシュ統計を取得する。
+     *
+     * @param namespace 名前空間（NAMESPACE_*）
+     * @return 統計
+     */
+    public CacheStatistics getStatistics(String namespace) {
+        return cache.region(namespace).getStatistics();
+    }
+
+    /**
+     * 名前空間ごとのキャッシュ統計を取得する。
+     * ヒープ外の画像は"image.offheap"として別に集計する。
+     *
+     * @return 名前空間 → 統計
+     */
+    public Map<String, CacheStatistics> getNamespaceStatistics() {
+        Map<String, CacheStatistics> result = new LinkedHashMap<>();
+        for (WeightedCache.Region<?> region : cache.getRegions()) {
+            result.put(region.getName(), region.getStatistics());
+        }
+        result.put(NAMESPACE_IMAGE + ".offheap", offHeapImageCache.getStatistics());
+        return result;
+    }
+
+    /**
+     * 名前空間のエントリ数を取得する。
+     *
+     * @param namespace 名前空間（NAMESPACE_*）
+     * @return エントリ数
+     */
+    public int getEntryCount(String namespace) {
+        int count = cache.region(namespace).size();
+        if (NAMESPACE_IMAGE.equals(namespace)) {
+            count += offHeapImageCache.size();
+        }
+        return count;
+    }
+
+    /**
+     * 現在のキャッシュサイズ（ヒープ、バイト）を取得する。
+     */
+    public long getCurrentCacheSize() {
+        return cache.getWeightedSize();
     }
 
     /**
-     * キャッシュポリシーを設定する。
+     * ヒープ外の画像キャッシュがPixelArena上で占めるサイズ（バイト）を取得する。
      */
-    public void setCachePolicy(CachePolicy policy) {
-        this.policy = policy;
-        logger.info("Cache policy set to: " + policy);
+    public long getOffHeapCacheSize() {
+        return offHeapCache.getWeightedSize();
     }
 
     /**
-     * 最大キャッシュサイズを設定する。
+     * 最大キャッシュサイズを設定する。現在のサイズが超える場合は直ちに追い出す。
      */
     public void setMaxCacheSize(long size) {
-        this.maxCacheSize = size;
+        cache.setMaximumWeight(size);
         logger.info("Max cache size set to: " + size);
     }
 
+    /**
+     * 最大キャッシュサイズ（バイト）を取得する。
+     */
+    public long getMaxCacheSize() {
+        return cache.getMaximumWeight();
+    }
+
     /**
      * シャットダウン処理。
      */
     public void shutdown() {
-        if (cleanupTask != null) {
-            cleanupTask.cancel(false);
-        }
-
-        cleanupScheduler.shutdown();
         loaderExecutor.shutdown();
 
         try {
-            if (!cleanupScheduler.awaitTermination(5, TimeUnit.SECONDS)) {
-                cleanupScheduler.shutdownNow();
-            }
             if (!loaderExecutor.awaitTermination(5, TimeUnit.SECONDS)) {
                 loaderExecutor.shutdownNow();
             }
         } catch (InterruptedException e) {
-            cleanupScheduler.shutdownNow();
             loaderExecutor.shutdownNow();
             Thread.currentThread().interrupt();
         }
@@ -641,23 +538,29 @@ public class ResourceCache {
         private final AtomicLong misses = new AtomicLong();
         private final AtomicLong puts = new AtomicLong();
         private final AtomicLong evictions = new AtomicLong();
+        private final AtomicLong rejections = new AtomicLong();
         private final AtomicLong totalSize = new AtomicLong();
+        private final AtomicLong weightedSize = new AtomicLong();
 
         void hit() { hits.incrementAndGet(); }
         void miss() { misses.incrementAndGet(); }
         void put(long size) { puts.incrementAndGet(); totalSize.addAndGet(size); }
         void evict() { evictions.incrementAndGet(); }
-        void cleanup() { /* 定期的な統計クリーンアップ */ }
+        void reject() { rejections.incrementAndGet(); }
+        void addWeight(long delta) { weightedSize.addAndGet(delta); }
         void reset() {
             hits.set(0); misses.set(0); puts.set(0);
-            evictions.set(0); totalSize.set(0);
+            evictions.set(0); rejections.set(0); totalSize.set(0);
         }
 
         public long getHits() { return hits.get(); }
         public long getMisses() { return misses.get(); }
         public long getPuts() { return puts.get(); }
         public long getEvictions() { return evictions.get(); }
+        public long getRejections() { return rejections.get(); }
         public long getTotalSize() { return totalSize.get(); }
+        /** 現在保持しているエントリの合計バイト数 */
+        public long getWeightedSize() { return weightedSize.get(); }
         public double getHitRate() {
             long h = hits.get();
             long total = h + misses.get();
@@ -666,8 +569,9 @@ public class ResourceCache {
 
         @Override
         public String toString() {
-            return String.format("CacheStats[hits=%d, misses=%d, rate=%.1f%%, puts=%d, evictions=%d]",
-                    getHits(), getMisses(), getHitRate() * 100, getPuts(), getEvictions());
+            return String.format("CacheStats[hits=%d, misses=%d, rate=%.1f%%, puts=%d, evictions=%d, rejections=%d, bytes=%d]",
+                    getHits(), getMisses(), getHitRate() * 100, getPuts(), getEvictions(),
+                    getRejections(), getWeightedSize());
         }
     }
 }
\ No newline at end of file
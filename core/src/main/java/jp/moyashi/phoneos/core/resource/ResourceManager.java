@@ -8,8 +8,8 @@ import processing.core.PImage;
 import java.awt.Font;
 import java.awt.GraphicsEnvironment;
 import java.io.InputStream;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 /**
@@ -24,6 +24,10 @@ import java.util.logging.Logger;
  * - メモリ管理とリソース解放
  * - 日本語フォントの特別処理
  *
+ * 読み込んだ画像・フォントはResourceCache（image / font名前空間）に格納し、
+ * 他のキャッシュと共通のバイト数予算で管理する。組み込みフォント（default / japanese / emoji）は
+ * 追い出されないよう別に保持する。
+ *
  * @since 2025-12-02
  * @version 1.0
  */
@@ -37,11 +41,11 @@ public class ResourceManager {
     /** PAppletインスタンス（Processing用） */
     private PApplet applet;
 
-    /** フォントキャッシュ */
-    private final Map<String, PFont> fontCache = new HashMap<>();
+    /** 画像・フォントのキャッシュ */
+    private final ResourceCache resourceCache = ResourceCache.getInstance();
 
-    /** 画像キャッシュ */
-    private final Map<String, PImage> imageCache = new HashMap<>();
+    /** 組み込みフォント（名前 → フォント、キャッシュの追い出し対象外） */
+    private final Map<String, PFont> builtinFonts = new ConcurrentHashMap<>();
 
     /** デフォルトフォント */
     private PFont defaultFont;
@@ -95,18 +99,18 @@ public class ResourceManager {
 
         // デフォルトフォントを作成
         defaultFont = applet.createFont("SansSerif", DEFAULT_FONT_SIZE);
-        fontCache.put("default", defaultFont);
+        builtinFonts.put("default", defaultFont);
 
         // 日本語フォントを読み込む
         japaneseFont = loadJapaneseFont();
         if (japaneseFont != null) {
-            fontCache.put("japanese", japaneseFont);
+            builtinFonts.put("japanese", japaneseFont);
         }
 
         // 絵文字フォントを読み込む
         emojiFont = loadEmojiFont();
         if (emojiFont != null) {
-            fontCache.put("emoji", emojiFont);
+            builtinFonts.put("emoji", emojiFont);
         }
     }
 
@@ -310,8 +314,9 @@ public class ResourceManager {
         String cacheKey = fontName + "_" + fontSize;
 
         // キャッシュを確認
-        if (fontCache.containsKey(cacheKey)) {
-            return fontCache.get(cacheKey);
+        PFont cached = resourceCache.getFont(cacheKey);
+        if (cached != null) {
+            return cached;
         }
 
         if (applet == null) {
@@ -321,7 +326,7 @@ public class ResourceManager {
 
         try {
             PFont font = applet.createFont(fontName, fontSize);
-            fontCache.put(cacheKey, font);
+            resourceCache.putFont(cacheKey, font);
             logger.info("Loaded font: " + fontName + " (size: " + fontSize + ")");
             return font;
         } catch (Exception e) {
@@ -339,8 +344,9 @@ public class ResourceManager {
      */
     public PImage loadImage(String imagePath) {
         // キャッシュを確認
-        if (imageCache.containsKey(imagePath)) {
-            return imageCache.get(imagePath);
+        PImage cached = resourceCache.getImage(imagePath);
+        if (cached != null) {
+            return cached;
         }
 
         if (applet == null) {
@@ -350,7 +356,9 @@ public class ResourceManager {
 
         try {
             PImage image = applet.loadImage(imagePath);
-            imageCache.put(imagePath, image);
+            if (image != null) {
+                resourceCache.putImage(imagePath, image);
+            }
             logger.info("Loaded image: " + imagePath);
             return image;
         } catch (Exception e) {
@@ -359,6 +367,38 @@ public class ResourceManager {
         }
     }
 
+    /**
+     * 画像を読み込み、ピクセルをPixelArenaに格納する。
+     * 読み込んだPImageは保持せず、ResourceCacheにも追加しない（壁紙など呼び出し側が長期間保持する画像向け）。
+     *
+     * @param imagePath 画像パス
+     * @return ハンドル（参照カウント1、不要になったらrelease()）。読み込めない場合やアリーナが一杯の場合はnull
+     */
+    public PixelHandle loadImageToArena(String imagePath) {
+        if (applet == null) {
+            logger.warning("Cannot load image without PApplet");
+            return null;
+        }
+
+        try {
+            PImage image = applet.loadImage(imagePath);
+            if (image == null) {
+                logger.warning("Failed to load image: " + imagePath);
+                return null;
+            }
+            PixelHandle handle = PixelArena.getInstance().store(image);
+            if (handle == null) {
+                logger.warning("PixelArena is full, image not stored: " + imagePath);
+                return null;
+            }
+            logger.info("Loaded image into PixelArena: " + imagePath + " (" + handle.getByteSize() + " bytes)");
+            return handle;
+        } catch (Exception e) {
+            logger.warning("Failed to load image: " + imagePath + " - " + e.getMessage());
+            return null;
+        }
+    }
+
     /**
      * デフォルトフォントを取得する。
      *
@@ -393,7 +433,8 @@ public class ResourceManager {
      * @return フォント、存在しない場合はnull
      */
     public PFont getFont(String fontName) {
-        return fontCache.get(fontName);
+        PFont builtin = builtinFonts.get(fontName);
+        return builtin != null ? builtin : resourceCache.getFont(fontName);
     }
 
     /**
@@ -403,24 +444,15 @@ public class ResourceManager {
      * @return 画像、存在しない場合はnull
      */
     public PImage getImage(String imagePath) {
-        return imageCache.get(imagePath);
+        return resourceCache.getImage(imagePath);
     }
 
     /**
      * フォントキャッシュをクリアする。
      */
     public void clearFontCache() {
-        fontCache.clear();
-        // デフォルトフォントは保持
-        if (defaultFont != null) {
-            fontCache.put("default", defaultFont);
-        }
-        if (japaneseFont != null) {
-            fontCache.put("japanese", japaneseFont);
-        }
-        if (emojiFont != null) {
-            fontCache.put("emoji", emojiFont);
-        }
+        // 組み込みフォントは保持
+        resourceCache.clearFontCache();
         logger.info("Font cache cleared");
     }
 
@@ -428,7 +460,7 @@ public class ResourceManager {
      * 画像キャッシュをクリアする。
      */
     public void clearImageCache() {
-        imageCache.clear();
+        resourceCache.clearImageCache();
         logger.info("Image cache cleared");
     }
 
@@ -447,7 +479,7 @@ public class ResourceManager {
      * @return フォントキャッシュと画像キャッシュの合計サイズ
      */
     public int getCacheSize() {
-        return fontCache.size() + imageCache.size();
+        return getFontCacheSize() + getImageCacheSize();
     }
 
     /**
@@ -456,7 +488,7 @@ public class ResourceManager {
      * @return フォントキャッシュサイズ
      */
     public int getFontCacheSize() {
-        return fontCache.size();
+        return builtinFonts.size() + resourceCache.getEntryCount(ResourceCache.NAMESPACE_FONT);
     }
 
     /**
@@ -465,6 +497,6 @@ public class ResourceManager {
      * @return 画像キャッシュサイズ
      */
     public int getImageCacheSize() {
-        return imageCache.size();
+        return resourceCache.getEntryCount(ResourceCache.NAMESPACE_IMAGE);
     }
 }
\ No newline at end of file
@@ -0,0 +1,542 @@
+package jp.moyashi.phoneos.core.resource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * バイト数の予算で制限するW-TinyLFUキャッシュ。
+ *
+ * 構成:
+ * - 名前空間（Region）ごとにConcurrentHashMapでエントリを保持し、取得はロックなしで行う
+ * - 追い出し順序はキャッシュ全体で共有する3つのLRUキュー（ウィンドウ1%、保護80%、試用）で管理する
+ * - 1エントリだけでウィンドウの上限を超える場合も、次のエントリがウィンドウに入るまではウィンドウに置き、
+ *   アクセス頻度を溜める前に試用キューでアドミッション判定されて追い出されないようにする
+ * - 予算を超えた場合、試用キューの最も古いエントリ（victim）と新しく入ったエントリ（candidate）の
+ *   アクセス頻度（FrequencySketch）を比べ、頻度の低い方を追い出す（TinyLFUアドミッション）
+ * - 取得時のアクセス記録は固定長のバッファに溜め、書き込み時またはバッファが一定数溜まった時点で
+ *   evictionLockを取れた場合にまとめて反映する（取得側はロックを待たない）
+ *
+ * 追加（put）は呼び出し元スレッドで同期的に予算判定と追い出しを行い、追加できたかどうかを返す。
+ * 1エントリが予算全体を超える場合は追加しない。
+ * 名前空間にRemovalListenerを設定すると、追い出し・削除・置き換え・不採用になった値が通知される。
+ *
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public class WeightedCache {
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    /** 読み取りバッファのサイズ（2のべき乗） */
+    private static final int READ_BUFFER_SIZE = 128;
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+
+    /** この回数の読み取りごとに反映を試みる */
+    private static final int DRAIN_THRESHOLD_MASK = 31;
+
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final AccessQueue window = new AccessQueue();
+    private final AccessQueue probation = new AccessQueue();
+    private final AccessQueue protectedQueue = new AccessQueue();
+    private final FrequencySketch sketch;
+
+    private final AtomicReferenceArray<Node> readBuffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+    private final AtomicLong readCount = new AtomicLong();
+
+    private final Map<String, Region<?>> regions = new ConcurrentHashMap<>();
+    private final List<Region<?>> regionList = new CopyOnWriteArrayList<>();
+
+    /** 全体の統計 */
+    private final ResourceCache.CacheStatistics totalStatistics = new ResourceCache.CacheStatistics();
+
+    private volatile long maximumWeight;
+    private long windowMaximum;
+    private long protectedMaximum;
+
+    /** 現在の合計重み（evictionLock内で更新） */
+    private volatile long totalWeight;
+
+    /**
+     * キャッシュを作成する。
+     *
+     * @param maximumWeight 予算（バイト）
+     */
+    public WeightedCache(long maximumWeight) {
+        this.sketch = new FrequencySketch(4096);
+        setMaximumWeight(maximumWeight);
+    }
+
+    /**
+     * 名前空間を取得する（存在しない場合は作成）。
+     *
+     * @param name 名前空間の名前
+     * @param <V> 値の型
+     * @return 名前空間
+     */
+    @SuppressWarnings("unchecked")
+    public <V> Region<V> region(String name) {
+        return (Region<V>) regions.computeIfAbsent(name, n -> {
+            Region<V> region = new Region<>(this, n);
+            regionList.add(region);
+            return region;
+        });
+    }
+
+    /**
+     * 予算を変更する。現在の合計が新しい予算を超える場合は直ちに追い出す。
+     *
+     * @param maximumWeight 予算（バイト）
+     */
+    public void setMaximumWeight(long maximumWeight) {
+        evictionLock.lock();
+        try {
+            this.maximumWeight = Math.max(0, maximumWeight);
+            this.windowMaximum = Math.max(1, this.maximumWeight / 100);
+            this.protectedMaximum = (this.maximumWeight - windowMaximum) * 80 / 100;
+            evict(this.maximumWeight);
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    /** 予算（バイト） */
+    public long getMaximumWeight() {
+        return maximumWeight;
+    }
+
+    /** 現在の合計重み（バイト） */
+    public long getWeightedSize() {
+        return totalWeight;
+    }
+
+    /** 全名前空間の合計統計 */
+    public ResourceCache.CacheStatistics getStatistics() {
+        return totalStatistics;
+    }
+
+    /** 名前空間の一覧 */
+    public List<Region<?>> getRegions() {
+        return new ArrayList<>(regionList);
+    }
+
+    /**
+     * 合計重みが指定値以下になるまで、優先度の低いエントリから追い出す。
+     *
+     * @param targetWeight 目標の合計重み（バイト）
+     */
+    public void trimTo(long targetWeight) {
+        evictionLock.lock();
+        try {
+            drainReadBuffer();
+            evict(Math.max(0, targetWeight));
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private <V> V get(Region<V> region, String key) {
+        Node node = region.map.get(key);
+        // 追い出し時にvalueはnullになる
+        Object value = node != null ? node.value : null;
+        if (value == null) {
+            region.statistics.miss();
+            totalStatistics.miss();
+            return null;
+        }
+        region.statistics.hit();
+        totalStatistics.hit();
+        recordRead(node);
+        @SuppressWarnings("unchecked")
+        V result = (V) value;
+        return result;
+    }
+
+    private <V> boolean put(Region<V> region, String key, V value, long weight) {
+        weight = Math.max(0, weight);
+        boolean admitted;
+        evictionLock.lock();
+        try {
+            drainReadBuffer();
+            Node node = region.map.get(key);
+            if (weight > maximumWeight) {
+                // 予算全体を超えるエントリは保持しない（古い値も破棄）
+                if (node != null) {
+                    removeNode(node);
+                }
+                notifyRemoval(region, key, value);
+                admitted = false;
+            } else {
+                if (node != null && node.alive) {
+                    setWeight(node, weight);
+                    Object previous = node.value;
+                    node.value = value;
+                    if (previous != value) {
+                        notifyRemoval(region, key, previous);
+                    }
+                    onAccess(node);
+                } else {
+                    node = new Node(region, key, value, weight);
+                    region.map.put(key, node);
+                    node.queue = WINDOW;
+                    window.linkLast(node);
+                    addWeight(node, weight);
+                }
+                sketch.increment(node.hash);
+                evict(maximumWeight);
+                admitted = node.alive;
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+
+        if (admitted) {
+            region.statistics.put(weight);
+            totalStatistics.put(weight);
+        } else {
+            region.statistics.reject();
+            totalStatistics.reject();
+        }
+        return admitted;
+    }
+
+    private boolean remove(Region<?> region, String key) {
+        evictionLock.lock();
+        try {
+            Node node = region.map.get(key);
+            if (node == null) {
+                return false;
+            }
+            removeNode(node);
+            return true;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void clear(Region<?> region) {
+        evictionLock.lock();
+        try {
+            drainReadBuffer();
+            for (Node node : region.map.values()) {
+                removeNode(node);
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void recordRead(Node node) {
+        long index = readCount.getAndIncrement();
+        // バッファが溢れた場合は古い記録を上書きする（頻度の近似には影響しない程度の欠落）
+        readBuffer.lazySet((int) (index & READ_BUFFER_MASK), node);
+        if ((index & DRAIN_THRESHOLD_MASK) == DRAIN_THRESHOLD_MASK && evictionLock.tryLock()) {
+            try {
+                drainReadBuffer();
+            } finally {
+                evictionLock.unlock();
+            }
+        }
+    }
+
+    /** evictionLockを保持して呼び出すこと */
+    private void drainReadBuffer() {
+        for (int i = 0; i < READ_BUFFER_SIZE; i++) {
+            Node node = readBuffer.getAndSet(i, null);
+            if (node != null && node.alive) {
+                sketch.increment(node.hash);
+                onAccess(node);
+            }
+        }
+    }
+
+    /** アクセスされたエントリのキュー上の位置を更新する。evictionLockを保持して呼び出すこと */
+    private void onAccess(Node node) {
+        switch (node.queue) {
+            case WINDOW:
+                window.moveToLast(node);
+                break;
+            case PROBATION:
+                // 再アクセスされたエントリは保護キューへ昇格
+                probation.unlink(node);
+                node.queue = PROTECTED;
+                protectedQueue.linkLast(node);
+                while (protectedQueue.weight > protectedMaximum) {
+                    Node demoted = protectedQueue.first();
+                    if (demoted == null || demoted == node) break;
+                    protectedQueue.unlink(demoted);
+                    demoted.queue = PROBATION;
+                    probation.linkLast(demoted);
+                }
+                break;
+            default:
+                protectedQueue.moveToLast(node);
+                break;
+        }
+    }
+
+    /** 合計重みがlimit以下になるまで追い出す。evictionLockを保持して呼び出すこと */
+    private void evict(long limit) {
+        // ウィンドウから溢れたエントリは試用キューの末尾（候補）へ
+        while (window.weight > windowMaximum) {
+            Node node = window.first();
+            // 最新の1エントリは上限を超えていても残す
+            if (node == null || node == window.last()) break;
+            window.unlink(node);
+            node.queue = PROBATION;
+            probation.linkLast(node);
+        }
+
+        while (totalWeight > limit) {
+            Node victim = probation.first();
+            if (victim == null) victim = protectedQueue.first();
+            if (victim == null) victim = window.first();
+            if (victim == null) break;
+
+            Node candidate = victim.queue == PROBATION ? probation.last() : null;
+            if (candidate == null || candidate == victim) {
+                evictNode(victim);
+            } else if (sketch.frequency(candidate.hash) > sketch.frequency(victim.hash)) {
+                evictNode(victim);
+            } else {
+                // 新しいエントリの方が頻度が低い場合は受け入れない
+                evictNode(candidate);
+            }
+        }
+    }
+
+    private void evictNode(Node node) {
+        removeNode(node);
+        node.region.statistics.evict();
+        totalStatistics.evict();
+    }
+
+    private void removeNode(Node node) {
+        if (!node.alive) {
+            node.region.map.remove(node.key, node);
+            return;
+        }
+        queueOf(node).unlink(node);
+        node.alive = false;
+        node.region.map.remove(node.key, node);
+        addWeight(node, -node.weight);
+        Object value = node.value;
+        node.value = null;
+        notifyRemoval(node.region, node.key, value);
+    }
+
+    /**
+     * 名前空間のRemovalListenerに通知する。evictionLockを保持して呼び出すこと。
+     * リスナーの例外は追い出し処理を中断しないよう無視する。
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> void notifyRemoval(Region<V> region, String key, Object value) {
+        RemovalListener<? super V> listener = region.removalListener;
+        if (listener != null && value != null) {
+            try { listener.onRemoval(key, (V) value); } catch (Exception ignored) {}
+        }
+    }
+
+    private void setWeight(Node node, long weight) {
+        long delta = weight - node.weight;
+        queueOf(node).weight += delta;
+        totalWeight += delta;
+        node.region.statistics.addWeight(delta);
+        node.weight = weight;
+    }
+
+    /** 合計と名前空間の重みを更新する（キューの重みはlinkLast/unlinkで更新） */
+    private void addWeight(Node node, long delta) {
+        totalWeight += delta;
+        node.region.statistics.addWeight(delta);
+    }
+
+    private AccessQueue queueOf(Node node) {
+        switch (node.queue) {
+            case WINDOW: return window;
+            case PROBATION: return probation;
+            default: return protectedQueue;
+        }
+    }
+
+    /**
+     * キャッシュから外れた値の通知先。
+     * evictionLockを保持したまま呼ばれるため、短時間で終えること（同じキャッシュへの操作は可能）。
+     *
+     * @param <V> 値の型
+     */
+    @FunctionalInterface
+    public interface RemovalListener<V> {
+        /**
+         * @param key キー
+         * @param value キャッシュから外れた値
+         */
+        void onRemoval(String key, V value);
+    }
+
+    /**
+     * 名前空間。キーは名前空間ごとに独立し、統計も名前空間ごとに集計する。
+     * 予算と追い出し順序はキャッシュ全体で共有する。
+     *
+     * @param <V> 値の型
+     */
+    public static final class Region<V> {
+        private final WeightedCache cache;
+        private final String name;
+        private final Map<String, Node> map = new ConcurrentHashMap<>();
+        private final ResourceCache.CacheStatistics statistics = new ResourceCache.CacheStatistics();
+        private volatile RemovalListener<? super V> removalListener;
+
+        private Region(WeightedCache cache, String name) {
+            this.cache = cache;
+            this.name = name;
+        }
+
+        /**
+         * 値を取得する。
+         *
+         * @param key キー
+         * @return 値、存在しない場合はnull
+         */
+        public V get(String key) {
+            return key != null ? cache.get(this, key) : null;
+        }
+
+        /**
+         * 値を追加する。予算を超える場合は優先度の低いエントリを追い出す。
+         *
+         * @param key キー
+         * @param value 値
+         * @param weight 重み（バイト）
+         * @return 追加された場合true、予算やアドミッション判定により追加されなかった場合false
+         */
+        public boolean put(String key, V value, long weight) {
+            if (key == null || value == null) return false;
+            return cache.put(this, key, value, weight);
+        }
+
+        /**
+         * 値を削除する。
+         *
+         * @param key キー
+         * @return 削除された場合true
+         */
+        public boolean remove(String key) {
+            return key != null && cache.remove(this, key);
+        }
+
+        /**
+         * この名前空間のエントリをすべて削除する。
+         */
+        public void clear() {
+            cache.clear(this);
+        }
+
+        /**
+         * 追い出し・削除・置き換え・不採用になった値の通知先を設定する。
+         *
+         * @param listener 通知先、nullで解除
+         */
+        public void setRemovalListener(RemovalListener<? super V> listener) {
+            this.removalListener = listener;
+        }
+
+        /** 名前空間の名前 */
+        public String getName() {
+            return name;
+        }
+
+        /** エントリ数 */
+        public int size() {
+            return map.size();
+        }
+
+        /** 現在の合計重み（バイト） */
+        public long getWeightedSize() {
+            return statistics.getWeightedSize();
+        }
+
+        /** 名前空間の統計 */
+        public ResourceCache.CacheStatistics getStatistics() {
+            return statistics;
+        }
+    }
+
+    /** キャッシュエントリ（キューのリンクはevictionLockで保護） */
+    private static final class Node {
+        final Region<?> region;
+        final String key;
+        final int hash;
+        volatile Object value;
+        volatile boolean alive = true;
+        long weight;
+        int queue;
+        Node prev;
+        Node next;
+
+        /** キューの番兵 */
+        Node() {
+            this.region = null;
+            this.key = null;
+            this.hash = 0;
+        }
+
+        Node(Region<?> region, String key, Object value, long weight) {
+            this.region = region;
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            int h = region.name.hashCode() * 31 + key.hashCode();
+            this.hash = h ^ (h >>> 16);
+        }
+    }
+
+    /** 重み付きの双方向リンクリスト（先頭が最も古い） */
+    private static final class AccessQueue {
+        private final Node sentinel = new Node();
+        long weight;
+
+        AccessQueue() {
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+        }
+
+        Node first() {
+            return sentinel.next != sentinel ? sentinel.next : null;
+        }
+
+        Node last() {
+            return sentinel.prev != sentinel ? sentinel.prev : null;
+        }
+
+        void linkLast(Node node) {
+            node.prev = sentinel.prev;
+            node.next = sentinel;
+            sentinel.prev.next = node;
+            sentinel.prev = node;
+            weight += node.weight;
+        }
+
+        void unlink(Node node) {
+            if (node.prev == null) return;
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+            weight -= node.weight;
+        }
+
+        void moveToLast(Node node) {
+            if (sentinel.prev == node) return;
+            unlink(node);
+            linkLast(node);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package jp.moyashi.phoneos.core.service;
+
+/**
+ * 真偽値設定のハンドル。
+ *
+ * 値をvolatileなbooleanフィールドに保持し、SettingsManagerのキー別リスナーで変更時に更新する。
+ * get()はフィールドを読むだけなので、描画ループから毎フレーム呼び出してもキーの検索やボックス化は発生しない。
+ * SettingsManager.booleanSetting()で作成する。
+ */
+public final class BooleanSetting extends SettingHandle {
+
+    private final boolean defaultValue;
+    private volatile boolean value;
+
+    BooleanSetting(SettingsManager settings, String key, boolean defaultValue) {
+        super(settings, key);
+        this.defaultValue = defaultValue;
+        bind();
+    }
+
+    /** 現在の値 */
+    public boolean get() {
+        return value;
+    }
+
+    /**
+     * 値を変更する。永続化は呼び出し側で適宜（SettingsManager.saveSettings()）。
+     *
+     * @param newValue 新しい値
+     */
+    public void set(boolean newValue) {
+        settings.setSetting(getKey(), newValue);
+    }
+
+    @Override
+    void reload() {
+        value = settings.getBooleanSetting(getKey(), defaultValue);
+    }
+}
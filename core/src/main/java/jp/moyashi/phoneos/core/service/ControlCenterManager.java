@@ -5,12 +5,14 @@ import jp.moyashi.phoneos.core.controls.IControlCenterItem;
 import jp.moyashi.phoneos.core.input.GestureEvent;
 import jp.moyashi.phoneos.core.input.GestureListener;
 import jp.moyashi.phoneos.core.coordinate.CoordinateTransform;
+import jp.moyashi.phoneos.core.render.LayerSource;
 import processing.core.PApplet;
 import processing.core.PGraphics;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * コントロールセンターの状態（表示/非表示、アイテム一覧）を一元管理するサービス。
@@ -21,7 +23,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
  * @version 1.0
  * @since 1.0
  */
-public class ControlCenterManager implements GestureListener {
+public class ControlCenterManager implements GestureListener, LayerSource {
     
     private static final boolean DEBUG_GESTURE_LOG = Boolean.getBoolean("mochi.debugGesture");
     
@@ -103,6 +105,9 @@ public class ControlCenterManager implements GestureListener {
     /** カードレジストリ */
     private ControlCenterCardRegistry cardRegistry;
 
+    /** 保持レイヤーの再描画用リビジョン（invalidateLayer()で進める） */
+    private final AtomicLong layerRevision = new AtomicLong();
+
     /**
      * ControlCenterManagerを作成する。
      */
@@ -244,6 +249,66 @@ public class ControlCenterManager implements GestureListener {
     public boolean isVisible() {
         return this.isVisible;
     }
+
+    /**
+     * 描画が必要な状態（表示中または開閉アニメーション中）かどうかを確認する。
+     * RenderPipelineのダメージ判定に使用される。
+     *
+     * @return 描画が必要な場合true
+     */
+    public boolean needsRedraw() {
+        return isVisible || animationProgress > 0.01f;
+    }
+
+    // =========================================================================
+    // LayerSource実装（OverlayCompositorの保持レイヤー用）
+    // =========================================================================
+
+    @Override
+    public void drawLayer(PGraphics g) {
+        draw(g);
+    }
+
+    @Override
+    public boolean isLayerActive() {
+        return needsRedraw();
+    }
+
+    @Override
+    public boolean isLayerAnimating() {
+        if (Math.abs(animationProgress - targetAnimationProgress) > 0.01f
+                || Math.abs(scrollVelocity) > MIN_SCROLL_VELOCITY
+                || isDragScrolling) {
+            return true;
+        }
+        for (IControlCenterItem item : items) {
+            if (item.isVisible() && item.isAnimating()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public long getLayerStateStamp() {
+        long stamp = items.size();
+        stamp = stamp * 31 + Float.floatToIntBits(scrollOffset);
+        stamp = stamp * 31 + Float.floatToIntBits(animationProgress);
+        stamp = stamp * 31 + (isVisible ? 1 : 0);
+        stamp = stamp * 31 + layerRevision.get();
+        for (IControlCenterItem item : items) {
+            stamp = stamp * 31 + (item.isVisible() ? item.getStateStamp() : -1L);
+        }
+        return stamp;
+    }
+
+    /**
+     * パネルの保持レイヤーを次フレームで再描画させる。
+     * アイテムの操作など、状態スタンプに現れない表示の変化があった場合に呼び出す。
+     */
+    public void invalidateLayer() {
+        layerRevision.incrementAndGet();
+    }
     
     /**
      * コントロールセンターを描画する（PGraphics版）。
@@ -898,6 +963,7 @@ public class ControlCenterManager implements GestureListener {
                 if (item != null && item.isDraggable()) {
                     dragTargetItem = item;
                     item.onGesture(event);
+                    invalidateLayer();
                     debugGesture("Started dragging item: " + item.getId());
                 } else {
                     // スクロール開始
@@ -911,6 +977,7 @@ public class ControlCenterManager implements GestureListener {
             case DRAG_MOVE:
                 if (dragTargetItem != null) {
                     dragTargetItem.onGesture(event);
+                    invalidateLayer();
                 } else if (isDragScrolling) {
                     handleControlCenterScroll(event);
                 }
@@ -920,6 +987,7 @@ public class ControlCenterManager implements GestureListener {
                 if (dragTargetItem != null) {
                     dragTargetItem.onGesture(event);
                     dragTargetItem = null;
+                    invalidateLayer();
                     debugGesture("Ended dragging item");
                 }
                 isDragScrolling = false;
@@ -1176,6 +1244,7 @@ public class ControlCenterManager implements GestureListener {
                 System.out.println("ControlCenterManager: Grid item clicked - " + item.getDisplayName());
                 GestureEvent tapEvent = new GestureEvent(jp.moyashi.phoneos.core.input.GestureType.TAP, x, y, x, y, System.currentTimeMillis(), System.currentTimeMillis());
                 item.onGesture(tapEvent);
+                invalidateLayer();
                 return;
             }
         }
@@ -0,0 +1,39 @@
+package jp.moyashi.phoneos.core.service;
+
+/**
+ * 整数設定のハンドル。
+ *
+ * 値をvolatileなintフィールドに保持し、SettingsManagerのキー別リスナーで変更時に更新する。
+ * get()はフィールドを読むだけなので、描画ループから毎フレーム呼び出してもキーの検索やボックス化は発生しない。
+ * SettingsManager.intSetting()で作成する。
+ */
+public final class IntSetting extends SettingHandle {
+
+    private final int defaultValue;
+    private volatile int value;
+
+    IntSetting(SettingsManager settings, String key, int defaultValue) {
+        super(settings, key);
+        this.defaultValue = defaultValue;
+        bind();
+    }
+
+    /** 現在の値 */
+    public int get() {
+        return value;
+    }
+
+    /**
+     * 値を変更する。永続化は呼び出し側で適宜（SettingsManager.saveSettings()）。
+     *
+     * @param newValue 新しい値
+     */
+    public void set(int newValue) {
+        settings.setSetting(getKey(), newValue);
+    }
+
+    @Override
+    void reload() {
+        value = settings.getIntSetting(getKey(), defaultValue);
+    }
+}
@@ -67,10 +67,11 @@ public class LayoutManager {
     /**
      * ホーム画面のレイアウトと常時表示フィールドを保存する。
      * HomePage と Shortcut、グローバルDockの情報をJSON形式に変換し、VFSに保存する。
+     * ファイルへの書き込みはVFSの非同期書き込みで行われ、書き込みの失敗はログに出力される。
      *
      * @param pages 保存するホームページのリスト
      * @param globalDockShortcuts グローバル常時表示フィールドのショートカットリスト
-     * @return 保存に成功した場合true、失敗した場合false
+     * @return レイアウトの変換・書き込みの登録に成功した場合true、失敗した場合false
      */
     public boolean saveLayout(List<HomePage> pages, List<Shortcut> globalDockShortcuts) {
         try {
@@ -112,19 +113,23 @@ public class LayoutManager {
                 }
             }
 
-            // JSONに変換して保存
+            // JSONに変換して保存（書き込みはバックグラウンドで行い、連続した保存は1回にまとめる）
             String jsonData = gson.toJson(layoutData);
-            boolean success = vfs.writeFile(LAYOUT_FILE_PATH, jsonData);
-
-            if (success) {
-                int totalShortcuts = layoutData.pages.stream().mapToInt(p -> p.shortcuts.size()).sum();
-                System.out.println("LayoutManager: レイアウトを保存しました (" +
-                                 pages.size() + "ページ, " +
-                                 totalShortcuts + "ショートカット, " +
-                                 (globalDockShortcuts != null ? globalDockShortcuts.size() : 0) + "Dockアイテム)");
-            }
+            int totalShortcuts = layoutData.pages.stream().mapToInt(p -> p.shortcuts.size()).sum();
+            int pageCount = pages.size();
+            int dockCount = globalDockShortcuts != null ? globalDockShortcuts.size() : 0;
+            vfs.writeFileAsync(LAYOUT_FILE_PATH, jsonData).thenAccept(success -> {
+                if (success) {
+                    System.out.println("LayoutManager: レイアウトを保存しました (" +
+                                     pageCount + "ページ, " +
+                                     totalShortcuts + "ショートカット, " +
+                                     dockCount + "Dockアイテム)");
+                } else {
+                    System.err.println("LayoutManager: レイアウトの書き込みに失敗しました");
+                }
+            });
 
-            return success;
+            return true;
 
         } catch (Exception e) {
             System.err.println("LayoutManager: レイアウト保存エラー: " + e.getMessage());
@@ -0,0 +1,111 @@
+package jp.moyashi.phoneos.core.service;
+
+import jp.moyashi.phoneos.core.util.SeqLockRing;
+
+import java.util.List;
+
+/**
+ * 最近のログを保持する固定長のロックフリーなリングバッファ。
+ *
+ * 整形済みの行ではなく、時刻・レベル・タグ・メッセージを並列配列に記録し、
+ * 表示用の文字列は取得時にのみ組み立てる。古いエントリは上書きされるため、
+ * 従来のArrayList.remove(0)による詰め直しは発生しない。
+ * 連番とシーケンスロックによる上書き検出は{@link SeqLockRing}が行う。
+ *
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public class LogRing extends SeqLockRing<LogRing.Entry> {
+
+    private final long[] timestamps;
+    private final LoggerService.LogLevel[] levels;
+    private final String[] tags;
+    private final String[] messages;
+
+    /**
+     * リングバッファを作成する。
+     *
+     * @param minCapacity 保持するエントリ数の下限（2のべき乗に切り上げる）
+     */
+    public LogRing(int minCapacity) {
+        super(minCapacity);
+        int size = getCapacity();
+        this.timestamps = new long[size];
+        this.levels = new LoggerService.LogLevel[size];
+        this.tags = new String[size];
+        this.messages = new String[size];
+    }
+
+    /**
+     * ログを記録する。複数スレッドから同時に呼び出し可能。
+     *
+     * @param timestamp 時刻（ミリ秒）
+     * @param level ログレベル
+     * @param tag タグ
+     * @param message メッセージ
+     */
+    public void record(long timestamp, LoggerService.LogLevel level, String tag, String message) {
+        long sequence = beginWrite();
+        int slot = slotOf(sequence);
+        timestamps[slot] = timestamp;
+        levels[slot] = level;
+        tags[slot] = tag;
+        messages[slot] = message;
+        endWrite(sequence);
+    }
+
+    /**
+     * 現在保持しているログを古い順に取得する。
+     *
+     * @param minLevel 取得する最低レベル（nullの場合はすべて）
+     * @return ログエントリのリスト
+     */
+    public List<Entry> snapshot(LoggerService.LogLevel minLevel) {
+        if (minLevel == null) {
+            return snapshotEntries(null);
+        }
+        return snapshotEntries(entry -> entry.getLevel().ordinal() >= minLevel.ordinal());
+    }
+
+    @Override
+    protected Entry readSlot(int slot, long sequence) {
+        return new Entry(timestamps[slot], levels[slot], tags[slot], messages[slot]);
+    }
+
+    /**
+     * ログエントリ。
+     */
+    public static final class Entry {
+        private final long timestamp;
+        private final LoggerService.LogLevel level;
+        private final String tag;
+        private final String message;
+
+        Entry(long timestamp, LoggerService.LogLevel level, String tag, String message) {
+            this.timestamp = timestamp;
+            this.level = level;
+            this.tag = tag;
+            this.message = message;
+        }
+
+        /** 時刻（ミリ秒） */
+        public long getTimestamp() {
+            return timestamp;
+        }
+
+        /** ログレベル */
+        public LoggerService.LogLevel getLevel() {
+            return level;
+        }
+
+        /** タグ */
+        public String getTag() {
+            return tag;
+        }
+
+        /** メッセージ */
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,472 @@
+package jp.moyashi.phoneos.core.service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * LoggerServiceのバックグラウンドログライター。
+ *
+ * ログ行はロックフリーキューに積むだけで呼び出し元に戻り、専用スレッドがまとめて
+ * 追記モードのFileChannelへ書き込む。fsyncは一定間隔でまとめて行う。
+ * セグメントが上限サイズに達すると latest.log → latest.1.log → ... の順にローテーションし、
+ * 保持数を超えた古いセグメントは削除する。
+ *
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public class LogWriter {
+
+    /** 書き込みバッファのサイズ */
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /** キューが空の時の待機時間 */
+    private static final long IDLE_PARK_NS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /** fsyncの間隔 */
+    private static final long SYNC_INTERVAL_NS = TimeUnit.SECONDS.toNanos(1);
+
+    /** この件数以上溜まったら待機中のライタースレッドを起こす */
+    private static final int WAKE_THRESHOLD = 256;
+
+    /** 末尾読み取りのチャンクサイズ */
+    private static final int TAIL_CHUNK_SIZE = 8 * 1024;
+
+    private static final byte[] NEWLINE = { '\n' };
+
+    private final Path directory;
+    private final String baseName;
+    private final long maxSegmentBytes;
+    private final int retention;
+
+    private final ConcurrentLinkedQueue<String> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+
+    /** チャネル操作（書き込み・ローテーション・消去）の排他用 */
+    private final Object channelLock = new Object();
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private FileChannel channel;
+    private long segmentSize;
+    private boolean unsynced;
+    private long lastSyncNs = System.nanoTime();
+
+    private volatile boolean running;
+
+    /** close()済みの場合true（以後のappend()は破棄する） */
+    private volatile boolean closed;
+
+    private Thread thread;
+    private Thread shutdownHook;
+
+    /**
+     * ログライターを作成する。
+     *
+     * @param directory ログディレクトリ
+     * @param baseName セグメントのファイル名（拡張子なし、例: "latest"）
+     * @param maxSegmentBytes 1セグメントの最大サイズ
+     * @param retention 保持するローテーション済みセグメント数
+     */
+    public LogWriter(Path directory, String baseName, long maxSegmentBytes, int retention) {
+        this.directory = directory;
+        this.baseName = baseName;
+        this.maxSegmentBytes = Math.max(BUFFER_SIZE, maxSegmentBytes);
+        this.retention = Math.max(0, retention);
+    }
+
+    /**
+     * ライタースレッドを開始する。ファイルを開けない場合はファイル出力なしで動作する。
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        synchronized (channelLock) {
+            openChannel();
+        }
+        closed = false;
+        running = true;
+        thread = new Thread(this::runLoop, "LoggerService-Writer");
+        thread.setDaemon(true);
+        thread.start();
+
+        // JVM終了時に未書き込みのログを書き出す
+        shutdownHook = new Thread(this::close, "LoggerService-Flush");
+        try {
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+        } catch (IllegalStateException | SecurityException e) {
+            shutdownHook = null;
+        }
+    }
+
+    /**
+     * ログ行を追加する（ノンブロッキング）。
+     * close()後は書き出すスレッドもファイルもないため、キューに溜めずに破棄する。
+     *
+     * @param line ログ行（改行なし）
+     * @return 受け付けた場合true、close()済みで破棄した場合false
+     */
+    public boolean append(String line) {
+        if (closed) {
+            return false;
+        }
+        queue.offer(line);
+        pending.incrementAndGet();
+        if (closed) {
+            // close()の最終書き出しと競合した行は書き出されないため、キューに残さない
+            discardQueue();
+            return false;
+        }
+        if (pending.get() >= WAKE_THRESHOLD) {
+            Thread writer = thread;
+            if (writer != null) {
+                LockSupport.unpark(writer);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * キューに残ったログ行を書き込まずに破棄する。
+     */
+    private void discardQueue() {
+        int count = 0;
+        while (queue.poll() != null) {
+            count++;
+        }
+        if (count > 0) {
+            pending.addAndGet(-count);
+        }
+    }
+
+    /**
+     * キューに溜まったログをすべてファイルへ書き込み、fsyncする。
+     */
+    public void flush() {
+        Thread writer = thread;
+        if (running && writer != null && writer != Thread.currentThread()) {
+            // ライタースレッドに書き込ませる（最大2秒待機）
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+            while (pending.get() > 0 && System.nanoTime() < deadline) {
+                LockSupport.unpark(writer);
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            }
+        }
+        synchronized (channelLock) {
+            drainQueue();
+            sync();
+        }
+    }
+
+    /**
+     * ライタースレッドを停止し、残りのログを書き出してファイルを閉じる。
+     */
+    public void close() {
+        Thread writer;
+        synchronized (this) {
+            closed = true;
+            if (!running) {
+                discardQueue();
+                return;
+            }
+            running = false;
+            writer = thread;
+            thread = null;
+        }
+        if (writer != null && writer != Thread.currentThread()) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join(1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (channelLock) {
+            drainQueue();
+            sync();
+            closeChannel();
+        }
+        Thread hook = shutdownHook;
+        if (hook != null && hook != Thread.currentThread()) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(hook);
+            } catch (IllegalStateException | SecurityException e) {
+                // シャットダウン中は解除できない
+            }
+        }
+    }
+
+    /**
+     * 現在のセグメントを空にする（ローテーション済みセグメントは残す）。
+     */
+    public void clear() {
+        synchronized (channelLock) {
+            drainQueue();
+            try {
+                if (channel != null) {
+                    channel.truncate(0);
+                    channel.force(false);
+                }
+                segmentSize = 0;
+                unsynced = false;
+            } catch (IOException e) {
+                System.err.println("LogWriter: ログの消去に失敗しました: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 最新のログ行を末尾からN行取得する。ファイル全体は読み込まず、末尾からチャンク単位で読む。
+     * 現在のセグメントの行数が足りない場合はローテーション済みセグメントへさかのぼる。
+     *
+     * @param lines 取得する行数
+     * @return 古い順に並んだログ行
+     */
+    public List<String> tail(int lines) {
+        if (lines <= 0) {
+            return new ArrayList<>();
+        }
+        flush();
+
+        List<String> result = new ArrayList<>();
+        for (int index = 0; index <= retention && result.size() < lines; index++) {
+            Path segment = segmentPath(index);
+            if (!Files.exists(segment)) {
+                break;
+            }
+            try {
+                List<String> older = readLastLines(segment, lines - result.size());
+                older.addAll(result);
+                result = older;
+            } catch (IOException e) {
+                System.err.println("LogWriter: ログの読み取りに失敗しました: " + e.getMessage());
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * ローテーション済みセグメントのパスを新しい順に取得する。
+     *
+     * @return 存在するセグメントのパス（latest.1.log, latest.2.log, ...）
+     */
+    public List<Path> getRotatedSegments() {
+        List<Path> segments = new ArrayList<>();
+        for (int index = 1; index <= retention; index++) {
+            Path segment = segmentPath(index);
+            if (Files.exists(segment)) {
+                segments.add(segment);
+            }
+        }
+        return segments;
+    }
+
+    /**
+     * セグメントのパスを取得する（0が書き込み中のセグメント）。
+     */
+    Path segmentPath(int index) {
+        return directory.resolve(index == 0 ? baseName + ".log" : baseName + "." + index + ".log");
+    }
+
+    private void runLoop() {
+        while (running) {
+            boolean wrote;
+            synchronized (channelLock) {
+                wrote = drainQueue() > 0;
+                if (!wrote && unsynced && System.nanoTime() - lastSyncNs >= SYNC_INTERVAL_NS) {
+                    sync();
+                }
+            }
+            if (!wrote) {
+                LockSupport.parkNanos(IDLE_PARK_NS);
+            }
+        }
+    }
+
+    /**
+     * キューのログ行をバッファ経由でファイルへ書き込む。channelLockを保持して呼び出すこと。
+     *
+     * @return 書き込んだ行数
+     */
+    private int drainQueue() {
+        int count = 0;
+        String line;
+        while ((line = queue.poll()) != null) {
+            count++;
+            if (channel == null) {
+                continue;
+            }
+            byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+            int length = bytes.length + 1;
+            try {
+                if (segmentSize + buffer.position() + length > maxSegmentBytes && segmentSize + buffer.position() > 0) {
+                    flushBuffer();
+                    rotate();
+                    if (channel == null) {
+                        continue;
+                    }
+                }
+                if (buffer.remaining() < length) {
+                    flushBuffer();
+                }
+                if (buffer.remaining() < length) {
+                    // バッファより長い行は直接書き込む
+                    writeFully(ByteBuffer.wrap(bytes));
+                    writeFully(ByteBuffer.wrap(NEWLINE));
+                } else {
+                    buffer.put(bytes).put(NEWLINE);
+                }
+            } catch (IOException e) {
+                handleWriteError(e);
+            }
+        }
+        try {
+            flushBuffer();
+        } catch (IOException e) {
+            handleWriteError(e);
+        }
+        if (count > 0) {
+            pending.addAndGet(-count);
+        }
+        return count;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (buffer.position() == 0 || channel == null) {
+            buffer.clear();
+            return;
+        }
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer data) throws IOException {
+        while (data.hasRemaining()) {
+            segmentSize += channel.write(data);
+        }
+        unsynced = true;
+    }
+
+    private void sync() {
+        if (channel == null || !unsynced) {
+            return;
+        }
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            System.err.println("LogWriter: fsyncに失敗しました: " + e.getMessage());
+        }
+        unsynced = false;
+        lastSyncNs = System.nanoTime();
+    }
+
+    /**
+     * 現在のセグメントを閉じて番号をずらし、新しいセグメントを開く。
+     */
+    private void rotate() {
+        sync();
+        closeChannel();
+        try {
+            if (retention == 0) {
+                Files.deleteIfExists(segmentPath(0));
+            } else {
+                Files.deleteIfExists(segmentPath(retention));
+                for (int index = retention - 1; index >= 0; index--) {
+                    Path source = segmentPath(index);
+                    if (Files.exists(source)) {
+                        Files.move(source, segmentPath(index + 1), StandardCopyOption.REPLACE_EXISTING);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("LogWriter: ログのローテーションに失敗しました: " + e.getMessage());
+        }
+        openChannel();
+    }
+
+    private void openChannel() {
+        try {
+            Files.createDirectories(directory);
+            channel = FileChannel.open(segmentPath(0),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            segmentSize = channel.size();
+        } catch (IOException e) {
+            System.err.println("LogWriter: ログファイルを開けません（ファイル出力を無効化）: " + e.getMessage());
+            channel = null;
+        }
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                System.err.println("LogWriter: ログファイルのクローズに失敗しました: " + e.getMessage());
+            }
+            channel = null;
+        }
+    }
+
+    private void handleWriteError(IOException e) {
+        System.err.println("LogWriter: ログの書き込みに失敗しました（ファイル出力を無効化）: " + e.getMessage());
+        buffer.clear();
+        closeChannel();
+    }
+
+    /**
+     * ファイルの末尾からN行を読み取る。
+     */
+    private static List<String> readLastLines(Path path, int lines) throws IOException {
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            long start = in.size();
+            int newlines = 0;
+            List<byte[]> chunks = new ArrayList<>();
+
+            // 最初の行の途中から読み始めても完全なN行が得られるよう、N+1個の改行まで読む
+            while (start > 0 && newlines <= lines) {
+                int length = (int) Math.min(TAIL_CHUNK_SIZE, start);
+                start -= length;
+                ByteBuffer chunk = ByteBuffer.allocate(length);
+                while (chunk.hasRemaining()) {
+                    if (in.read(chunk, start + chunk.position()) < 0) {
+                        break;
+                    }
+                }
+                byte[] bytes = chunk.array();
+                for (byte b : bytes) {
+                    if (b == '\n') {
+                        newlines++;
+                    }
+                }
+                chunks.add(0, bytes);
+            }
+
+            ByteArrayOutputStream joined = new ByteArrayOutputStream();
+            for (byte[] chunk : chunks) {
+                joined.write(chunk);
+            }
+            String[] split = new String(joined.toByteArray(), StandardCharsets.UTF_8).split("\n");
+            int from = Math.max(0, split.length - lines);
+            if (start > 0 && from == 0 && split.length > 0) {
+                // 先頭は途中から読んだ行
+                from = 1;
+            }
+            return new ArrayList<>(Arrays.asList(split).subList(from, split.length));
+        }
+    }
+}
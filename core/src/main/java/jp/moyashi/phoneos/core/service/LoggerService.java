@@ -1,41 +1,64 @@
 package jp.moyashi.phoneos.core.service;
 
-import java.text.SimpleDateFormat;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 /**
- * MochiMobileOS E        E   E
- * VFS                   E
+ * MochiMobileOS のログサービス。
+ * ログはバックグラウンドのLogWriterがVFS内のログファイルへ追記する。
+ *
+ * 出力はログレベル（タグごとの上書き可）で判定し、無効なログはメッセージを組み立てない。
+ * 高頻度の呼び出し箇所では{@link #isEnabled(LogLevel, String)}で判定するか、
+ * Supplier版・パラメータ版（"{}"を引数で置換）のメソッドを使用する。
  *
  * @author MochiMobileOS
  * @version 1.0
  */
 public class LoggerService {
 
-    /** VFS  E */
+    /** VFS インスタンス */
     private final VFS vfs;
 
-    /**          */
-    private static final String LOG_FILE = "system/logs/latest.log";
+    /** ログファイルのディレクトリ */
+    private static final String LOG_DIR = "system/logs";
 
-    /**               */
-    private static final String ARCHIVE_LOG_FILE = "system/logs/archive.log";
+    /** ログファイルのパス */
+    private static final String LOG_FILE = LOG_DIR + "/latest.log";
 
-    /**             E     E*/
+    /** 1セグメントの最大サイズ（超過時にローテーション） */
     private static final int MAX_LOG_SIZE = 1024 * 1024; // 1MB
 
-    /**     E        E   100  E*/
-    private final List<String> logBuffer;
+    /** 保持するローテーション済みセグメント数（latest.1.log〜latest.5.log） */
+    private static final int MAX_LOG_SEGMENTS = 5;
+
+    /** メモリ上の最近のログ（固定長リングバッファ） */
+    private final LogRing logBuffer;
+
+    /** メモリ上に保持するログの最大件数（2のべき乗に切り上げられる） */
+    private static final int MAX_BUFFER_SIZE = 128;
+
+    /** タイムスタンプのフォーマット（スレッドセーフ） */
+    private static final DateTimeFormatter DATE_FORMAT =
+            DateTimeFormatter.ofPattern("MM/dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
 
-    /**     E              */
-    private static final int MAX_BUFFER_SIZE = 100;
+    /** タグごとのログレベル（グローバル設定より優先） */
+    private final Map<String, LogLevel> tagLevels = new ConcurrentHashMap<>();
 
-    /**              E*/
-    private final SimpleDateFormat dateFormat;
+    /** タグごとの設定が1件以上あるか（ない場合はマップを参照しない） */
+    private volatile boolean hasTagLevels = false;
 
-    /**       */
+    /** バックグラウンドのログライター */
+    private final LogWriter logWriter;
+
+    /** ログレベル */
     public enum LogLevel {
         DEBUG("[DEBUG]"),
         INFO("[INFO]"),
@@ -53,37 +76,60 @@ public class LoggerService {
         }
     }
 
-    /**          E      E        E E*/
+    /** 現在のログレベル */
     // Reduce default verbosity for performance
-    private LogLevel currentLogLevel = LogLevel.WARN;
+    private volatile LogLevel currentLogLevel = LogLevel.WARN;
 
     public boolean isDebugEnabled() {
         return currentLogLevel == LogLevel.DEBUG;
     }
 
     /**
-     * LoggerService   E   E
+     * 指定したレベル・タグのログが出力されるかを判定する。
+     * タグごとのレベルが設定されていればそれを、なければグローバルのレベルを使用する。
+     *
+     * @param level ログレベル
+     * @param tag タグ
+     * @return 出力される場合true
+     */
+    public boolean isEnabled(LogLevel level, String tag) {
+        LogLevel threshold = currentLogLevel;
+        if (hasTagLevels && tag != null) {
+            LogLevel tagLevel = tagLevels.get(tag);
+            if (tagLevel != null) {
+                threshold = tagLevel;
+            }
+        }
+        return level.ordinal() >= threshold.ordinal();
+    }
+
+    /**
+     * LoggerServiceを作成する。
      *
-     * @param vfs VFS  E
+     * @param vfs VFS インスタンス
      */
     public LoggerService(VFS vfs) {
         this.vfs = vfs;
-        this.logBuffer = new ArrayList<>();
-        this.dateFormat = new SimpleDateFormat("MM/dd HH:mm:ss.SSS");
+        this.logBuffer = new LogRing(MAX_BUFFER_SIZE);
 
-        //    E         E
+        // ログディレクトリを初期化
         initializeLogDirectory();
 
-        //        
+        // ログライターを開始
+        Path logDirectory = Paths.get(vfs.getFullPath(LOG_DIR));
+        this.logWriter = new LogWriter(logDirectory, "latest", MAX_LOG_SIZE, MAX_LOG_SEGMENTS);
+        this.logWriter.start();
+
+        // 初期化完了ログ
         info("LoggerService", "Logger service initialized");
     }
 
     /**
-     *    E        E     E
+     * ログディレクトリを初期化する。
      */
     private void initializeLogDirectory() {
         try {
-            //    E            E    E  E
+            // ディレクトリ作成のため空ファイルを配置
             if (vfs.readFile("system/logs/.keep") == null) {
                 vfs.writeFile("system/logs/.keep", "");
             }
@@ -93,9 +139,9 @@ public class LoggerService {
     }
 
     /**
-     *            E
+     * ログレベルを設定する。
      *
-     * @param level
+     * @param level ログレベル
      */
     public void setLogLevel(LogLevel level) {
         this.currentLogLevel = level;
@@ -103,167 +149,341 @@ public class LoggerService {
     }
 
     /**
-     * DEBUG            E
+     * 現在のログレベルを取得する。
+     *
+     * @return ログレベル
+     */
+    public LogLevel getLogLevel() {
+        return currentLogLevel;
+    }
+
+    /**
+     * タグごとのログレベルを設定する。
+     *
+     * @param tag タグ
+     * @param level ログレベル（nullの場合は設定を解除してグローバルのレベルに戻す）
+     */
+    public void setTagLevel(String tag, LogLevel level) {
+        if (level == null) {
+            tagLevels.remove(tag);
+        } else {
+            tagLevels.put(tag, level);
+        }
+        hasTagLevels = !tagLevels.isEmpty();
+    }
+
+    /**
+     * タグごとのログレベル設定をすべて解除する。
+     */
+    public void clearTagLevels() {
+        tagLevels.clear();
+        hasTagLevels = false;
+    }
+
+    /**
+     * システムプロパティからログレベルを設定する。
+     * -Dmochi.logLevel=INFO でグローバルのレベルを、
+     * -Dmochi.logTags=ChromiumBrowser=WARN,GestureInput=INFO でタグごとのレベルを指定できる。
      *
-     * @param tag      E        E E
-     * @param message     E    
+     * @param defaultLevel プロパティ未指定時のレベル
+     */
+    public void configureFromSystemProperties(LogLevel defaultLevel) {
+        setLogLevel(parseLevel(System.getProperty("mochi.logLevel"), defaultLevel));
+
+        String tagSpec = System.getProperty("mochi.logTags");
+        if (tagSpec != null && !tagSpec.isEmpty()) {
+            for (String pair : tagSpec.split(",")) {
+                int separator = pair.indexOf('=');
+                if (separator <= 0) {
+                    continue;
+                }
+                LogLevel level = parseLevel(pair.substring(separator + 1), null);
+                if (level != null) {
+                    setTagLevel(pair.substring(0, separator).trim(), level);
+                }
+            }
+        }
+    }
+
+    private static LogLevel parseLevel(String value, LogLevel fallback) {
+        if (value == null || value.isEmpty()) {
+            return fallback;
+        }
+        try {
+            return LogLevel.valueOf(value.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            System.err.println("LoggerService: 不明なログレベル: " + value);
+            return fallback;
+        }
+    }
+
+    /**
+     * DEBUGレベルのログを出力する。
+     *
+     * @param tag タグ（クラス名など）
+     * @param message メッセージ
      */
     public void debug(String tag, String message) {
         log(LogLevel.DEBUG, tag, message);
     }
 
     /**
-     * INFO            E
+     * DEBUGレベルのログを出力する。無効な場合はメッセージを生成しない。
      *
-     * @param tag      E        E E
-     * @param message     E    
+     * @param tag タグ（クラス名など）
+     * @param message メッセージの生成処理
+     */
+    public void debug(String tag, Supplier<String> message) {
+        if (isEnabled(LogLevel.DEBUG, tag)) {
+            write(LogLevel.DEBUG, tag, message.get());
+        }
+    }
+
+    /**
+     * DEBUGレベルのログを出力する。メッセージ中の"{}"を引数で順に置換する。
+     * 無効な場合は置換を行わない。
+     *
+     * @param tag タグ（クラス名など）
+     * @param pattern メッセージのパターン
+     * @param args 置換する引数
+     */
+    public void debug(String tag, String pattern, Object... args) {
+        if (isEnabled(LogLevel.DEBUG, tag)) {
+            write(LogLevel.DEBUG, tag, formatMessage(pattern, args));
+        }
+    }
+
+    /**
+     * INFOレベルのログを出力する。
+     *
+     * @param tag タグ（クラス名など）
+     * @param message メッセージ
      */
     public void info(String tag, String message) {
         log(LogLevel.INFO, tag, message);
     }
 
     /**
-     * WARN            E
+     * INFOレベルのログを出力する。無効な場合はメッセージを生成しない。
      *
-     * @param tag      E        E E
-     * @param message     E    
+     * @param tag タグ（クラス名など）
+     * @param message メッセージの生成処理
+     */
+    public void info(String tag, Supplier<String> message) {
+        if (isEnabled(LogLevel.INFO, tag)) {
+            write(LogLevel.INFO, tag, message.get());
+        }
+    }
+
+    /**
+     * INFOレベルのログを出力する。メッセージ中の"{}"を引数で順に置換する。
+     * 無効な場合は置換を行わない。
+     *
+     * @param tag タグ（クラス名など）
+     * @param pattern メッセージのパターン
+     * @param args 置換する引数
+     */
+    public void info(String tag, String pattern, Object... args) {
+        if (isEnabled(LogLevel.INFO, tag)) {
+            write(LogLevel.INFO, tag, formatMessage(pattern, args));
+        }
+    }
+
+    /**
+     * WARNレベルのログを出力する。
+     *
+     * @param tag タグ（クラス名など）
+     * @param message メッセージ
      */
     public void warn(String tag, String message) {
         log(LogLevel.WARN, tag, message);
     }
 
     /**
-     * ERROR            E
+     * WARNレベルのログを出力する。無効な場合はメッセージを生成しない。
+     *
+     * @param tag タグ（クラス名など）
+     * @param message メッセージの生成処理
+     */
+    public void warn(String tag, Supplier<String> message) {
+        if (isEnabled(LogLevel.WARN, tag)) {
+            write(LogLevel.WARN, tag, message.get());
+        }
+    }
+
+    /**
+     * WARNレベルのログを出力する。メッセージ中の"{}"を引数で順に置換する。
+     * 無効な場合は置換を行わない。
+     *
+     * @param tag タグ（クラス名など）
+     * @param pattern メッセージのパターン
+     * @param args 置換する引数
+     */
+    public void warn(String tag, String pattern, Object... args) {
+        if (isEnabled(LogLevel.WARN, tag)) {
+            write(LogLevel.WARN, tag, formatMessage(pattern, args));
+        }
+    }
+
+    /**
+     * ERRORレベルのログを出力する。
      *
-     * @param tag      E        E E
-     * @param message     E    
+     * @param tag タグ（クラス名など）
+     * @param message メッセージ
      */
     public void error(String tag, String message) {
         log(LogLevel.ERROR, tag, message);
     }
 
     /**
-     * ERROR                 E
+     * ERRORレベルのログを出力する。無効な場合はメッセージを生成しない。
      *
-     * @param tag      E        E E
-     * @param message     E    
-     * @param throwable   E
+     * @param tag タグ（クラス名など）
+     * @param message メッセージの生成処理
+     */
+    public void error(String tag, Supplier<String> message) {
+        if (isEnabled(LogLevel.ERROR, tag)) {
+            write(LogLevel.ERROR, tag, message.get());
+        }
+    }
+
+    /**
+     * ERRORレベルのログを出力する。メッセージ中の"{}"を引数で順に置換する。
+     * 無効な場合は置換を行わない。
+     *
+     * @param tag タグ（クラス名など）
+     * @param pattern メッセージのパターン
+     * @param args 置換する引数
+     */
+    public void error(String tag, String pattern, Object... args) {
+        if (isEnabled(LogLevel.ERROR, tag)) {
+            write(LogLevel.ERROR, tag, formatMessage(pattern, args));
+        }
+    }
+
+    /**
+     * ERRORレベルのログを例外付きで出力する。
+     *
+     * @param tag タグ（クラス名など）
+     * @param message メッセージ
+     * @param throwable 例外
      */
     public void error(String tag, String message, Throwable throwable) {
         log(LogLevel.ERROR, tag, message + ": " + throwable.getMessage());
-        //    E         
+        // スタックトレースを出力
         for (StackTraceElement element : throwable.getStackTrace()) {
             log(LogLevel.ERROR, tag, "  at " + element.toString());
         }
     }
 
     /**
-     *         E
+     * ログを出力する。
      *
-     * @param level      
-     * @param tag     
-     * @param message     E    
+     * @param level ログレベル
+     * @param tag タグ
+     * @param message メッセージ
      */
     private void log(LogLevel level, String tag, String message) {
-        //         E
-        /*
-        if (level.ordinal() < currentLogLevel.ordinal()) {
+        // ログレベルの判定
+        if (!isEnabled(level, tag)) {
             return;
         }
+        write(level, tag, message);
+    }
 
-         */
-
-        //           E
-        String timestamp = dateFormat.format(new Date());
+    /**
+     * レベル判定済みのログを書き出す。
+     *
+     * @param level ログレベル
+     * @param tag タグ
+     * @param message メッセージ
+     */
+    private void write(LogLevel level, String tag, String message) {
+        long now = System.currentTimeMillis();
 
-        //          E
-        String logEntry = "[" + timestamp + "] " + level.getPrefix() + " [" + tag + "] " + message;
+        // メモリバッファに追加（整形は取得時に行う）
+        logBuffer.record(now, level, tag, message);
 
-        //           
-        synchronized (logBuffer) {
-            logBuffer.add(logEntry);
-            if (logBuffer.size() > MAX_BUFFER_SIZE) {
-                logBuffer.remove(0);
-            }
-        }
+        // ログエントリを作成
+        String logEntry = formatEntry(now, level, tag, message);
 
-        // VFS     
-        writeToFile(logEntry);
+        // ログファイルへ追記（バックグラウンドで書き込み）
+        logWriter.append(logEntry);
 
-        // System.out   E           E   E E
+        // System.out にも出力（開発時の確認用）
         System.out.println(logEntry);
     }
 
     /**
-     *              E
-     *
-     * @param logEntry       
+     * ログエントリを1行の文字列に整形する。
      */
-    private void writeToFile(String logEntry) {
-        try {
-            //    E       
-            String existingLog = vfs.readFile(LOG_FILE);
-            if (existingLog == null) {
-                existingLog = "";
-            }
+    private static String formatEntry(long timestamp, LogLevel level, String tag, String message) {
+        return "[" + DATE_FORMAT.format(Instant.ofEpochMilli(timestamp)) + "] "
+                + level.getPrefix() + " [" + tag + "] " + message;
+    }
 
-            //         
-            String newLog = existingLog + logEntry + "\n";
-
-            //           E  
-            if (newLog.length() > MAX_LOG_SIZE) {
-                //         E
-                archiveLog(existingLog);
-                //             
-                vfs.writeFile(LOG_FILE, logEntry + "\n");
-            } else {
-                //        E
-                vfs.writeFile(LOG_FILE, newLog);
-            }
-        } catch (Exception e) {
-            // VFS        System.err   E
-            System.err.println("Failed to write log to VFS: " + e.getMessage());
+    /**
+     * パターン中の"{}"を引数で順に置換する。余った引数は無視し、足りない場合は"{}"を残す。
+     */
+    static String formatMessage(String pattern, Object... args) {
+        if (pattern == null || args == null || args.length == 0) {
+            return pattern;
+        }
+        StringBuilder sb = new StringBuilder(pattern.length() + args.length * 8);
+        int argIndex = 0;
+        int from = 0;
+        int placeholder;
+        while (argIndex < args.length && (placeholder = pattern.indexOf("{}", from)) >= 0) {
+            sb.append(pattern, from, placeholder).append(args[argIndex++]);
+            from = placeholder + 2;
         }
+        sb.append(pattern, from, pattern.length());
+        return sb.toString();
     }
 
     /**
-     *            E
+     * メモリ上の最近のログを取得する。
      *
-     * @param log          
+     * @return ログのリスト
      */
-    private void archiveLog(String log) {
-        try {
-            //             E
-            String existingArchive = vfs.readFile(ARCHIVE_LOG_FILE);
-            if (existingArchive == null) {
-                existingArchive = "";
-            }
-
-            String archiveHeader = "\n\n=== Archived at " + dateFormat.format(new Date()) + " ===\n\n";
-            vfs.writeFile(ARCHIVE_LOG_FILE, existingArchive + archiveHeader + log);
-        } catch (Exception e) {
-            System.err.println("Failed to archive log: " + e.getMessage());
+    public List<String> getRecentLogs() {
+        List<LogRing.Entry> entries = logBuffer.snapshot(null);
+        List<String> lines = new ArrayList<>(entries.size());
+        for (LogRing.Entry entry : entries) {
+            lines.add(formatEntry(entry.getTimestamp(), entry.getLevel(), entry.getTag(), entry.getMessage()));
         }
+        return lines;
     }
 
     /**
-     *         E E        E
+     * メモリ上の最近のログを構造化された形式で取得する。
      *
-     * @return     E   E
+     * @param minLevel 取得する最低レベル（nullの場合はすべて）
+     * @return 古い順に並んだログエントリ
      */
-    public List<String> getRecentLogs() {
-        synchronized (logBuffer) {
-            return new ArrayList<>(logBuffer);
-        }
+    public List<LogRing.Entry> getRecentEntries(LogLevel minLevel) {
+        return logBuffer.snapshot(minLevel);
+    }
+
+    /**
+     * ログファイルの末尾からN行を取得する（ファイル全体は読み込まない）。
+     * 現在のファイルの行数が足りない場合はローテーション済みのファイルからも取得する。
+     *
+     * @param lines 取得する行数
+     * @return 古い順に並んだログ行
+     */
+    public List<String> tail(int lines) {
+        return logWriter.tail(lines);
     }
 
     /**
-     *               E
+     * 現在のログファイルの内容を取得する。
      *
-     * @return         E  
+     * @return ログファイルの内容
      */
     public String getFullLog() {
         try {
+            logWriter.flush();
             String log = vfs.readFile(LOG_FILE);
             return log != null ? log : "";
         } catch (Exception e) {
@@ -272,33 +492,44 @@ public class LoggerService {
     }
 
     /**
-     *              E
+     * ローテーション済みのログを古い順に連結して取得する。
      *
-     * @return          E  
+     * @return アーカイブログの内容
      */
     public String getArchivedLog() {
         try {
-            String log = vfs.readFile(ARCHIVE_LOG_FILE);
-            return log != null ? log : "";
+            logWriter.flush();
+            List<Path> segments = logWriter.getRotatedSegments();
+            StringBuilder archived = new StringBuilder();
+            for (int i = segments.size() - 1; i >= 0; i--) {
+                String log = vfs.readFile(LOG_DIR + "/" + segments.get(i).getFileName());
+                if (log != null) {
+                    archived.append(log);
+                }
+            }
+            return archived.toString();
         } catch (Exception e) {
             return "Failed to read archived log: " + e.getMessage();
         }
     }
 
     /**
-     *          E
+     * ログをクリアする。
      */
     public void clearLog() {
         try {
-            vfs.writeFile(LOG_FILE, "");
-            synchronized (logBuffer) {
-                logBuffer.clear();
-            }
+            logWriter.clear();
+            logBuffer.clear();
             info("LoggerService", "Log cleared");
         } catch (Exception e) {
             System.err.println("Failed to clear log: " + e.getMessage());
         }
     }
-}
-
 
+    /**
+     * 未書き込みのログをファイルへ書き出し、ログライターを停止する。
+     */
+    public void shutdown() {
+        logWriter.close();
+    }
+}
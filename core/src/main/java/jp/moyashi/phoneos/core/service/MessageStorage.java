@@ -3,21 +3,92 @@ package jp.moyashi.phoneos.core.service;
 import jp.moyashi.phoneos.core.service.network.IPvMAddress;
 
 import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * メッセージストレージサービス
  * プレイヤー間のメッセージを保存・取得します
+ *
+ * メッセージ本体は追記専用のレコードログ（messages/inbox.log）に書き込み、
+ * 各メッセージのオフセット・時刻・既読フラグ等を固定長エントリの索引（messages/inbox.idx）に保持します。
+ * 索引は初回アクセス時に一括で読み込み、以降は未読数をO(1)で返します。
+ * 既読化は索引の1バイトを書き換えるだけで、ログファイルの書き直しは行いません。
+ * 索引の読み込みに失敗した場合は未読み込みのまま扱い、ログを上書きしないよう書き込みを拒否します。
+ * 旧形式のmessages/inbox.csvは初回アクセス時に移行されます（移行に失敗した場合は読み込み失敗として扱い、後で再開します）。
  */
 public class MessageStorage {
 
+    /** レコードログ */
+    private static final String LOG_FILE = "messages/inbox.log";
+
+    /** 索引ファイル */
+    private static final String INDEX_FILE = "messages/inbox.idx";
+
+    /** 旧形式のCSVファイル */
+    private static final String LEGACY_CSV_FILE = "messages/inbox.csv";
+
+    /** 索引ファイルの識別子（"MSIX"） */
+    private static final int INDEX_MAGIC = 0x4D534958;
+    private static final int INDEX_VERSION = 1;
+    private static final int INDEX_HEADER_SIZE = 16;
+
+    /**
+     * 索引エントリ（32バイト）:
+     * offset(8) / timestamp(8) / length(4) / idHash(4) / senderHash(4) / flags(1) / 予約(3)
+     */
+    private static final int INDEX_ENTRY_SIZE = 32;
+    private static final int FLAGS_POSITION = 28;
+    private static final byte FLAG_READ = 1;
+
+    /** 1レコードの最大サイズ（破損したログの読み込み防止） */
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+
+    /** 索引の読み込みに失敗した後、再試行するまでの間隔 */
+    private static final long LOAD_RETRY_INTERVAL_MS = 5000;
+
     private final VFS vfs;
 
+    // 索引（列ごとの配列、ログへの追記順）
+    private long[] offsets = new long[0];
+    private long[] timestamps = new long[0];
+    private int[] lengths = new int[0];
+    private int[] idHashes = new int[0];
+    private int[] senderHashes = new int[0];
+    private byte[] flags = new byte[0];
+    /** 同じIDハッシュを持つ1つ前のエントリ（なければ-1） */
+    private int[] previousSameId = new int[0];
+    private int size;
+
+    /** IDハッシュごとの最新のエントリ位置（previousSameIdでさかのぼる） */
+    private final Map<Integer, Integer> latestByIdHash = new HashMap<>();
+
+    /** 未読メッセージ数 */
+    private int unreadCount;
+
+    /** 時刻が追記順に並んでいる場合true（ページングで二分探索を使用） */
+    private boolean chronological = true;
+
+    /** レコードログの末尾位置 */
+    private long logSize;
+
+    /** 索引を読み込み済みかどうか */
+    private boolean loaded;
+
+    /** 最後に索引の読み込みに失敗した時刻（0の場合は未失敗） */
+    private long loadFailedAtMillis;
+
     /**
      * メッセージデータクラス
      */
@@ -28,6 +99,7 @@ public class MessageStorage {
         private final String content;
         private final long timestamp;
         private boolean read;
+        private int index = -1;
 
         public Message(String id, String senderAddress, String senderName, String content, long timestamp, boolean read) {
             this.id = id;
@@ -66,6 +138,18 @@ public class MessageStorage {
             this.read = read;
         }
 
+        /**
+         * 索引上の位置（ページングのカーソルに使用）
+         * @return 索引位置、保存前のメッセージは-1
+         */
+        public int getIndex() {
+            return index;
+        }
+
+        void setIndex(int index) {
+            this.index = index;
+        }
+
         /**
          * CSV形式の文字列に変換
          */
@@ -145,24 +229,15 @@ public class MessageStorage {
      * メッセージを保存します
      * @param message メッセージ
      */
-    public void saveMessage(Message message) {
-        String messagesFile = vfs.getRootPath().resolve("messages/inbox.csv").toString();
-
+    public synchronized void saveMessage(Message message) {
+        if (!ensureLoaded()) {
+            // 索引なしで追記するとオフセット0からログを上書きしてしまうため拒否する
+            System.err.println("[MessageStorage] Message index is not loaded, dropping message: " + message.getId());
+            return;
+        }
         try {
-            // ファイルが存在しない場合は作成
-            java.io.File file = new java.io.File(messagesFile);
-            if (!file.exists()) {
-                file.getParentFile().mkdirs();
-                file.createNewFile();
-            }
-
-            // 追記モードで書き込み
-            try (FileWriter writer = new FileWriter(messagesFile, true)) {
-                writer.write(message.toCsvLine() + "\n");
-            }
-
+            append(message);
             System.out.println("[MessageStorage] Message saved: " + message.getId());
-
         } catch (IOException e) {
             System.err.println("[MessageStorage] Failed to save message: " + e.getMessage());
             e.printStackTrace();
@@ -173,91 +248,151 @@ public class MessageStorage {
      * すべてのメッセージを取得します
      * @return メッセージリスト（新しい順）
      */
-    public List<Message> getAllMessages() {
-        String messagesFile = vfs.getRootPath().resolve("messages/inbox.csv").toString();
-        List<Message> messages = new ArrayList<>();
-
-        try {
-            if (!vfs.fileExists("messages/inbox.csv")) {
-                return messages;
-            }
+    public synchronized List<Message> getAllMessages() {
+        ensureLoaded();
+        int[] indices = new int[size];
+        for (int i = 0; i < size; i++) {
+            indices[i] = size - 1 - i;
+        }
+        return readMessages(indices, indices.length);
+    }
 
-            try (BufferedReader reader = new BufferedReader(new FileReader(messagesFile))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    if (line.trim().isEmpty()) continue;
+    /**
+     * カーソル（時刻, 索引位置）より前のメッセージを新しい順に取得します（ページング用）
+     * メッセージは（時刻, 索引位置）の降順に並ぶため、同じミリ秒のメッセージも取りこぼしません。
+     * 次のページは、前のページの最後のメッセージの{@link Message#getTimestamp()}と
+     * {@link Message#getIndex()}を指定して取得します。
+     *
+     * @param beforeTimestamp カーソルの時刻（最新から取得する場合はLong.MAX_VALUE）
+     * @param beforeIndex カーソルの索引位置（最新から取得する場合はInteger.MAX_VALUE）
+     * @param limit 最大件数
+     * @return メッセージリスト（新しい順）
+     */
+    public synchronized List<Message> getMessages(long beforeTimestamp, int beforeIndex, int limit) {
+        ensureLoaded();
+        if (limit <= 0 || size == 0) {
+            return new ArrayList<>();
+        }
 
-                    Message message = Message.fromCsvLine(line);
-                    if (message != null) {
-                        messages.add(message);
-                    }
+        int[] indices;
+        if (chronological) {
+            // 時刻が追記順なので（時刻, 位置）の順序は位置の順序と一致する。カーソル以上となる最初の位置を二分探索
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (isBefore(mid, beforeTimestamp, beforeIndex)) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
                 }
             }
-
-            // 新しい順に並び替え
-            Collections.reverse(messages);
-
-        } catch (IOException e) {
-            System.err.println("[MessageStorage] Failed to load messages: " + e.getMessage());
+            int count = Math.min(limit, low);
+            indices = new int[count];
+            for (int i = 0; i < count; i++) {
+                indices[i] = low - 1 - i;
+            }
+        } else {
+            // 時刻順でない場合は索引を走査して並び替える
+            List<Integer> candidates = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                if (isBefore(i, beforeTimestamp, beforeIndex)) {
+                    candidates.add(i);
+                }
+            }
+            candidates.sort((a, b) -> timestamps[a] != timestamps[b]
+                    ? Long.compare(timestamps[b], timestamps[a]) : Integer.compare(b, a));
+            int count = Math.min(limit, candidates.size());
+            indices = new int[count];
+            for (int i = 0; i < count; i++) {
+                indices[i] = candidates.get(i);
+            }
         }
+        return readMessages(indices, indices.length);
+    }
 
-        return messages;
+    /**
+     * 索引位置のメッセージが（時刻, 位置）の順でカーソルより前かどうか
+     */
+    private boolean isBefore(int index, long beforeTimestamp, int beforeIndex) {
+        return timestamps[index] < beforeTimestamp
+                || (timestamps[index] == beforeTimestamp && index < beforeIndex);
     }
 
     /**
-     * 未読メッセージ数を取得します
-     * @return 未読メッセージ数
+     * 指定した送信元のメッセージを取得します
+     * @param senderAddress 送信元アドレス
+     * @return メッセージリスト（新しい順）
      */
-    public int getUnreadCount() {
-        List<Message> messages = getAllMessages();
+    public synchronized List<Message> getMessagesFrom(String senderAddress) {
+        ensureLoaded();
+        String address = senderAddress != null ? senderAddress : "";
+        int hash = address.hashCode();
+        int[] indices = new int[size];
         int count = 0;
-        for (Message message : messages) {
-            if (!message.isRead()) {
-                count++;
+        for (int i = size - 1; i >= 0; i--) {
+            if (senderHashes[i] == hash) {
+                indices[count++] = i;
             }
         }
-        return count;
+        // ハッシュ衝突分はレコードの送信元で除外
+        List<Message> messages = readMessages(indices, count);
+        messages.removeIf(message -> !address.equals(message.getSenderAddress()));
+        return messages;
     }
 
     /**
-     * メッセージを既読にします
-     * @param messageId メッセージID
+     * 保存されているメッセージ数を取得します
+     * @return メッセージ数
      */
-    public void markAsRead(String messageId) {
-        List<Message> messages = getAllMessages();
-        boolean updated = false;
-
-        for (Message message : messages) {
-            if (message.getId().equals(messageId)) {
-                message.setRead(true);
-                updated = true;
-            }
-        }
-
-        if (updated) {
-            saveAllMessages(messages);
-        }
+    public synchronized int getMessageCount() {
+        ensureLoaded();
+        return size;
     }
 
     /**
-     * すべてのメッセージを保存し直します
-     * @param messages メッセージリスト
+     * 未読メッセージ数を取得します
+     * @return 未読メッセージ数
      */
-    private void saveAllMessages(List<Message> messages) {
-        String messagesFile = vfs.getRootPath().resolve("messages/inbox.csv").toString();
+    public synchronized int getUnreadCount() {
+        ensureLoaded();
+        return unreadCount;
+    }
 
-        try {
-            // 逆順に戻す（ファイルは古い順）
-            Collections.reverse(messages);
+    /**
+     * メッセージを既読にします
+     * 索引の既読フラグのみを書き換え、レコードログは変更しません。
+     * IDハッシュごとの索引から該当エントリのみを調べます（全件走査はしません）。
+     * @param messageId メッセージID
+     */
+    public synchronized void markAsRead(String messageId) {
+        if (messageId == null || !ensureLoaded()) {
+            return;
+        }
+        Integer latest = latestByIdHash.get(messageId.hashCode());
+        if (latest == null) {
+            return;
+        }
 
-            try (FileWriter writer = new FileWriter(messagesFile, false)) {
-                for (Message message : messages) {
-                    writer.write(message.toCsvLine() + "\n");
+        try (FileChannel log = FileChannel.open(path(LOG_FILE), StandardOpenOption.READ);
+             FileChannel index = FileChannel.open(path(INDEX_FILE), StandardOpenOption.WRITE)) {
+            ByteBuffer flag = ByteBuffer.allocate(1);
+            for (int i = latest; i >= 0; i = previousSameId[i]) {
+                if ((flags[i] & FLAG_READ) != 0) {
+                    continue;
+                }
+                Message message = readRecord(log, i);
+                if (message == null || !messageId.equals(message.getId())) {
+                    continue;
                 }
+                flags[i] |= FLAG_READ;
+                unreadCount--;
+                flag.clear();
+                flag.put(0, flags[i]);
+                index.write(flag, INDEX_HEADER_SIZE + (long) i * INDEX_ENTRY_SIZE + FLAGS_POSITION);
             }
-
         } catch (IOException e) {
-            System.err.println("[MessageStorage] Failed to save all messages: " + e.getMessage());
+            System.err.println("[MessageStorage] Failed to mark message as read: " + e.getMessage());
         }
     }
 
@@ -267,16 +402,392 @@ public class MessageStorage {
      * @param senderName 送信者名
      * @param content メッセージ内容
      */
-    public void receiveMessage(String senderAddress, String senderName, String content) {
-        String messageId = "msg_" + System.currentTimeMillis();
+    public synchronized void receiveMessage(String senderAddress, String senderName, String content) {
+        ensureLoaded();
+        long now = System.currentTimeMillis();
+        // 同一ミリ秒に複数受信してもIDが重複しないよう連番を付与
+        String messageId = "msg_" + now + "_" + size;
         Message message = new Message(
             messageId,
             senderAddress,
             senderName,
             content,
-            System.currentTimeMillis(),
+            now,
             false
         );
         saveMessage(message);
     }
-}
\ No newline at end of file
+
+    // ===== 内部処理 =====
+
+    private Path path(String relativePath) {
+        return vfs.getRootPath().resolve(relativePath);
+    }
+
+    /**
+     * 索引を読み込みます（初回のみ）
+     * 索引が存在しない・破損している場合はレコードログから再構築し、
+     * 索引に未登録のレコード（書き込み途中で終了した場合など）はログ末尾から回復します。
+     * 読み込みに失敗した場合は未読み込みのまま空の索引とし、{@link #LOAD_RETRY_INTERVAL_MS}後に再試行します。
+     *
+     * @return 索引を読み込み済みの場合true（falseの場合は書き込み禁止）
+     */
+    private boolean ensureLoaded() {
+        if (loaded) {
+            return true;
+        }
+        if (loadFailedAtMillis != 0L && System.currentTimeMillis() - loadFailedAtMillis < LOAD_RETRY_INTERVAL_MS) {
+            return false;
+        }
+
+        Path logPath = path(LOG_FILE);
+        Path indexPath = path(INDEX_FILE);
+        try {
+            Files.createDirectories(logPath.getParent());
+            if (!Files.exists(logPath)) {
+                Files.createFile(logPath);
+            }
+            logSize = Files.size(logPath);
+
+            boolean indexValid = loadIndex(indexPath);
+            if (!indexValid) {
+                resetIndex();
+                writeIndexHeader(indexPath);
+            }
+
+            long indexedEnd = size > 0 ? offsets[size - 1] + lengths[size - 1] : 0L;
+            if (indexedEnd < logSize) {
+                recoverRecords(logPath, indexPath, indexedEnd);
+            }
+
+            migrateLegacyCsv();
+
+            loaded = true;
+            loadFailedAtMillis = 0L;
+            System.out.println("[MessageStorage] Loaded index: " + size + " messages, " + unreadCount + " unread");
+        } catch (IOException e) {
+            System.err.println("[MessageStorage] Failed to load message index: " + e.getMessage());
+            resetIndex();
+            logSize = 0L;
+            loadFailedAtMillis = System.currentTimeMillis();
+        }
+        return loaded;
+    }
+
+    /**
+     * 索引ファイルを読み込みます
+     * @return 索引が有効な場合true
+     */
+    private boolean loadIndex(Path indexPath) throws IOException {
+        if (!Files.exists(indexPath)) {
+            return false;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(indexPath));
+        if (buffer.remaining() < INDEX_HEADER_SIZE
+                || buffer.getInt(0) != INDEX_MAGIC || buffer.getInt(4) != INDEX_VERSION) {
+            System.err.println("[MessageStorage] Invalid message index, rebuilding");
+            return false;
+        }
+
+        int count = (buffer.remaining() - INDEX_HEADER_SIZE) / INDEX_ENTRY_SIZE;
+        resetIndex();
+        ensureCapacity(count);
+        long expectedOffset = 0L;
+        for (int i = 0; i < count; i++) {
+            int base = INDEX_HEADER_SIZE + i * INDEX_ENTRY_SIZE;
+            long offset = buffer.getLong(base);
+            int length = buffer.getInt(base + 16);
+            // ログに存在しない・連続していないエントリ以降は破棄してログから回復する
+            if (offset != expectedOffset || length <= 0 || offset + length > logSize) {
+                break;
+            }
+            addEntry(offset, buffer.getLong(base + 8), length,
+                    buffer.getInt(base + 20), buffer.getInt(base + 24), buffer.get(base + FLAGS_POSITION));
+            expectedOffset = offset + length;
+        }
+
+        if (size != count || buffer.remaining() != INDEX_HEADER_SIZE + count * INDEX_ENTRY_SIZE) {
+            // 不完全なエントリを切り詰める
+            try (FileChannel index = FileChannel.open(indexPath, StandardOpenOption.WRITE)) {
+                index.truncate(INDEX_HEADER_SIZE + (long) size * INDEX_ENTRY_SIZE);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 索引に未登録のレコードをログから読み込み、索引に追加します
+     */
+    private void recoverRecords(Path logPath, Path indexPath, long from) throws IOException {
+        int recovered = 0;
+        try (FileChannel log = FileChannel.open(logPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+             FileChannel index = FileChannel.open(indexPath, StandardOpenOption.WRITE)) {
+            long position = from;
+            ByteBuffer lengthBuffer = ByteBuffer.allocate(4);
+            while (position + 4 <= logSize) {
+                lengthBuffer.clear();
+                readFully(log, lengthBuffer, position);
+                int payloadLength = lengthBuffer.getInt(0);
+                if (payloadLength <= 0 || payloadLength > MAX_RECORD_SIZE || position + 4 + payloadLength > logSize) {
+                    break;
+                }
+                ByteBuffer payload = ByteBuffer.allocate(payloadLength);
+                readFully(log, payload, position + 4);
+                Message message = decodePayload(payload);
+                if (message == null) {
+                    break;
+                }
+                addEntry(position, message.getTimestamp(), 4 + payloadLength,
+                        hash(message.getId()), hash(message.getSenderAddress()), (byte) 0);
+                writeIndexEntry(index, size - 1);
+                position += 4 + payloadLength;
+                recovered++;
+            }
+
+            if (position < logSize) {
+                // 書き込み途中のレコードを切り詰める
+                System.err.println("[MessageStorage] Truncating incomplete record at " + position);
+                log.truncate(position);
+                logSize = position;
+            }
+        }
+        if (recovered > 0) {
+            System.out.println("[MessageStorage] Recovered " + recovered + " unindexed messages");
+        }
+    }
+
+    /**
+     * 旧形式のCSVファイルをレコードログに移行します
+     * 取り込み前にinbox.csvをinbox.csv.migratingへ移動し、取り込み完了後にinbox.csv.migratedへ移動します。
+     * 取り込み途中で失敗・終了した場合は次回の読み込み時に.migratingから再開し、
+     * ログに登録済みのIDは取り込まないため、メッセージは重複しません。
+     * @throws IOException 移行に失敗した場合（索引は読み込み済みにならず、後で再試行されます）
+     */
+    private void migrateLegacyCsv() throws IOException {
+        Path csvPath = path(LEGACY_CSV_FILE);
+        Path migratingPath = csvPath.resolveSibling("inbox.csv.migrating");
+        boolean resuming = Files.exists(migratingPath);
+        if (!resuming) {
+            if (!Files.exists(csvPath)) {
+                return;
+            }
+            Files.move(csvPath, migratingPath, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        int migrated = 0;
+        int skipped = 0;
+        // 移動前にリーダーを閉じる（Windowsでは開いたままのファイルを移動できない）
+        try (BufferedReader reader = Files.newBufferedReader(migratingPath, StandardCharsets.UTF_8);
+             FileChannel log = FileChannel.open(path(LOG_FILE), StandardOpenOption.READ)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().isEmpty()) continue;
+                Message message;
+                try {
+                    message = Message.fromCsvLine(line);
+                } catch (NumberFormatException e) {
+                    System.err.println("[MessageStorage] Skipping malformed CSV line: " + e.getMessage());
+                    continue;
+                }
+                if (message == null) continue;
+                if (resuming && containsMessageId(log, message.getId())) {
+                    skipped++;
+                    continue;
+                }
+                append(message);
+                migrated++;
+            }
+        }
+        Files.move(migratingPath, csvPath.resolveSibling("inbox.csv.migrated"), StandardCopyOption.REPLACE_EXISTING);
+        System.out.println("[MessageStorage] Migrated " + migrated + " messages from inbox.csv"
+                + (skipped > 0 ? " (" + skipped + " already migrated)" : ""));
+    }
+
+    /**
+     * 指定IDのメッセージがログに登録済みかを調べます（IDハッシュの索引から該当エントリのみを読みます）
+     */
+    private boolean containsMessageId(FileChannel log, String messageId) throws IOException {
+        Integer latest = latestByIdHash.get(hash(messageId));
+        for (int i = latest != null ? latest : -1; i >= 0; i = previousSameId[i]) {
+            Message message = readRecord(log, i);
+            if (message != null && messageId.equals(message.getId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * メッセージをレコードログに追記し、索引に登録します
+     * レコード: payloadLength(4) / id / senderAddress / senderName / content（各length(4)+UTF-8） / timestamp(8)
+     */
+    private void append(Message message) throws IOException {
+        byte[] id = utf8(message.getId());
+        byte[] address = utf8(message.getSenderAddress());
+        byte[] name = utf8(message.getSenderName());
+        byte[] content = utf8(message.getContent());
+        int payloadLength = 16 + id.length + address.length + name.length + content.length + 8;
+
+        ByteBuffer record = ByteBuffer.allocate(4 + payloadLength);
+        record.putInt(payloadLength);
+        record.putInt(id.length).put(id);
+        record.putInt(address.length).put(address);
+        record.putInt(name.length).put(name);
+        record.putInt(content.length).put(content);
+        record.putLong(message.getTimestamp());
+        record.flip();
+
+        long offset = logSize;
+        try (FileChannel log = FileChannel.open(path(LOG_FILE), StandardOpenOption.WRITE, StandardOpenOption.CREATE)) {
+            while (record.hasRemaining()) {
+                log.write(record, offset + record.position());
+            }
+        }
+        logSize = offset + 4 + payloadLength;
+
+        addEntry(offset, message.getTimestamp(), 4 + payloadLength,
+                hash(message.getId()), hash(message.getSenderAddress()),
+                message.isRead() ? FLAG_READ : 0);
+        try (FileChannel index = FileChannel.open(path(INDEX_FILE), StandardOpenOption.WRITE)) {
+            writeIndexEntry(index, size - 1);
+        }
+    }
+
+    /**
+     * 指定した索引位置のメッセージをまとめて読み込みます
+     */
+    private List<Message> readMessages(int[] indices, int count) {
+        List<Message> messages = new ArrayList<>(count);
+        if (count == 0) {
+            return messages;
+        }
+        try (FileChannel log = FileChannel.open(path(LOG_FILE), StandardOpenOption.READ)) {
+            for (int i = 0; i < count; i++) {
+                Message message = readRecord(log, indices[i]);
+                if (message != null) {
+                    messages.add(message);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("[MessageStorage] Failed to load messages: " + e.getMessage());
+        }
+        return messages;
+    }
+
+    /**
+     * 索引位置のレコードを読み込みます（既読状態は索引から設定）
+     */
+    private Message readRecord(FileChannel log, int index) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(lengths[index]);
+        readFully(log, buffer, offsets[index]);
+        buffer.position(4);
+        Message message = decodePayload(buffer.slice());
+        if (message != null) {
+            message.setRead((flags[index] & FLAG_READ) != 0);
+            message.setIndex(index);
+        }
+        return message;
+    }
+
+    private static Message decodePayload(ByteBuffer payload) {
+        try {
+            String id = readString(payload);
+            String address = readString(payload);
+            String name = readString(payload);
+            String content = readString(payload);
+            long timestamp = payload.getLong();
+            return new Message(id, address, name, content, timestamp, false);
+        } catch (RuntimeException e) {
+            System.err.println("[MessageStorage] Corrupted message record: " + e);
+            return null;
+        }
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        return value;
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IOException("Unexpected end of message log");
+            }
+        }
+        buffer.flip();
+    }
+
+    private static byte[] utf8(String value) {
+        return (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int hash(String value) {
+        return (value != null ? value : "").hashCode();
+    }
+
+    private void writeIndexHeader(Path indexPath) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(INDEX_HEADER_SIZE);
+        header.putInt(INDEX_MAGIC).putInt(INDEX_VERSION).putLong(0L);
+        header.flip();
+        try (FileChannel index = FileChannel.open(indexPath, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (header.hasRemaining()) {
+                index.write(header);
+            }
+        }
+    }
+
+    private void writeIndexEntry(FileChannel index, int i) throws IOException {
+        ByteBuffer entry = ByteBuffer.allocate(INDEX_ENTRY_SIZE);
+        entry.putLong(offsets[i]).putLong(timestamps[i]).putInt(lengths[i])
+                .putInt(idHashes[i]).putInt(senderHashes[i]).put(flags[i]);
+        entry.clear();
+        long position = INDEX_HEADER_SIZE + (long) i * INDEX_ENTRY_SIZE;
+        while (entry.hasRemaining()) {
+            index.write(entry, position + entry.position());
+        }
+    }
+
+    private void addEntry(long offset, long timestamp, int length, int idHash, int senderHash, byte flag) {
+        ensureCapacity(size + 1);
+        if (size > 0 && timestamp < timestamps[size - 1]) {
+            chronological = false;
+        }
+        offsets[size] = offset;
+        timestamps[size] = timestamp;
+        lengths[size] = length;
+        idHashes[size] = idHash;
+        senderHashes[size] = senderHash;
+        flags[size] = flag;
+        Integer previous = latestByIdHash.put(idHash, size);
+        previousSameId[size] = previous != null ? previous : -1;
+        if ((flag & FLAG_READ) == 0) {
+            unreadCount++;
+        }
+        size++;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity <= offsets.length) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, Math.max(64, offsets.length * 2));
+        offsets = Arrays.copyOf(offsets, newCapacity);
+        timestamps = Arrays.copyOf(timestamps, newCapacity);
+        lengths = Arrays.copyOf(lengths, newCapacity);
+        idHashes = Arrays.copyOf(idHashes, newCapacity);
+        senderHashes = Arrays.copyOf(senderHashes, newCapacity);
+        flags = Arrays.copyOf(flags, newCapacity);
+        previousSameId = Arrays.copyOf(previousSameId, newCapacity);
+    }
+
+    private void resetIndex() {
+        size = 0;
+        latestByIdHash.clear();
+        unreadCount = 0;
+        chronological = true;
+    }
+}
@@ -6,6 +6,7 @@ import jp.moyashi.phoneos.core.input.GestureEvent;
 import jp.moyashi.phoneos.core.input.GestureType;
 import jp.moyashi.phoneos.core.input.GestureListener;
 import jp.moyashi.phoneos.core.Kernel;
+import jp.moyashi.phoneos.core.render.LayerSource;
 import processing.core.PApplet;
 import processing.core.PGraphics;
 import processing.core.PFont;
@@ -16,6 +17,7 @@ import processing.core.PImage;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -27,10 +29,13 @@ import java.util.stream.Collectors;
  * @version 1.0
  * @since 1.0
  */
-public class NotificationManager implements GestureListener {
+public class NotificationManager implements GestureListener, LayerSource {
     
     /** 通知のリスト（スレッドセーフ） */
     private final List<INotification> notifications;
+
+    /** 保持レイヤーの再描画用リビジョン（invalidateLayer()で進める） */
+    private final AtomicLong layerRevision = new AtomicLong();
     
     /** 現在の表示状態 */
     private boolean isVisible;
@@ -71,6 +76,11 @@ public class NotificationManager implements GestureListener {
     /** Kernelの参照（動的優先度変更時の再ソート用） */
     private jp.moyashi.phoneos.core.Kernel kernel;
 
+    /** 通知ごとに参照する設定のハンドル（bindSettings()で作成） */
+    private volatile SettingsManager boundSettings;
+    private volatile BooleanSetting silentModeSetting;
+    private volatile BooleanSetting chatEnabledSetting;
+
     /** パネルの幅 */
     private int panelWidth;
 
@@ -193,7 +203,8 @@ public class NotificationManager implements GestureListener {
         if (kernel == null || kernel.getSettingsManager() == null) {
             return false;
         }
-        return kernel.getSettingsManager().getBooleanSetting("audio.silent_mode", false);
+        bindSettings(kernel.getSettingsManager());
+        return silentModeSetting.get();
     }
 
     /**
@@ -205,7 +216,32 @@ public class NotificationManager implements GestureListener {
         if (kernel == null || kernel.getSettingsManager() == null) {
             return true; // デフォルトは有効
         }
-        return kernel.getSettingsManager().getBooleanSetting("notification.chat_enabled", true);
+        bindSettings(kernel.getSettingsManager());
+        return chatEnabledSetting.get();
+    }
+
+    /**
+     * 参照する設定のハンドルを作成する（SettingsManagerが変わった場合は作り直す）。
+     * 作成済みなら volatile の読み取りだけで戻り、ロックは作成・作り直しの時だけ取る。
+     *
+     * @param settings 設定マネージャー
+     */
+    private void bindSettings(SettingsManager settings) {
+        if (boundSettings == settings) {
+            return;
+        }
+        synchronized (this) {
+            if (boundSettings == settings) {
+                return;
+            }
+            if (silentModeSetting != null) {
+                silentModeSetting.close();
+                chatEnabledSetting.close();
+            }
+            silentModeSetting = settings.booleanSetting("audio.silent_mode", false);
+            chatEnabledSetting = settings.booleanSetting("notification.chat_enabled", true);
+            boundSettings = settings;
+        }
     }
 
     /**
@@ -369,6 +405,58 @@ public class NotificationManager implements GestureListener {
     public boolean isVisible() {
         return isVisible;
     }
+
+    /**
+     * 描画が必要な状態（表示中または開閉アニメーション中）かどうかを確認する。
+     * RenderPipelineのダメージ判定に使用される。
+     *
+     * @return 描画が必要な場合true
+     */
+    public boolean needsRedraw() {
+        return isVisible || animationProgress > 0.01f;
+    }
+
+    // =========================================================================
+    // LayerSource実装（OverlayCompositorの保持レイヤー用）
+    // =========================================================================
+
+    @Override
+    public void drawLayer(PGraphics g) {
+        draw(g);
+    }
+
+    @Override
+    public boolean isLayerActive() {
+        return needsRedraw();
+    }
+
+    @Override
+    public boolean isLayerAnimating() {
+        return Math.abs(animationProgress - targetAnimationProgress) > 0.01f;
+    }
+
+    @Override
+    public long getLayerStateStamp() {
+        long stamp = notifications.size();
+        stamp = stamp * 31 + Float.floatToIntBits(scrollOffset);
+        stamp = stamp * 31 + Float.floatToIntBits(animationProgress);
+        stamp = stamp * 31 + (isVisible ? 1 : 0);
+        stamp = stamp * 31 + layerRevision.get();
+        if (isVisible) {
+            for (INotification notification : notifications) {
+                stamp = stamp * 31 + System.identityHashCode(notification) * 2L + (notification.isRead() ? 1 : 0);
+            }
+        }
+        return stamp;
+    }
+
+    /**
+     * 通知センターの保持レイヤーを次フレームで再描画させる。
+     * 通知のクリックなど、状態スタンプに現れない表示の変化があった場合に呼び出す。
+     */
+    public void invalidateLayer() {
+        layerRevision.incrementAndGet();
+    }
     
     /**
      * スクロール制限を更新する。
@@ -691,10 +779,8 @@ public class NotificationManager implements GestureListener {
      */
     private void updateAnimation() {
         // Reduce Motion対応: 進行を早める
-        boolean reduce = false;
-        if (kernel != null && kernel.getSettingsManager() != null) {
-            reduce = kernel.getSettingsManager().getBooleanSetting("ui.motion.reduce", false);
-        }
+        boolean reduce = kernel != null
+                && jp.moyashi.phoneos.core.ui.effects.Motion.reduce(kernel.getSettingsManager());
         float speed = reduce ? (ANIMATION_SPEED * 2.5f) : ANIMATION_SPEED;
         // TODO: 低電力モード(ui.performance.low_power)時にさらなる簡略化（速度上げ/アニメ省略）を検討
         if (Math.abs(animationProgress - targetAnimationProgress) > 0.01f) {
@@ -840,6 +926,7 @@ public class NotificationManager implements GestureListener {
                 
                 // 通知のクリック処理
                 if (notification.onClick(event.getCurrentX(), event.getCurrentY())) {
+                    invalidateLayer();
                     System.out.println("NotificationManager: Clicked notification: " + notification.getTitle());
                     return true;
                 }
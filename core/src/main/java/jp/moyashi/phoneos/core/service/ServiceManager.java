@@ -115,6 +115,7 @@ public class ServiceManager {
             System.out.println("ServiceManager: Reusing existing instance for " + appId);
             existingInfo.incrementLaunchCount();
             existingInfo.setForeground(true);
+            kernel.requestFrame();
 
             // ライフサイクルイベント通知
             try {
@@ -148,6 +149,7 @@ public class ServiceManager {
             info.setForeground(true);
             info.incrementLaunchCount();
             processes.put(appId, info);
+            kernel.requestFrame();
 
             System.out.println("ServiceManager: Created new instance for " + appId);
             return screen;
@@ -171,6 +173,7 @@ public class ServiceManager {
         if (info != null) {
             info.setBackgroundService(true);
             config.addAutostartApp(appId);
+            kernel.requestFrame();
             System.out.println("ServiceManager: Registered background service: " + appId);
         } else {
             System.err.println("ServiceManager: Cannot register background service - app not found: " + appId);
@@ -187,6 +190,7 @@ public class ServiceManager {
         if (info != null) {
             info.setBackgroundService(false);
             config.removeAutostartApp(appId);
+            kernel.requestFrame();
             System.out.println("ServiceManager: Unregistered background service: " + appId);
         }
     }
@@ -258,6 +262,7 @@ public class ServiceManager {
                 info.incrementCrashCount();
             }
 
+            kernel.requestFrame();
             System.out.println("ServiceManager: Set foreground for " + appId + ": " + isForeground);
         }
     }
@@ -274,6 +279,7 @@ public class ServiceManager {
         ProcessInfo info = processes.get(appId);
         if (info != null) {
             info.setPriority(priority);
+            kernel.requestFrame();
             System.out.println("ServiceManager: Set priority for " + appId + ": " + priority);
         }
     }
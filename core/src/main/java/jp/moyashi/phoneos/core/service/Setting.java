@@ -0,0 +1,66 @@
+package jp.moyashi.phoneos.core.service;
+
+import java.util.function.Function;
+
+/**
+ * 型付き設定のハンドル（文字列・オブジェクト用）。
+ *
+ * 値をvolatileフィールドに保持し、SettingsManagerのキー別リスナーで変更時に更新する。
+ * get()はフィールドを読むだけなので、描画ループから毎フレーム呼び出してもキーの検索や型変換は発生しない。
+ * 保存値からの読み取りはParser、保存する値への変換はformatterで行う。
+ * 真偽値・整数はボックス化を避けるためBooleanSetting/IntSettingを使う。
+ * SettingsManager.stringSetting()/setting()で作成する。
+ *
+ * @param <T> 値の型
+ */
+public final class Setting<T> extends SettingHandle {
+
+    /**
+     * 保存値から型付きの値を読み取る。
+     *
+     * @param <T> 値の型
+     */
+    @FunctionalInterface
+    public interface Parser<T> {
+        /**
+         * @param settings 設定マネージャー
+         * @param key 設定キー
+         * @param defaultValue 未設定・変換できない場合の値
+         * @return 現在の値
+         */
+        T parse(SettingsManager settings, String key, T defaultValue);
+    }
+
+    private final T defaultValue;
+    private final Parser<T> parser;
+    private final Function<? super T, ?> formatter;
+    private volatile T value;
+
+    Setting(SettingsManager settings, String key, T defaultValue,
+            Parser<T> parser, Function<? super T, ?> formatter) {
+        super(settings, key);
+        this.defaultValue = defaultValue;
+        this.parser = parser;
+        this.formatter = formatter;
+        bind();
+    }
+
+    /** 現在の値 */
+    public T get() {
+        return value;
+    }
+
+    /**
+     * 値を変更する。永続化は呼び出し側で適宜（SettingsManager.saveSettings()）。
+     *
+     * @param newValue 新しい値
+     */
+    public void set(T newValue) {
+        settings.setSetting(getKey(), formatter.apply(newValue));
+    }
+
+    @Override
+    void reload() {
+        value = parser.parse(settings, getKey(), defaultValue);
+    }
+}
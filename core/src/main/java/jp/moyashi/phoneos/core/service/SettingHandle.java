@@ -0,0 +1,51 @@
+package jp.moyashi.phoneos.core.service;
+
+/**
+ * 設定ハンドルの共通部分。
+ *
+ * SettingsManagerのキー別リスナーとして登録し、変更時にreload()で値を読み直す。
+ * 値の保持は型ごとのサブクラスで行う（真偽値・整数はプリミティブのvolatileフィールドに保持し、get()でボックス化しない）。
+ *
+ * @see BooleanSetting
+ * @see IntSetting
+ * @see Setting
+ */
+public abstract class SettingHandle implements SettingsManager.SettingsListener {
+
+    final SettingsManager settings;
+    private final String key;
+
+    SettingHandle(SettingsManager settings, String key) {
+        this.settings = settings;
+        this.key = key;
+    }
+
+    /**
+     * リスナーを登録して現在の値を読み込む。サブクラスのコンストラクタの最後で呼ぶ。
+     * 登録後に読み込み、登録までの間の変更を取りこぼさないようにする。
+     */
+    final void bind() {
+        settings.addKeyListener(key, this);
+        reload();
+    }
+
+    /** 保存値から現在の値を読み直す */
+    abstract void reload();
+
+    /** 設定キー */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * 変更の追跡を停止する。以降get()は最後の値を返す。
+     */
+    public void close() {
+        settings.removeKeyListener(key, this);
+    }
+
+    @Override
+    public final void onSettingChanged(String changedKey, Object newValue) {
+        reload();
+    }
+}
@@ -4,32 +4,86 @@ import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.reflect.TypeToken;
 
+import java.io.BufferedReader;
+import java.io.IOException;
 import java.lang.reflect.Type;
-import java.util.HashMap;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 /**
  * スマートフォンOS用の設定管理サービス。
  * - メモリ上の設定データ
  * - VFSへのJSON永続化
  * - 設定変更リスナーへの通知
+ *
+ * 永続化:
+ * - 変更されたキーのみを記録し、saveSettings()から一定時間後にバックグラウンドでまとめて書き出す
+ * - 書き出しは変更キーのみを追記専用のジャーナル（registry.journal）に1行ずつ追記する
+ * - ジャーナルが一定行数を超えた時点でregistry.jsonへ全体を書き出し、ジャーナルを空にする（コンパクション）
+ * - 読み込み時はregistry.jsonの後にジャーナルを順に適用する
+ *
+ * 読み込み:
+ * - 値は設定時にboolean/int/double/Stringへ変換済みで保持し、型別の取得はボックス化・キャストなしで行う
  */
 public class SettingsManager {
 
-    /** 設定のキー値ペアを格納する内部ストレージ */
-    private final Map<String, Object> settings;
+    /** 設定のキーと値（変換済み）を格納する内部ストレージ */
+    private final Map<String, StoredValue> settings;
 
     /** JSON変換用Gson */
     private final Gson gson;
 
+    /** ジャーナル用Gson（1行、null値を含む） */
+    private final Gson journalGson;
+
     /** 永続化用VFS */
     private final VFS vfs;
 
     /** レジストリの保存パス */
     private static final String REGISTRY_PATH = "system/settings/registry.json";
 
+    /** ジャーナルの保存パス */
+    private static final String JOURNAL_PATH = "system/settings/registry.journal";
+
+    /** saveSettings()から書き出しまでの遅延（ミリ秒） */
+    private static final long FLUSH_DELAY_MS = 500;
+
+    /** コンパクションを行うジャーナルの行数 */
+    private static final int COMPACT_THRESHOLD = 256;
+
+    /** 書き出し待ちの変更キー */
+    private final Set<String> dirtyKeys = ConcurrentHashMap.newKeySet();
+
+    /** 書き出しが予約済みかどうか */
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    /** 書き出し処理の排他 */
+    private final Object flushLock = new Object();
+
+    /** 書き出し用タイマー（初回の保存時に作成） */
+    private ScheduledThreadPoolExecutor flushTimer;
+
+    /** ジャーナルの行数 */
+    private int journalEntries;
+
     /** 変更リスナー */
     public interface SettingsListener {
         void onSettingChanged(String key, Object newValue);
@@ -37,6 +91,9 @@ public class SettingsManager {
 
     private final Set<SettingsListener> listeners = new HashSet<>();
 
+    /** キーごとの変更リスナー */
+    private final Map<String, List<SettingsListener>> keyListeners = new ConcurrentHashMap<>();
+
     /**
      * 新しいSettingsManagerインスタンスを構築する。
      *
@@ -45,7 +102,8 @@ public class SettingsManager {
     public SettingsManager(VFS vfs) {
         this.vfs = vfs;
         this.gson = new GsonBuilder().setPrettyPrinting().create();
-        this.settings = new HashMap<>();
+        this.journalGson = new GsonBuilder().serializeNulls().create();
+        this.settings = new ConcurrentHashMap<>();
 
         // デフォルト設定を投入
         loadDefaultSettings();
@@ -59,130 +117,419 @@ public class SettingsManager {
     /** デフォルト設定を登録。存在しないキーのみ採用する。 */
     private void loadDefaultSettings() {
         // 一般設定
-        settings.putIfAbsent("display_brightness", 75);
-        settings.putIfAbsent("sound_enabled", true);
+        putDefault("display_brightness", 75);
+        putDefault("sound_enabled", true);
 
         // UIレジストリ（テーマ・外観）
-        settings.putIfAbsent("ui.theme.mode", "light"); // legacy
-        settings.putIfAbsent("ui.theme.tone", "light");  // new: light | dark | auto
-        settings.putIfAbsent("ui.theme.family", "white"); // new: white | orange | yellow | pink | green | black
-
-        settings.putIfAbsent("ui.theme.seed_color", "#4A90E2");
-        settings.putIfAbsent("ui.theme.accent_color", null);
-        settings.putIfAbsent("ui.theme.use_dynamic_palette", true);
-        settings.putIfAbsent("ui.theme.contrast", "normal"); // normal | high
-        settings.putIfAbsent("ui.typography.base_size", 14);
-        settings.putIfAbsent("ui.motion.reduce", false);
-        settings.putIfAbsent("ui.performance.low_power", false);
-        settings.putIfAbsent("ui.shape.corner_scale", "standard"); // compact | standard | rounded
-        settings.putIfAbsent("ui.effects.elevation_scale", 1.0);
+        putDefault("ui.theme.mode", "light"); // legacy
+        putDefault("ui.theme.tone", "light");  // new: light | dark | auto
+        putDefault("ui.theme.family", "white"); // new: white | orange | yellow | pink | green | black
+
+        putDefault("ui.theme.seed_color", "#4A90E2");
+        putDefault("ui.theme.accent_color", null);
+        putDefault("ui.theme.use_dynamic_palette", true);
+        putDefault("ui.theme.contrast", "normal"); // normal | high
+        putDefault("ui.typography.base_size", 14);
+        putDefault("ui.motion.reduce", false);
+        putDefault("ui.performance.low_power", false);
+        putDefault("ui.shape.corner_scale", "standard"); // compact | standard | rounded
+        putDefault("ui.effects.elevation_scale", 1.0);
 
         // Battery（バッテリー設定）
-        settings.putIfAbsent("power.battery_saver.enabled", false);
-        settings.putIfAbsent("power.battery_saver.auto", true);
-        settings.putIfAbsent("power.battery_saver.threshold", 20);
-        settings.putIfAbsent("display.screen_timeout", 30); // 秒単位
+        putDefault("power.battery_saver.enabled", false);
+        putDefault("power.battery_saver.auto", true);
+        putDefault("power.battery_saver.threshold", 20);
+        putDefault("display.screen_timeout", 30); // 秒単位
 
         // Sound & Vibration（音声・振動設定）
-        settings.putIfAbsent("audio.master_volume", 75); // 0-100
-        settings.putIfAbsent("audio.notification_sound", true);
-        settings.putIfAbsent("audio.touch_sound", true);
-        settings.putIfAbsent("audio.vibration", true);
-        settings.putIfAbsent("audio.ringtone", "default"); // 着信音ID
+        putDefault("audio.master_volume", 75); // 0-100
+        putDefault("audio.notification_sound", true);
+        putDefault("audio.touch_sound", true);
+        putDefault("audio.vibration", true);
+        putDefault("audio.ringtone", "default"); // 着信音ID
 
         System.out.println("SettingsManager: Default settings loaded");
     }
 
-    /** ストレージからJSONを読み出して設定に反映 */
+    /** デフォルト値を登録（既に存在するキーは変更しない） */
+    private void putDefault(String key, Object value) {
+        settings.putIfAbsent(key, new StoredValue(value));
+    }
+
+    /** ストレージからJSONとジャーナルを読み出して設定に反映 */
     private void loadFromStorage() {
         if (vfs == null) return;
         String json = vfs.readFile(REGISTRY_PATH);
-        if (json == null || json.isEmpty()) {
-            // ない場合は初期を書き込む
-            saveSettings();
+        if (json != null && !json.isEmpty()) {
+            try {
+                Type type = new TypeToken<Map<String, Object>>() {}.getType();
+                Map<String, Object> loaded = gson.fromJson(json, type);
+                if (loaded != null) {
+                    for (Map.Entry<String, Object> entry : loaded.entrySet()) {
+                        settings.put(entry.getKey(), new StoredValue(entry.getValue()));
+                    }
+                }
+            } catch (Exception e) {
+                System.err.println("SettingsManager: JSON読み込みエラー: " + e.getMessage());
+            }
+        }
+
+        replayJournal();
+
+        if (json == null || json.isEmpty() || journalEntries >= COMPACT_THRESHOLD) {
+            // ない場合は初期を書き込む（ジャーナルが長い場合はここで畳み込む）
+            synchronized (flushLock) {
+                compact();
+            }
+        }
+    }
+
+    /** ジャーナルを先頭から順に適用する（書き込み途中の最終行は無視） */
+    private void replayJournal() {
+        Path journal = journalPath();
+        if (!Files.exists(journal)) {
             return;
         }
-        try {
-            Type type = new TypeToken<Map<String, Object>>() {}.getType();
-            Map<String, Object> loaded = gson.fromJson(json, type);
-            if (loaded != null) {
-                settings.putAll(loaded);
+        Type type = new TypeToken<Map<String, Object>>() {}.getType();
+        int applied = 0;
+        try (BufferedReader reader = Files.newBufferedReader(journal, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) continue;
+                try {
+                    Map<String, Object> entry = journalGson.fromJson(line, type);
+                    Object key = entry != null ? entry.get("k") : null;
+                    if (key != null) {
+                        settings.put(key.toString(), new StoredValue(entry.get("v")));
+                        applied++;
+                    }
+                } catch (Exception e) {
+                    System.err.println("SettingsManager: ジャーナルの不正な行をスキップ: " + e.getMessage());
+                }
             }
-        } catch (Exception e) {
-            System.err.println("SettingsManager: JSON読み込みエラー: " + e.getMessage());
+        } catch (IOException e) {
+            System.err.println("SettingsManager: ジャーナル読み込みエラー: " + e.getMessage());
         }
+        journalEntries = applied;
     }
 
     /** 設定値の取得 */
     public Object getSetting(String key) {
-        Object value = settings.get(key);
+        StoredValue setting = settings.get(key);
         //System.out.println("SettingsManager: Getting setting " + key + " = " + value);
-        return value;
+        return setting != null ? setting.value : null;
     }
 
     /** 設定値の更新＋リスナーへの通知。永続化は呼び出し側で適宜！ */
     public void setSetting(String key, Object value) {
-        settings.put(key, value);
+        settings.put(key, new StoredValue(value));
+        dirtyKeys.add(key);
+        List<SettingsListener> forKey = keyListeners.get(key);
+        if (forKey != null) {
+            for (SettingsListener l : forKey) {
+                try { l.onSettingChanged(key, value); } catch (Exception ignored) {}
+            }
+        }
         for (SettingsListener l : listeners) {
             try { l.onSettingChanged(key, value); } catch (Exception ignored) {}
         }
         System.out.println("SettingsManager: Setting " + key + " = " + value);
     }
 
-    /** 型安全な取得ユーティリティ */
+    /** 型安全な取得ユーティリティ（変換済みの値を返すためボックス化・キャストなし） */
     public String getStringSetting(String key, String defaultValue) {
-        Object value = settings.get(key);
-        return value != null ? value.toString() : defaultValue;
+        StoredValue setting = settings.get(key);
+        return setting != null && setting.stringValue != null ? setting.stringValue : defaultValue;
     }
 
     public int getIntSetting(String key, int defaultValue) {
-        Object value = settings.get(key);
-        if (value instanceof Number) {
-            return ((Number) value).intValue();
-        }
-        try {
-            return value != null ? Integer.parseInt(value.toString()) : defaultValue;
-        } catch (Exception e) {
-            return defaultValue;
-        }
+        StoredValue setting = settings.get(key);
+        return setting != null && setting.hasInt ? setting.intValue : defaultValue;
     }
 
     public boolean getBooleanSetting(String key, boolean defaultValue) {
-        Object value = settings.get(key);
-        if (value instanceof Boolean) {
-            return (Boolean) value;
+        StoredValue setting = settings.get(key);
+        return setting != null && setting.value != null ? setting.booleanValue : defaultValue;
+    }
+
+    public double getDoubleSetting(String key, double defaultValue) {
+        StoredValue setting = settings.get(key);
+        return setting != null && setting.hasDouble ? setting.doubleValue : defaultValue;
+    }
+
+    /**
+     * 変更を永続化する。
+     * 変更されたキーは一定時間後にバックグラウンドでまとめてジャーナルへ追記されるため、
+     * 連続して呼び出してもファイルへの書き込みは1回にまとめられる。
+     *
+     * @return 永続化が有効な場合true
+     */
+    public boolean saveSettings() {
+        if (vfs == null) return false;
+        if (!dirtyKeys.isEmpty() && flushScheduled.compareAndSet(false, true)) {
+            try {
+                flushTimer().schedule(this::flushScheduled, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                flushScheduled.set(false);
+                System.err.println("SettingsManager: 保存の予約に失敗: " + e.getMessage());
+                flush();
+            }
         }
-        if (value != null) {
-            return Boolean.parseBoolean(value.toString());
+        return true;
+    }
+
+    /**
+     * 変更されたキーを呼び出し元スレッドで直ちに書き出す。
+     */
+    public void flush() {
+        if (vfs == null) return;
+        synchronized (flushLock) {
+            if (dirtyKeys.isEmpty()) {
+                return;
+            }
+            List<String> keys = new ArrayList<>(dirtyKeys);
+            StringBuilder lines = new StringBuilder();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            for (String key : keys) {
+                // 書き出す前に変更マークを外す（以降の変更は次回の書き出しに含まれる）
+                dirtyKeys.remove(key);
+                StoredValue setting = settings.get(key);
+                entry.put("k", key);
+                entry.put("v", setting != null ? setting.value : null);
+                lines.append(journalGson.toJson(entry)).append('\n');
+            }
+
+            try {
+                appendJournal(lines.toString());
+                journalEntries += keys.size();
+            } catch (IOException e) {
+                System.err.println("SettingsManager: ジャーナル書き込みエラー: " + e.getMessage());
+                // 次回の書き出しで再試行
+                dirtyKeys.addAll(keys);
+                return;
+            }
+
+            if (journalEntries >= COMPACT_THRESHOLD) {
+                compact();
+            }
         }
-        return defaultValue;
     }
 
-    public double getDoubleSetting(String key, double defaultValue) {
-        Object value = settings.get(key);
-        if (value instanceof Number) {
-            return ((Number) value).doubleValue();
+    /**
+     * 書き出し待ちの変更を書き出し、レジストリを畳み込んでタイマーを停止する。
+     */
+    public void shutdown() {
+        flush();
+        synchronized (flushLock) {
+            if (journalEntries > 0) {
+                compact();
+            }
         }
+        synchronized (this) {
+            if (flushTimer != null) {
+                flushTimer.shutdownNow();
+                flushTimer = null;
+            }
+        }
+    }
+
+    private void flushScheduled() {
+        flushScheduled.set(false);
         try {
-            return value != null ? Double.parseDouble(value.toString()) : defaultValue;
+            flush();
         } catch (Exception e) {
-            return defaultValue;
+            System.err.println("SettingsManager: 保存エラー: " + e.getMessage());
         }
     }
 
-    /** JSONとして永続化 */
-    public boolean saveSettings() {
-        if (vfs == null) return false;
+    /**
+     * 全設定をregistry.jsonへ書き出し、ジャーナルを空にする。flushLockを保持して呼び出すこと。
+     */
+    private void compact() {
         try {
-            String json = gson.toJson(settings);
-            return vfs.writeFile(REGISTRY_PATH, json);
+            Map<String, Object> snapshot = new TreeMap<>();
+            for (Map.Entry<String, StoredValue> entry : settings.entrySet()) {
+                snapshot.put(entry.getKey(), entry.getValue().value);
+            }
+            String json = gson.toJson(snapshot);
+            if (!vfs.writeFile(REGISTRY_PATH, json)) {
+                return;
+            }
+            // レジストリの書き込み後にジャーナルを空にする（途中で終了しても再適用は同じ結果になる）
+            Files.deleteIfExists(journalPath());
+            journalEntries = 0;
         } catch (Exception e) {
             System.err.println("SettingsManager: 保存エラー: " + e.getMessage());
-            return false;
         }
     }
 
+    private void appendJournal(String lines) throws IOException {
+        Path journal = journalPath();
+        Path parent = journal.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (FileChannel channel = FileChannel.open(journal, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(lines.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    private Path journalPath() {
+        return Paths.get(vfs.getFullPath(JOURNAL_PATH));
+    }
+
+    private synchronized ScheduledThreadPoolExecutor flushTimer() {
+        if (flushTimer == null) {
+            flushTimer = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread t = new Thread(r, "SettingsManager-Flush");
+                t.setDaemon(true);
+                return t;
+            });
+            // JVM終了時に書き出し待ちの変更を失わないようにする
+            try {
+                Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "SettingsManager-Shutdown"));
+            } catch (IllegalStateException ignored) {
+                // JVM終了処理中
+            }
+        }
+        return flushTimer;
+    }
+
     /** リスナー登録/解除 */
     public void addListener(SettingsListener listener) { if (listener != null) listeners.add(listener); }
     public void removeListener(SettingsListener listener) { if (listener != null) listeners.remove(listener); }
+
+    /**
+     * 指定キーの変更のみを通知するリスナーを登録する。
+     * 全体リスナーと異なり、他のキーの変更では呼び出されない。
+     *
+     * @param key 設定キー
+     * @param listener リスナー
+     */
+    public void addKeyListener(String key, SettingsListener listener) {
+        if (key == null || listener == null) return;
+        keyListeners.computeIfAbsent(key, k -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * 指定キーのリスナーを解除する。
+     *
+     * @param key 設定キー
+     * @param listener リスナー
+     */
+    public void removeKeyListener(String key, SettingsListener listener) {
+        if (key == null || listener == null) return;
+        List<SettingsListener> forKey = keyListeners.get(key);
+        if (forKey != null) {
+            forKey.remove(listener);
+        }
+    }
+
+    /**
+     * 真偽値設定のハンドルを作成する。
+     * ハンドルは値をフィールドに保持し変更時に更新されるため、描画ループなどから毎回キーで検索せずに参照できる。
+     * ハンドルは変更リスナーとして登録されるため、呼び出し側で保持して使い回すこと。
+     *
+     * @param key 設定キー
+     * @param defaultValue 未設定・変換できない場合の値
+     * @return ハンドル
+     */
+    public BooleanSetting booleanSetting(String key, boolean defaultValue) {
+        return new BooleanSetting(this, key, defaultValue);
+    }
+
+    /**
+     * 整数設定のハンドルを作成する。
+     *
+     * @param key 設定キー
+     * @param defaultValue 未設定・変換できない場合の値
+     * @return ハンドル
+     * @see #booleanSetting(String, boolean)
+     */
+    public IntSetting intSetting(String key, int defaultValue) {
+        return new IntSetting(this, key, defaultValue);
+    }
+
+    /**
+     * 文字列設定のハンドルを作成する。
+     *
+     * @param key 設定キー
+     * @param defaultValue 未設定の場合の値
+     * @return ハンドル
+     * @see #booleanSetting(String, boolean)
+     */
+    public Setting<String> stringSetting(String key, String defaultValue) {
+        return new Setting<>(this, key, defaultValue, SettingsManager::getStringSetting, Function.identity());
+    }
+
+    /**
+     * 任意の型の設定ハンドルを作成する。
+     *
+     * @param key 設定キー
+     * @param defaultValue 未設定・変換できない場合の値
+     * @param parser 保存値から値を読み取る処理
+     * @param formatter 値を保存する形式に変換する処理
+     * @param <T> 値の型
+     * @return ハンドル
+     * @see #booleanSetting(String, boolean)
+     */
+    public <T> Setting<T> setting(String key, T defaultValue,
+                                  Setting.Parser<T> parser, Function<? super T, ?> formatter) {
+        return new Setting<>(this, key, defaultValue, parser, formatter);
+    }
+
+    /**
+     * 設定値と、型別の取得用に変換済みの値。
+     * 変換は従来のget*Setting()と同じ規則で設定時に1回だけ行う。
+     */
+    private static final class StoredValue {
+        final Object value;
+        final String stringValue;
+        final boolean booleanValue;
+        final boolean hasInt;
+        final int intValue;
+        final boolean hasDouble;
+        final double doubleValue;
+
+        StoredValue(Object value) {
+            this.value = value;
+            this.stringValue = value != null ? value.toString() : null;
+
+            if (value instanceof Boolean) {
+                this.booleanValue = (Boolean) value;
+            } else {
+                this.booleanValue = value != null && Boolean.parseBoolean(stringValue);
+            }
+
+            boolean intParsed = false;
+            int i = 0;
+            boolean doubleParsed = false;
+            double d = 0.0;
+            if (value instanceof Number) {
+                i = ((Number) value).intValue();
+                d = ((Number) value).doubleValue();
+                intParsed = true;
+                doubleParsed = true;
+            } else if (value != null) {
+                try {
+                    i = Integer.parseInt(stringValue);
+                    intParsed = true;
+                } catch (NumberFormatException ignored) {
+                }
+                try {
+                    d = Double.parseDouble(stringValue);
+                    doubleParsed = true;
+                } catch (NumberFormatException ignored) {
+                }
+            }
+            this.hasInt = intParsed;
+            this.intValue = i;
+            this.hasDouble = doubleParsed;
+            this.doubleValue = d;
+        }
+    }
 }
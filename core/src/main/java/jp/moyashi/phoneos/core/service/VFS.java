@@ -1,11 +1,26 @@
 package jp.moyashi.phoneos.core.service;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.ArrayList;
@@ -14,6 +29,13 @@ import java.util.ArrayList;
  * スマートフォンOS用の仮想ファイルシステムサービス。
  * このクラスはファイル操作を管理し、実際のファイルシステムへの永続化機能を提供する。
  * 実行ディレクトリに「mochi_os_data」フォルダを作成し、そこにOSデータを保存する。
+ *
+ * 書き込みは一時ファイルへ書いてからリネームで置き換えるため、書き込み中に終了しても
+ * 既存ファイルが途中で切れることはない。
+ * readFileAsync()/writeFileAsync()は上限付きのI/Oスレッドで実行され、
+ * 統合ウィンドウ内の同じパスへの非同期書き込みは最後の内容のみを1回書き込む。
+ * I/Oキューが一杯の場合、非同期読み込みは呼び出し元（描画スレッドなど）で実行せず例外で完了する。
+ * 書き込み待ちの内容は同期・非同期どちらの読み込みにも反映される。
  * 
  * @author YourName
  * @version 2.0
@@ -25,6 +47,46 @@ public class VFS {
     
     /** システムファイル用のサブディレクトリパス */
     private final Path systemPath;
+
+    /** 詳細ログ（-Dmochi.vfsVerbose=true で有効） */
+    private static final boolean VERBOSE = Boolean.getBoolean("mochi.vfsVerbose");
+
+    /** 非同期書き込みのデフォルトの統合ウィンドウ（ミリ秒） */
+    public static final long DEFAULT_COALESCE_WINDOW_MS = 250;
+
+    /** 書き込み用一時ファイルの接尾辞 */
+    private static final String TEMP_SUFFIX = ".vfs-tmp";
+
+    /** I/Oスレッド数 */
+    private static final int IO_THREADS = 2;
+
+    /** I/Oキューの上限（超過時、非同期読み込みは拒否し、統合タイマーからの書き込みはタイマースレッドで実行） */
+    private static final int IO_QUEUE_CAPACITY = 256;
+
+    /** パスごとの書き込みロックのストライプ数（2のべき乗） */
+    private static final int LOCK_STRIPES = 64;
+
+    /** 統合タイマースレッドの名前 */
+    private static final String COALESCE_THREAD_NAME = "VFS-Coalesce";
+
+    /** パスごとの書き込み待ち */
+    private final Map<Path, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+
+    /**
+     * パスごとの書き込みロック（パスのハッシュで選ぶストライプ）。
+     * パスごとにロックを作るとアクセスしたパスの数だけ増え続けるため、固定数のロックを共有する。
+     * 同時に複数のパスのロックを保持することはないため、ストライプの共有でデッドロックは起きない。
+     */
+    private final Object[] pathLocks = new Object[LOCK_STRIPES];
+
+    /** I/Oスレッド（初回の非同期呼び出し時に作成） */
+    private ThreadPoolExecutor ioExecutor;
+
+    /** 統合ウィンドウ用タイマー */
+    private ScheduledThreadPoolExecutor coalesceTimer;
+
+    /** シャットダウンフックを登録済みかどうか */
+    private boolean shutdownHookRegistered;
     
     /**
      * 新しいVFSインスタンスを構築する。
@@ -42,6 +104,9 @@ public class VFS {
      * @param worldId ワールドID（nullの場合は共通データ）
      */
     public VFS(String worldId) {
+        for (int i = 0; i < pathLocks.length; i++) {
+            pathLocks[i] = new Object();
+        }
         try {
             // ルートディレクトリパスを設定（ワールドID毎に分離）
             if (worldId != null && !worldId.isEmpty()) {
@@ -85,10 +150,10 @@ public class VFS {
             // ファイルを作成（存在しない場合のみ）
             if (!Files.exists(filePath)) {
                 Files.createFile(filePath);
-                System.out.println("VFS: ファイル作成成功: " + path);
+                verbose("ファイル作成成功: " + path);
                 return true;
             } else {
-                System.out.println("VFS: ファイルは既に存在: " + path);
+                verbose("ファイルは既に存在: " + path);
                 return false;
             }
             
@@ -107,9 +172,15 @@ public class VFS {
     public String readFile(String path) {
         try {
             Path filePath = resolveVFSPath(path);
+
+            // 書き込み待ちの内容があればそれを返す
+            byte[] pending = pendingData(filePath);
+            if (pending != null) {
+                return new String(pending, StandardCharsets.UTF_8);
+            }
             
             if (!Files.exists(filePath)) {
-                System.out.println("VFS: ファイルが見つかりません: " + path);
+                verbose("ファイルが見つかりません: " + path);
                 return null;
             }
             
@@ -133,8 +204,14 @@ public class VFS {
         try {
             Path filePath = resolveVFSPath(path);
 
+            // 書き込み待ちの内容があればそれを返す
+            byte[] pending = pendingData(filePath);
+            if (pending != null) {
+                return pending.clone();
+            }
+
             if (!Files.exists(filePath)) {
-                System.out.println("VFS: ファイルが見つかりません: " + path);
+                verbose("ファイルが見つかりません: " + path);
                 return null;
             }
 
@@ -156,23 +233,18 @@ public class VFS {
      * @return 書き込みが成功した場合true、失敗した場合false
      */
     public boolean writeBinaryFile(String path, byte[] data) {
-        try {
-            Path filePath = resolveVFSPath(path);
-
-            // 親ディレクトリが存在しない場合は作成
-            Path parentDir = filePath.getParent();
-            if (parentDir != null && !Files.exists(parentDir)) {
-                Files.createDirectories(parentDir);
+        Path filePath = resolveVFSPath(path);
+        synchronized (lockFor(filePath)) {
+            // 以前の非同期書き込み待ちはこの書き込みで置き換える
+            discardPending(filePath, true);
+            try {
+                writeAtomically(filePath, data);
+                //System.out.println("VFS: バイナリファイル書き込み成功: " + path + " (" + data.length + "バイト)");
+                return true;
+            } catch (IOException e) {
+                System.err.println("VFS: バイナリファイル書き込みエラー [" + path + "]: " + e.getMessage());
+                return false;
             }
-
-            // ファイルに書き込み（既存ファイルを上書き）
-            Files.write(filePath, data, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
-            //System.out.println("VFS: バイナリファイル書き込み成功: " + path + " (" + data.length + "バイト)");
-            return true;
-
-        } catch (IOException e) {
-            System.err.println("VFS: バイナリファイル書き込みエラー [" + path + "]: " + e.getMessage());
-            return false;
         }
     }
 
@@ -184,23 +256,18 @@ public class VFS {
      * @return 書き込みが成功した場合true、失敗した場合false
      */
     public boolean writeFile(String path, String data) {
-        try {
-            Path filePath = resolveVFSPath(path);
-            
-            // 親ディレクトリが存在しない場合は作成
-            Path parentDir = filePath.getParent();
-            if (parentDir != null && !Files.exists(parentDir)) {
-                Files.createDirectories(parentDir);
+        Path filePath = resolveVFSPath(path);
+        synchronized (lockFor(filePath)) {
+            // 以前の非同期書き込み待ちはこの書き込みで置き換える
+            discardPending(filePath, true);
+            try {
+                writeAtomically(filePath, data.getBytes(StandardCharsets.UTF_8));
+                //System.out.println("VFS: ファイル書き込み成功: " + path + " (" + data.length() + "文字)");
+                return true;
+            } catch (IOException e) {
+                System.err.println("VFS: ファイル書き込みエラー [" + path + "]: " + e.getMessage());
+                return false;
             }
-            
-            // ファイルに書き込み（既存ファイルを上書き）
-            Files.writeString(filePath, data, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
-            //System.out.println("VFS: ファイル書き込み成功: " + path + " (" + data.length() + "文字)");
-            return true;
-            
-        } catch (IOException e) {
-            System.err.println("VFS: ファイル書き込みエラー [" + path + "]: " + e.getMessage());
-            return false;
         }
     }
     
@@ -211,21 +278,26 @@ public class VFS {
      * @return ファイルの削除に成功した場合true、失敗した場合false
      */
     public boolean deleteFile(String path) {
-        try {
-            Path filePath = resolveVFSPath(path);
-            
-            if (!Files.exists(filePath)) {
-                System.out.println("VFS: 削除対象のファイルが見つかりません: " + path);
+        Path filePath = resolveVFSPath(path);
+        synchronized (lockFor(filePath)) {
+            // 書き込み待ちがあれば破棄（削除後にファイルが復活しないように）
+            boolean hadPending = discardPending(filePath, false);
+            try {
+                if (!Files.exists(filePath)) {
+                    if (!hadPending) {
+                        verbose("削除対象のファイルが見つかりません: " + path);
+                    }
+                    return hadPending;
+                }
+
+                Files.delete(filePath);
+                verbose("ファイル削除成功: " + path);
+                return true;
+
+            } catch (IOException e) {
+                System.err.println("VFS: ファイル削除エラー [" + path + "]: " + e.getMessage());
                 return false;
             }
-            
-            Files.delete(filePath);
-            System.out.println("VFS: ファイル削除成功: " + path);
-            return true;
-            
-        } catch (IOException e) {
-            System.err.println("VFS: ファイル削除エラー [" + path + "]: " + e.getMessage());
-            return false;
         }
     }
     
@@ -238,7 +310,7 @@ public class VFS {
     private Path resolveVFSPath(String vfsPath) {
         // パスの正規化（先頭の/を除去など）
         String normalizedPath = vfsPath.startsWith("/") ? vfsPath.substring(1) : vfsPath;
-        return rootPath.resolve(normalizedPath);
+        return rootPath.resolve(normalizedPath).normalize();
     }
     
     /**
@@ -258,7 +330,7 @@ public class VFS {
      */
     public boolean fileExists(String path) {
         Path filePath = resolveVFSPath(path);
-        return Files.exists(filePath);
+        return pendingWrites.containsKey(filePath) || Files.exists(filePath);
     }
     
     /**
@@ -282,7 +354,7 @@ public class VFS {
         try {
             Path dirPath = resolveVFSPath(path);
             Files.createDirectories(dirPath);
-            System.out.println("VFS: ディレクトリ作成成功: " + path);
+            verbose("ディレクトリ作成成功: " + path);
             return true;
         } catch (IOException e) {
             System.err.println("VFS: ディレクトリ作成エラー [" + path + "]: " + e.getMessage());
@@ -301,7 +373,7 @@ public class VFS {
             Path dirPath = resolveVFSPath(directoryPath);
             
             if (!Files.exists(dirPath) || !Files.isDirectory(dirPath)) {
-                System.out.println("VFS: ディレクトリが存在しません: " + directoryPath);
+                verbose("ディレクトリが存在しません: " + directoryPath);
                 return new ArrayList<>();
             }
             
@@ -310,9 +382,10 @@ public class VFS {
                     .filter(Files::isRegularFile)
                     .map(Path::getFileName)
                     .map(Path::toString)
+                    .filter(name -> !name.endsWith(TEMP_SUFFIX))
                     .collect(Collectors.toList());
                 
-                System.out.println("VFS: ディレクトリスキャン完了: " + directoryPath + " (" + files.size() + "ファイル)");
+                verbose("ディレクトリスキャン完了: " + directoryPath + " (" + files.size() + "ファイル)");
                 return files;
             }
             
@@ -334,7 +407,7 @@ public class VFS {
             Path dirPath = resolveVFSPath(directoryPath);
             
             if (!Files.exists(dirPath) || !Files.isDirectory(dirPath)) {
-                System.out.println("VFS: ディレクトリが存在しません: " + directoryPath);
+                verbose("ディレクトリが存在しません: " + directoryPath);
                 return new ArrayList<>();
             }
             
@@ -346,7 +419,7 @@ public class VFS {
                     .filter(name -> name.toLowerCase().endsWith(extension.toLowerCase()))
                     .collect(Collectors.toList());
                 
-                System.out.println("VFS: 拡張子フィルタースキャン完了: " + directoryPath + " (" + files.size() + "個の" + extension + "ファイル)");
+                verbose("拡張子フィルタースキャン完了: " + directoryPath + " (" + files.size() + "個の" + extension + "ファイル)");
                 return files;
             }
             
@@ -367,7 +440,7 @@ public class VFS {
             Path dirPath = resolveVFSPath(directoryPath);
             
             if (!Files.exists(dirPath) || !Files.isDirectory(dirPath)) {
-                System.out.println("VFS: ディレクトリが存在しません: " + directoryPath);
+                verbose("ディレクトリが存在しません: " + directoryPath);
                 return new ArrayList<>();
             }
             
@@ -378,7 +451,7 @@ public class VFS {
                     .map(Path::toString)
                     .collect(Collectors.toList());
                 
-                System.out.println("VFS: サブディレクトリスキャン完了: " + directoryPath + " (" + directories.size() + "ディレクトリ)");
+                verbose("サブディレクトリスキャン完了: " + directoryPath + " (" + directories.size() + "ディレクトリ)");
                 return directories;
             }
             
@@ -397,4 +470,308 @@ public class VFS {
     public String getFullPath(String path) {
         return resolveVFSPath(path).toAbsolutePath().toString();
     }
-}
\ No newline at end of file
+
+    // ===== 非同期API =====
+
+    /**
+     * ファイルを非同期で読み込む。
+     *
+     * @param path 読み取るファイルのパス（VFS内の相対パス）
+     * @return ファイルの内容（見つからない場合null）で完了するFuture。
+     *         I/Oキューが一杯の場合は{@link RejectedExecutionException}で例外完了する
+     */
+    public CompletableFuture<String> readFileAsync(String path) {
+        try {
+            return CompletableFuture.supplyAsync(() -> readFile(path), ioExecutor());
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * バイナリファイルを非同期で読み込む。
+     *
+     * @param path 読み取るファイルのパス（VFS内の相対パス）
+     * @return ファイルの内容（見つからない場合null）で完了するFuture。
+     *         I/Oキューが一杯の場合は{@link RejectedExecutionException}で例外完了する
+     */
+    public CompletableFuture<byte[]> readBinaryFileAsync(String path) {
+        try {
+            return CompletableFuture.supplyAsync(() -> readBinaryFile(path), ioExecutor());
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * ファイルを非同期で書き込む。
+     * デフォルトの統合ウィンドウ内に同じパスへ再度書き込まれた場合は、最後の内容のみを1回書き込む。
+     *
+     * @param path 書き込み先ファイルのパス（VFS内の相対パス）
+     * @param data ファイルに書き込むデータ
+     * @return 書き込み結果で完了するFuture（統合された書き込みは同じFutureを返す）
+     */
+    public CompletableFuture<Boolean> writeFileAsync(String path, String data) {
+        return writeFileAsync(path, data, DEFAULT_COALESCE_WINDOW_MS);
+    }
+
+    /**
+     * ファイルを統合ウィンドウを指定して非同期で書き込む。
+     *
+     * @param path 書き込み先ファイルのパス（VFS内の相対パス）
+     * @param data ファイルに書き込むデータ
+     * @param coalesceWindowMs 統合ウィンドウ（ミリ秒、0の場合は即座に書き込みを開始）
+     * @return 書き込み結果で完了するFuture
+     */
+    public CompletableFuture<Boolean> writeFileAsync(String path, String data, long coalesceWindowMs) {
+        return scheduleWrite(resolveVFSPath(path), path, data.getBytes(StandardCharsets.UTF_8), coalesceWindowMs);
+    }
+
+    /**
+     * バイナリファイルを非同期で書き込む（デフォルトの統合ウィンドウを使用）。
+     *
+     * @param path 書き込み先ファイルのパス（VFS内の相対パス）
+     * @param data ファイルに書き込むバイナリデータ（呼び出し後に変更しないこと）
+     * @return 書き込み結果で完了するFuture
+     */
+    public CompletableFuture<Boolean> writeBinaryFileAsync(String path, byte[] data) {
+        return scheduleWrite(resolveVFSPath(path), path, data, DEFAULT_COALESCE_WINDOW_MS);
+    }
+
+    /**
+     * 書き込み待ちのすべての非同期書き込みを呼び出し元スレッドで実行する。
+     */
+    public void flushPendingWrites() {
+        for (PendingWrite pending : new ArrayList<>(pendingWrites.values())) {
+            runPending(pending);
+        }
+    }
+
+    /**
+     * 書き込み待ちを書き出してI/Oスレッドを停止する。
+     * 停止後に非同期APIが呼び出された場合はスレッドを再作成する。
+     */
+    public void shutdown() {
+        flushPendingWrites();
+        synchronized (this) {
+            if (coalesceTimer != null) {
+                coalesceTimer.shutdownNow();
+                coalesceTimer = null;
+            }
+            if (ioExecutor != null) {
+                ioExecutor.shutdown();
+                ioExecutor = null;
+            }
+        }
+    }
+
+    /**
+     * 非同期書き込みを登録する。同じパスの未開始の書き込みがあれば内容を差し替える。
+     */
+    private CompletableFuture<Boolean> scheduleWrite(Path filePath, String path, byte[] data, long coalesceWindowMs) {
+        PendingWrite[] created = new PendingWrite[1];
+        PendingWrite pending = pendingWrites.compute(filePath, (key, existing) -> {
+            if (existing != null && existing.replace(data)) {
+                return existing;
+            }
+            created[0] = new PendingWrite(filePath, path, data);
+            return created[0];
+        });
+
+        if (created[0] != null) {
+            PendingWrite write = created[0];
+            coalesceTimer().schedule(() -> ioExecutor().execute(() -> runPending(write)),
+                    Math.max(0L, coalesceWindowMs), TimeUnit.MILLISECONDS);
+        }
+        return pending.future;
+    }
+
+    /**
+     * 書き込み待ちを実行する（既に開始・破棄済みの場合は何もしない）。
+     */
+    private void runPending(PendingWrite pending) {
+        synchronized (lockFor(pending.filePath)) {
+            byte[] data = pending.start();
+            if (data == null) {
+                return;
+            }
+            boolean success;
+            try {
+                writeAtomically(pending.filePath, data);
+                success = true;
+            } catch (IOException e) {
+                System.err.println("VFS: 非同期書き込みエラー [" + pending.path + "]: " + e.getMessage());
+                success = false;
+            }
+            pendingWrites.remove(pending.filePath, pending);
+            pending.future.complete(success);
+        }
+    }
+
+    /**
+     * 未開始の書き込み待ちを破棄する。パスのロックを保持して呼び出すこと。
+     *
+     * @param superseded 新しい書き込みで置き換えられた場合true（Futureはtrueで完了）
+     * @return 破棄した場合true
+     */
+    private boolean discardPending(Path filePath, boolean superseded) {
+        PendingWrite pending = pendingWrites.remove(filePath);
+        if (pending != null && pending.discard()) {
+            pending.future.complete(superseded);
+            return true;
+        }
+        return false;
+    }
+
+    private byte[] pendingData(Path filePath) {
+        PendingWrite pending = pendingWrites.get(filePath);
+        return pending != null ? pending.peek() : null;
+    }
+
+    private Object lockFor(Path filePath) {
+        int hash = filePath.hashCode();
+        return pathLocks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+
+    /**
+     * 一時ファイルに書き込んでからリネームで置き換える。
+     * 書き込み中に終了しても既存のファイルは元の内容のまま残る。
+     */
+    private void writeAtomically(Path filePath, byte[] data) throws IOException {
+        // 親ディレクトリが存在しない場合は作成
+        Path parentDir = filePath.getParent();
+        if (parentDir != null && !Files.exists(parentDir)) {
+            Files.createDirectories(parentDir);
+        }
+
+        Path tempPath = filePath.resolveSibling(filePath.getFileName() + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            // リネーム前に内容をディスクへ反映
+            channel.force(false);
+        }
+
+        try {
+            Files.move(tempPath, filePath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tempPath, filePath, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private synchronized ThreadPoolExecutor ioExecutor() {
+        if (ioExecutor == null || ioExecutor.isShutdown()) {
+            ioExecutor = new ThreadPoolExecutor(IO_THREADS, IO_THREADS, 30L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(IO_QUEUE_CAPACITY), daemonThreadFactory("VFS-IO"),
+                    VFS::rejectIo);
+            ioExecutor.allowCoreThreadTimeOut(true);
+            registerShutdownHook();
+        }
+        return ioExecutor;
+    }
+
+    /**
+     * I/Oキューが一杯の場合の処理。
+     * 統合タイマーから投入された書き込みはタイマースレッドで実行して負荷を抑え（呼び出し元は描画スレッドではない）、
+     * それ以外（描画スレッドなどからの非同期読み込み）は呼び出し元でI/Oを実行せずに拒否する。
+     */
+    private static void rejectIo(Runnable task, ThreadPoolExecutor executor) {
+        if (executor.isShutdown()) {
+            throw new RejectedExecutionException("VFS I/O executor is shut down");
+        }
+        if (Thread.currentThread().getName().startsWith(COALESCE_THREAD_NAME)) {
+            task.run();
+            return;
+        }
+        throw new RejectedExecutionException("VFS I/O queue is full (" + IO_QUEUE_CAPACITY + ")");
+    }
+
+    private synchronized ScheduledThreadPoolExecutor coalesceTimer() {
+        if (coalesceTimer == null || coalesceTimer.isShutdown()) {
+            coalesceTimer = new ScheduledThreadPoolExecutor(1, daemonThreadFactory(COALESCE_THREAD_NAME));
+            coalesceTimer.setRemoveOnCancelPolicy(true);
+            registerShutdownHook();
+        }
+        return coalesceTimer;
+    }
+
+    /**
+     * JVM終了時に書き込み待ちを書き出すフックを登録する（1回のみ）。
+     */
+    private void registerShutdownHook() {
+        if (shutdownHookRegistered) {
+            return;
+        }
+        shutdownHookRegistered = true;
+        try {
+            Runtime.getRuntime().addShutdownHook(new Thread(this::flushPendingWrites, "VFS-Flush"));
+        } catch (IllegalStateException e) {
+            // JVM終了処理中は登録できない
+        }
+    }
+
+    private static ThreadFactory daemonThreadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private static void verbose(String message) {
+        if (VERBOSE) {
+            System.out.println("VFS: " + message);
+        }
+    }
+
+    /**
+     * 非同期書き込みの待ち。
+     * 開始前であれば内容の差し替え（統合）・破棄ができる。
+     */
+    private static final class PendingWrite {
+        private final Path filePath;
+        private final String path;
+        private final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        private byte[] data;
+        private boolean started;
+        private boolean discarded;
+
+        PendingWrite(Path filePath, String path, byte[] data) {
+            this.filePath = filePath;
+            this.path = path;
+            this.data = data;
+        }
+
+        synchronized boolean replace(byte[] newData) {
+            if (started || discarded) {
+                return false;
+            }
+            data = newData;
+            return true;
+        }
+
+        synchronized byte[] start() {
+            if (started || discarded) {
+                return null;
+            }
+            started = true;
+            return data;
+        }
+
+        synchronized boolean discard() {
+            if (started || discarded) {
+                return false;
+            }
+            discarded = true;
+            return true;
+        }
+
+        synchronized byte[] peek() {
+            return data;
+        }
+    }
+}
@@ -7,111 +7,342 @@ import jp.moyashi.phoneos.core.service.VFS;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * ブラウザのブックマーク・履歴の保存と検索。
+ *
+ * - 履歴は固定長のリングバッファに保持し、上限を超えた分は古いものから上書きする
+ *   （上限は-Dmochi.browserHistoryDepthまたはsetHistoryDepth()で変更可能）
+ * - ブックマークはURLをキーにしたマップに保持する（isBookmarked()は描画ごとに呼ばれる）
+ * - アドレスバーの入力候補はOmniboxIndexで検索する
+ * - 履歴の保存はページ読み込みごとには行わず、一定時間ごとにバックグラウンドでまとめて書き出す
+ *
+ * ページ読み込み通知（CEFのスレッド）と画面（描画スレッド）の両方から呼ばれるため、各操作は同期化している。
+ */
 public class BrowserDataManager {
     private static final String BOOKMARKS_FILE = "system/browser_chromium/bookmarks.json";
     private static final String HISTORY_FILE = "system/browser_chromium/history.json";
 
+    /** 履歴の保持件数（デフォルト） */
+    public static final int DEFAULT_HISTORY_DEPTH = 5000;
+
+    /** 履歴の変更から保存までの遅延（ミリ秒）。この間の変更は1回の書き込みにまとめる */
+    private static final long HISTORY_SAVE_DELAY_MS = 2000;
+
     private final VFS vfs;
     private final Gson gson;
 
-    private List<BookmarkEntry> bookmarks = new ArrayList<>();
-    private List<HistoryEntry> history = new ArrayList<>();
+    /** URL → ブックマーク（追加順） */
+    private final Map<String, BookmarkEntry> bookmarks = new LinkedHashMap<>();
+
+    /** 履歴のリングバッファ（historyHeadの直前が最新） */
+    private HistoryEntry[] history;
+    private int historyHead;
+    private int historySize;
+
+    /** 入力候補の索引 */
+    private final OmniboxIndex omniboxIndex = new OmniboxIndex();
+
+    /** 履歴の保存待ち */
+    private boolean historyDirty;
+    private boolean historySaveScheduled;
+    /** 履歴ファイルの書き込みを直列化する（古いスナップショットが新しいものを上書きしないように） */
+    private final Object flushLock = new Object();
+    private ScheduledThreadPoolExecutor saveTimer;
 
     public BrowserDataManager(Kernel kernel) {
         this.vfs = kernel.getVFS();
         this.gson = new Gson();
+        this.history = new HistoryEntry[Math.max(1, Integer.getInteger("mochi.browserHistoryDepth", DEFAULT_HISTORY_DEPTH))];
         loadBookmarks();
         loadHistory();
     }
 
-    public void loadBookmarks() {
+    public synchronized void loadBookmarks() {
+        for (String url : bookmarks.keySet()) {
+            omniboxIndex.removeBookmark(url);
+        }
+        bookmarks.clear();
         String json = vfs.readFile(BOOKMARKS_FILE);
         if (json != null) {
             try {
                 Type listType = new TypeToken<ArrayList<BookmarkEntry>>(){}.getType();
-                bookmarks = gson.fromJson(json, listType);
+                List<BookmarkEntry> loaded = gson.fromJson(json, listType);
+                if (loaded != null) {
+                    for (BookmarkEntry b : loaded) {
+                        if (b != null && b.url != null && !bookmarks.containsKey(b.url)) {
+                            bookmarks.put(b.url, b);
+                            omniboxIndex.addBookmark(b.title, b.url);
+                        }
+                    }
+                }
             } catch (Exception e) {
                 System.err.println("Failed to parse bookmarks.json: " + e.getMessage());
-                bookmarks = new ArrayList<>();
             }
         }
-        if (bookmarks == null) bookmarks = new ArrayList<>();
     }
 
     public void saveBookmarks() {
-        String json = gson.toJson(bookmarks);
-        vfs.writeFile(BOOKMARKS_FILE, json);
+        String json;
+        synchronized (this) {
+            json = gson.toJson(new ArrayList<>(bookmarks.values()));
+        }
+        vfs.writeFileAsync(BOOKMARKS_FILE, json);
     }
 
-    public void loadHistory() {
+    public synchronized void loadHistory() {
+        resetHistory();
         String json = vfs.readFile(HISTORY_FILE);
         if (json != null) {
             try {
                 Type listType = new TypeToken<ArrayList<HistoryEntry>>(){}.getType();
-                history = gson.fromJson(json, listType);
+                List<HistoryEntry> loaded = gson.fromJson(json, listType);
+                if (loaded != null) {
+                    // ファイルは新しい順。保持件数分を古い順にリングへ積む
+                    int n = Math.min(loaded.size(), history.length);
+                    for (int i = n - 1; i >= 0; i--) {
+                        HistoryEntry h = loaded.get(i);
+                        if (h != null && h.url != null) {
+                            pushHistory(h);
+                        }
+                    }
+                }
             } catch (Exception e) {
                 System.err.println("Failed to parse history.json: " + e.getMessage());
-                history = new ArrayList<>();
+                resetHistory();
             }
         }
-        if (history == null) history = new ArrayList<>();
+        historyDirty = false;
     }
 
-    public void saveHistory() {
-        String json = gson.toJson(history);
-        vfs.writeFile(HISTORY_FILE, json);
+    /**
+     * 履歴を保存する。書き込みは一定時間後にバックグラウンドでまとめて行う。
+     */
+    public synchronized void saveHistory() {
+        historyDirty = true;
+        if (historySaveScheduled) {
+            return;
+        }
+        historySaveScheduled = true;
+        try {
+            saveTimer().schedule(this::flushHistory, HISTORY_SAVE_DELAY_MS, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            historySaveScheduled = false;
+            System.err.println("Failed to schedule history save: " + e.getMessage());
+        }
+    }
+
+    /**
+     * 保存待ちの履歴を呼び出し元スレッドで書き出す（タイマーからは保存用スレッドで呼ばれる）。
+     */
+    public void flush() {
+        flushHistory();
     }
 
-    public void addBookmark(String title, String url) {
+    /**
+     * 保存待ちの履歴を書き出し、保存用タイマーを停止する。
+     */
+    public void shutdown() {
+        flushHistory();
+        synchronized (this) {
+            if (saveTimer != null) {
+                saveTimer.shutdownNow();
+                saveTimer = null;
+            }
+        }
+    }
+
+    public synchronized void addBookmark(String title, String url) {
         if (url == null || url.isEmpty()) return;
-        if (isBookmarked(url)) return;
-        bookmarks.add(new BookmarkEntry(title == null || title.isEmpty() ? url : title, url, System.currentTimeMillis()));
+        if (bookmarks.containsKey(url)) return;
+        String name = title == null || title.isEmpty() ? url : title;
+        bookmarks.put(url, new BookmarkEntry(name, url, System.currentTimeMillis()));
+        omniboxIndex.addBookmark(name, url);
         saveBookmarks();
     }
 
-    public void removeBookmark(String url) {
+    public synchronized void removeBookmark(String url) {
         if (url == null) return;
-        bookmarks.removeIf(b -> b.url.equals(url));
+        if (bookmarks.remove(url) == null) return;
+        omniboxIndex.removeBookmark(url);
         saveBookmarks();
     }
 
-    public boolean isBookmarked(String url) {
+    public synchronized boolean isBookmarked(String url) {
         if (url == null) return false;
-        return bookmarks.stream().anyMatch(b -> b.url.equals(url));
+        return bookmarks.containsKey(url);
     }
-    
-    public List<BookmarkEntry> getBookmarks() {
-        return new ArrayList<>(bookmarks);
+
+    public synchronized List<BookmarkEntry> getBookmarks() {
+        return new ArrayList<>(bookmarks.values());
     }
 
-    public void addToHistory(String title, String url) {
+    public synchronized void addToHistory(String title, String url) {
         if (url == null || url.isEmpty() || url.equals("about:blank")) return;
-        
+
         // 重複排除: 最新の履歴と同じURLなら追加しない
-        if (!history.isEmpty() && history.get(0).url.equals(url)) {
-            return; 
-        }
-        
-        history.add(0, new HistoryEntry(title == null || title.isEmpty() ? url : title, url, System.currentTimeMillis()));
-        
-        // 最大100件に制限
-        if (history.size() > 100) {
-            history = new ArrayList<>(history.subList(0, 100));
+        if (historySize > 0 && latestHistory().url.equals(url)) {
+            return;
         }
+
+        pushHistory(new HistoryEntry(title == null || title.isEmpty() ? url : title, url, System.currentTimeMillis()));
         saveHistory();
     }
-    
+
+    /**
+     * 履歴を新しい順に取得する。
+     *
+     * @return 履歴のコピー
+     */
     public List<HistoryEntry> getHistory() {
-        return new ArrayList<>(history);
+        return getHistory(Integer.MAX_VALUE);
+    }
+
+    /**
+     * 新しい順に指定件数までの履歴を取得する。
+     *
+     * @param limit 最大件数
+     * @return 履歴のコピー
+     */
+    public synchronized List<HistoryEntry> getHistory(int limit) {
+        int n = Math.max(0, Math.min(limit, historySize));
+        List<HistoryEntry> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(historyAt(i));
+        }
+        return result;
+    }
+
+    /**
+     * 保持している履歴の件数を取得する。
+     *
+     * @return 件数
+     */
+    public synchronized int getHistorySize() {
+        return historySize;
+    }
+
+    /**
+     * 履歴の保持件数を取得する。
+     *
+     * @return 保持件数
+     */
+    public synchronized int getHistoryDepth() {
+        return history.length;
     }
-    
-    public void clearHistory() {
-        history.clear();
+
+    /**
+     * 履歴の保持件数を変更する。減らした場合は古い履歴から削除する。
+     *
+     * @param depth 保持件数
+     */
+    public synchronized void setHistoryDepth(int depth) {
+        depth = Math.max(1, depth);
+        if (depth == history.length) return;
+        List<HistoryEntry> current = getHistory();
+        for (int i = depth; i < current.size(); i++) {
+            omniboxIndex.removeVisit(current.get(i).url);
+        }
+        history = new HistoryEntry[depth];
+        historyHead = 0;
+        historySize = 0;
+        for (int i = Math.min(depth, current.size()) - 1; i >= 0; i--) {
+            history[historyHead] = current.get(i);
+            historyHead = (historyHead + 1) % history.length;
+            historySize++;
+        }
+        if (current.size() > depth) {
+            saveHistory();
+        }
+    }
+
+    /**
+     * アドレスバーの入力候補（ブックマーク・履歴）を取得する。
+     *
+     * @param query 入力文字列
+     * @param limit 最大件数
+     * @return 候補（優先度順）
+     */
+    public synchronized List<OmniboxIndex.Suggestion> suggest(String query, int limit) {
+        return omniboxIndex.suggest(query, limit);
+    }
+
+    public synchronized void clearHistory() {
+        resetHistory();
         saveHistory();
     }
 
+    private void resetHistory() {
+        Arrays.fill(history, null);
+        historyHead = 0;
+        historySize = 0;
+        omniboxIndex.clearVisits();
+    }
+
+    private void pushHistory(HistoryEntry entry) {
+        HistoryEntry evicted = history[historyHead];
+        if (historySize == history.length && evicted != null) {
+            // 最も古い履歴を上書き
+            omniboxIndex.removeVisit(evicted.url);
+        } else {
+            historySize++;
+        }
+        history[historyHead] = entry;
+        historyHead = (historyHead + 1) % history.length;
+        omniboxIndex.addVisit(entry.title, entry.url, entry.timestamp);
+    }
+
+    private HistoryEntry latestHistory() {
+        return historyAt(0);
+    }
+
+    /** 新しい順にindex番目の履歴 */
+    private HistoryEntry historyAt(int index) {
+        return history[(historyHead - 1 - index + 2 * history.length) % history.length];
+    }
+
+    private void flushHistory() {
+        // スナップショットの取得から書き込みまでをflushLockで直列化する。
+        // 履歴の追加はthisのロックのみで行えるため、書き込み中も止まらない
+        synchronized (flushLock) {
+            List<HistoryEntry> snapshot;
+            synchronized (this) {
+                historySaveScheduled = false;
+                if (!historyDirty) return;
+                historyDirty = false;
+                snapshot = getHistory();
+            }
+            // 直列化はthisのロック外で行う（エントリは追加後に変更しない）
+            try {
+                String json = gson.toJson(snapshot);
+                vfs.writeFile(HISTORY_FILE, json);
+            } catch (Exception e) {
+                System.err.println("Failed to save history.json: " + e.getMessage());
+                synchronized (this) {
+                    // 次回の保存で再試行する
+                    historyDirty = true;
+                }
+            }
+        }
+    }
+
+    private synchronized ScheduledThreadPoolExecutor saveTimer() {
+        if (saveTimer == null) {
+            saveTimer = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread t = new Thread(r, "BrowserData-Save");
+                t.setDaemon(true);
+                return t;
+            });
+        }
+        return saveTimer;
+    }
+
     public static class BookmarkEntry {
         public String title;
         public String url;
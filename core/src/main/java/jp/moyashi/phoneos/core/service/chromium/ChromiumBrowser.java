@@ -1,6 +1,7 @@
 package jp.moyashi.phoneos.core.service.chromium;
 
 import jp.moyashi.phoneos.core.Kernel;
+import jp.moyashi.phoneos.core.service.LoggerService;
 import org.cef.CefApp;
 import org.cef.CefClient;
 import org.cef.browser.CefBrowser;
@@ -1197,9 +1198,8 @@ public class ChromiumBrowser {
             processed++;
 
             if (latencyNs > 50_000_000L && kernel.getLogger() != null) { // >50ms
-                kernel.getLogger().debug("ChromiumBrowser", String.format(
-                        "InputEvent latency %.3fms type=%s backlog=%d",
-                        latencyNs / 1_000_000.0, event.type, inputQueue.size()));
+                kernel.getLogger().debug("ChromiumBrowser", "InputEvent latency {}ms type={} backlog={}",
+                        latencyNs / 1_000_000L, event.type, inputQueue.size());
             }
 
             // イベント数制限
@@ -1265,6 +1265,10 @@ public class ChromiumBrowser {
         if (latencyMs < 50.0) {
             return;
         }
+        LoggerService logger = kernel.getLogger();
+        if (logger == null || !logger.isEnabled(LoggerService.LogLevel.WARN, "ChromiumInput")) {
+            return;
+        }
         long processedWallClockMs = System.currentTimeMillis();
         String message = String.format(
                 "type=%s latency=%.3fms captured=%tT.%03d processed=%tT.%03d backlog=%d",
@@ -1273,10 +1277,7 @@ public class ChromiumBrowser {
                 event.captureWallClockMs, (int) (event.captureWallClockMs % 1000),
                 processedWallClockMs, (int) (processedWallClockMs % 1000),
                 backlogSize);
-        if (kernel.getLogger() == null) {
-            return;
-        }
-        kernel.getLogger().warn("ChromiumInput", message);
+        logger.warn("ChromiumInput", message);
     }
 
     /**
@@ -1389,6 +1390,15 @@ public class ChromiumBrowser {
         return renderHandler.getImage();
     }
 
+    /**
+     * ペイント処理の計測カウンターを取得する。
+     *
+     * @return 計測カウンター、レンダーハンドラーがない場合はnull
+     */
+    public ChromiumPaintStats getPaintStats() {
+        return renderHandler != null ? renderHandler.getPaintStats() : null;
+    }
+
     /**
      * 描画更新が必要かを確認する。
      *
@@ -154,14 +154,11 @@ public class ChromiumManager {
 
             long durationNs = System.nanoTime() - startNs;
             // ログI/O負荷軽減: 10ms以上のみ出力（YouTube動画再生時のフレームレート維持）
-            if (durationNs > 10_000_000L && kernel.getLogger() != null) { // >10ms
-                double ms = durationNs / 1_000_000.0;
-                String message = String.format("MessageLoopWork took %.3fms", ms);
-                if (durationNs > 50_000_000L) { // >50ms
-                    kernel.getLogger().warn("ChromiumPump", message);
-                } else {
-                    kernel.getLogger().debug("ChromiumPump", message);
-                }
+            if (durationNs > 50_000_000L && kernel.getLogger() != null) { // >50ms
+                kernel.getLogger().warn("ChromiumPump", String.format("MessageLoopWork took %.3fms", durationNs / 1_000_000.0));
+            } else if (durationNs > 10_000_000L) { // >10ms（DEBUG時のみ文字列を生成）
+                ChromiumTrace.debug(kernel.getLogger(), "ChromiumPump",
+                        () -> String.format("MessageLoopWork took %.3fms", durationNs / 1_000_000.0));
             }
         } catch (Exception e) {
             // エラーログは出すが、例外は飲み込んで処理を継続
@@ -0,0 +1,109 @@
+package jp.moyashi.phoneos.core.service.chromium;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Chromiumペイント処理の常時計測カウンター。
+ * 記録はカウンターの加算のみで、ログ出力や文字列生成は行わない。
+ *
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public class ChromiumPaintStats {
+
+    private final LongAdder paintCount = new LongAdder();
+    private final LongAdder skippedFrames = new LongAdder();
+    private final LongAdder convertedFrames = new LongAdder();
+    private final LongAdder convertedPixels = new LongAdder();
+    private final LongAdder conversionNanos = new LongAdder();
+    private final AtomicLong maxConversionNanos = new AtomicLong();
+
+    /**
+     * onPaint呼び出しを記録する。
+     */
+    public void recordPaint() {
+        paintCount.increment();
+    }
+
+    /**
+     * フレームスキップ（変換を後回しにしたペイント）を記録する。
+     */
+    public void recordSkip() {
+        skippedFrames.increment();
+    }
+
+    /**
+     * ピクセル変換を記録する。
+     *
+     * @param nanos 変換に要した時間（ナノ秒）
+     * @param pixels 変換したピクセル数
+     */
+    public void recordConversion(long nanos, long pixels) {
+        convertedFrames.increment();
+        convertedPixels.add(pixels);
+        conversionNanos.add(nanos);
+        long max;
+        while (nanos > (max = maxConversionNanos.get())) {
+            if (maxConversionNanos.compareAndSet(max, nanos)) {
+                break;
+            }
+        }
+    }
+
+    public long getPaintCount() {
+        return paintCount.sum();
+    }
+
+    public long getSkippedFrames() {
+        return skippedFrames.sum();
+    }
+
+    public long getConvertedFrames() {
+        return convertedFrames.sum();
+    }
+
+    public long getConvertedPixels() {
+        return convertedPixels.sum();
+    }
+
+    public long getConversionNanos() {
+        return conversionNanos.sum();
+    }
+
+    public long getMaxConversionNanos() {
+        return maxConversionNanos.get();
+    }
+
+    /**
+     * 1回あたりの平均変換時間を取得する。
+     *
+     * @return 平均変換時間（ミリ秒）、未変換の場合0
+     */
+    public double getAverageConversionMs() {
+        long frames = convertedFrames.sum();
+        return frames == 0 ? 0.0 : conversionNanos.sum() / 1_000_000.0 / frames;
+    }
+
+    /**
+     * すべてのカウンターをリセットする。
+     */
+    public void reset() {
+        paintCount.reset();
+        skippedFrames.reset();
+        convertedFrames.reset();
+        convertedPixels.reset();
+        conversionNanos.reset();
+        maxConversionNanos.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "paints=" + getPaintCount()
+                + ", skipped=" + getSkippedFrames()
+                + ", converted=" + getConvertedFrames()
+                + ", pixels=" + getConvertedPixels()
+                + ", avg=" + String.format("%.3fms", getAverageConversionMs())
+                + ", max=" + String.format("%.3fms", getMaxConversionNanos() / 1_000_000.0);
+    }
+}
@@ -1,314 +1,421 @@
-package jp.moyashi.phoneos.core.service.chromium;
-
-import jp.moyashi.phoneos.core.Kernel;
-import org.cef.browser.CefBrowser;
-import org.cef.browser.CefPaintEvent;
-import org.cef.callback.CefDragData;
-import org.cef.handler.CefRenderHandlerAdapter;
-import processing.core.PImage;
-
-import java.awt.Rectangle;
-import java.awt.image.BufferedImage;
-import java.nio.ByteBuffer;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.function.Consumer;
-
-/**
- * Chromiumオフスクリーンレンダリングハンドラー。
- * onPaint()コールバックでByteBuffer（BGRA）をPImageに変換する。
- *
- * アーキテクチャ:
- * - onPaint(): Chromiumからのペイントコールバック
- * - ByteBuffer（BGRA）→ BufferedImage（ARGB）→ PImage変換
- * - 描画更新フラグ管理（needsUpdate）
- *
- * @author MochiOS Team
- * @version 1.0
- */
-public class ChromiumRenderHandler extends CefRenderHandlerAdapter {
-
-    private final Kernel kernel;
-    private volatile int width;
-    private volatile int height;
-    private PImage image;
-    private final AtomicBoolean needsUpdate = new AtomicBoolean(false);
-    private final Object imageLock = new Object();
-    private final boolean isMac;
-
-    // フレームスキップ用（過剰なフレーム更新を防止）
-    private long lastPaintTimeNs = 0L;
-    private static final long MIN_PAINT_INTERVAL_NS = 16_000_000L; // 16ms = 60FPS（P2D GPU描画対応）
-
-    /**
-     * ChromiumRenderHandlerを構築する。
-     *
-     * @param kernel Kernelインスタンス
-     * @param width 幅
-     * @param height 高さ
-     */
-    public ChromiumRenderHandler(Kernel kernel, int width, int height) {
-        this.kernel = kernel;
-        this.width = width;
-        this.height = height;
-
-        // OS判定（Mac環境でのみHiDPIリサイズ処理を行う）
-        String osName = System.getProperty("os.name").toLowerCase();
-        this.isMac = osName.contains("mac");
-
-        // PImageを初期化（ARGB形式）
-        this.image = new PImage(width, height, PImage.ARGB);
-        this.image.loadPixels();
-
-        // 初期背景色（白）
-        for (int i = 0; i < image.pixels.length; i++) {
-            image.pixels[i] = 0xFFFFFFFF; // 白
-        }
-        this.image.updatePixels();
-    }
-
-    /**
-     * Chromiumからのペイントコールバック。
-     * ByteBuffer（BGRA形式）をPImage（ARGB形式）に変換する。
-     *
-     * @param browser CEFブラウザ
-     * @param popup ポップアップフラグ
-     * @param dirtyRects 更新領域（使用しない）
-     * @param buffer BGRAピクセルデータ
-     * @param width 幅
-     * @param height 高さ
-     */
-    // デバッグ用: onPaint呼び出しカウンター
-    private int onPaintCount = 0;
-
-    @Override
-    public void onPaint(CefBrowser browser, boolean popup, Rectangle[] dirtyRects,
-                        ByteBuffer buffer, int width, int height) {
-        onPaintCount++;
-
-        // デバッグ: onPaintが呼ばれていることを確認
-        log("onPaint called #" + onPaintCount + ": " + width + "x" + height + ", popup=" + popup + ", buffer=" + (buffer != null ? buffer.remaining() + " bytes" : "null"));
-
-        // デバッグ: バッファの最初の数ピクセルの内容を確認
-        if (buffer != null && buffer.remaining() >= 16) {
-            buffer.position(0);
-            StringBuilder sb = new StringBuilder("First 4 pixels (BGRA): ");
-            for (int i = 0; i < 4; i++) {
-                int b = buffer.get() & 0xFF;
-                int g = buffer.get() & 0xFF;
-                int r = buffer.get() & 0xFF;
-                int a = buffer.get() & 0xFF;
-                sb.append(String.format("[B:%d G:%d R:%d A:%d] ", b, g, r, a));
-            }
-            buffer.position(0); // リセット
-            log(sb.toString());
-
-            // 中央付近のピクセルも確認
-            int centerIndex = (height / 2 * width + width / 2) * 4;
-            if (buffer.remaining() > centerIndex + 4) {
-                buffer.position(centerIndex);
-                int b = buffer.get() & 0xFF;
-                int g = buffer.get() & 0xFF;
-                int r = buffer.get() & 0xFF;
-                int a = buffer.get() & 0xFF;
-                log(String.format("Center pixel (BGRA): [B:%d G:%d R:%d A:%d]", b, g, r, a));
-                buffer.position(0); // リセット
-            }
-        }
-
-        // フレームスキップ：前回から16ms未満の場合はスキップ（60FPS制限）
-        long now = System.nanoTime();
-        if (now - lastPaintTimeNs < MIN_PAINT_INTERVAL_NS) {
-            log("Frame skipped (too soon)");
-            return; // スキップ
-        }
-        lastPaintTimeNs = now;
-        
-                boolean isHiDPI = isMac && (width == this.width * 2);
-        
-                // サイズチェック（HiDPI/Retinaディスプレイ対応）
-                // Mac Retinaでは2倍サイズ（800x952）でレンダリングされる可能性がある
-                if (width != this.width && !isHiDPI) {
-            log("Size difference: expected " + this.width + "x" + this.height +
-                ", got " + width + "x" + height + " - using received size");
-            // サイズが違っても続行（エラーで返さない）
-        }
-
-        synchronized (imageLock) {
-            buffer.position(0);
-            image.loadPixels();
-
-            if (isHiDPI) {
-                // HiDPI: 2x2ピクセルブロックを1ピクセルにダウンサンプリング
-                // 800x952 → 400x476（2倍スケールを1/2に縮小）
-                for (int y = 0; y < this.height; y++) {
-                    for (int x = 0; x < this.width; x++) {
-                        // 2x2ブロックの左上ピクセルをサンプリング（Nearest Neighbor）
-                        int srcX = x * 2;
-                        int srcY = y * 2;
-                        int srcIndex = (srcY * width + srcX) * 4; // 4 bytes per pixel (BGRA)
-
-                        // BGRAバイトを読み取り
-                        int b = buffer.get(srcIndex) & 0xFF;
-                        int g = buffer.get(srcIndex + 1) & 0xFF;
-                        int r = buffer.get(srcIndex + 2) & 0xFF;
-                        int a = buffer.get(srcIndex + 3) & 0xFF;
-
-                        // ARGBフォーマットに変換
-                        int argb = (a << 24) | (r << 16) | (g << 8) | b;
-
-                        // PImageピクセル配列に設定
-                        image.pixels[y * this.width + x] = argb;
-                    }
-                }
-            } else {
-                // 非HiDPI: 通常の1:1変換
-                for (int y = 0; y < height; y++) {
-                    for (int x = 0; x < width; x++) {
-                        // BGRAバイトを読み取り
-                        int b = buffer.get() & 0xFF;
-                        int g = buffer.get() & 0xFF;
-                        int r = buffer.get() & 0xFF;
-                        int a = buffer.get() & 0xFF;
-
-                        // ARGBフォーマットに変換
-                        int argb = (a << 24) | (r << 16) | (g << 8) | b;
-
-                        // PImageピクセル配列に設定
-                        image.pixels[y * width + x] = argb;
-                    }
-                }
-            }
-
-            image.updatePixels();
-            needsUpdate.set(true);
-
-            // デバッグ: 変換後のPImageの内容を確認
-            if (onPaintCount <= 3) {
-                int whiteCount = 0;
-                int nonWhiteCount = 0;
-                int sampleSize = Math.min(100, image.pixels.length);
-                StringBuilder pixelSamples = new StringBuilder("PImage samples: ");
-                for (int i = 0; i < sampleSize; i++) {
-                    int pixel = image.pixels[i];
-                    if (pixel == 0xFFFFFFFF) {
-                        whiteCount++;
-                    } else {
-                        nonWhiteCount++;
-                        if (nonWhiteCount <= 3) {
-                            pixelSamples.append(String.format("[%d:0x%08X] ", i, pixel));
-                        }
-                    }
-                }
-                log("PImage after conversion: white=" + whiteCount + ", nonWhite=" + nonWhiteCount + "/" + sampleSize);
-                if (nonWhiteCount > 0) {
-                    log(pixelSamples.toString());
-                }
-            }
-        }
-    }
-
-    /**
-     * デバッグログ出力。
-     */
-    private void log(String message) {
-        if (kernel.getLogger() != null) {
-            kernel.getLogger().debug("ChromiumRenderHandler", message);
-        }
-    }
-
-    /**
-     * エラーログ出力。
-     */
-    private void logError(String message) {
-        if (kernel.getLogger() != null) {
-            kernel.getLogger().error("ChromiumRenderHandler", message);
-        }
-    }
-
-    /**
-     * レンダリング結果のPImageを取得する。
-     *
-     * @return PImageインスタンス
-     */
-    public PImage getImage() {
-        synchronized (imageLock) {
-            return image;
-        }
-    }
-
-    /**
-     * 描画更新が必要かを確認する。
-     *
-     * @return 更新が必要な場合true
-     */
-    public boolean needsUpdate() {
-        return needsUpdate.getAndSet(false);
-    }
-
-    /**
-     * ビューポート矩形を返す（必須オーバーライド）。
-     *
-     * @param browser CEFブラウザ
-     * @return ビューポート矩形
-     */
-    @Override
-    public Rectangle getViewRect(CefBrowser browser) {
-        return new Rectangle(0, 0, width, height);
-    }
-
-    /**
-     * ビューポートサイズを更新する。
-     * wasResized()呼び出し前にこのメソッドでサイズを更新する必要がある。
-     *
-     * @param newWidth 新しい幅
-     * @param newHeight 新しい高さ
-     */
-    public void setSize(int newWidth, int newHeight) {
-        if (newWidth <= 0 || newHeight <= 0) {
-            log("Invalid size: " + newWidth + "x" + newHeight);
-            return;
-        }
-
-        synchronized (imageLock) {
-            this.width = newWidth;
-            this.height = newHeight;
-
-            // PImageを新しいサイズで再作成
-            this.image = new PImage(newWidth, newHeight, PImage.ARGB);
-            this.image.loadPixels();
-            for (int i = 0; i < image.pixels.length; i++) {
-                image.pixels[i] = 0xFFFFFFFF; // 白
-            }
-            this.image.updatePixels();
-
-            log("Viewport resized to: " + newWidth + "x" + newHeight);
-        }
-    }
-
-    /**
-     * onPaintリスナーを設定する（CefRenderHandlerの抽象メソッド）。
-     * 現在は使用していないため、空実装。
-     */
-    @Override
-    public void setOnPaintListener(Consumer<CefPaintEvent> listener) {
-        // 空実装：現在はリスナー登録機能を使用していない
-    }
-
-    /**
-     * onPaintリスナーを追加する（CefRenderHandlerの抽象メソッド）。
-     * 現在は使用していないため、空実装。
-     */
-    @Override
-    public void addOnPaintListener(Consumer<CefPaintEvent> listener) {
-        // 空実装：現在はリスナー登録機能を使用していない
-    }
-
-    /**
-     * onPaintリスナーを削除する（CefRenderHandlerの抽象メソッド）。
-     * 現在は使用していないため、空実装。
-     */
-    @Override
-    public void removeOnPaintListener(Consumer<CefPaintEvent> listener) {
-        // 空実装：現在はリスナー登録機能を使用していない
-    }
-}
+package jp.moyashi.phoneos.core.service.chromium;
+
+import jp.moyashi.phoneos.core.Kernel;
+import jp.moyashi.phoneos.core.service.LoggerService;
+import org.cef.browser.CefBrowser;
+import org.cef.browser.CefPaintEvent;
+import org.cef.callback.CefDragData;
+import org.cef.handler.CefRenderHandlerAdapter;
+import processing.core.PImage;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Chromiumオフスクリーンレンダリングハンドラー。
+ * onPaint()コールバックでByteBuffer（BGRA）をPImageに変換する。
+ *
+ * アーキテクチャ:
+ * - onPaint(): Chromiumからのペイントコールバック
+ * - ByteBuffer（BGRA）→ PImage（ARGB）変換（dirtyRectsの範囲のみ、IntBufferビューで行単位に一括コピー）
+ * - 描画更新フラグ管理（needsUpdate）
+ *
+ * @author MochiOS Team
+ * @version 1.0
+ */
+public class ChromiumRenderHandler extends CefRenderHandlerAdapter {
+
+    private final Kernel kernel;
+    private volatile int width;
+    private volatile int height;
+    private PImage image;
+    private final AtomicBoolean needsUpdate = new AtomicBoolean(false);
+    private final Object imageLock = new Object();
+    private final boolean isMac;
+
+    private static final String TAG = "ChromiumRenderHandler";
+
+    /** ペイント処理の計測カウンター（常時有効・加算のみ） */
+    private final ChromiumPaintStats paintStats = new ChromiumPaintStats();
+
+    // フレームスキップ用（過剰なフレーム更新を防止）
+    private long lastPaintTimeNs = 0L;
+
+    /** フレームスキップで変換されなかった更新領域（Chromiumバッファ座標） */
+    private Rectangle pendingDirty;
+
+    /** HiDPIダウンサンプリング用の行バッファ */
+    private int[] rowScratch = new int[0];
+    private static final long MIN_PAINT_INTERVAL_NS = 16_000_000L; // 16ms = 60FPS（P2D GPU描画対応）
+
+    /** フレームスキップの有効フラグ（ベンチマーク等で全ペイントを変換する場合はfalse） */
+    private volatile boolean frameSkipEnabled = true;
+
+    /**
+     * ChromiumRenderHandlerを構築する。
+     *
+     * @param kernel Kernelインスタンス
+     * @param width 幅
+     * @param height 高さ
+     */
+    public ChromiumRenderHandler(Kernel kernel, int width, int height) {
+        this.kernel = kernel;
+        this.width = width;
+        this.height = height;
+
+        // OS判定（Mac環境でのみHiDPIリサイズ処理を行う）
+        String osName = System.getProperty("os.name").toLowerCase();
+        this.isMac = osName.contains("mac");
+
+        // PImageを初期化（ARGB形式）
+        this.image = new PImage(width, height, PImage.ARGB);
+        this.image.loadPixels();
+
+        // 初期背景色（白）
+        for (int i = 0; i < image.pixels.length; i++) {
+            image.pixels[i] = 0xFFFFFFFF; // 白
+        }
+        this.image.updatePixels();
+    }
+
+    /**
+     * Chromiumからのペイントコールバック。
+     * ByteBuffer（BGRA形式）をPImage（ARGB形式）に変換する。
+     *
+     * @param browser CEFブラウザ
+     * @param popup ポップアップフラグ
+     * @param dirtyRects 更新領域（この範囲のみ変換する）
+     * @param buffer BGRAピクセルデータ
+     * @param width 幅
+     * @param height 高さ
+     */
+    @Override
+    public void onPaint(CefBrowser browser, boolean popup, Rectangle[] dirtyRects,
+                        ByteBuffer buffer, int width, int height) {
+        paintStats.recordPaint();
+        // キャプチャするラムダの生成も避けるため、ホットパスでは先にタグ別のレベルを判定する
+        // （このタグが無効な間は文字列を一切生成しない）
+        LoggerService logger = kernel.getLogger();
+        boolean debug = ChromiumTrace.isDebugEnabled(logger, TAG);
+        if (debug) {
+            logger.debug(TAG, "onPaint #" + paintStats.getPaintCount() + ": " + width + "x" + height
+                    + ", popup=" + popup + ", buffer=" + (buffer != null ? buffer.remaining() + " bytes" : "null"));
+        }
+        if (buffer == null) {
+            return;
+        }
+        if (ChromiumTrace.isPixelTraceEnabled(logger, TAG)) {
+            traceBufferSamples(logger, buffer, width, height);
+        }
+
+        // 今回の更新領域（前回スキップ分も含めて変換する）
+        Rectangle dirty = unionDirtyRects(dirtyRects, width, height);
+
+        // フレームスキップ：前回から16ms未満の場合はスキップ（60FPS制限）
+        // 変換されなかった更新領域は次回のペイントで一緒に変換する
+        long now = System.nanoTime();
+        if (frameSkipEnabled && now - lastPaintTimeNs < MIN_PAINT_INTERVAL_NS) {
+            pendingDirty = pendingDirty == null ? dirty : pendingDirty.union(dirty);
+            paintStats.recordSkip();
+            return; // スキップ
+        }
+        lastPaintTimeNs = now;
+        if (pendingDirty != null) {
+            dirty = dirty.union(pendingDirty);
+            pendingDirty = null;
+        }
+
+        boolean isHiDPI = isMac && (width == this.width * 2);
+
+        // サイズチェック（HiDPI/Retinaディスプレイ対応）
+        // Mac Retinaでは2倍サイズ（800x952）でレンダリングされる可能性がある
+        if (debug && width != this.width && !isHiDPI) {
+            logger.debug(TAG, "Size difference: expected " + this.width + "x" + this.height +
+                ", got " + width + "x" + height + " - using received size");
+            // サイズが違っても続行（エラーで返さない）
+        }
+
+        synchronized (imageLock) {
+            // BGRAバイト列をリトルエンディアンのintとして読むと、そのままARGBになる（チャンネル変換不要）
+            ByteBuffer view = buffer.duplicate();
+            view.clear();
+            IntBuffer src = view.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+            image.loadPixels();
+
+            long convertStartNs = System.nanoTime();
+            int converted;
+            if (isHiDPI) {
+                // HiDPI: 2x2ピクセルブロックの左上をサンプリング（Nearest Neighbor）
+                // 800x952 → 400x476（2倍スケールを1/2に縮小）
+                converted = convertDownscaled(src, width, height, dirty);
+            } else {
+                // 非HiDPI: 更新領域の行ごとに一括コピー
+                converted = convertRegion(src, width, height, dirty);
+            }
+            paintStats.recordConversion(System.nanoTime() - convertStartNs, converted);
+
+            needsUpdate.set(true);
+
+            if (ChromiumTrace.isPixelTraceEnabled(logger, TAG)) {
+                traceImageSamples(logger);
+            }
+        }
+    }
+
+    /**
+     * 更新領域をバッファ範囲内の1つの外接矩形にまとめる。
+     * 更新領域が渡されない場合は全体とみなす。
+     */
+    private static Rectangle unionDirtyRects(Rectangle[] dirtyRects, int width, int height) {
+        Rectangle bounds = new Rectangle(0, 0, width, height);
+        if (dirtyRects == null || dirtyRects.length == 0) {
+            return bounds;
+        }
+        Rectangle union = null;
+        for (Rectangle rect : dirtyRects) {
+            if (rect != null && !rect.isEmpty()) {
+                union = union == null ? new Rectangle(rect) : union.union(rect);
+            }
+        }
+        return union == null ? bounds : bounds.intersection(union);
+    }
+
+    /**
+     * 等倍バッファの更新領域を行単位の一括コピーでPImageへ転送する。
+     *
+     * @return 変換したピクセル数
+     */
+    private int convertRegion(IntBuffer src, int srcWidth, int srcHeight, Rectangle dirty) {
+        int x0 = Math.max(0, dirty.x);
+        int y0 = Math.max(0, dirty.y);
+        int x1 = Math.min(Math.min(srcWidth, image.width), dirty.x + dirty.width);
+        int y1 = Math.min(Math.min(srcHeight, image.height), dirty.y + dirty.height);
+        if (x1 <= x0 || y1 <= y0) {
+            return 0;
+        }
+        int[] dst = image.pixels;
+        int length = x1 - x0;
+        for (int y = y0; y < y1; y++) {
+            src.get(y * srcWidth + x0, dst, y * image.width + x0, length);
+        }
+        image.updatePixels(x0, y0, length, y1 - y0);
+        return length * (y1 - y0);
+    }
+
+    /**
+     * 2倍サイズのバッファの更新領域を1/2に縮小してPImageへ転送する。
+     * 偶数行のみを行バッファへ一括読み込みし、1つおきにサンプリングする。
+     *
+     * @return 変換したピクセル数
+     */
+    private int convertDownscaled(IntBuffer src, int srcWidth, int srcHeight, Rectangle dirty) {
+        int x0 = Math.max(0, dirty.x / 2);
+        int y0 = Math.max(0, dirty.y / 2);
+        int x1 = Math.min(image.width, (dirty.x + dirty.width + 1) / 2);
+        int y1 = Math.min(image.height, (dirty.y + dirty.height + 1) / 2);
+        x1 = Math.min(x1, (srcWidth + 1) / 2);
+        y1 = Math.min(y1, (srcHeight + 1) / 2);
+        if (x1 <= x0 || y1 <= y0) {
+            return 0;
+        }
+        int srcX = x0 * 2;
+        int span = Math.min((x1 - x0) * 2, srcWidth - srcX);
+        if (rowScratch.length < span) {
+            rowScratch = new int[span];
+        }
+        int[] row = rowScratch;
+        int[] dst = image.pixels;
+        for (int y = y0; y < y1; y++) {
+            src.get(y * 2 * srcWidth + srcX, row, 0, span);
+            int d = y * image.width + x0;
+            for (int i = 0; i < span; i += 2) {
+                dst[d++] = row[i];
+            }
+        }
+        image.updatePixels(x0, y0, x1 - x0, y1 - y0);
+        return (x1 - x0) * (y1 - y0);
+    }
+
+    /**
+     * 受信バッファの先頭4ピクセルと中央ピクセルを出力する（ピクセルトレース有効時のみ）。
+     */
+    private void traceBufferSamples(LoggerService logger, ByteBuffer buffer, int width, int height) {
+        if (buffer.capacity() < 16) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder("First 4 pixels (BGRA): ");
+        for (int i = 0; i < 4; i++) {
+            appendBgra(sb, buffer, i * 4);
+        }
+        logger.debug(TAG, sb.toString());
+
+        int centerIndex = (height / 2 * width + width / 2) * 4;
+        if (buffer.capacity() > centerIndex + 4) {
+            StringBuilder center = new StringBuilder("Center pixel (BGRA): ");
+            appendBgra(center, buffer, centerIndex);
+            logger.debug(TAG, center.toString());
+        }
+    }
+
+    private static void appendBgra(StringBuilder sb, ByteBuffer buffer, int index) {
+        sb.append("[B:").append(buffer.get(index) & 0xFF)
+                .append(" G:").append(buffer.get(index + 1) & 0xFF)
+                .append(" R:").append(buffer.get(index + 2) & 0xFF)
+                .append(" A:").append(buffer.get(index + 3) & 0xFF)
+                .append("] ");
+    }
+
+    /**
+     * 変換後のPImage先頭100ピクセルの白/非白の内訳を出力する（ピクセルトレース有効時のみ）。
+     */
+    private void traceImageSamples(LoggerService logger) {
+        int whiteCount = 0;
+        int nonWhiteCount = 0;
+        int sampleSize = Math.min(100, image.pixels.length);
+        StringBuilder pixelSamples = new StringBuilder("PImage samples: ");
+        for (int i = 0; i < sampleSize; i++) {
+            int pixel = image.pixels[i];
+            if (pixel == 0xFFFFFFFF) {
+                whiteCount++;
+            } else {
+                nonWhiteCount++;
+                if (nonWhiteCount <= 3) {
+                    pixelSamples.append('[').append(i).append(":0x").append(Integer.toHexString(pixel)).append("] ");
+                }
+            }
+        }
+        logger.debug(TAG, "PImage after conversion: white=" + whiteCount + ", nonWhite=" + nonWhiteCount + "/" + sampleSize);
+        if (nonWhiteCount > 0) {
+            logger.debug(TAG, pixelSamples.toString());
+        }
+    }
+
+    /**
+     * 60FPS制限によるフレームスキップの有効/無効を切り替える。
+     * ベンチマークなど、すべてのペイントを変換する必要がある場合にfalseを指定する。
+     *
+     * @param enabled 有効にする場合true（デフォルト）
+     */
+    public void setFrameSkipEnabled(boolean enabled) {
+        this.frameSkipEnabled = enabled;
+    }
+
+    /**
+     * ペイント処理の計測カウンターを取得する。
+     *
+     * @return 計測カウンター
+     */
+    public ChromiumPaintStats getPaintStats() {
+        return paintStats;
+    }
+
+    /**
+     * デバッグログ出力。
+     */
+    private void log(String message) {
+        if (ChromiumTrace.isDebugEnabled(kernel.getLogger(), TAG)) {
+            kernel.getLogger().debug(TAG, message);
+        }
+    }
+
+    /**
+     * エラーログ出力。
+     */
+    private void logError(String message) {
+        if (kernel.getLogger() != null) {
+            kernel.getLogger().error(TAG, message);
+        }
+    }
+
+    /**
+     * レンダリング結果のPImageを取得する。
+     *
+     * @return PImageインスタンス
+     */
+    public PImage getImage() {
+        synchronized (imageLock) {
+            return image;
+        }
+    }
+
+    /**
+     * 描画更新が必要かを確認する。
+     *
+     * @return 更新が必要な場合true
+     */
+    public boolean needsUpdate() {
+        return needsUpdate.getAndSet(false);
+    }
+
+    /**
+     * ビューポート矩形を返す（必須オーバーライド）。
+     *
+     * @param browser CEFブラウザ
+     * @return ビューポート矩形
+     */
+    @Override
+    public Rectangle getViewRect(CefBrowser browser) {
+        return new Rectangle(0, 0, width, height);
+    }
+
+    /**
+     * ビューポートサイズを更新する。
+     * wasResized()呼び出し前にこのメソッドでサイズを更新する必要がある。
+     *
+     * @param newWidth 新しい幅
+     * @param newHeight 新しい高さ
+     */
+    public void setSize(int newWidth, int newHeight) {
+        if (newWidth <= 0 || newHeight <= 0) {
+            log("Invalid size: " + newWidth + "x" + newHeight);
+            return;
+        }
+
+        synchronized (imageLock) {
+            this.width = newWidth;
+            this.height = newHeight;
+
+            // PImageを新しいサイズで再作成
+            this.image = new PImage(newWidth, newHeight, PImage.ARGB);
+            this.image.loadPixels();
+            for (int i = 0; i < image.pixels.length; i++) {
+                image.pixels[i] = 0xFFFFFFFF; // 白
+            }
+            this.image.updatePixels();
+
+            log("Viewport resized to: " + newWidth + "x" + newHeight);
+        }
+    }
+
+    /**
+     * onPaintリスナーを設定する（CefRenderHandlerの抽象メソッド）。
+     * 現在は使用していないため、空実装。
+     */
+    @Override
+    public void setOnPaintListener(Consumer<CefPaintEvent> listener) {
+        // 空実装：現在はリスナー登録機能を使用していない
+    }
+
+    /**
+     * onPaintリスナーを追加する（CefRenderHandlerの抽象メソッド）。
+     * 現在は使用していないため、空実装。
+     */
+    @Override
+    public void addOnPaintListener(Consumer<CefPaintEvent> listener) {
+        // 空実装：現在はリスナー登録機能を使用していない
+    }
+
+    /**
+     * onPaintリスナーを削除する（CefRenderHandlerの抽象メソッド）。
+     * 現在は使用していないため、空実装。
+     */
+    @Override
+    public void removeOnPaintListener(Consumer<CefPaintEvent> listener) {
+        // 空実装：現在はリスナー登録機能を使用していない
+    }
+}
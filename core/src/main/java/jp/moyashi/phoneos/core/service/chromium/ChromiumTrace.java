@@ -0,0 +1,72 @@
+package jp.moyashi.phoneos.core.service.chromium;
+
+import jp.moyashi.phoneos.core.service.LoggerService;
+
+import java.util.function.Supplier;
+
+/**
+ * Chromiumパイプラインの計測・トレース用ゲート。
+ *
+ * ホットパス（onPaint、メッセージポンプ）のログはすべてこのクラスを経由し、
+ * 無効時はメッセージ文字列の生成自体を行わない（Supplierは呼び出されない）。
+ *
+ * - デバッグログ: LoggerServiceでタグのログレベルがDEBUGの場合のみ出力（タグ別レベルを考慮）
+ * - ピクセルトレース: 先頭ピクセルのダンプなど高コストな診断。{@code -Dmochi.chromiumTrace=true}
+ *   または{@link #setPixelTraceEnabled(boolean)}で有効化した場合のみ実行
+ *
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public final class ChromiumTrace {
+
+    /** 高コストなピクセル診断の有効フラグ */
+    private static volatile boolean pixelTraceEnabled = Boolean.getBoolean("mochi.chromiumTrace");
+
+    private ChromiumTrace() {
+    }
+
+    /**
+     * タグのデバッグログが有効かどうか。
+     *
+     * @param logger ロガー（null可）
+     * @param tag タグ
+     * @return DEBUGレベルで出力される場合true
+     */
+    public static boolean isDebugEnabled(LoggerService logger, String tag) {
+        return logger != null && logger.isEnabled(LoggerService.LogLevel.DEBUG, tag);
+    }
+
+    /**
+     * デバッグログを遅延生成で出力する。無効時はSupplierを呼び出さない。
+     *
+     * @param logger ロガー（null可）
+     * @param tag タグ
+     * @param message メッセージ生成関数
+     */
+    public static void debug(LoggerService logger, String tag, Supplier<String> message) {
+        if (logger != null) {
+            // タグ別レベルを考慮するためLoggerService側で判定する
+            logger.debug(tag, message);
+        }
+    }
+
+    /**
+     * ピクセル単位の診断（バッファ内容のダンプ等）を実行すべきかどうか。
+     *
+     * @param logger ロガー（null可）
+     * @param tag タグ
+     * @return ピクセルトレースとタグのデバッグログの両方が有効な場合true
+     */
+    public static boolean isPixelTraceEnabled(LoggerService logger, String tag) {
+        return pixelTraceEnabled && isDebugEnabled(logger, tag);
+    }
+
+    /**
+     * ピクセルトレースの有効/無効を切り替える。
+     *
+     * @param enabled 有効にする場合true
+     */
+    public static void setPixelTraceEnabled(boolean enabled) {
+        pixelTraceEnabled = enabled;
+    }
+}
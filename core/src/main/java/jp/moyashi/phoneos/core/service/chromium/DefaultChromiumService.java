@@ -174,6 +174,11 @@ public class DefaultChromiumService implements ChromiumService {
         surfaces.values().forEach(DefaultChromiumSurface::dispose);
         surfaces.clear();
 
+        if (browserDataManager != null) {
+            // 保存待ちの履歴を書き出す
+            browserDataManager.shutdown();
+        }
+
         if (pumpExecutor != null) {
             pumpExecutor.shutdownNow();
             pumpExecutor = null;
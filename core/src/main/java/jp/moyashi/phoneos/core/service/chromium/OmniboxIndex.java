@@ -0,0 +1,328 @@
+package jp.moyashi.phoneos.core.service.chromium;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * アドレスバーの入力候補（履歴・ブックマーク）を検索するインデックス。
+ *
+ * URLごとに1件の候補を保持し、次の2つの索引で検索する。
+ * - 前方一致: スキーム・"www."を除いたURLと、タイトルの各単語をキーにしたソート済みマップ
+ * - 部分一致: URLとタイトルの3文字組（トライグラム）の転置インデックス。3文字以上の入力では
+ *   最も候補の少ないトライグラムの集合だけを走査し、部分文字列として含むかを確認する
+ *
+ * スレッドセーフではない。BrowserDataManagerのロック内から使用する。
+ *
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public class OmniboxIndex {
+
+    /** 入力候補 */
+    public static final class Suggestion {
+        public final String title;
+        public final String url;
+        public final boolean bookmarked;
+
+        Suggestion(String title, String url, boolean bookmarked) {
+            this.title = title;
+            this.url = url;
+            this.bookmarked = bookmarked;
+        }
+    }
+
+    /** URLごとの候補（索引の要素。同一性で比較する） */
+    private static final class Doc {
+        final String url;
+        /** スキーム・"www."を除いた小文字のURL */
+        final String normalizedUrl;
+        String title;
+        /** 部分一致の確認対象（URL + タイトル、小文字） */
+        String text;
+        long lastVisit;
+        int visits;
+        /** 履歴に残っているエントリ数 */
+        int historyRefs;
+        boolean bookmarked;
+
+        Doc(String url) {
+            this.url = url;
+            this.normalizedUrl = normalize(url);
+        }
+    }
+
+    private final Map<String, Doc> byUrl = new HashMap<>();
+    private final TreeMap<String, Set<Doc>> prefixes = new TreeMap<>();
+    private final Map<Long, Set<Doc>> trigrams = new HashMap<>();
+
+    /**
+     * 履歴の訪問を追加する。
+     *
+     * @param title タイトル
+     * @param url URL
+     * @param timestamp 訪問時刻
+     */
+    public void addVisit(String title, String url, long timestamp) {
+        Doc doc = getOrCreate(url, title);
+        doc.historyRefs++;
+        doc.visits++;
+        doc.lastVisit = Math.max(doc.lastVisit, timestamp);
+        updateTitle(doc, title);
+    }
+
+    /**
+     * 履歴から消えたエントリを取り除く（リングからの押し出し時など）。
+     *
+     * @param url URL
+     */
+    public void removeVisit(String url) {
+        Doc doc = byUrl.get(url);
+        if (doc == null) {
+            return;
+        }
+        doc.historyRefs = Math.max(0, doc.historyRefs - 1);
+        doc.visits = Math.max(0, doc.visits - 1);
+        removeIfUnused(doc);
+    }
+
+    /**
+     * ブックマークを追加する。
+     *
+     * @param title タイトル
+     * @param url URL
+     */
+    public void addBookmark(String title, String url) {
+        Doc doc = getOrCreate(url, title);
+        doc.bookmarked = true;
+        updateTitle(doc, title);
+    }
+
+    /**
+     * ブックマークを取り除く。
+     *
+     * @param url URL
+     */
+    public void removeBookmark(String url) {
+        Doc doc = byUrl.get(url);
+        if (doc == null) {
+            return;
+        }
+        doc.bookmarked = false;
+        removeIfUnused(doc);
+    }
+
+    /**
+     * 履歴の情報をすべて取り除く（ブックマークは残す）。
+     */
+    public void clearVisits() {
+        for (Doc doc : new ArrayList<>(byUrl.values())) {
+            doc.historyRefs = 0;
+            doc.visits = 0;
+            doc.lastVisit = 0;
+            removeIfUnused(doc);
+        }
+    }
+
+    /**
+     * すべての候補を取り除く。
+     */
+    public void clear() {
+        byUrl.clear();
+        prefixes.clear();
+        trigrams.clear();
+    }
+
+    /**
+     * 候補数を取得する。
+     *
+     * @return URLの数
+     */
+    public int size() {
+        return byUrl.size();
+    }
+
+    /**
+     * 入力に一致する候補を取得する。
+     * ブックマーク、URLの前方一致、訪問回数、最終訪問時刻の順に優先する。
+     *
+     * @param query 入力文字列
+     * @param limit 最大件数
+     * @return 候補（優先度順）
+     */
+    public List<Suggestion> suggest(String query, int limit) {
+        if (query == null || limit <= 0) {
+            return Collections.emptyList();
+        }
+        String q = normalize(query.trim());
+        if (q.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<Doc> candidates = q.length() >= 3 ? matchSubstring(q) : matchPrefix(q);
+        if (candidates.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Doc> sorted = new ArrayList<>(candidates);
+        sorted.sort((a, b) -> {
+            int c = Integer.compare(score(b, q), score(a, q));
+            return c != 0 ? c : Long.compare(b.lastVisit, a.lastVisit);
+        });
+        int n = Math.min(limit, sorted.size());
+        List<Suggestion> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Doc doc = sorted.get(i);
+            result.add(new Suggestion(doc.title, doc.url, doc.bookmarked));
+        }
+        return result;
+    }
+
+    private Set<Doc> matchPrefix(String q) {
+        Set<Doc> result = new HashSet<>();
+        SortedMap<String, Set<Doc>> range = prefixes.subMap(q, q + Character.MAX_VALUE);
+        for (Set<Doc> docs : range.values()) {
+            result.addAll(docs);
+        }
+        return result;
+    }
+
+    private Set<Doc> matchSubstring(String q) {
+        // 最も候補の少ないトライグラムから走査する
+        Set<Doc> smallest = null;
+        for (int i = 0; i + 3 <= q.length(); i++) {
+            Set<Doc> docs = trigrams.get(trigram(q, i));
+            if (docs == null) {
+                return Collections.emptySet();
+            }
+            if (smallest == null || docs.size() < smallest.size()) {
+                smallest = docs;
+            }
+        }
+        Set<Doc> result = new HashSet<>();
+        for (Doc doc : smallest) {
+            if (doc.text.contains(q)) {
+                result.add(doc);
+            }
+        }
+        return result;
+    }
+
+    private static int score(Doc doc, String q) {
+        int score = 0;
+        if (doc.bookmarked) score += 8;
+        if (doc.normalizedUrl.startsWith(q)) score += 4;
+        // 訪問回数は対数的に加点
+        score += 32 - Integer.numberOfLeadingZeros(doc.visits);
+        return score;
+    }
+
+    private Doc getOrCreate(String url, String title) {
+        Doc doc = byUrl.get(url);
+        if (doc == null) {
+            doc = new Doc(url);
+            doc.title = title;
+            byUrl.put(url, doc);
+            index(doc);
+        }
+        return doc;
+    }
+
+    private void updateTitle(Doc doc, String title) {
+        if (title == null || title.equals(doc.title)) {
+            return;
+        }
+        unindex(doc);
+        doc.title = title;
+        index(doc);
+    }
+
+    private void removeIfUnused(Doc doc) {
+        if (doc.historyRefs == 0 && !doc.bookmarked) {
+            unindex(doc);
+            byUrl.remove(doc.url);
+        }
+    }
+
+    private void index(Doc doc) {
+        String title = doc.title != null ? doc.title.toLowerCase(Locale.ROOT) : "";
+        doc.text = doc.normalizedUrl + " " + title;
+        for (String term : terms(doc, title)) {
+            prefixes.computeIfAbsent(term, k -> new HashSet<>()).add(doc);
+        }
+        for (Long t : trigramsOf(doc.text)) {
+            trigrams.computeIfAbsent(t, k -> new HashSet<>()).add(doc);
+        }
+    }
+
+    private void unindex(Doc doc) {
+        if (doc.text == null) {
+            return;
+        }
+        String title = doc.title != null ? doc.title.toLowerCase(Locale.ROOT) : "";
+        for (String term : terms(doc, title)) {
+            removePosting(prefixes, term, doc);
+        }
+        for (Long t : trigramsOf(doc.text)) {
+            removePosting(trigrams, t, doc);
+        }
+        doc.text = null;
+    }
+
+    private static <K> void removePosting(Map<K, Set<Doc>> index, K key, Doc doc) {
+        Set<Doc> docs = index.get(key);
+        if (docs != null) {
+            docs.remove(doc);
+            if (docs.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+
+    private static Set<String> terms(Doc doc, String lowerTitle) {
+        Set<String> terms = new HashSet<>();
+        if (!doc.normalizedUrl.isEmpty()) {
+            terms.add(doc.normalizedUrl);
+        }
+        for (String word : lowerTitle.split("\\s+")) {
+            if (!word.isEmpty()) {
+                terms.add(word);
+            }
+        }
+        return terms;
+    }
+
+    private static Set<Long> trigramsOf(String text) {
+        Set<Long> result = new HashSet<>();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            result.add(trigram(text, i));
+        }
+        return result;
+    }
+
+    private static long trigram(String s, int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    /**
+     * URL・入力を比較用に正規化する（小文字化、スキームと"www."の除去）。
+     */
+    static String normalize(String url) {
+        String s = url.toLowerCase(Locale.ROOT);
+        int scheme = s.indexOf("://");
+        if (scheme >= 0) {
+            s = s.substring(scheme + 3);
+        }
+        if (s.startsWith("www.")) {
+            s = s.substring(4);
+        }
+        return s;
+    }
+}
@@ -1,5 +1,8 @@
 package jp.moyashi.phoneos.core.service.hardware;
 
+import java.io.IOException;
+import java.io.InputStream;
+
 /**
  * スピーカーAPI。
  * プロパティに3段階の音量を持つ。OS側から音声出力の要求があった場合、ストリーム形式で音声をバイパスする。
@@ -57,6 +60,21 @@ public interface SpeakerSocket {
      */
     void playAudio(byte[] audioData);
 
+    /**
+     * 音声をストリームから再生する。
+     * 音声データ全体をメモリに展開せず、再生に合わせて順に読み込む実装を想定する。
+     * デフォルト実装はストリームを全て読み込んでplayAudio()に渡す。
+     *
+     * @param pcmStream 16-bit PCM（48kHz、モノラル、リトルエンディアン）のストリーム。再生終了・停止時に閉じられる
+     */
+    default void playStream(InputStream pcmStream) {
+        try (InputStream in = pcmStream) {
+            playAudio(in.readAllBytes());
+        } catch (IOException e) {
+            System.err.println("SpeakerSocket: Failed to read audio stream: " + e.getMessage());
+        }
+    }
+
     /**
      * 音声再生を停止する。
      */
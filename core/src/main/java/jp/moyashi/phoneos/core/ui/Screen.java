@@ -395,4 +395,30 @@ public interface Screen {
         // デフォルト実装：フォーカスされたテキスト入力なし
         return null;
     }
+
+    /**
+     * このスクリーンが毎フレームの全画面再描画を必要とするかを返す。
+     * trueの間はフレームスケジューラーも上限レートで動作する。
+     * デフォルト実装は{@link #reportsDamage()}の逆を返す。ダメージを報告しないスクリーンは、
+     * draw()が時刻に依存する処理（長押し判定・カーソル点滅・アニメーション）を行っている可能性があるため毎フレーム再描画する。
+     * 時刻に依存する処理の有無を把握しているスクリーンは、アニメーション・ドラッグ・再生中など
+     * 入力がなくても見た目が変化する間だけtrueを返すようにオーバーライドしてよい
+     * （その場合、それ以外の間は入力時と一定間隔で全画面が再描画される）。
+     *
+     * @return 毎フレーム再描画が必要な場合true
+     */
+    default boolean requiresContinuousRedraw() {
+        return !reportsDamage();
+    }
+
+    /**
+     * このスクリーンが見た目の変化をUIComponent.invalidate()またはDamageContextで報告するかを返す。
+     * trueを返すスクリーンは報告された領域のみが再描画される。
+     * デフォルト実装はfalseを返し、{@link #requiresContinuousRedraw()}がtrueになるため毎フレーム全画面が再描画される。
+     *
+     * @return ダメージ領域を報告する場合true
+     */
+    default boolean reportsDamage() {
+        return false;
+    }
 }
\ No newline at end of file
@@ -45,6 +45,9 @@ public class ScreenManager implements ScreenTransition.AnimationCallback {
     /** 修飾キー状態 - Ctrlキー */
     private boolean ctrlPressed = false;
 
+    /** 前回描画したスクリーン（スクリーン切替時の全画面再描画判定用） */
+    private Screen lastDrawnScreen;
+
     /**
      * ロガーヘルパーメソッド。
      *
@@ -333,6 +336,47 @@ public class ScreenManager implements ScreenTransition.AnimationCallback {
         }
     }
 
+    /**
+     * 次フレームで画面全体の再描画が必要かを判定する。
+     * スクリーン切替、遷移アニメーション中、未セットアップのスクリーンがある場合、
+     * または現在のスクリーンが毎フレーム再描画を要求する場合にtrueを返す。
+     *
+     * @return 全画面再描画が必要な場合true
+     */
+    public boolean needsFullRedraw() {
+        Screen currentScreen = getCurrentScreen();
+        if (currentScreen == null || currentScreen != lastDrawnScreen) {
+            return true;
+        }
+        if (screenTransition != null && screenTransition.isAnimating()) {
+            return true;
+        }
+        if (!unsetupScreens.isEmpty()) {
+            return true;
+        }
+        return currentScreen.requiresContinuousRedraw();
+    }
+
+    /**
+     * 現在のスクリーンが見た目の変化をダメージ領域として報告するかを判定する。
+     *
+     * @return 報告する場合true（スクリーンがない場合false）
+     */
+    public boolean currentScreenReportsDamage() {
+        Screen currentScreen = getCurrentScreen();
+        return currentScreen != null && currentScreen.reportsDamage();
+    }
+
+    /**
+     * 現在のスクリーンにフォーカスされたコンポーネント（テキスト入力など）があるかを判定する。
+     *
+     * @return ある場合true
+     */
+    public boolean currentScreenHasFocus() {
+        Screen currentScreen = getCurrentScreen();
+        return currentScreen != null && currentScreen.hasFocusedComponent();
+    }
+
     /**
      * 現在アクティブなスクリーンを描画する（PGraphics版）。
      * PGraphics統一アーキテクチャで使用する。
@@ -343,6 +387,7 @@ public class ScreenManager implements ScreenTransition.AnimationCallback {
         // スリープ中の場合は黒背景のみ描画
         if (kernel != null && kernel.isSleeping()) {
             g.background(0);
+            lastDrawnScreen = null;
             return;
         }
 
@@ -363,6 +408,7 @@ public class ScreenManager implements ScreenTransition.AnimationCallback {
         {
             // 通常の画面描画
             Screen currentScreen = getCurrentScreen();
+            lastDrawnScreen = currentScreen;
             if (currentScreen != null) {
                 try {
                     // デバッグ：現在描画しているスクリーンを表示
@@ -472,6 +472,14 @@ public class WebScreen implements Screen {
         initialized = false;
     }
 
+    /**
+     * Webコンテンツは入力とは無関係に更新されるため、毎フレーム再描画する。
+     */
+    @Override
+    public boolean requiresContinuousRedraw() {
+        return true;
+    }
+
     @Override
     public String getScreenTitle() {
         if (!initialized) {
@@ -54,14 +54,20 @@ public abstract class BaseComponent implements UIComponent {
 
     @Override
     public void setPosition(float x, float y) {
+        if (this.x == x && this.y == y) return;
+        invalidate();
         this.x = x;
         this.y = y;
+        invalidate();
     }
 
     @Override
     public void setSize(float width, float height) {
+        if (this.width == width && this.height == height) return;
+        invalidate();
         this.width = width;
         this.height = height;
+        invalidate();
     }
 
     @Override
@@ -71,7 +77,10 @@ public abstract class BaseComponent implements UIComponent {
 
     @Override
     public void setVisible(boolean visible) {
-        this.visible = visible;
+        if (this.visible != visible) {
+            this.visible = visible;
+            invalidate();
+        }
     }
 
     @Override
@@ -81,7 +90,10 @@ public abstract class BaseComponent implements UIComponent {
 
     @Override
     public void setEnabled(boolean enabled) {
-        this.enabled = enabled;
+        if (this.enabled != enabled) {
+            this.enabled = enabled;
+            invalidate();
+        }
     }
 
     @Override
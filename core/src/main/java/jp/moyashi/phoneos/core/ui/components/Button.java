@@ -213,6 +213,8 @@ public class Button extends BaseComponent implements Clickable {
         float target = hovered ? 1.0f : 0.0f;
         if (Math.abs(animationProgress - target) > 0.01f) {
             animationProgress += (target - animationProgress) * ANIMATION_SPEED;
+            // アニメーション中は次フレームも再描画が必要
+            invalidate();
         } else {
             animationProgress = target;
         }
@@ -249,6 +251,7 @@ public class Button extends BaseComponent implements Clickable {
 
         if (contains(mouseX, mouseY)) {
             pressed = true;
+            invalidate();
             return true;
         }
         return false;
@@ -256,6 +259,9 @@ public class Button extends BaseComponent implements Clickable {
 
     @Override
     public boolean onMouseReleased(int mouseX, int mouseY) {
+        if (pressed) {
+            invalidate();
+        }
         if (!enabled || !visible) {
             pressed = false;
             return false;
@@ -274,12 +280,15 @@ public class Button extends BaseComponent implements Clickable {
 
     @Override
     public void onMouseMoved(int mouseX, int mouseY) {
+        boolean wasHovered = hovered;
         if (!enabled || !visible) {
             hovered = false;
-            return;
+        } else {
+            hovered = contains(mouseX, mouseY);
+        }
+        if (hovered != wasHovered) {
+            invalidate();
         }
-
-        hovered = contains(mouseX, mouseY);
     }
 
     @Override
@@ -295,6 +304,7 @@ public class Button extends BaseComponent implements Clickable {
 
     public void setText(String text) {
         this.text = text;
+        invalidate();
     }
 
     public PImage getIcon() {
@@ -303,6 +313,7 @@ public class Button extends BaseComponent implements Clickable {
 
     public void setIcon(PImage icon) {
         this.icon = icon;
+        invalidate();
     }
 
     public void setBackgroundColor(int color) {
@@ -130,7 +130,9 @@ public class Label extends BaseComponent {
     }
 
     public void setText(String text) {
+        if (java.util.Objects.equals(this.text, text)) return;
         this.text = text;
+        invalidate();
     }
 
     public void setTextColor(int color) {
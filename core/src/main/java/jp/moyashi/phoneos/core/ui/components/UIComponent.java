@@ -1,5 +1,6 @@
 package jp.moyashi.phoneos.core.ui.components;
 
+import jp.moyashi.phoneos.core.render.DamageContext;
 import processing.core.PGraphics;
 
 /**
@@ -109,4 +110,12 @@ public interface UIComponent {
         return x >= getX() && x <= getX() + getWidth() &&
                y >= getY() && y <= getY() + getHeight();
     }
+
+    /**
+     * コンポーネントの表示領域を無効化し、次フレームでの再描画を要求する。
+     * 見た目が変化する状態変更（テキスト、ホバー、アニメーション等）の際に呼び出す。
+     */
+    default void invalidate() {
+        DamageContext.invalidate(getX(), getY(), getWidth(), getHeight());
+    }
 }
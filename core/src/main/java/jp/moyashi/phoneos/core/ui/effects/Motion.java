@@ -1,5 +1,6 @@
 package jp.moyashi.phoneos.core.ui.effects;
 
+import jp.moyashi.phoneos.core.service.BooleanSetting;
 import jp.moyashi.phoneos.core.service.SettingsManager;
 
 /**
@@ -14,13 +15,36 @@ public final class Motion {
     public static final int DURATION_MEDIUM = 200; // ms
     public static final int DURATION_LONG = 300;   // ms
 
+    /** 描画ごとに呼ばれるため、設定はハンドル経由で参照する（SettingsManagerごとに作成） */
+    private static volatile Settings cached;
+    private static final Object HANDLES_LOCK = new Object();
+
     public static boolean reduce(SettingsManager settings) {
-        return settings != null && settings.getBooleanSetting("ui.motion.reduce", false);
+        return settings != null && handles(settings).reduce.get();
     }
 
     public static boolean lowPower(SettingsManager settings) {
         // TODO: 低電力モード時のモーション簡略化の適用を検討
-        return settings != null && settings.getBooleanSetting("ui.performance.low_power", false);
+        return settings != null && handles(settings).lowPower.get();
+    }
+
+    private static Settings handles(SettingsManager settings) {
+        Settings s = cached;
+        if (s != null && s.owner == settings) {
+            return s;
+        }
+        // 作成と差し替えはロック内で行い、同時に呼ばれてもハンドルの登録・解除が重複しないようにする
+        synchronized (HANDLES_LOCK) {
+            s = cached;
+            if (s == null || s.owner != settings) {
+                if (s != null) {
+                    s.close();
+                }
+                s = new Settings(settings);
+                cached = s;
+            }
+            return s;
+        }
     }
 
     public static float easeOutCubic(float t) {
@@ -38,4 +62,21 @@ public final class Motion {
         // TODO: 低電力モード（ui.performance.low_power）による継続時間短縮の適用を検討
         return ms;
     }
+
+    private static final class Settings {
+        final SettingsManager owner;
+        final BooleanSetting reduce;
+        final BooleanSetting lowPower;
+
+        Settings(SettingsManager owner) {
+            this.owner = owner;
+            this.reduce = owner.booleanSetting("ui.motion.reduce", false);
+            this.lowPower = owner.booleanSetting("ui.performance.low_power", false);
+        }
+
+        void close() {
+            reduce.close();
+            lowPower.close();
+        }
+    }
 }
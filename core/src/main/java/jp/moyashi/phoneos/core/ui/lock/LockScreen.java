@@ -1371,6 +1371,16 @@ public class LockScreen implements Screen, GestureListener {
     public String getScreenTitle() {
         return "Lock Screen";
     }
+
+    /**
+     * パターン入力のスライドアニメーション中と、通知リストの慣性スクロール中は毎フレーム再描画する。
+     *
+     * @return アニメーション中の場合true
+     */
+    @Override
+    public boolean requiresContinuousRedraw() {
+        return patternAnimating || Math.abs(notificationScrollVelocity) > MIN_NOTIFICATION_SCROLL_VELOCITY;
+    }
     
     /**
      * レイヤー管理システムにロック画面を登録する。
@@ -1,5 +1,6 @@
 package jp.moyashi.phoneos.core.ui.popup;
 
+import jp.moyashi.phoneos.core.render.LayerSource;
 import processing.core.PApplet;
 import processing.core.PGraphics;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -9,7 +10,7 @@ import java.util.concurrent.ConcurrentLinkedQueue;
  * すべてのアプリケーションから使用可能なポップアップシステムを提供する。
  * ポップアップはすべての描画の最上位に表示される。
  */
-public class PopupManager {
+public class PopupManager implements LayerSource {
     
     /** 現在表示中のポップアップメニュー */
     private PopupMenu currentPopup;
@@ -105,6 +106,33 @@ public class PopupManager {
     public boolean hasActivePopup() {
         return currentPopup != null;
     }
+
+    // =========================================================================
+    // LayerSource実装（OverlayCompositorの保持レイヤー用）
+    // =========================================================================
+
+    @Override
+    public void drawLayer(PGraphics g) {
+        draw(g);
+    }
+
+    @Override
+    public boolean isLayerActive() {
+        return hasActivePopup();
+    }
+
+    @Override
+    public boolean isLayerAnimating() {
+        return false;
+    }
+
+    @Override
+    public long getLayerStateStamp() {
+        long stamp = System.identityHashCode(currentPopup) * 31L + popupQueue.size();
+        // 自動クローズ時刻を過ぎたら再描画させる（draw()内でクローズされる）
+        boolean expired = currentPopup != null && autoCloseTime > 0 && System.currentTimeMillis() > autoCloseTime;
+        return stamp * 2 + (expired ? 1 : 0);
+    }
     
     /**
      * ポップアップを描画する（PGraphics版）。
@@ -1,6 +1,7 @@
 package jp.moyashi.phoneos.core.ui.theme;
 
 import jp.moyashi.phoneos.core.service.SettingsManager;
+import jp.moyashi.phoneos.core.service.Setting;
 
 /**
  * 繝・じ繧､繝ｳ繝医・繧ｯ繝ｳ繧堤函謌舌・謠蝉ｾ帙☆繧九ユ繝ｼ繝槭お繝ｳ繧ｸ繝ｳ縲・
@@ -13,6 +14,12 @@ public class ThemeEngine implements SettingsManager.SettingsListener {
 
     private final SettingsManager settings;
 
+    // 描画中に参照される設定（変更時に更新されるハンドル）
+    private final Setting<String> modeSetting;
+    private final Setting<String> toneSetting;
+    private final Setting<String> familySetting;
+    private final Setting<String> cornerSetting;
+
     // 繧ｻ繝槭Φ繝・ぅ繝・け繧ｫ繝ｩ繝ｼ (ARGB 0xAARRGGBB蠖｢蠑・
     private int colorPrimary;
     private int colorOnPrimary;
@@ -35,12 +42,19 @@ public class ThemeEngine implements SettingsManager.SettingsListener {
 
     public ThemeEngine(SettingsManager settings) {
         this.settings = settings;
-        this.settings.addListener(this);
+        this.modeSetting = settings.stringSetting("ui.theme.mode", "light");
+        this.toneSetting = settings.stringSetting("ui.theme.tone", null);
+        this.familySetting = settings.stringSetting("ui.theme.family", null);
+        this.cornerSetting = settings.stringSetting("ui.shape.corner_scale", "standard");
+        // パレットが依存するキーのみ購読（ハンドルの更新後に呼び出される）
+        for (String key : new String[] { "ui.theme.mode", "ui.theme.tone", "ui.theme.family", "ui.shape.corner_scale" }) {
+            this.settings.addKeyListener(key, this);
+        }
         recomputePalette();
     }
 
     public Mode getMode() {
-        String m = settings.getStringSetting("ui.theme.mode", "light");
+        String m = modeSetting.get();
         switch (m) {
             case "dark": return Mode.DARK;
             case "auto": return Mode.AUTO;
@@ -56,9 +70,9 @@ public class ThemeEngine implements SettingsManager.SettingsListener {
     }
 
     public Tone getTone() {
-        String t = settings.getStringSetting("ui.theme.tone", null);
+        String t = toneSetting.get();
         if (t == null || t.isEmpty()) {
-            String legacy = settings.getStringSetting("ui.theme.mode", "light");
+            String legacy = modeSetting.get();
             if ("dark".equals(legacy)) return Tone.DARK;
             if ("auto".equals(legacy)) return Tone.AUTO;
             return Tone.LIGHT;
@@ -71,7 +85,7 @@ public class ThemeEngine implements SettingsManager.SettingsListener {
     }
 
     public Mode getFamily() {
-        String f = settings.getStringSetting("ui.theme.family", null);
+        String f = familySetting.get();
         if (f == null || f.isEmpty()) {
             return getMode();
         }
@@ -228,7 +242,7 @@ public class ThemeEngine implements SettingsManager.SettingsListener {
         colorPressed = dark ? lighten(colorPrimary, 0.16f) : darken(colorPrimary, 0.16f);
 
         // 隗剃ｸｸ縺ｮ繧ｹ繧ｱ繝ｼ繝ｫ蛻･縺ｫ蟆主・
-        String corner = settings.getStringSetting("ui.shape.corner_scale", "standard");
+        String corner = cornerSetting.get();
         if ("compact".equals(corner)) { radiusSm = 6; radiusMd = 8; radiusLg = 12; }
         else if ("rounded".equals(corner)) { radiusSm = 10; radiusMd = 14; radiusLg = 20; }
         else { radiusSm = 8; radiusMd = 12; radiusLg = 16; }
@@ -0,0 +1,150 @@
+package jp.moyashi.phoneos.core.util;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+
+/**
+ * 固定長のロックフリーなリングバッファの基底クラス（シーケンスロック方式）。
+ *
+ * サブクラスはエントリのフィールドをスロットごとの並列配列に保持し、記録時のオブジェクト割り当てを避ける。
+ * 書き込み位置はAtomicLongの連番で決め、各スロットの連番で読み取り中に上書きされたエントリを検出する。
+ *
+ * スロットのフィールドは通常の配列なので、書き込み側は連番を書き込み中にした後に
+ * {@link VarHandle#storeStoreFence()}を、読み取り側はフィールドのコピー後・連番の再確認前に
+ * {@link VarHandle#loadLoadFence()}を置き、フィールドの読み書きが連番の確認の外へ並べ替えられないようにする。
+ *
+ * 書き込みは次の形で行う。
+ * <pre>
+ * long sequence = beginWrite();
+ * int slot = slotOf(sequence);
+ * values[slot] = ...;
+ * endWrite(sequence);
+ * </pre>
+ *
+ * @param <E> スナップショットのエントリ型
+ * @since 2026-10-16
+ * @version 1.0
+ */
+public abstract class SeqLockRing<E> {
+
+    /** 書き込み中を示すスロット連番 */
+    private static final long WRITING = -1L;
+
+    private final int capacity;
+    private final int mask;
+
+    /** 次に書き込むエントリの連番 */
+    private final AtomicLong nextSequence = new AtomicLong();
+
+    /** 各スロットに書き込まれたエントリの連番（未使用・書き込み中は負値） */
+    private final AtomicLongArray slotSequences;
+
+    /**
+     * リングバッファを作成する。
+     *
+     * @param minCapacity 保持するエントリ数の下限（2のべき乗に切り上げる）
+     */
+    protected SeqLockRing(int minCapacity) {
+        int size = Integer.highestOneBit(Math.max(2, minCapacity - 1)) << 1;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.slotSequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slotSequences.set(i, WRITING);
+        }
+    }
+
+    /**
+     * 次のエントリの書き込みを開始する。複数スレッドから同時に呼び出し可能。
+     * 返された連番のスロットを書き込み中にしてから戻る。
+     *
+     * @return 書き込むエントリの連番
+     */
+    protected final long beginWrite() {
+        long sequence = nextSequence.getAndIncrement();
+        slotSequences.set(slotOf(sequence), WRITING);
+        // フィールドの書き込みがWRITINGより前に見えないようにする
+        VarHandle.storeStoreFence();
+        return sequence;
+    }
+
+    /**
+     * エントリの書き込みを完了し、読み取り側に公開する。
+     *
+     * @param sequence {@link #beginWrite()}が返した連番
+     */
+    protected final void endWrite(long sequence) {
+        slotSequences.set(slotOf(sequence), sequence);
+    }
+
+    /**
+     * 連番に対応するスロットの位置を取得する。
+     *
+     * @param sequence 連番
+     * @return スロットの位置
+     */
+    protected final int slotOf(long sequence) {
+        return (int) (sequence & mask);
+    }
+
+    /**
+     * スロットのフィールドをコピーしてエントリを作成する。
+     * 読み取り中に上書きされる可能性があるため、戻り値は連番の再確認後にのみ使用される。
+     *
+     * @param slot スロットの位置
+     * @param sequence エントリの連番
+     * @return エントリ
+     */
+    protected abstract E readSlot(int slot, long sequence);
+
+    /**
+     * 現在保持しているエントリを古い順に取得する。取得中に上書きされたエントリは含まれない。
+     *
+     * @param filter 含めるエントリの条件（nullの場合はすべて）
+     * @return エントリのリスト
+     */
+    protected final List<E> snapshotEntries(Predicate<? super E> filter) {
+        long end = nextSequence.get();
+        long start = Math.max(0L, end - capacity);
+        List<E> entries = new ArrayList<>((int) (end - start));
+        for (long sequence = start; sequence < end; sequence++) {
+            int slot = slotOf(sequence);
+            if (slotSequences.get(slot) != sequence) {
+                continue;
+            }
+            E entry = readSlot(slot, sequence);
+            // フィールドの読み取りを連番の再確認より前に完了させる
+            VarHandle.loadLoadFence();
+            // 読み取り中に上書きされていないことを確認
+            if (slotSequences.get(slot) != sequence) {
+                continue;
+            }
+            if (filter == null || filter.test(entry)) {
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 保持しているエントリを消去する。
+     */
+    public void clear() {
+        for (int i = 0; i < capacity; i++) {
+            slotSequences.set(i, WRITING);
+        }
+    }
+
+    /**
+     * 保持できるエントリ数を取得する。
+     *
+     * @return 容量
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+}
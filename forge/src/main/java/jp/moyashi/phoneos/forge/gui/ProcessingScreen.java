@@ -1,15 +1,19 @@
 package jp.moyashi.phoneos.forge.gui;
 
+import com.mojang.blaze3d.platform.GlStateManager;
 import com.mojang.blaze3d.systems.RenderSystem;
 import com.mojang.blaze3d.vertex.*;
-import com.mojang.blaze3d.platform.NativeImage;
+import com.mojang.blaze3d.platform.TextureUtil;
 import jp.moyashi.phoneos.core.Kernel;
+import jp.moyashi.phoneos.core.render.DamageTracker;
+import jp.moyashi.phoneos.core.render.FrameExchange;
 import jp.moyashi.phoneos.forge.service.SmartphoneBackgroundService;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.client.renderer.GameRenderer;
-import net.minecraft.client.renderer.texture.DynamicTexture;
+import net.minecraft.client.renderer.texture.AbstractTexture;
+import net.minecraft.server.packs.resources.ResourceManager;
 import net.minecraft.resources.ResourceLocation;
 import net.minecraft.network.chat.Component;
 import net.minecraftforge.api.distmarker.Dist;
@@ -17,8 +21,11 @@ import net.minecraftforge.api.distmarker.OnlyIn;
 import com.mojang.logging.LogUtils;
 import org.slf4j.Logger;
 import org.joml.Matrix4f;
+import org.lwjgl.opengl.GL11;
+import org.lwjgl.opengl.GL12;
 
 import java.awt.image.BufferedImage;
+import java.nio.ByteOrder;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -58,9 +65,20 @@ public class ProcessingScreen extends Screen {
     private int frameCount = 0;
 
     /** テクスチャ管理 */
-    private DynamicTexture dynamicTexture = null;
+    private ScreenTexture screenTexture = null;
     private ResourceLocation textureLocation = null;
-    private NativeImage nativeImage = null;
+
+    /** Kernelを専用描画スレッドで動作させるか（-Dmochi.kernelRenderThread=true で有効） */
+    private static final boolean USE_KERNEL_RENDER_THREAD = Boolean.getBoolean("mochi.kernelRenderThread");
+
+    /** 最後にテクスチャへアップロードしたフレームの通し番号 */
+    private long lastUploadedFrameSequence = -1;
+
+    /** BGRA直接アップロードが利用可能か（失敗時はRGBA変換転送に切り替える） */
+    private boolean directUploadAvailable = true;
+
+    /** BGRA転送が使えない場合の変換バッファ（RGBAバイト順、再利用） */
+    private int[] rgbaStaging;
 
     /** マウスイベントキュー（render()内で処理） */
     private final java.util.concurrent.ConcurrentLinkedQueue<MouseEvent> mouseEventQueue = new java.util.concurrent.ConcurrentLinkedQueue<>();
@@ -160,6 +178,11 @@ public class ProcessingScreen extends Screen {
 
                 // テクスチャを初期化
                 initializeTexture();
+
+                // 専用描画スレッドモード: Kernelの更新・描画をMinecraftの描画スレッドから切り離す
+                if (USE_KERNEL_RENDER_THREAD) {
+                    this.kernel.startRenderThread();
+                }
             } else {
                 LOGGER.warn("[ProcessingScreen] No kernel found - it should have been created at MOD startup");
                 this.graphicsEnabled = false;
@@ -206,7 +229,7 @@ public class ProcessingScreen extends Screen {
 
     /**
      * キューに溜まったマウスイベントを全て処理する（render()から呼び出される）。
-     * 全ての処理がRender threadで行われるため、スレッドセーフ。
+     * Kernelの更新スレッド（通常はRender thread、専用描画スレッドモードではKernelの描画スレッド）で実行される。
      */
     private void processPendingMouseEvents() {
         if (kernel == null) {
@@ -214,22 +237,25 @@ public class ProcessingScreen extends Screen {
             return;
         }
 
+        final Kernel target = kernel;
         MouseEvent event;
         while ((event = mouseEventQueue.poll()) != null) {
+            final int x = event.x;
+            final int y = event.y;
             try {
                 switch (event.type) {
                     case PRESSED:
-                        LOGGER.info("[ProcessingScreen] Processing PRESSED at (" + event.x + ", " + event.y +
-                                   ") isSleeping=" + kernel.isSleeping() +
-                                   ", screenManager=" + (kernel.getScreenManager() != null));
-                        kernel.mousePressed(event.x, event.y);
+                        LOGGER.info("[ProcessingScreen] Processing PRESSED at (" + x + ", " + y +
+                                   ") isSleeping=" + target.isSleeping() +
+                                   ", screenManager=" + (target.getScreenManager() != null));
+                        target.dispatchInput(() -> target.mousePressed(x, y));
                         break;
                     case DRAGGED:
-                        kernel.mouseDragged(event.x, event.y);
+                        target.dispatchInput(() -> target.mouseDragged(x, y));
                         break;
                     case RELEASED:
-                        LOGGER.info("[ProcessingScreen] Processing RELEASED at (" + event.x + ", " + event.y + ")");
-                        kernel.mouseReleased(event.x, event.y);
+                        LOGGER.info("[ProcessingScreen] Processing RELEASED at (" + x + ", " + y + ")");
+                        target.dispatchInput(() -> target.mouseReleased(x, y));
                         break;
                 }
             } catch (Exception e) {
@@ -319,13 +345,22 @@ public class ProcessingScreen extends Screen {
 
 
     /**
-     * カーネルのグラフィック描画を実行（60fps - モーション管理のため）。
-     * Kernelは60fpsで動作する必要があるため、フレームレート制限なし。
+     * カーネルのグラフィック描画を実行。
+     * Minecraftのフレームレートに関わらず、Kernelの適応フレームスケジューラーに従って実行する。
      */
     private void renderKernelGraphics() {
         try {
             if (kernel != null && graphicsEnabled) {
-                // Kernelのモーションは60fpsで設計されているため、制限なしで実行
+                // 専用描画スレッドモードでは更新・描画は描画スレッド側で行われる
+                if (kernel.isRenderThreadRunning()) {
+                    return;
+                }
+
+                // 適応フレームスケジューラーが必要と判断した場合のみ更新・描画
+                // （アニメーション・入力中は60fps、静止時は低レート）
+                if (!kernel.isFrameDue()) {
+                    return;
+                }
                 kernel.update();
                 kernel.render();
 
@@ -384,15 +419,16 @@ public class ProcessingScreen extends Screen {
                 // loadPixels()を使わず、バックグラウンドサービスで直接設定されたピクセル配列を使用
                 LOGGER.info("[ProcessingScreen] Using pixels directly from background service (skipping loadPixels)");
 
-                // PGraphicsバッファからピクセル配列を取得
-                int[] pixels = kernel.getPixels();
+                // 最新の完成フレームを取得（受け渡しバッファは次のacquireFrame()まで書き換えられない）
+                FrameExchange.Frame frame = kernel.acquireFrame();
+                int[] pixels = frame != null ? frame.getPixels() : kernel.getPixels();
                 if (pixels != null && pixels.length > 0) {
                     LOGGER.info("[ProcessingScreen] Retrieved " + pixels.length + " pixels, first few pixels: " +
                         Integer.toHexString(pixels[0]) + " " +
                         Integer.toHexString(pixels[Math.min(1, pixels.length - 1)]) + " " +
                         Integer.toHexString(pixels[Math.min(100, pixels.length - 1)]) + " " +
                         Integer.toHexString(pixels[Math.min(1000, pixels.length - 1)]));
-                    return pixels.clone(); // コピーを返してスレッドセーフティを確保
+                    return pixels;
                 } else {
                     LOGGER.info("[ProcessingScreen] Pixel array is null or empty after loadPixels(), creating default");
                     // ピクセル配列が初期化されていない場合は、デフォルトの色で作成
@@ -704,7 +740,9 @@ public class ProcessingScreen extends Screen {
                 int mobileY = (int) ((mouseY - offsetY) / scale);
 
                 // MochiMobileOSのマウスホイールイベントを送信
-                kernel.mouseWheel(mobileX, mobileY, (float) delta);
+                final Kernel target = kernel;
+                final float wheelDelta = (float) delta;
+                target.dispatchInput(() -> target.mouseWheel(mobileX, mobileY, wheelDelta));
 
                 return true;
 
@@ -729,7 +767,8 @@ public class ProcessingScreen extends Screen {
         if (isCtrlPressed && !isAltPressed && keyCode == 32) {
             LOGGER.info("[ProcessingScreen] Ctrl+Space detected - requesting go home");
             if (kernel != null) {
-                kernel.requestGoHome();
+                final Kernel target = kernel;
+                target.dispatchInput(target::requestGoHome);
             }
             return true; // イベント消費
         }
@@ -739,7 +778,8 @@ public class ProcessingScreen extends Screen {
             LOGGER.info("[ProcessingScreen] ESC pressed, entering sleep mode and closing screen");
             // カーネルをスリープ状態にする
             if (kernel != null) {
-                kernel.sleep();
+                final Kernel target = kernel;
+                target.dispatchInput(target::sleep);
             }
             this.onClose();
             return true;
@@ -762,7 +802,8 @@ public class ProcessingScreen extends Screen {
                 // Minecraftキーコードを対応するProcessingキーコードに変換
                 int processingKeyCode = isSpecialKey ? convertMinecraftKeyCode(keyCode) : keyCode;
                 char key = (char) processingKeyCode;
-                kernel.keyPressed(key, processingKeyCode);
+                final Kernel target = kernel;
+                target.dispatchInput(() -> target.keyPressed(key, processingKeyCode));
                 LOGGER.info("[ProcessingScreen] Key pressed: " + keyCode + " -> " + processingKeyCode + " (Ctrl: " + isCtrlPressed + ")");
                 // 特殊キーとCtrlショートカットはイベントを消費してcharTyped()での二重処理を防ぐ
                 return true;
@@ -825,7 +866,8 @@ public class ProcessingScreen extends Screen {
         if (graphicsEnabled && kernel != null) {
             try {
                 // Unicode文字をMochiMobileOSに転送
-                kernel.keyPressed(codePoint, 0);
+                final Kernel target = kernel;
+                target.dispatchInput(() -> target.keyPressed(codePoint, 0));
                 return true;
             } catch (Exception e) {
                 LOGGER.error("[ProcessingScreen] Char typed error: " + e.getMessage(), e);
@@ -848,7 +890,8 @@ public class ProcessingScreen extends Screen {
                 // Minecraftキーコードを対応するProcessingキーコードに変換
                 int processingKeyCode = convertMinecraftKeyCode(keyCode);
                 char key = (char) processingKeyCode;
-                kernel.keyReleased(key, processingKeyCode);
+                final Kernel target = kernel;
+                target.dispatchInput(() -> target.keyReleased(key, processingKeyCode));
                 LOGGER.info("[ProcessingScreen] Key released: " + keyCode + " -> " + processingKeyCode);
             } catch (Exception e) {
                 LOGGER.error("[ProcessingScreen] Key release error: " + e.getMessage(), e);
@@ -867,6 +910,11 @@ public class ProcessingScreen extends Screen {
         try {
             LOGGER.info("[ProcessingScreen] Closing MochiMobileOS display...");
 
+            // 専用描画スレッドを停止（未処理の入力はここで実行される）
+            if (kernel != null) {
+                kernel.stopRenderThread();
+            }
+
             // グラフィック描画を無効化（バックグラウンド処理は継続）
             graphicsEnabled = false;
             kernel = null;
@@ -938,12 +986,29 @@ public class ProcessingScreen extends Screen {
     private void renderKernelTexture(GuiGraphics guiGraphics) {
         try {
             if (kernel != null) {
-                // PGraphicsバッファから最新の描画結果を取得
+                // 最新の完成フレームをロックなしで取得（ゼロコピー）
+                FrameExchange.Frame frame = kernel.acquireFrame();
+                if (frame != null) {
+                    // 前回アップロードしたフレームから変化がなければテクスチャを再利用し、
+                    // 直後のフレームであればダメージ領域のみをアップロードする
+                    DamageTracker.Region dirty = null;
+                    long sequence = frame.getSequence();
+                    if (sequence != lastUploadedFrameSequence) {
+                        dirty = (sequence == lastUploadedFrameSequence + 1 && frame.getDamage() != null)
+                                ? frame.getDamage()
+                                : DamageTracker.Region.full(PHONE_WIDTH, PHONE_HEIGHT);
+                    }
+                    renderTextureFromPixels(guiGraphics, frame.getPixels(), dirty);
+                    lastUploadedFrameSequence = sequence;
+                    return;
+                }
+
+                // フレーム受け渡しが利用できない場合は従来のピクセルキャッシュを使用
                 int[] pixels = kernel.getPixels();
 
                 if (pixels != null && pixels.length > 0) {
                     // テクスチャとして効率的に描画
-                    renderTextureFromPixels(guiGraphics, pixels);
+                    renderTextureFromPixels(guiGraphics, pixels, DamageTracker.Region.full(PHONE_WIDTH, PHONE_HEIGHT));
                 } else {
                     LOGGER.warn("[ProcessingScreen] No pixels available from kernel");
                     renderFallbackRectangle(guiGraphics);
@@ -962,15 +1027,13 @@ public class ProcessingScreen extends Screen {
         try {
             LOGGER.info("[ProcessingScreen] Initializing texture for " + PHONE_WIDTH + "x" + PHONE_HEIGHT);
 
-            // NativeImageを作成（RGBA形式）
-            nativeImage = new NativeImage(NativeImage.Format.RGBA, PHONE_WIDTH, PHONE_HEIGHT, false);
+            // 新しいテクスチャには次フレームで全体を転送する
+            lastUploadedFrameSequence = -1;
 
-            // DynamicTextureを作成
-            dynamicTexture = new DynamicTexture(nativeImage);
-
-            // ResourceLocationを登録
-            textureLocation = Minecraft.getInstance().getTextureManager()
-                .register("mochimobileos_screen", dynamicTexture);
+            // GLテクスチャを作成し、ResourceLocationを登録（登録時にload()で領域を確保する）
+            screenTexture = new ScreenTexture(PHONE_WIDTH, PHONE_HEIGHT);
+            textureLocation = new ResourceLocation("mochimobileos", "dynamic/screen");
+            Minecraft.getInstance().getTextureManager().register(textureLocation, screenTexture);
 
             LOGGER.info("[ProcessingScreen] Texture initialized successfully: " + textureLocation);
         } catch (Exception e) {
@@ -980,42 +1043,23 @@ public class ProcessingScreen extends Screen {
 
     /**
      * ピクセル配列からテクスチャを効率的に描画する（最適化版）。
-     * パフォーマンス改善: ループ内でのARGB→ABGR変換を一括で実行し、
-     * setPixelRGBA()の呼び出しオーバーヘッドを削減。
+     * 変化した領域のみをテクスチャへ転送し、変化がなければ前回のテクスチャをそのまま描画する。
+     *
+     * @param pixels ProcessingのARGBピクセル配列
+     * @param dirty 前回アップロードから変化した領域（nullの場合は転送を省略）
      */
-    private void renderTextureFromPixels(GuiGraphics guiGraphics, int[] pixels) {
-        if (nativeImage == null || dynamicTexture == null || textureLocation == null) {
+    private void renderTextureFromPixels(GuiGraphics guiGraphics, int[] pixels, DamageTracker.Region dirty) {
+        if (screenTexture == null || textureLocation == null) {
             LOGGER.warn("[ProcessingScreen] Texture not initialized, falling back");
             renderFallbackRectangle(guiGraphics);
             return;
         }
 
         try {
-            // 最適化: ARGB→ABGR変換を一括で行い、NativeImageに直接書き込み
-            // setPixelRGBA()の繰り返し呼び出しを避ける
-            int totalPixels = PHONE_WIDTH * PHONE_HEIGHT;
-            for (int i = 0; i < Math.min(totalPixels, pixels.length); i++) {
-                int processingColor = pixels[i];
-
-                // ProcessingのARGB形式からMinecraftのABGR形式に変換（ビットシフト最適化）
-                int a = processingColor & 0xFF000000;
-                int r = (processingColor >> 16) & 0xFF;
-                int g = (processingColor >> 8) & 0xFF;
-                int b = processingColor & 0xFF;
-
-                // ABGR形式に変換
-                int abgrColor = a | (b << 16) | (g << 8) | r;
-
-                // 座標を計算（y * width + x の逆算）
-                int x = i % PHONE_WIDTH;
-                int y = i / PHONE_WIDTH;
-
-                nativeImage.setPixelRGBA(x, y, abgrColor);
+            if (dirty != null) {
+                uploadTextureRegion(pixels, dirty);
             }
 
-            // テクスチャを更新
-            dynamicTexture.upload();
-
             // PoseStackを使ってスケーリング変換を適用
             guiGraphics.pose().pushPose();
 
@@ -1036,6 +1080,105 @@ public class ProcessingScreen extends Screen {
         }
     }
 
+    /**
+     * ピクセル配列の指定領域をテクスチャへ転送する。
+     * 通常はARGB配列をBGRAとしてglTexSubImage2Dで直接転送し（チャンネル変換なし）、
+     * 利用できない場合は領域をRGBAバイト順のint配列へ一括変換してから転送する。
+     */
+    private void uploadTextureRegion(int[] pixels, DamageTracker.Region region) {
+        int x0 = Math.max(0, region.x);
+        int y0 = Math.max(0, region.y);
+        int x1 = Math.min(PHONE_WIDTH, region.x + region.width);
+        int y1 = Math.min(PHONE_HEIGHT, region.y + region.height);
+        if (x1 <= x0 || y1 <= y0) {
+            return;
+        }
+        if (pixels.length < PHONE_WIDTH * PHONE_HEIGHT) {
+            // サイズが一致しない場合は読み取れる行のみ転送
+            int rows = Math.min(PHONE_HEIGHT, pixels.length / PHONE_WIDTH);
+            if (rows > 0) {
+                uploadRgbaRegion(pixels, 0, 0, PHONE_WIDTH, rows);
+            }
+            return;
+        }
+
+        int w = x1 - x0;
+        int h = y1 - y0;
+        if (directUploadAvailable) {
+            try {
+                uploadBgraRegion(pixels, x0, y0, w, h);
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.warn("[ProcessingScreen] Direct BGRA upload unavailable, using RGBA path: " + e.getMessage());
+                directUploadAvailable = false;
+            }
+        }
+
+        uploadRgbaRegion(pixels, x0, y0, w, h);
+    }
+
+    /**
+     * ProcessingのARGB配列をそのままBGRA（UNSIGNED_INT_8_8_8_8_REV）としてテクスチャへ転送する。
+     * ROW_LENGTH/SKIP指定により、配列全体のうち指定矩形のみを読み出す。
+     */
+    private void uploadBgraRegion(int[] pixels, int x, int y, int w, int h) {
+        RenderSystem.assertOnRenderThread();
+        screenTexture.bind();
+        GlStateManager._pixelStore(GL11.GL_UNPACK_ROW_LENGTH, PHONE_WIDTH);
+        GlStateManager._pixelStore(GL11.GL_UNPACK_SKIP_PIXELS, x);
+        GlStateManager._pixelStore(GL11.GL_UNPACK_SKIP_ROWS, y);
+        GlStateManager._pixelStore(GL11.GL_UNPACK_ALIGNMENT, 4);
+        try {
+            GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, x, y, w, h,
+                    GL12.GL_BGRA, GL12.GL_UNSIGNED_INT_8_8_8_8_REV, pixels);
+        } finally {
+            GlStateManager._pixelStore(GL11.GL_UNPACK_ROW_LENGTH, 0);
+            GlStateManager._pixelStore(GL11.GL_UNPACK_SKIP_PIXELS, 0);
+            GlStateManager._pixelStore(GL11.GL_UNPACK_SKIP_ROWS, 0);
+        }
+    }
+
+    /**
+     * BGRA転送が使えない環境向けの代替転送。
+     * 指定矩形を再利用バッファへRGBAバイト順で詰めて変換し（行ごとのタイトループ、ピクセルごとのネイティブ呼び出しなし）、
+     * GL_RGBA / GL_UNSIGNED_BYTEとして1回のglTexSubImage2Dで転送する。
+     */
+    private void uploadRgbaRegion(int[] pixels, int x, int y, int w, int h) {
+        int[] staging = rgbaStaging;
+        if (staging == null) {
+            staging = new int[PHONE_WIDTH * PHONE_HEIGHT];
+            rgbaStaging = staging;
+        }
+
+        boolean littleEndian = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+        int out = 0;
+        for (int row = y; row < y + h; row++) {
+            int index = row * PHONE_WIDTH + x;
+            int end = index + w;
+            if (littleEndian) {
+                // メモリ上でR,G,B,Aの順になるよう、RとBを入れ替える（A, Gはそのまま）
+                while (index < end) {
+                    int argb = pixels[index++];
+                    staging[out++] = (argb & 0xFF00FF00) | ((argb >> 16) & 0xFF) | ((argb & 0xFF) << 16);
+                }
+            } else {
+                while (index < end) {
+                    int argb = pixels[index++];
+                    staging[out++] = (argb << 8) | (argb >>> 24);
+                }
+            }
+        }
+
+        RenderSystem.assertOnRenderThread();
+        screenTexture.bind();
+        GlStateManager._pixelStore(GL11.GL_UNPACK_ROW_LENGTH, 0);
+        GlStateManager._pixelStore(GL11.GL_UNPACK_SKIP_PIXELS, 0);
+        GlStateManager._pixelStore(GL11.GL_UNPACK_SKIP_ROWS, 0);
+        GlStateManager._pixelStore(GL11.GL_UNPACK_ALIGNMENT, 4);
+        GL11.glTexSubImage2D(GL11.GL_TEXTURE_2D, 0, x, y, w, h,
+                GL11.GL_RGBA, GL11.GL_UNSIGNED_BYTE, staging);
+    }
+
     /**
      * 画面を閉じる際のクリーンアップ。
      */
@@ -1043,6 +1186,11 @@ public class ProcessingScreen extends Screen {
     public void removed() {
         super.removed();
 
+        // 画面を閉じている間はKernelの描画を行わない（従来どおり）
+        if (kernel != null) {
+            kernel.stopRenderThread();
+        }
+
         cleanupTexture();
     }
 
@@ -1051,18 +1199,13 @@ public class ProcessingScreen extends Screen {
      */
     private void cleanupTexture() {
         try {
-            if (textureLocation != null) {
-                Minecraft.getInstance().getTextureManager().release(textureLocation);
-                textureLocation = null;
-            }
-            if (dynamicTexture != null) {
-                dynamicTexture.close();
-                dynamicTexture = null;
-            }
-            if (nativeImage != null) {
-                nativeImage.close();
-                nativeImage = null;
+            if (screenTexture != null) {
+                // GLテクスチャを削除する。登録は次回の初期化で同じResourceLocationに上書きされ、
+                // その際の解放処理はIDが解放済みのため何もしない
+                screenTexture.releaseId();
+                screenTexture = null;
             }
+            textureLocation = null;
             LOGGER.info("[ProcessingScreen] Texture cleaned up successfully");
         } catch (Exception e) {
             LOGGER.error("[ProcessingScreen] Failed to cleanup texture: " + e.getMessage(), e);
@@ -1139,7 +1282,40 @@ public class ProcessingScreen extends Screen {
         if (kernel != null) {
             LOGGER.info("[ProcessingScreen] Home button clicked - going to home screen");
             // Kernel.requestGoHome()を呼び出してホーム画面に戻る
-            kernel.requestGoHome();
+            final Kernel target = kernel;
+            target.dispatchInput(target::requestGoHome);
+        }
+    }
+
+    /**
+     * 画面転送用のGLテクスチャ。
+     * DynamicTextureと異なりCPU側のNativeImageを持たず、内容はglTexSubImage2Dによる転送でのみ更新する。
+     * そのためGLテクスチャが唯一の内容となり、リソース再読み込みなどで古いNativeImageが再アップロードされることはない。
+     */
+    private static final class ScreenTexture extends AbstractTexture {
+        private final int width;
+        private final int height;
+        private boolean allocated;
+
+        ScreenTexture(int width, int height) {
+            this.width = width;
+            this.height = height;
+        }
+
+        /**
+         * TextureManagerへの登録時（リソース再読み込み時を含む）に呼ばれる。
+         * 初回のみ領域を確保し、再読み込みでは転送済みの内容を保持する。
+         */
+        @Override
+        public void load(ResourceManager resourceManager) {
+            if (allocated) {
+                return;
+            }
+            RenderSystem.assertOnRenderThreadOrInit();
+            TextureUtil.prepareImage(getId(), width, height);
+            // DynamicTextureと同じく拡大・縮小は最近傍補間
+            setFilter(false, false);
+            allocated = true;
         }
     }
 }
\ No newline at end of file
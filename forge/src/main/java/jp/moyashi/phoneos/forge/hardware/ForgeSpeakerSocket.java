@@ -12,6 +12,9 @@ import net.minecraft.world.entity.player.Player;
 import net.minecraft.world.phys.Vec3;
 import org.slf4j.Logger;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.UUID;
 
 /**
@@ -95,14 +98,40 @@ public class ForgeSpeakerSocket implements SpeakerSocket {
         }
 
         LOGGER.info("[ForgeSpeakerSocket] Starting audio playback - volume level: " + volumeLevel + ", data: " + audioData.length + " bytes");
+        startPlaybackThread(new ByteArrayInputStream(audioData));
+    }
+
+    @Override
+    public void playStream(InputStream pcmStream) {
+        LOGGER.info("[ForgeSpeakerSocket] playStream() called - svcAvailable: " + svcAvailable + ", volumeLevel: " + volumeLevel);
+
+        if (pcmStream == null) {
+            LOGGER.warn("[ForgeSpeakerSocket] Cannot play audio - no stream provided");
+            return;
+        }
+
+        if (!svcAvailable || volumeLevel == VolumeLevel.OFF) {
+            LOGGER.info("[ForgeSpeakerSocket] Skipping stream playback (SVC unavailable or volume OFF)");
+            closeQuietly(pcmStream);
+            return;
+        }
+
+        // 既に再生中の場合は停止
+        if (isPlaying) {
+            LOGGER.info("[ForgeSpeakerSocket] Stopping previous playback...");
+            stopAudio();
+        }
 
-        // byte[]をshort[]に変換（16-bit PCM）
-        short[] samples = convertBytesToShorts(audioData);
-        LOGGER.info("[ForgeSpeakerSocket] Converted to " + samples.length + " samples");
+        LOGGER.info("[ForgeSpeakerSocket] Starting stream playback - volume level: " + volumeLevel);
+        startPlaybackThread(pcmStream);
+    }
 
-        // 再生スレッドを開始
+    /**
+     * 再生スレッドを開始する。
+     */
+    private void startPlaybackThread(InputStream pcmStream) {
         isPlaying = true;
-        playbackThread = new Thread(() -> playAudioStream(samples), "MochiOS-Speaker");
+        playbackThread = new Thread(() -> playAudioStream(pcmStream), "MochiOS-Speaker");
         playbackThread.setDaemon(true);
         playbackThread.start();
         LOGGER.info("[ForgeSpeakerSocket] Playback thread started");
@@ -133,9 +162,10 @@ public class ForgeSpeakerSocket implements SpeakerSocket {
 
     /**
      * 音声ストリームを再生する（別スレッドで実行）。
+     * ストリームはチャンクごとに読み込み、音声データ全体をメモリに展開しない。
      */
-    private void playAudioStream(short[] samples) {
-        LOGGER.info("[ForgeSpeakerSocket] playAudioStream() started - samples: " + samples.length);
+    private void playAudioStream(InputStream pcmStream) {
+        LOGGER.info("[ForgeSpeakerSocket] playAudioStream() started");
 
         try {
             VoicechatClientApi clientApi = MochiVoicechatPlugin.getClientApi();
@@ -160,20 +190,22 @@ public class ForgeSpeakerSocket implements SpeakerSocket {
             // Simple Voice Chatの推奨チャンクサイズ（20ms @ 48kHz）
             // SVCはリアルタイムストリーミング用に設計されているため、小さいチャンクが必要
             int chunkSize = 960; // 48000 * 0.02 = 960 samples (20ms)
-            int offset = 0;
+            byte[] chunkBytes = new byte[chunkSize * 2];
+            long totalSamples = 0;
             int chunkCount = 0;
 
-            LOGGER.info("[ForgeSpeakerSocket] Starting playback loop - total samples: " + samples.length + ", chunk size: " + chunkSize);
+            LOGGER.info("[ForgeSpeakerSocket] Starting playback loop - chunk size: " + chunkSize);
 
-            while (isPlaying && offset < samples.length) {
+            while (isPlaying) {
                 long chunkStartTime = System.nanoTime();
 
-                int remaining = samples.length - offset;
-                int currentChunkSize = Math.min(chunkSize, remaining);
-
-                // チャンクを切り出す
-                short[] chunk = new short[currentChunkSize];
-                System.arraycopy(samples, offset, chunk, 0, currentChunkSize);
+                // チャンクを読み込む
+                int bytesRead = readChunk(pcmStream, chunkBytes);
+                int currentChunkSize = bytesRead / 2;
+                if (currentChunkSize == 0) {
+                    break;
+                }
+                short[] chunk = convertBytesToShorts(chunkBytes, currentChunkSize);
 
                 // 自分用チャンネルで再生
                 selfChannel.play(chunk);
@@ -188,7 +220,7 @@ public class ForgeSpeakerSocket implements SpeakerSocket {
                     publicChannel.play(chunk);
                 }
 
-                offset += currentChunkSize;
+                totalSamples += currentChunkSize;
 
                 // 最初のチャンクだけログ出力
                 if (chunkCount == 1) {
@@ -218,13 +250,14 @@ public class ForgeSpeakerSocket implements SpeakerSocket {
                 }
             }
 
-            LOGGER.info("[ForgeSpeakerSocket] Playback loop finished - total chunks played: " + chunkCount);
+            LOGGER.info("[ForgeSpeakerSocket] Playback loop finished - total chunks played: " + chunkCount + ", samples: " + totalSamples);
 
         } catch (Exception e) {
             LOGGER.error("[ForgeSpeakerSocket] Error during audio playback", e);
             e.printStackTrace();
         } finally {
             LOGGER.info("[ForgeSpeakerSocket] Cleaning up channels...");
+            closeQuietly(pcmStream);
             cleanupChannels();
             isPlaying = false;
         }
@@ -281,11 +314,36 @@ public class ForgeSpeakerSocket implements SpeakerSocket {
         publicChannel = null;
     }
 
+    /**
+     * ストリームからバッファが一杯になるか終端に達するまで読み込む。
+     *
+     * @return 読み込んだバイト数
+     */
+    private int readChunk(InputStream in, byte[] buffer) throws IOException {
+        int total = 0;
+        while (total < buffer.length) {
+            int n = in.read(buffer, total, buffer.length - total);
+            if (n < 0) {
+                break;
+            }
+            total += n;
+        }
+        return total;
+    }
+
+    private void closeQuietly(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException e) {
+            LOGGER.warn("[ForgeSpeakerSocket] Failed to close audio stream", e);
+        }
+    }
+
     /**
      * byte配列をshort配列に変換する（16-bit PCM、リトルエンディアン）。
      */
-    private short[] convertBytesToShorts(byte[] bytes) {
-        short[] shorts = new short[bytes.length / 2];
+    private short[] convertBytesToShorts(byte[] bytes, int sampleCount) {
+        short[] shorts = new short[sampleCount];
         for (int i = 0; i < shorts.length; i++) {
             int offset = i * 2;
             shorts[i] = (short) ((bytes[offset + 1] << 8) | (bytes[offset] & 0xFF));
@@ -75,6 +75,11 @@ public class MinecraftKernelWrapper {
         }
 
         try {
+            // 適応フレームスケジューラーが不要と判断したフレームはスキップ
+            if (!kernel.isFrameDue()) {
+                return;
+            }
+
             // フレーム更新処理を実行
             kernel.update();
 
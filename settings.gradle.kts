@@ -3,4 +3,5 @@ rootProject.name = "MochiMobileOS"
 include("core")
 include("server")
 include("standalone")
-include("forge")
\ No newline at end of file
+include("forge")
+include("benchmarks")
\ No newline at end of file
@@ -5,6 +5,7 @@ import jp.moyashi.phoneos.core.service.chromium.ChromiumService;
 import jp.moyashi.phoneos.core.service.chromium.DefaultChromiumService;
 import processing.core.PApplet;
 import processing.core.PGraphics;
+import processing.core.PImage;
 
 /**
  * StandaloneのPAppletイベントをcore独立APIに変換するラッパークラス。
@@ -29,6 +30,12 @@ public class StandaloneWrapper extends PApplet {
     /** ハードウェアボタンウィンドウ（メインウィンドウの右側に表示、ホーム/音量ボタン） */
     private HardwareWindow hardwareWindow;
 
+    /** Kernelの完成フレーム表示用イメージ（ピクセル配列はフレーム受け渡しバッファを直接参照） */
+    private PImage frameImage;
+
+    /** frameImageに最後に反映したフレームの通し番号 */
+    private long lastFrameSequence = -1;
+
     /** 画面幅 */
     private static final int SCREEN_WIDTH = 400;
 
@@ -324,15 +331,32 @@ public class StandaloneWrapper extends PApplet {
         }
 
         try {
-            // Kernelの更新処理を実行
-            kernel.update();
-
-            // Kernelの描画処理を実行（PGraphicsバッファに描画）
-            kernel.render();
+            // 適応フレームスケジューラーが必要と判断した場合のみ更新・描画
+            // （静止時は前回のフレームをそのまま表示する）
+            if (kernel.isFrameDue()) {
+                // Kernelの更新処理を実行
+                kernel.update();
+
+                // Kernelの描画処理を実行（PGraphicsバッファに描画）
+                kernel.render();
+            }
 
-            // KernelのPGraphicsバッファを取得してPApplet画面に描画
+            // Kernelの完成フレームをロックなしで取得してPApplet画面に描画（ゼロコピー）
+            jp.moyashi.phoneos.core.render.FrameExchange.Frame frame = kernel.acquireFrame();
             PGraphics kernelGraphics = kernel.getGraphics();
-            if (kernelGraphics != null) {
+            if (frame != null) {
+                if (frameImage == null || frameImage.width != frame.getWidth() || frameImage.height != frame.getHeight()) {
+                    frameImage = createImage(frame.getWidth(), frame.getHeight(), ARGB);
+                    lastFrameSequence = -1;
+                }
+                // 変化がない場合はテクスチャの再アップロードを避けるためupdatePixels()を呼ばない
+                if (frame.getSequence() != lastFrameSequence) {
+                    frameImage.pixels = frame.getPixels();
+                    frameImage.updatePixels();
+                    lastFrameSequence = frame.getSequence();
+                }
+                image(frameImage, 0, 0);
+            } else if (kernelGraphics != null) {
                 image(kernelGraphics, 0, 0);
             } else {
                 // フォールバック: Kernelグラフィックスが利用できない場合